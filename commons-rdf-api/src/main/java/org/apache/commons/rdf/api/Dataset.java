@@ -109,6 +109,74 @@ public interface Dataset extends AutoCloseable, GraphLike<Quad> {
     @Override
     boolean contains(Quad quad);
 
+    /**
+     * Counts the quads that match a pattern.
+     * <p>
+     * Unlike {@link #estimateCount(Optional, BlankNodeOrIRI, IRI, RDFTerm)}
+     * the count is exact. Implementations SHOULD count the matches natively
+     * rather than converting each of them to a {@link Quad}.
+     * <p>
+     * The default implementation returns {@link #size()} if all arguments
+     * are null, and otherwise counts the quads of
+     * {@link #stream(Optional, BlankNodeOrIRI, IRI, RDFTerm)}.
+     *
+     * @param graphName
+     *            The graph the quad belongs to, wrapped as an {@link Optional}
+     *            ({@code null} is a wildcard, {@link Optional#empty()} is
+     *            the default graph)
+     * @param subject
+     *            The quad subject ({@code null} is a wildcard)
+     * @param predicate
+     *            The quad predicate ({@code null} is a wildcard)
+     * @param object
+     *            The quad object ({@code null} is a wildcard)
+     * @return The number of matching quads
+     */
+    default long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (graphName == null && subject == null && predicate == null && object == null) {
+            return size();
+        }
+        try (Stream<? extends Quad> stream = stream(graphName, subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
+    /**
+     * Estimates the number of quads that match a pattern.
+     * <p>
+     * The estimate is meant for choosing the most selective of several
+     * patterns, e.g. when ordering the patterns of a join, and need not be
+     * exact. Implementations SHOULD answer it from index sizes or statistics
+     * rather than by iterating over the matching quads. A pattern that
+     * matches any quad SHOULD be estimated as at least 1.
+     * <p>
+     * The default implementation returns {@link #size()} if all arguments
+     * are null, and otherwise counts the quads of
+     * {@link #stream(Optional, BlankNodeOrIRI, IRI, RDFTerm)}.
+     *
+     * @param graphName
+     *            The graph the quad belongs to, wrapped as an {@link Optional}
+     *            ({@code null} is a wildcard, {@link Optional#empty()} is
+     *            the default graph)
+     * @param subject
+     *            The quad subject ({@code null} is a wildcard)
+     * @param predicate
+     *            The quad predicate ({@code null} is a wildcard)
+     * @param object
+     *            The quad object ({@code null} is a wildcard)
+     * @return An estimate of the number of matching quads
+     */
+    default long estimateCount(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (graphName == null && subject == null && predicate == null && object == null) {
+            return size();
+        }
+        try (Stream<? extends Quad> stream = stream(graphName, subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
     /**
      * Gets the default graph of this dataset.
      * <p>
@@ -103,6 +103,67 @@ public interface Graph extends AutoCloseable, GraphLike<Triple> {
     @Override
     boolean contains(Triple triple);
 
+    /**
+     * Counts the triples that match a pattern.
+     * <p>
+     * Unlike {@link #estimateCount(BlankNodeOrIRI, IRI, RDFTerm)} the count
+     * is exact. Implementations SHOULD count the matches natively rather than
+     * converting each of them to a {@link Triple}.
+     * <p>
+     * The default implementation returns {@link #size()} if all terms are
+     * null, and otherwise counts the triples of
+     * {@link #stream(BlankNodeOrIRI, IRI, RDFTerm)}.
+     *
+     * @param subject
+     *            The triple subject (null is a wildcard)
+     * @param predicate
+     *            The triple predicate (null is a wildcard)
+     * @param object
+     *            The triple object (null is a wildcard)
+     * @return The number of matching triples
+     */
+    default long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject == null && predicate == null && object == null) {
+            return size();
+        }
+        try (Stream<? extends Triple> stream = stream(subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
+    /**
+     * Estimates the number of triples that match a pattern.
+     * <p>
+     * The estimate is meant for choosing the most selective of several
+     * patterns, e.g. when ordering the patterns of a join, and need not be
+     * exact. Implementations SHOULD answer it from index sizes or statistics
+     * rather than by iterating over the matching triples. A pattern that
+     * matches any triple SHOULD be estimated as at least 1.
+     * <p>
+     * The default implementation returns {@link #size()} if all terms are
+     * null, and otherwise counts the triples of
+     * {@link #stream(BlankNodeOrIRI, IRI, RDFTerm)}.
+     *
+     * @param subject
+     *            The triple subject (null is a wildcard)
+     * @param predicate
+     *            The triple predicate (null is a wildcard)
+     * @param object
+     *            The triple object (null is a wildcard)
+     * @return An estimate of the number of matching triples
+     */
+    default long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject == null && predicate == null && object == null) {
+            return size();
+        }
+        if (subject != null && predicate != null && object != null) {
+            return contains(subject, predicate, object) ? 1 : 0;
+        }
+        try (Stream<? extends Triple> stream = stream(subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
     /**
      * This method is deprecated, use the equivalent method {@link #stream()}
      * instead.
@@ -240,6 +301,45 @@ public interface Graph extends AutoCloseable, GraphLike<Triple> {
         return ((Stream<Triple>) stream(subject, predicate, object))::iterator;
     }
 
+    /**
+     * Gets the distinct objects of the triples that match a pattern.
+     * <p>
+     * Implementations SHOULD answer this from their indexes rather than by
+     * converting each matching triple, and SHOULD NOT hold the objects of
+     * all matching triples in memory.
+     * <p>
+     * The default implementation maps
+     * {@link #stream(BlankNodeOrIRI, IRI, RDFTerm)} to the objects and
+     * removes duplicates.
+     *
+     * @param subject
+     *            The triple subject (null is a wildcard)
+     * @param predicate
+     *            The triple predicate (null is a wildcard)
+     * @return A {@link Stream} over the objects, without duplicates
+     */
+    default Stream<? extends RDFTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        return stream(subject, predicate, null).map(Triple::getObject).distinct();
+    }
+
+    /**
+     * Gets the distinct predicates of the triples that match a pattern.
+     * <p>
+     * The default implementation maps
+     * {@link #stream(BlankNodeOrIRI, IRI, RDFTerm)} to the predicates and
+     * removes duplicates.
+     *
+     * @param subject
+     *            The triple subject (null is a wildcard)
+     * @param object
+     *            The triple object (null is a wildcard)
+     * @return A {@link Stream} over the predicates, without duplicates
+     * @see #objects(BlankNodeOrIRI, IRI)
+     */
+    default Stream<? extends IRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        return stream(subject, null, object).map(Triple::getPredicate).distinct();
+    }
+
     /**
      * Removes a concrete pattern of triples from the graph.
      *
@@ -322,4 +422,22 @@ public interface Graph extends AutoCloseable, GraphLike<Triple> {
      */
     Stream<? extends Triple> stream(BlankNodeOrIRI subject, IRI predicate, RDFTerm object);
 
+    /**
+     * Gets the distinct subjects of the triples that match a pattern.
+     * <p>
+     * The default implementation maps
+     * {@link #stream(BlankNodeOrIRI, IRI, RDFTerm)} to the subjects and
+     * removes duplicates.
+     *
+     * @param predicate
+     *            The triple predicate (null is a wildcard)
+     * @param object
+     *            The triple object (null is a wildcard)
+     * @return A {@link Stream} over the subjects, without duplicates
+     * @see #objects(BlankNodeOrIRI, IRI)
+     */
+    default Stream<? extends BlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        return stream(null, predicate, object).map(Triple::getSubject).distinct();
+    }
+
 }
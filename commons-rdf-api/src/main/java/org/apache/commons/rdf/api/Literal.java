@@ -18,6 +18,9 @@
 package org.apache.commons.rdf.api;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.temporal.TemporalAccessor;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
@@ -35,6 +38,101 @@ import java.util.Optional;
  */
 public interface Literal extends RDFTerm {
 
+    /**
+     * The value of this literal as a {@link BigDecimal}.
+     * <p>
+     * The default implementation converts {@link #asNumber()}.
+     *
+     * @return The decimal value of this literal
+     * @throws NumberFormatException
+     *             if this literal is not numeric, or is an infinite or NaN
+     *             <code>xsd:double</code> or <code>xsd:float</code>
+     */
+    default BigDecimal asDecimal() {
+        return LiteralValues.toDecimal(asNumber());
+    }
+
+    /**
+     * The value of this literal as a <code>double</code>.
+     * <p>
+     * The default implementation converts {@link #asNumber()}, so large
+     * integers and decimals may lose precision.
+     *
+     * @return The value of this literal
+     * @throws NumberFormatException
+     *             if this literal is not numeric
+     */
+    default double asDouble() {
+        return asNumber().doubleValue();
+    }
+
+    /**
+     * The value of this literal as a <code>long</code>.
+     * <p>
+     * The default implementation converts {@link #asNumber()}.
+     *
+     * @return The value of this literal
+     * @throws NumberFormatException
+     *             if this literal is not numeric
+     * @throws ArithmeticException
+     *             if the value has a fractional part or is out of the range
+     *             of <code>long</code>
+     */
+    default long asLong() {
+        return LiteralValues.toLong(asNumber());
+    }
+
+    /**
+     * The numeric value of this literal, parsed according to its XSD
+     * datatype.
+     * <p>
+     * The value is a {@link Long}, {@link Integer} or
+     * {@link java.math.BigInteger} for <code>xsd:integer</code> and its
+     * derived types, a {@link BigDecimal} for <code>xsd:decimal</code>, a
+     * {@link Double} for <code>xsd:double</code> and a {@link Float} for
+     * <code>xsd:float</code>.
+     * <p>
+     * The default implementation parses {@link #getLexicalForm()} on each
+     * call. Implementations are encouraged to parse once and remember the
+     * value, or to return the value already parsed by an underlying store.
+     *
+     * @return The numeric value of this literal
+     * @throws NumberFormatException
+     *             if the datatype is not an XSD numeric type or the lexical
+     *             form is not valid for it
+     */
+    default Number asNumber() {
+        return LiteralValues.number(this);
+    }
+
+    /**
+     * The temporal value of this literal, parsed according to its XSD
+     * datatype.
+     * <p>
+     * The default implementation parses {@link #getLexicalForm()} on each
+     * call, returning an {@link java.time.OffsetDateTime} or
+     * {@link java.time.LocalDateTime} for <code>xsd:dateTime</code> with or
+     * without a timezone, an {@link java.time.OffsetTime} or
+     * {@link java.time.LocalTime} for <code>xsd:time</code>, a
+     * {@link java.time.LocalDate} for <code>xsd:date</code> (an accessor also
+     * supporting {@link java.time.temporal.ChronoField#OFFSET_SECONDS} if it
+     * has a timezone), and a {@link java.time.Year},
+     * {@link java.time.YearMonth} or {@link java.time.MonthDay} for
+     * <code>xsd:gYear</code>, <code>xsd:gYearMonth</code> and
+     * <code>xsd:gMonthDay</code> without a timezone. Other implementations
+     * may return other accessors for the same fields, so use e.g.
+     * {@link java.time.LocalDate#from(TemporalAccessor)} to convert the
+     * result.
+     *
+     * @return The temporal value of this literal
+     * @throws DateTimeException
+     *             if the datatype is not an XSD date or time type or the
+     *             lexical form is not valid for it
+     */
+    default TemporalAccessor asTemporal() {
+        return LiteralValues.temporal(this);
+    }
+
     /**
      * Check it this Literal is equal to another Literal.
      * <blockquote>
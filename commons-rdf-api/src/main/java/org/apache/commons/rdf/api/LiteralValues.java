@@ -0,0 +1,162 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.api;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Parses the lexical forms of XSD numeric and temporal literals for the
+ * default methods of {@link Literal}.
+ */
+final class LiteralValues {
+
+    private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+    private static final BigInteger LONG_MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger LONG_MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private static boolean isInteger(final String type) {
+        switch (type) {
+        case "integer":
+        case "long":
+        case "int":
+        case "short":
+        case "byte":
+        case "nonNegativeInteger":
+        case "nonPositiveInteger":
+        case "negativeInteger":
+        case "positiveInteger":
+        case "unsignedLong":
+        case "unsignedInt":
+        case "unsignedShort":
+        case "unsignedByte":
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    private static String localName(final Literal literal) {
+        final String datatype = literal.getDatatype().getIRIString();
+        return datatype.startsWith(XSD) ? datatype.substring(XSD.length()) : "";
+    }
+
+    static Number number(final Literal literal) {
+        final String type = localName(literal);
+        // XSD numeric types collapse whitespace
+        final String lexical = literal.getLexicalForm().trim();
+        if (isInteger(type)) {
+            if (lexical.length() <= 18) {
+                return Long.valueOf(lexical);
+            }
+            final BigInteger value = new BigInteger(lexical);
+            return value.compareTo(LONG_MIN) >= 0 && value.compareTo(LONG_MAX) <= 0 ? (Number) value.longValue()
+                    : value;
+        }
+        switch (type) {
+        case "decimal":
+            return new BigDecimal(lexical);
+        case "double":
+            return parseDouble(lexical);
+        case "float":
+            return (float) parseDouble(lexical);
+        default:
+            throw new NumberFormatException("Not a numeric literal: " + literal.ntriplesString());
+        }
+    }
+
+    private static double parseDouble(final String lexical) {
+        switch (lexical) {
+        case "INF":
+        case "+INF":
+            return Double.POSITIVE_INFINITY;
+        case "-INF":
+            return Double.NEGATIVE_INFINITY;
+        default:
+            return Double.parseDouble(lexical);
+        }
+    }
+
+    static long toLong(final Number number) {
+        if (number instanceof Long || number instanceof Integer || number instanceof Short
+                || number instanceof Byte) {
+            return number.longValue();
+        }
+        if (number instanceof BigInteger) {
+            return ((BigInteger) number).longValueExact();
+        }
+        return toDecimal(number).longValueExact();
+    }
+
+    static BigDecimal toDecimal(final Number number) {
+        if (number instanceof BigDecimal) {
+            return (BigDecimal) number;
+        }
+        if (number instanceof BigInteger) {
+            return new BigDecimal((BigInteger) number);
+        }
+        if (number instanceof Double || number instanceof Float) {
+            final double value = number.doubleValue();
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw new NumberFormatException("Not a decimal: " + number);
+            }
+            // the shortest decimal of the float, not of its double widening
+            return new BigDecimal(number.toString());
+        }
+        return BigDecimal.valueOf(number.longValue());
+    }
+
+    static TemporalAccessor temporal(final Literal literal) {
+        final String lexical = literal.getLexicalForm().trim();
+        switch (localName(literal)) {
+        case "dateTime":
+        case "dateTimeStamp":
+            return DateTimeFormatter.ISO_DATE_TIME.parseBest(lexical, OffsetDateTime::from, LocalDateTime::from);
+        case "date":
+            final TemporalAccessor date = DateTimeFormatter.ISO_DATE.parse(lexical);
+            return date.isSupported(ChronoField.OFFSET_SECONDS) ? date : LocalDate.from(date);
+        case "time":
+            return DateTimeFormatter.ISO_TIME.parseBest(lexical, OffsetTime::from, LocalTime::from);
+        case "gYear":
+            return Year.parse(lexical);
+        case "gYearMonth":
+            return YearMonth.parse(lexical);
+        case "gMonthDay":
+            return MonthDay.parse(lexical);
+        default:
+            throw new DateTimeException("Not a temporal literal: " + literal.ntriplesString());
+        }
+    }
+
+    private LiteralValues() {
+    }
+
+}
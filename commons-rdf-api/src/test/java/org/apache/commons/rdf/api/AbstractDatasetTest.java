@@ -428,6 +428,57 @@ public abstract class AbstractDatasetTest {
         }
     }
 
+    private long countTriples(final Graph graph, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        try (Stream<? extends Triple> stream = graph.stream(subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
+    private long countQuads(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        try (Stream<? extends Quad> stream = dataset.stream(graphName, subject, predicate, object)) {
+            return stream.count();
+        }
+    }
+
+    @Test
+    public void testCount() throws Exception {
+        assertEquals(dataset.size(), dataset.count(null, null, null, null));
+        assertEquals(countQuads(null, alice, null, null), dataset.count(null, alice, null, null));
+        assertEquals(countQuads(Optional.empty(), null, null, null),
+                dataset.count(Optional.empty(), null, null, null));
+        assertEquals(countQuads(Optional.of(graph1), alice, knows, bob),
+                dataset.count(Optional.of(graph1), alice, knows, bob));
+        assertEquals(countQuads(Optional.of(graph2), null, member, null),
+                dataset.count(Optional.of(graph2), null, member, null));
+        final IRI unknown = factory.createIRI("http://example.com/unknown");
+        assertEquals(0, dataset.count(null, unknown, null, null));
+        assertEquals(0, dataset.count(Optional.of(unknown), null, null, null));
+        try (final Graph defaultGraph = dataset.getGraph()) {
+            assertEquals(defaultGraph.size(), defaultGraph.count(null, null, null));
+            assertEquals(countTriples(defaultGraph, null, isPrimaryTopicOf, null),
+                    defaultGraph.count(null, isPrimaryTopicOf, null));
+        }
+        try (final Graph namedGraph = dataset.getGraph(graph1).get()) {
+            assertEquals(namedGraph.size(), namedGraph.count(null, null, null));
+            assertEquals(countTriples(namedGraph, alice, null, null), namedGraph.count(alice, null, null));
+        }
+    }
+
+    @Test
+    public void testEstimateCount() throws Exception {
+        assertEquals(dataset.size(), dataset.estimateCount(null, null, null, null));
+        assertTrue(dataset.estimateCount(Optional.of(graph1), alice, knows, bob) >= 1);
+        assertTrue(dataset.estimateCount(null, alice, null, null) >= 1);
+        assertTrue(dataset.estimateCount(null, alice, null, null) <= dataset.size());
+        assertTrue(dataset.estimateCount(Optional.of(graph2), null, member, null) >= 1);
+        assertTrue(dataset.estimateCount(Optional.empty(), null, isPrimaryTopicOf, null) >= 1);
+        final IRI unknown = factory.createIRI("http://example.com/unknown");
+        assertEquals(0, dataset.estimateCount(null, unknown, null, null));
+        assertEquals(0, dataset.estimateCount(Optional.of(unknown), null, null, null));
+    }
+
     @Test
     public void testGetGraph() throws Exception {
         try (final Graph defaultGraph = dataset.getGraph()) {
@@ -33,7 +33,10 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -55,6 +58,20 @@ import org.junit.jupiter.api.Test;
  */
 public abstract class AbstractGraphTest {
 
+    private static void assertDistinctTerms(final Stream<? extends Triple> triples,
+            final Function<Triple, RDFTerm> position, final Stream<? extends RDFTerm> terms) {
+        final Set<RDFTerm> expected;
+        try (Stream<? extends Triple> stream = triples) {
+            expected = stream.map(position).collect(Collectors.toSet());
+        }
+        final List<RDFTerm> actual;
+        try (Stream<? extends RDFTerm> stream = terms) {
+            actual = stream.collect(Collectors.toList());
+        }
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected, new HashSet<>(actual));
+    }
+
     private static Optional<? extends Triple> closableFindAny(final Stream<? extends Triple> stream) {
         try (Stream<? extends Triple> s = stream) {
             return s.findAny();
@@ -441,6 +458,38 @@ public abstract class AbstractGraphTest {
         }
     }
 
+    @Test
+    public void testCount() throws Exception {
+        final IRI unknown = factory.createIRI("http://example.com/unknown");
+        final RDFTerm[][] patterns = { { null, null, null }, { alice, null, null }, { null, knows, null },
+                { null, null, bob }, { alice, knows, null }, { null, knows, bob }, { alice, null, bob },
+                { alice, knows, bob }, { unknown, null, null }, { null, knows, unknown } };
+        for (final RDFTerm[] p : patterns) {
+            final long expected;
+            try (Stream<? extends Triple> stream = graph.stream((BlankNodeOrIRI) p[0], (IRI) p[1], p[2])) {
+                expected = stream.count();
+            }
+            assertEquals(expected, graph.count((BlankNodeOrIRI) p[0], (IRI) p[1], p[2]));
+        }
+        assertEquals(graph.size(), graph.count(null, null, null));
+    }
+
+    @Test
+    public void testEstimateCount() throws Exception {
+        assertEquals(graph.size(), graph.estimateCount(null, null, null));
+        assertTrue(graph.estimateCount(alice, knows, bob) >= 1);
+        assertTrue(graph.estimateCount(alice, null, null) >= 1);
+        assertTrue(graph.estimateCount(alice, null, null) <= graph.size());
+        assertTrue(graph.estimateCount(null, knows, null) >= 1);
+        assertTrue(graph.estimateCount(null, null, bob) >= 1);
+        assertTrue(graph.estimateCount(alice, knows, null) >= 1);
+        assertTrue(graph.estimateCount(null, knows, bob) >= 1);
+        final IRI unknown = factory.createIRI("http://example.com/unknown");
+        assertEquals(0, graph.estimateCount(unknown, null, null));
+        assertEquals(0, graph.estimateCount(null, unknown, null));
+        assertEquals(0, graph.estimateCount(null, knows, unknown));
+    }
+
     @Test
     public void testGetTriples() throws Exception {
         long tripleCount;
@@ -631,6 +680,22 @@ public abstract class AbstractGraphTest {
         }
     }
 
+    @Test
+    public void testSubjectsPredicatesObjects() throws Exception {
+        final IRI unknown = factory.createIRI("http://example.com/unknown");
+        final RDFTerm[][] patterns = { { null, null, null }, { alice, null, null }, { null, knows, null },
+                { null, null, bob }, { alice, knows, null }, { null, knows, bob }, { alice, null, bob },
+                { unknown, null, null }, { null, knows, unknown } };
+        for (final RDFTerm[] p : patterns) {
+            final BlankNodeOrIRI s = (BlankNodeOrIRI) p[0];
+            final IRI pred = (IRI) p[1];
+            final RDFTerm o = p[2];
+            assertDistinctTerms(graph.stream(null, pred, o), Triple::getSubject, graph.subjects(pred, o));
+            assertDistinctTerms(graph.stream(s, null, o), Triple::getPredicate, graph.predicates(s, o));
+            assertDistinctTerms(graph.stream(s, pred, null), Triple::getObject, graph.objects(s, pred));
+        }
+    }
+
     /**
      * An attempt to use the Java 8 streams to look up a more complicated query.
      * <p>
@@ -24,6 +24,12 @@ import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
 
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.Year;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
@@ -186,6 +192,44 @@ public abstract class AbstractRDFTest {
                 dateTime.ntriplesString());
     }
 
+    @Test
+    public void testLiteralValues() throws Exception {
+        final String xsd = "http://www.w3.org/2001/XMLSchema#";
+        final Literal integer = factory.createLiteral("42", factory.createIRI(xsd + "integer"));
+        assertEquals(42L, integer.asLong());
+        assertEquals(42L, integer.asLong());
+        assertEquals(42.0, integer.asDouble());
+        assertEquals(new BigDecimal("42"), integer.asDecimal());
+        final Literal big = factory.createLiteral("123456789012345678901234567890",
+                factory.createIRI(xsd + "integer"));
+        assertEquals(new BigDecimal("123456789012345678901234567890"), big.asDecimal());
+        assertThrows(ArithmeticException.class, big::asLong);
+        final Literal decimal = factory.createLiteral("2.50", factory.createIRI(xsd + "decimal"));
+        assertEquals(0, new BigDecimal("2.5").compareTo(decimal.asDecimal()));
+        assertEquals(2.5, decimal.asDouble());
+        assertThrows(ArithmeticException.class, decimal::asLong);
+        final Literal dbl = factory.createLiteral("1.5E2", factory.createIRI(xsd + "double"));
+        assertEquals(150.0, dbl.asDouble());
+        assertEquals(150L, dbl.asLong());
+        final Literal inf = factory.createLiteral("-INF", factory.createIRI(xsd + "double"));
+        assertEquals(Double.NEGATIVE_INFINITY, inf.asDouble());
+        assertThrows(NumberFormatException.class, inf::asDecimal);
+        final Literal dateTime = factory.createLiteral("2014-12-27T00:50:00-06:00",
+                factory.createIRI(xsd + "dateTime"));
+        assertEquals(OffsetDateTime.parse("2014-12-27T00:50:00-06:00"), OffsetDateTime.from(dateTime.asTemporal()));
+        final Literal local = factory.createLiteral("2014-12-27T00:50:00", factory.createIRI(xsd + "dateTime"));
+        assertEquals(LocalDateTime.parse("2014-12-27T00:50:00"), LocalDateTime.from(local.asTemporal()));
+        final Literal date = factory.createLiteral("2014-12-27", factory.createIRI(xsd + "date"));
+        assertEquals(LocalDate.of(2014, 12, 27), LocalDate.from(date.asTemporal()));
+        final Literal year = factory.createLiteral("2014", factory.createIRI(xsd + "gYear"));
+        assertEquals(Year.of(2014), Year.from(year.asTemporal()));
+        final Literal string = factory.createLiteral("42");
+        assertThrows(NumberFormatException.class, string::asLong);
+        assertThrows(DateTimeException.class, string::asTemporal);
+        final Literal invalid = factory.createLiteral("forty-two", factory.createIRI(xsd + "int"));
+        assertThrows(NumberFormatException.class, invalid::asDouble);
+    }
+
     @Test
     public void testCreateLiteralLang() throws Exception {
         final Literal example = factory.createLiteral("Example", "en");
@@ -0,0 +1,100 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.api;
+
+import java.util.Objects;
+import java.util.Optional;
+
+final class DummyLiteral implements Literal {
+    static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+    private static final class DatatypeIRI implements IRI {
+        private final String iri;
+
+        DatatypeIRI(final String iri) {
+            this.iri = iri;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return (obj instanceof IRI) && ((IRI) obj).getIRIString().equals(iri);
+        }
+
+        @Override
+        public String getIRIString() {
+            return iri;
+        }
+
+        @Override
+        public int hashCode() {
+            return iri.hashCode();
+        }
+
+        @Override
+        public String ntriplesString() {
+            return "<" + iri + ">";
+        }
+    }
+
+    final String lexicalForm;
+    final IRI datatype;
+
+    public DummyLiteral(final String lexicalForm, final IRI datatype) {
+        this.lexicalForm = lexicalForm;
+        this.datatype = datatype;
+    }
+
+    public DummyLiteral(final String lexicalForm, final String xsdType) {
+        this(lexicalForm, new DatatypeIRI(XSD + xsdType));
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!(obj instanceof Literal)) {
+            return false;
+        }
+        final Literal other = (Literal) obj;
+        return other.getLexicalForm().equals(lexicalForm) && other.getDatatype().equals(datatype)
+                && !other.getLanguageTag().isPresent();
+    }
+
+    @Override
+    public IRI getDatatype() {
+        return datatype;
+    }
+
+    @Override
+    public Optional<String> getLanguageTag() {
+        return Optional.empty();
+    }
+
+    @Override
+    public String getLexicalForm() {
+        return lexicalForm;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(lexicalForm, datatype, getLanguageTag());
+    }
+
+    @Override
+    public String ntriplesString() {
+        return "\"" + lexicalForm + "\"^^" + datatype.ntriplesString();
+    }
+}
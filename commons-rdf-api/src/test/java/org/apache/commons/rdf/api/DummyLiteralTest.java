@@ -0,0 +1,177 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the default value methods of {@link Literal}.
+ */
+public class DummyLiteralTest {
+
+    private static final String[] INTEGER_TYPES = { "integer", "long", "int", "short", "byte", "nonNegativeInteger",
+            "nonPositiveInteger", "negativeInteger", "positiveInteger", "unsignedLong", "unsignedInt",
+            "unsignedShort", "unsignedByte" };
+
+    @Test
+    public void testAsDecimal() {
+        assertEquals(new BigDecimal("1.50"), new DummyLiteral("1.50", "decimal").asDecimal());
+        assertEquals(BigDecimal.valueOf(42), new DummyLiteral("42", "int").asDecimal());
+        assertEquals(new BigDecimal("123456789012345678901234"),
+                new DummyLiteral("123456789012345678901234", "integer").asDecimal());
+        // the shortest decimal of the float, not of its double widening
+        assertEquals(new BigDecimal("0.1"), new DummyLiteral("0.1", "float").asDecimal());
+        assertEquals(new BigDecimal("2.5"), new DummyLiteral("2.5", "double").asDecimal());
+        assertThrows(NumberFormatException.class, () -> new DummyLiteral("INF", "double").asDecimal());
+        assertThrows(NumberFormatException.class, () -> new DummyLiteral("NaN", "float").asDecimal());
+    }
+
+    @Test
+    public void testAsDouble() {
+        assertEquals(1.5, new DummyLiteral("1.5", "decimal").asDouble());
+        assertEquals(42.0, new DummyLiteral("42", "integer").asDouble());
+        assertEquals(1000.0, new DummyLiteral("1e3", "double").asDouble());
+    }
+
+    @Test
+    public void testAsLong() {
+        assertEquals(42L, new DummyLiteral("42", "unsignedByte").asLong());
+        assertEquals(Long.MIN_VALUE, new DummyLiteral("-9223372036854775808", "long").asLong());
+        assertEquals(2L, new DummyLiteral("2.0", "decimal").asLong());
+        assertEquals(3L, new DummyLiteral("3", "double").asLong());
+        assertThrows(ArithmeticException.class, () -> new DummyLiteral("2.5", "decimal").asLong());
+        assertThrows(ArithmeticException.class,
+                () -> new DummyLiteral("123456789012345678901234", "integer").asLong());
+        assertThrows(NumberFormatException.class, () -> new DummyLiteral("-INF", "double").asLong());
+    }
+
+    @Test
+    public void testAsNumberBigInteger() {
+        final Number big = new DummyLiteral("123456789012345678901234", "integer").asNumber();
+        assertEquals(new BigInteger("123456789012345678901234"), big);
+        assertEquals(new BigInteger("-123456789012345678901234"),
+                new DummyLiteral("-123456789012345678901234", "nonPositiveInteger").asNumber());
+        // more than 18 digits, but in the range of long
+        assertEquals(Long.MAX_VALUE, new DummyLiteral("9223372036854775807", "unsignedLong").asNumber());
+        assertEquals(Long.valueOf(1), new DummyLiteral("00000000000000000001", "positiveInteger").asNumber());
+        assertInstanceOf(BigInteger.class, new DummyLiteral("9223372036854775808", "integer").asNumber());
+    }
+
+    @Test
+    public void testAsNumberDecimal() {
+        final Number decimal = new DummyLiteral(" 1.50 ", "decimal").asNumber();
+        assertInstanceOf(BigDecimal.class, decimal);
+        assertEquals(new BigDecimal("1.50"), decimal);
+    }
+
+    @Test
+    public void testAsNumberDoubleAndFloat() {
+        assertEquals(Double.valueOf(0.1), new DummyLiteral("0.1", "double").asNumber());
+        assertEquals(Float.valueOf(0.1f), new DummyLiteral("0.1", "float").asNumber());
+        assertEquals(Double.POSITIVE_INFINITY, new DummyLiteral("INF", "double").asNumber());
+        assertEquals(Double.POSITIVE_INFINITY, new DummyLiteral("+INF", "double").asNumber());
+        assertEquals(Double.NEGATIVE_INFINITY, new DummyLiteral("-INF", "double").asNumber());
+        assertEquals(Float.NEGATIVE_INFINITY, new DummyLiteral("-INF", "float").asNumber());
+        assertTrue(Double.isNaN(new DummyLiteral("NaN", "double").asNumber().doubleValue()));
+        assertTrue(Float.isNaN(new DummyLiteral("NaN", "float").asNumber().floatValue()));
+    }
+
+    @Test
+    public void testAsNumberIntegerTypes() {
+        for (final String type : INTEGER_TYPES) {
+            final Number number = new DummyLiteral(" 42 ", type).asNumber();
+            assertEquals(Long.valueOf(42), number, type);
+        }
+    }
+
+    @Test
+    public void testAsNumberInvalid() {
+        assertThrows(NumberFormatException.class, () -> new DummyLiteral("42", "string").asNumber());
+        assertThrows(NumberFormatException.class, () -> new DummyLiteral("4.2", "integer").asNumber());
+        assertThrows(NumberFormatException.class, () -> new DummyLiteral("many", "decimal").asNumber());
+        assertThrows(NumberFormatException.class, () -> new DummyLiteral("infinity", "double").asNumber());
+    }
+
+    @Test
+    public void testAsTemporalDate() {
+        assertEquals(LocalDate.of(2020, 1, 2), new DummyLiteral("2020-01-02", "date").asTemporal());
+        final TemporalAccessor withOffset = new DummyLiteral("2020-01-02+01:00", "date").asTemporal();
+        assertTrue(withOffset.isSupported(ChronoField.OFFSET_SECONDS));
+        assertEquals(3600, withOffset.get(ChronoField.OFFSET_SECONDS));
+        assertEquals(LocalDate.of(2020, 1, 2), LocalDate.from(withOffset));
+    }
+
+    @Test
+    public void testAsTemporalDateTime() {
+        assertEquals(LocalDateTime.of(2020, 1, 2, 3, 4, 5),
+                new DummyLiteral("2020-01-02T03:04:05", "dateTime").asTemporal());
+        assertEquals(OffsetDateTime.of(2020, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC),
+                new DummyLiteral("2020-01-02T03:04:05Z", "dateTime").asTemporal());
+        assertEquals(OffsetDateTime.of(2020, 1, 2, 3, 4, 5, 0, ZoneOffset.ofHours(-5)),
+                new DummyLiteral("2020-01-02T03:04:05-05:00", "dateTimeStamp").asTemporal());
+    }
+
+    @Test
+    public void testAsTemporalGregorian() {
+        assertEquals(Year.of(2020), new DummyLiteral("2020", "gYear").asTemporal());
+        assertEquals(YearMonth.of(2020, 5), new DummyLiteral("2020-05", "gYearMonth").asTemporal());
+        assertEquals(MonthDay.of(5, 1), new DummyLiteral("--05-01", "gMonthDay").asTemporal());
+    }
+
+    @Test
+    public void testAsTemporalInvalid() {
+        assertThrows(DateTimeException.class, () -> new DummyLiteral("2020-01-02", "string").asTemporal());
+        assertThrows(DateTimeException.class, () -> new DummyLiteral("2020-13-02", "date").asTemporal());
+        assertThrows(DateTimeException.class, () -> new DummyLiteral("noon", "time").asTemporal());
+    }
+
+    @Test
+    public void testAsTemporalTime() {
+        assertEquals(LocalTime.of(12, 30), new DummyLiteral("12:30:00", "time").asTemporal());
+        assertEquals(OffsetTime.of(12, 30, 0, 0, ZoneOffset.UTC), new DummyLiteral("12:30:00Z", "time").asTemporal());
+    }
+
+    @Test
+    public void testNotXsd() {
+        final Literal literal = new DummyLiteral("42", new DummyIRI(1));
+        assertThrows(NumberFormatException.class, literal::asNumber);
+        assertThrows(DateTimeException.class, literal::asTemporal);
+        assertEquals("\"42\"^^<http://www.w3.org/2001/XMLSchema#integer>",
+                new DummyLiteral("42", "integer").ntriplesString());
+    }
+}
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.api.Graph;
@@ -35,6 +36,8 @@ import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.jena.JenaRDF;
 import org.apache.commons.rdf.jsonldjava.JsonLdRDF;
 import org.apache.commons.rdf.rdf4j.RDF4J;
+import org.apache.commons.rdf.simple.Change;
+import org.apache.commons.rdf.simple.GraphDiff;
 import org.apache.commons.rdf.simple.SimpleRDF;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -168,4 +171,39 @@ public class AllToAllTest {
             assertEquals(t1, t3);
         }
     }
+
+    /*
+     * Diff between graphs of two implementations, and patch the first graph
+     * to match the second.
+     */
+    @MethodSource("data")
+    @ParameterizedTest(name = "{index}: {0} -> {1}")
+    public void testDiffAndPatch(final Class<? extends RDF> from, final Class<? extends RDF> to) throws Exception {
+        final RDF fromFactory = from.getConstructor().newInstance();
+        final RDF toFactory = to.getConstructor().newInstance();
+        try (final Graph fromGraph = fromFactory.createGraph(); final Graph toGraph = toFactory.createGraph()) {
+            for (final RDF factory : Arrays.asList(fromFactory, toFactory)) {
+                final Graph g = factory == fromFactory ? fromGraph : toGraph;
+                g.add(factory.createIRI("http://example.com/s"), factory.createIRI("http://example.com/p"),
+                        factory.createLiteral("Hello", "en"));
+                g.add(factory.createIRI("http://example.com/s"), factory.createIRI("http://example.com/p"),
+                        factory.createLiteral("1", factory.createIRI("http://www.w3.org/2001/XMLSchema#integer")));
+            }
+            fromGraph.add(fromFactory.createIRI("http://example.com/s"), fromFactory.createIRI("http://example.com/p"),
+                    fromFactory.createLiteral("removed"));
+            toGraph.add(toFactory.createIRI("http://example.com/s"), toFactory.createIRI("http://example.com/p"),
+                    toFactory.createLiteral("added"));
+
+            final List<Change> changes = new GraphDiff().diff(fromGraph, toGraph).collect(Collectors.toList());
+            assertEquals(2, changes.size());
+            assertEquals(Change.Type.REMOVE, changes.get(0).getType());
+            assertEquals("\"removed\"", changes.get(0).getTriple().getObject().ntriplesString());
+            assertEquals(Change.Type.ADD, changes.get(1).getType());
+            assertEquals("\"added\"", changes.get(1).getTriple().getObject().ntriplesString());
+
+            GraphDiff.patch(fromGraph, new GraphDiff().diff(fromGraph, toGraph));
+            assertEquals(3, fromGraph.size());
+            assertEquals(0, new GraphDiff().diff(fromGraph, toGraph).count());
+        }
+    }
 }
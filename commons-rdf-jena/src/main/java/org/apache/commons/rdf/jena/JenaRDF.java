@@ -35,6 +35,7 @@ import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.api.TripleLike;
 import org.apache.commons.rdf.jena.impl.InternalJenaFactory;
+import org.apache.commons.rdf.simple.experimental.TermTranslator;
 import org.apache.jena.datatypes.RDFDatatype;
 import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.graph.Node;
@@ -470,6 +471,9 @@ public final class JenaRDF implements RDF {
      * Convert a CommonsRDF RDFTerm to a Jena Node. If the RDFTerm was from Jena
      * originally, return that original object, else create a copy using Jena
      * objects.
+     * <p>
+     * Foreign IRIs and literals are translated with
+     * {@link TermTranslator#getDefault()}, which may return a cached copy.
      *
      * @param term
      *            Commons RDF {@link RDFTerm} to convert
@@ -486,15 +490,8 @@ public final class JenaRDF implements RDF {
             return ((JenaRDFTerm) term).asJenaNode();
         }
 
-        if (term instanceof IRI) {
-            return NodeFactory.createURI(((IRI) term).getIRIString());
-        }
-
-        if (term instanceof Literal) {
-            final Literal lit = (Literal) term;
-            final RDFDatatype dt = NodeFactory.getType(lit.getDatatype().getIRIString());
-            final String lang = lit.getLanguageTag().orElse("");
-            return NodeFactory.createLiteral(lit.getLexicalForm(), lang, dt);
+        if (term instanceof IRI || term instanceof Literal) {
+            return TermTranslator.getDefault().translate(Node.class, term, JenaRDF::createJenaNode);
         }
 
         if (term instanceof BlankNode) {
@@ -504,6 +501,16 @@ public final class JenaRDF implements RDF {
         throw new ConversionException("Not a concrete RDF Term: " + term);
     }
 
+    private static Node createJenaNode(final RDFTerm term) {
+        if (term instanceof IRI) {
+            return NodeFactory.createURI(((IRI) term).getIRIString());
+        }
+        final Literal lit = (Literal) term;
+        final RDFDatatype dt = NodeFactory.getType(lit.getDatatype().getIRIString());
+        final String lang = lit.getLanguageTag().orElse("");
+        return NodeFactory.createLiteral(lit.getLexicalForm(), lang, dt);
+    }
+
     /**
      * Convert a CommonsRDF {@link Quad} to a Jena
      * {@link org.apache.jena.sparql.core.Quad}.
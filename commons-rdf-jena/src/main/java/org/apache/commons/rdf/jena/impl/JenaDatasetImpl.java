@@ -21,12 +21,15 @@ package org.apache.commons.rdf.jena.impl;
 import static org.apache.jena.graph.Node.ANY;
 
 import java.io.StringWriter;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Quad;
@@ -34,6 +37,7 @@ import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.jena.JenaDataset;
 import org.apache.commons.rdf.jena.JenaGraph;
 import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.commons.rdf.simple.DatasetCopyTarget;
 import org.apache.jena.atlas.iterator.Iter;
 import org.apache.jena.graph.Node;
 import org.apache.jena.riot.Lang;
@@ -41,7 +45,7 @@ import org.apache.jena.riot.RDFDataMgr;
 import org.apache.jena.sparql.core.DatasetGraph;
 import org.apache.jena.sparql.core.GraphView;
 
-final class JenaDatasetImpl implements JenaDataset {
+final class JenaDatasetImpl implements JenaDataset, DatasetCopyTarget {
 
     private final DatasetGraph datasetGraph;
     private final UUID salt;
@@ -64,6 +68,34 @@ final class JenaDatasetImpl implements JenaDataset {
         datasetGraph.add(factory.asJenaQuad(quad));
     }
 
+    @Override
+    public void addAll(final Collection<? extends Quad> quads) {
+        quads.parallelStream().map(factory::asJenaQuad).collect(Collectors.toList()).forEach(datasetGraph::add);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The quads of another {@link JenaDataset} are copied as Jena quads,
+     * without converting their terms.
+     */
+    @Override
+    public boolean addAllNatively(final Dataset source) {
+        if (!(source instanceof JenaDataset)) {
+            return false;
+        }
+        final DatasetGraph sourceGraph = ((JenaDataset) source).asJenaDatasetGraph();
+        if (sourceGraph != datasetGraph) {
+            final Iterator<org.apache.jena.sparql.core.Quad> quads = sourceGraph.find();
+            try {
+                quads.forEachRemaining(datasetGraph::add);
+            } finally {
+                Iter.close(quads);
+            }
+        }
+        return true;
+    }
+
     @Override
     public DatasetGraph asJenaDatasetGraph() {
         return datasetGraph;
@@ -90,6 +122,40 @@ final class JenaDatasetImpl implements JenaDataset {
         return datasetGraph.contains(factory.asJenaQuad(quad));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Matching Jena quads are counted without converting them.
+     */
+    @Override
+    public long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (graphName == null && subject == null && predicate == null && object == null) {
+            return size();
+        }
+        return JenaGraphImpl.countUpTo(datasetGraph.find(toJenaPattern(graphName),
+                toJenaPattern(subject), toJenaPattern(predicate), toJenaPattern(object)), Long.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Matching Jena quads are counted without converting them, up to
+     * {@value JenaGraphImpl#ESTIMATE_LIMIT}; patterns with more matches are
+     * estimated as the size of the dataset.
+     */
+    @Override
+    public long estimateCount(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (graphName == null && subject == null && predicate == null && object == null) {
+            return size();
+        }
+        final long count = JenaGraphImpl.countUpTo(datasetGraph.find(toJenaPattern(graphName),
+                toJenaPattern(subject), toJenaPattern(predicate), toJenaPattern(object)),
+                JenaGraphImpl.ESTIMATE_LIMIT + 1);
+        return count > JenaGraphImpl.ESTIMATE_LIMIT ? Math.max(count, size()) : count;
+    }
+
     @Override
     public Graph getGraph() {
         final GraphView g = GraphView.createDefaultGraph(datasetGraph);
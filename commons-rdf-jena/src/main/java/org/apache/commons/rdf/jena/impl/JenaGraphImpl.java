@@ -19,24 +19,64 @@
 package org.apache.commons.rdf.jena.impl;
 
 import java.io.StringWriter;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.jena.JenaGraph;
 import org.apache.commons.rdf.jena.JenaRDF;
+import org.apache.commons.rdf.simple.GraphCopyTarget;
+import org.apache.commons.rdf.simple.experimental.BasicGraphPattern;
+import org.apache.commons.rdf.simple.experimental.BasicGraphPatternEvaluator;
+import org.apache.commons.rdf.simple.experimental.Solution;
+import org.apache.commons.rdf.simple.experimental.TriplePattern;
+import org.apache.commons.rdf.simple.experimental.Variable;
 import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.graph.GraphUtil;
 import org.apache.jena.graph.Node;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.ModelFactory;
 import org.apache.jena.riot.Lang;
 import org.apache.jena.riot.RDFDataMgr;
+import org.apache.jena.sparql.algebra.Algebra;
+import org.apache.jena.sparql.algebra.op.OpBGP;
+import org.apache.jena.sparql.core.BasicPattern;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.QueryIterator;
 
-final class JenaGraphImpl implements JenaGraph {
+final class JenaGraphImpl implements JenaGraph, BasicGraphPatternEvaluator, GraphCopyTarget {
+
+    /**
+     * Patterns with more matches than this are estimated as the whole graph
+     * or dataset by {@link #estimateCount(BlankNodeOrIRI, IRI, RDFTerm)}.
+     */
+    static final long ESTIMATE_LIMIT = 10_000;
+
+    /**
+     * Counts the elements of an iterator, up to a limit, and closes it.
+     */
+    static long countUpTo(final Iterator<?> iterator, final long limit) {
+        try {
+            long count = 0;
+            while (count < limit && iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+            return count;
+        } finally {
+            Iter.close(iterator);
+        }
+    }
 
     private final org.apache.jena.graph.Graph graph;
     private final UUID salt;
@@ -67,6 +107,29 @@ final class JenaGraphImpl implements JenaGraph {
         graph.add(factory.asJenaTriple(triple));
     }
 
+    @Override
+    public void addAll(final Collection<? extends Triple> triples) {
+        GraphUtil.add(graph, triples.parallelStream().map(factory::asJenaTriple).collect(Collectors.toList()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The triples of another {@link JenaGraph} are copied with
+     * {@link GraphUtil#addInto(org.apache.jena.graph.Graph, org.apache.jena.graph.Graph)}.
+     */
+    @Override
+    public boolean addAllNatively(final Graph source) {
+        if (!(source instanceof JenaGraph)) {
+            return false;
+        }
+        final org.apache.jena.graph.Graph sourceGraph = ((JenaGraph) source).asJenaGraph();
+        if (sourceGraph != graph) {
+            GraphUtil.addInto(graph, sourceGraph);
+        }
+        return true;
+    }
+
     @Override
     public org.apache.jena.graph.Graph asJenaGraph() {
         return graph;
@@ -107,6 +170,81 @@ final class JenaGraphImpl implements JenaGraph {
         return graph.contains(factory.asJenaTriple(triple));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Matching Jena triples are counted without converting them.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject == null && predicate == null && object == null) {
+            return size();
+        }
+        return countUpTo(graph.find(toJenaAny(subject), toJenaAny(predicate), toJenaAny(object)), Long.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Matching Jena triples are counted without converting them, up to
+     * {@value #ESTIMATE_LIMIT}; patterns with more matches are estimated as
+     * the size of the graph.
+     */
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject == null && predicate == null && object == null) {
+            return size();
+        }
+        final long count = countUpTo(graph.find(toJenaAny(subject), toJenaAny(predicate), toJenaAny(object)),
+                ESTIMATE_LIMIT + 1);
+        return count > ESTIMATE_LIMIT ? Math.max(count, size()) : count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The pattern is evaluated by the ARQ query engine over the Jena graph,
+     * converting only the bound terms of each solution.
+     */
+    @Override
+    public Optional<Stream<Solution>> evaluate(final BasicGraphPattern pattern) {
+        final BasicPattern bgp = new BasicPattern();
+        for (final TriplePattern p : pattern.getPatterns()) {
+            bgp.add(org.apache.jena.graph.Triple.create(toJenaVar(p.getSubject()), toJenaVar(p.getPredicate()),
+                    toJenaVar(p.getObject())));
+        }
+        final List<Variable> variables = pattern.getVariables();
+        final Var[] vars = variables.stream().map(v -> Var.alloc(v.getName())).toArray(Var[]::new);
+        final JenaRDF factory = new JenaRDF(salt);
+        final QueryIterator bindings = Algebra.exec(new OpBGP(bgp), graph);
+        return Optional.of(Iter.asStream(bindings).onClose(bindings::close).map(binding -> {
+            final RDFTerm[] values = new RDFTerm[vars.length];
+            for (int i = 0; i < vars.length; i++) {
+                values[i] = factory.asRDFTerm(binding.get(vars[i]));
+            }
+            return new Solution(variables, values);
+        }));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The distinct Jena nodes are found with
+     * {@link GraphUtil#listObjects(org.apache.jena.graph.Graph, Node, Node)}
+     * and only then converted.
+     */
+    @Override
+    public Stream<RDFTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        return Iter.asStream(GraphUtil.listObjects(graph, toJenaAny(subject), toJenaAny(predicate)))
+                .map(factory::asRDFTerm);
+    }
+
+    @Override
+    public Stream<IRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        return Iter.asStream(GraphUtil.listPredicates(graph, toJenaAny(subject), toJenaAny(object)))
+                .map(node -> (IRI) factory.asRDFTerm(node));
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         graph.remove(toJenaPattern(subject), toJenaPattern(predicate),
@@ -146,6 +284,12 @@ final class JenaGraphImpl implements JenaGraph {
         return Iter.asStream(graph.find(toJenaAny(s), toJenaAny(p), toJenaAny(o)), true).map(factory::asTriple).sequential();
     }
 
+    @Override
+    public Stream<BlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        return Iter.asStream(GraphUtil.listSubjects(graph, toJenaAny(predicate), toJenaAny(object)))
+                .map(node -> (BlankNodeOrIRI) factory.asRDFTerm(node));
+    }
+
     private Node toJenaAny(final RDFTerm term) {
         if (term == null) {
             return Node.ANY;
@@ -153,6 +297,13 @@ final class JenaGraphImpl implements JenaGraph {
         return factory.asJenaNode(term);
     }
 
+    private Node toJenaVar(final Object term) {
+        if (term instanceof Variable) {
+            return Var.alloc(((Variable) term).getName());
+        }
+        return factory.asJenaNode((RDFTerm) term);
+    }
+
     private Node toJenaPattern(final RDFTerm pattern) {
         if (pattern == null) {
             return Node.ANY;
@@ -18,6 +18,7 @@
 
 package org.apache.commons.rdf.jena.impl;
 
+import java.math.BigDecimal;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
@@ -25,6 +26,8 @@ import java.util.Optional;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.jena.JenaLiteral;
+import org.apache.jena.datatypes.DatatypeFormatException;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.graph.Node;
 
 final class JenaLiteralImpl extends AbstractJenaRDFTerm implements JenaLiteral {
@@ -43,6 +46,25 @@ final class JenaLiteralImpl extends AbstractJenaRDFTerm implements JenaLiteral {
         }
     }
 
+    @Override
+    public Number asNumber() {
+        final Node node = asJenaNode();
+        final String datatype = node.getLiteralDatatypeURI();
+        if (datatype != null && datatype.startsWith(XSDDatatype.XSD)) {
+            // Reuse the value Jena has parsed and kept with the node
+            try {
+                final Object value = node.getLiteralValue();
+                if (value instanceof Number
+                        && value instanceof BigDecimal == XSDDatatype.XSDdecimal.getURI().equals(datatype)) {
+                    return (Number) value;
+                }
+            } catch (final DatatypeFormatException e) {
+                // fall through to the error of the default implementation
+            }
+        }
+        return JenaLiteral.super.asNumber();
+    }
+
     @Override
     public boolean equals(final Object other) {
         if (other == this) {
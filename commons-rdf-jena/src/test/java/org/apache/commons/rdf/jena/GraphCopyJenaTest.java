@@ -0,0 +1,82 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jena;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.simple.Graphs;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.Test;
+
+public class GraphCopyJenaTest {
+
+    private final JenaRDF factory = new JenaRDF();
+    private final SimpleRDF simple = new SimpleRDF();
+
+    private void fill(final Graph graph, final org.apache.commons.rdf.api.RDF rdf) {
+        final IRI p = rdf.createIRI("http://example.com/p");
+        BlankNode previous = rdf.createBlankNode();
+        for (int i = 0; i < 25_000; i++) {
+            final BlankNode next = rdf.createBlankNode();
+            graph.add(previous, p, next);
+            graph.add(next, p, rdf.createLiteral("node " + i, "en"));
+            previous = next;
+        }
+    }
+
+    @Test
+    public void copyGraph() throws Exception {
+        final JenaGraph jena = factory.createGraph();
+        fill(jena, factory);
+
+        final JenaGraph nativeCopy = factory.createGraph();
+        Graphs.copy(jena, nativeCopy);
+        assertTrue(nativeCopy.asJenaGraph().isIsomorphicWith(jena.asJenaGraph()));
+
+        final Graph simpleCopy = simple.createGraph();
+        Graphs.copy(jena, simpleCopy);
+        final JenaGraph batchedCopy = factory.createGraph();
+        Graphs.copy(simpleCopy, batchedCopy);
+        assertEquals(jena.size(), batchedCopy.size());
+        assertTrue(batchedCopy.asJenaGraph().isIsomorphicWith(jena.asJenaGraph()));
+    }
+
+    @Test
+    public void copyDataset() throws Exception {
+        final Dataset dataset = simple.createDataset();
+        final IRI p = simple.createIRI("http://example.com/p");
+        final BlankNode b = simple.createBlankNode();
+        dataset.add(null, b, p, simple.createLiteral("default"));
+        dataset.add(p, b, p, simple.createLiteral("named"));
+        dataset.add(b, p, p, b);
+
+        final JenaDataset jena = factory.createDataset();
+        Graphs.copy(dataset, jena);
+        assertEquals(3, jena.size());
+        final JenaDataset nativeCopy = factory.createDataset();
+        Graphs.copy(jena, nativeCopy);
+        assertEquals(3, nativeCopy.size());
+        assertTrue(Graphs.isIsomorphic(dataset, nativeCopy));
+    }
+
+}
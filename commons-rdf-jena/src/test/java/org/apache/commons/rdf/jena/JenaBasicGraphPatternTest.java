@@ -0,0 +1,77 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jena;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.simple.experimental.BasicGraphPattern;
+import org.apache.commons.rdf.simple.experimental.BasicGraphPatternEvaluator;
+import org.apache.commons.rdf.simple.experimental.Solution;
+import org.apache.commons.rdf.simple.experimental.TriplePattern;
+import org.apache.commons.rdf.simple.experimental.Variable;
+import org.junit.jupiter.api.Test;
+
+public class JenaBasicGraphPatternTest {
+
+    private final JenaRDF factory = new JenaRDF();
+    private final IRI knows = factory.createIRI("http://xmlns.com/foaf/0.1/knows");
+    private final IRI name = factory.createIRI("http://xmlns.com/foaf/0.1/name");
+    private final Variable x = new Variable("x");
+    private final Variable y = new Variable("y");
+    private final Variable z = new Variable("z");
+
+    private static Map<Solution, Long> counts(final Stream<Solution> solutions) {
+        try (Stream<Solution> s = solutions) {
+            return s.collect(Collectors.groupingBy(sol -> sol, Collectors.counting()));
+        }
+    }
+
+    @Test
+    public void nativeMatchesGeneric() throws Exception {
+        final JenaGraph graph = factory.createGraph();
+        assertTrue(graph instanceof BasicGraphPatternEvaluator);
+        final BlankNode bnode = factory.createBlankNode();
+        for (int i = 0; i < 30; i++) {
+            final BlankNodeOrIRI person = i % 3 == 0 ? bnode : factory.createIRI("http://example.com/" + i);
+            graph.add(person, name, factory.createLiteral("Person " + i % 7, "en"));
+            graph.add(person, knows, factory.createIRI("http://example.com/" + (i * 7 + 1) % 30));
+        }
+        final BasicGraphPattern[] patterns = {
+            new BasicGraphPattern(new TriplePattern(x, knows, y), new TriplePattern(y, knows, z)),
+            new BasicGraphPattern(new TriplePattern(x, name, y), new TriplePattern(z, name, y)),
+            new BasicGraphPattern(new TriplePattern(bnode, knows, x), new TriplePattern(x, name, y)),
+            new BasicGraphPattern(new TriplePattern(x, y, x)),
+            new BasicGraphPattern(),
+        };
+        for (final BasicGraphPattern bgp : patterns) {
+            final Map<Solution, Long> expected = counts(bgp.pushDown(false).evaluate(graph));
+            assertEquals(expected, counts(bgp.evaluate(graph)), bgp.toString());
+        }
+        assertFalse(counts(patterns[2].evaluate(graph)).isEmpty());
+    }
+
+}
@@ -26,7 +26,11 @@ import org.apache.commons.rdf.api.BlankNode;
 import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.experimental.CachingTermTranslator;
+import org.apache.commons.rdf.simple.experimental.TermTranslator;
+import org.apache.jena.graph.Node;
 import org.apache.jena.rdf.model.Model;
 import org.apache.jena.rdf.model.Property;
 import org.apache.jena.rdf.model.RDFNode;
@@ -43,6 +47,23 @@ public class JenaRDFTest extends AbstractRDFTest {
         return new JenaRDF();
     }
 
+    @Test
+    public void testTermTranslator() {
+        final CachingTermTranslator translator = new CachingTermTranslator(100);
+        TermTranslator.setDefault(translator);
+        try {
+            final SimpleRDF simple = new SimpleRDF();
+            final Literal literal = simple.createLiteral("1", simple.createIRI("http://example.com/type"));
+            final Node node = createFactory().asJenaNode(literal);
+            assertSame(node, createFactory().asJenaNode(simple.createLiteral("1", literal.getDatatype())));
+            assertEquals(1, translator.getHits(Node.class));
+            assertEquals(1, translator.getMisses(Node.class));
+            assertEquals("http://example.com/type", node.getLiteralDatatypeURI());
+        } finally {
+            TermTranslator.setDefault(TermTranslator.none());
+        }
+    }
+
     @Test
     public void testRoundTripDatasetGraphShouldMaintainIdentity() {
         final DatasetGraph dsg = DatasetGraphFactory.create();
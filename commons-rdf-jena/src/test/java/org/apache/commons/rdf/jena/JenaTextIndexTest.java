@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jena;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.simple.experimental.TextIndexWrapper;
+import org.junit.jupiter.api.Test;
+
+public class JenaTextIndexTest {
+
+    private final JenaRDF factory = new JenaRDF();
+
+    @Test
+    public void searchJenaGraph() throws Exception {
+        final JenaGraph graph = factory.createGraph();
+        final IRI s = factory.createIRI("http://example.com/s");
+        final IRI label = factory.createIRI("http://www.w3.org/2000/01/rdf-schema#label");
+        graph.add(s, label, factory.createLiteral("Apache Jena", "en"));
+        graph.add(s, label, factory.createLiteral("Jena in Thuringia"));
+        final TextIndexWrapper wrapper = new TextIndexWrapper(graph);
+        assertEquals(2, wrapper.searchToken(label, "jena", null).count());
+        assertEquals(1, wrapper.searchPrefix(label, "apa", "en").count());
+        wrapper.add(s, label, factory.createLiteral("Apache Commons", "en"));
+        assertEquals(2, wrapper.searchPrefix(label, "apa", "en").count());
+        wrapper.remove(s, label, factory.createLiteral("Apache Jena", "en"));
+        assertEquals(1, wrapper.searchToken(null, "jena", "*").count());
+        assertEquals(2, graph.size());
+    }
+
+}
@@ -107,8 +107,7 @@ final class JsonLdDatasetImpl extends AbstractJsonLdGraphLike<org.apache.commons
     @Override
     public Stream<? extends Quad> stream(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
             final RDFTerm object) {
-        return filteredGraphs(graphName).flatMap(List::stream).filter(quadFilter(subject, predicate, object))
-                .map(factory::asQuad);
+        return filteredQuads(graphName, subject, predicate, object).map(factory::asQuad);
     }
 
 }
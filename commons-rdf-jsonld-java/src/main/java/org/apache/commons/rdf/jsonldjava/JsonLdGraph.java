@@ -86,6 +86,17 @@ final class JsonLdGraphImpl extends AbstractJsonLdGraphLike<Triple> implements J
         return contains(graphName, t.getSubject(), t.getPredicate(), t.getObject());
     }
 
+    @Override
+    public Stream<JsonLdTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        return distinctTerms(graphName, subject, predicate, null, RDFDataset.Quad::getObject);
+    }
+
+    @Override
+    public Stream<JsonLdIRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        return distinctTerms(graphName, subject, null, object, RDFDataset.Quad::getPredicate)
+                .map(JsonLdIRI.class::cast);
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         super.remove(graphName, subject, predicate, object);
@@ -105,7 +116,12 @@ final class JsonLdGraphImpl extends AbstractJsonLdGraphLike<Triple> implements J
 
     @Override
     public Stream<JsonLdTriple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
-        return filteredGraphs(graphName).flatMap(List::stream).filter(quadFilter(subject, predicate, object))
-                .map(factory::asTriple).sequential();
+        return filteredQuads(graphName, subject, predicate, object).map(factory::asTriple).sequential();
+    }
+
+    @Override
+    public Stream<BlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        return distinctTerms(graphName, null, predicate, object, RDFDataset.Quad::getSubject)
+                .map(BlankNodeOrIRI.class::cast);
     }
 }
@@ -20,7 +20,10 @@ package org.apache.commons.rdf.jsonldjava;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 
@@ -50,6 +53,11 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
 
     final JsonLdRDF factory;
 
+    /**
+     * Indexes for pattern lookups in {@link #rdfDataSet}.
+     */
+    final JsonLdQuadIndex index;
+
     /**
      * The underlying JSON-LD {@link RDFDataset}.
      * <p>
@@ -66,6 +74,7 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
         this.rdfDataSet = Objects.requireNonNull(rdfDataSet);
         this.bnodePrefix = Objects.requireNonNull(bnodePrefix);
         this.factory = new JsonLdRDF(bnodePrefix);
+        this.index = new JsonLdQuadIndex(factory);
     }
 
     AbstractJsonLdGraphLike(final String bnodePrefix) {
@@ -84,7 +93,11 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
             final String language = literal.getLanguageTag().orElse(null);
             final String datatype = literal.getDatatype().getIRIString();
             rdfDataSet.addQuad(s, p, literal.getLexicalForm(), datatype, language, g);
+        } else {
+            return;
         }
+        final String graph = g == null ? "@default" : g;
+        index.added(graph, rdfDataSet.getQuads(graph));
     }
 
     @Override
@@ -132,23 +145,89 @@ abstract class AbstractJsonLdGraphLike<T extends TripleLike> implements JsonLdGr
     // This will be made public in JsonLdDataset
     // and is used by the other methods.
     boolean contains(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI s, final IRI p, final RDFTerm o) {
-        return filteredGraphs(graphName).flatMap(List::stream).anyMatch(quadFilter(s, p, o));
+        return filteredQuads(graphName, s, p, o).findAny().isPresent();
     }
 
     @Override
     public boolean contains(final T tripleOrQuad) {
-        return stream().anyMatch(Predicate.isEqual(tripleOrQuad));
+        // triples are matched in any graph, quads only in their own graph
+        Optional<BlankNodeOrIRI> graphName = null;
+        if (tripleOrQuad instanceof org.apache.commons.rdf.api.Quad) {
+            graphName = ((org.apache.commons.rdf.api.Quad) tripleOrQuad).getGraphName();
+        }
+        if (!(tripleOrQuad.getSubject() instanceof BlankNodeOrIRI) || !(tripleOrQuad.getPredicate() instanceof IRI)) {
+            // JSON-LD's rdfDataSet does not support generalized RDF
+            return false;
+        }
+        return contains(graphName, (BlankNodeOrIRI) tripleOrQuad.getSubject(), (IRI) tripleOrQuad.getPredicate(),
+                tripleOrQuad.getObject());
     }
 
-    Stream<List<RDFDataset.Quad>> filteredGraphs(final Optional<BlankNodeOrIRI> graphName) {
+    /**
+     * Find the distinct terms at a position of the JSON-LD quads matching a
+     * pattern.
+     * <p>
+     * Nodes are compared by their {@link JsonLdQuadIndex} key, so only the
+     * first node of each term is converted.
+     *
+     * @param graphName
+     *            Graph name, {@link Optional#empty()} for the default graph,
+     *            or {@code null} for any graph
+     * @param subject
+     *            Subject, or {@code null} for any
+     * @param predicate
+     *            Predicate, or {@code null} for any
+     * @param object
+     *            Object, or {@code null} for any
+     * @param position
+     *            The node of a quad to return
+     * @return Stream of distinct terms
+     */
+    Stream<JsonLdTerm> distinctTerms(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object, final Function<RDFDataset.Quad, Node> position) {
+        final Set<Object> keys = ConcurrentHashMap.newKeySet();
+        return filteredQuads(graphName, subject, predicate, object).map(position)
+                .filter(node -> keys.add(index.key(node))).map(factory::asRDFTerm).sequential();
+    }
+
+    Stream<String> filteredGraphNames(final Optional<BlankNodeOrIRI> graphName) {
         return rdfDataSet.graphNames().parallelStream()
                 // if graphName == null (wildcard), select all graphs,
                 // otherwise check its jsonld string
                 // (including @default for default graph)
-                .filter(g -> graphName == null || g.equals(graphName.map(factory::asJsonLdString).orElse("@default")))
-                // remove the quads which match our filter (which could have
-                // nulls as wildcards)
-                .map(rdfDataSet::getQuads);
+                .filter(g -> graphName == null || g.equals(graphName.map(factory::asJsonLdString).orElse("@default")));
+    }
+
+    Stream<List<RDFDataset.Quad>> filteredGraphs(final Optional<BlankNodeOrIRI> graphName) {
+        return filteredGraphNames(graphName).map(rdfDataSet::getQuads);
+    }
+
+    /**
+     * Find the JSON-LD quads matching a pattern.
+     * <p>
+     * Uses {@link #index} rather than scanning all quads of the selected
+     * graphs when any of subject, predicate or object is given.
+     *
+     * @param graphName
+     *            Graph name, {@link Optional#empty()} for the default graph,
+     *            or {@code null} for any graph
+     * @param subject
+     *            Subject, or {@code null} for any
+     * @param predicate
+     *            Predicate, or {@code null} for any
+     * @param object
+     *            Object, or {@code null} for any
+     * @return Stream of matching JSON-LD quads
+     */
+    Stream<RDFDataset.Quad> filteredQuads(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        final Object subjectKey = index.key(subject);
+        final Object predicateKey = index.key(predicate);
+        final Object objectKey = index.key(object);
+        return filteredGraphNames(graphName)
+                .map(g -> index.candidates(g, rdfDataSet.getQuads(g), subjectKey, predicateKey, objectKey))
+                // the candidates may include non-matching quads
+                .flatMap(List::stream).filter(quadFilter(subject, predicate, object));
     }
 
     @Override
@@ -0,0 +1,214 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+import com.github.jsonldjava.core.RDFDataset;
+import com.github.jsonldjava.core.RDFDataset.Node;
+
+/**
+ * Lazy hash indexes by subject, predicate and object over the graphs of a
+ * JSON-LD {@link RDFDataset}.
+ * <p>
+ * An index for a graph (and for one of its positions) is only built when a
+ * pattern with that position bound is looked up in that graph. Quads added
+ * through {@link #added(String, List)} are indexed incrementally.
+ * <p>
+ * As the {@link RDFDataset} can be modified directly (see
+ * {@link JsonLdGraphLike#getRdfDataSet()}), an index is rebuilt if its quad
+ * list has been replaced, changed size or has a different last quad than
+ * when it was indexed. Modifications that leave all of those unchanged (e.g.
+ * {@link List#set(int, Object)}) are not detected.
+ * <p>
+ * Lookups return candidate quads; callers must still check the candidates
+ * against the pattern.
+ */
+final class JsonLdQuadIndex {
+
+    private final class GraphIndex {
+        private final List<RDFDataset.Quad> quads;
+        private int indexedSize;
+        private RDFDataset.Quad last;
+        private Map<Object, List<RDFDataset.Quad>> bySubject;
+        private Map<Object, List<RDFDataset.Quad>> byPredicate;
+        private Map<Object, List<RDFDataset.Quad>> byObject;
+
+        private GraphIndex(final List<RDFDataset.Quad> quads) {
+            this.quads = quads;
+            this.indexedSize = quads.size();
+            this.last = lastQuad(quads);
+        }
+
+        private synchronized void add(final RDFDataset.Quad quad) {
+            addTo(bySubject, quad.getSubject(), quad);
+            addTo(byPredicate, quad.getPredicate(), quad);
+            addTo(byObject, quad.getObject(), quad);
+            indexedSize = quads.size();
+            last = quad;
+        }
+
+        private void addTo(final Map<Object, List<RDFDataset.Quad>> map, final Node node, final RDFDataset.Quad quad) {
+            if (map != null) {
+                map.computeIfAbsent(key(node), k -> new ArrayList<>()).add(quad);
+            }
+        }
+
+        private Map<Object, List<RDFDataset.Quad>> build(final Function<RDFDataset.Quad, Node> position) {
+            final Map<Object, List<RDFDataset.Quad>> map = new HashMap<>();
+            for (final RDFDataset.Quad quad : quads) {
+                map.computeIfAbsent(key(position.apply(quad)), k -> new ArrayList<>()).add(quad);
+            }
+            return map;
+        }
+
+        private synchronized List<RDFDataset.Quad> candidates(final Object subjectKey, final Object predicateKey,
+                final Object objectKey) {
+            List<RDFDataset.Quad> candidates = quads;
+            if (subjectKey != null) {
+                if (bySubject == null) {
+                    bySubject = build(RDFDataset.Quad::getSubject);
+                }
+                candidates = smallest(candidates, bySubject.get(subjectKey));
+            }
+            if (predicateKey != null) {
+                if (byPredicate == null) {
+                    byPredicate = build(RDFDataset.Quad::getPredicate);
+                }
+                candidates = smallest(candidates, byPredicate.get(predicateKey));
+            }
+            if (objectKey != null) {
+                if (byObject == null) {
+                    byObject = build(RDFDataset.Quad::getObject);
+                }
+                candidates = smallest(candidates, byObject.get(objectKey));
+            }
+            return candidates;
+        }
+
+        private boolean isValid(final List<RDFDataset.Quad> currentQuads) {
+            return quads == currentQuads && indexedSize == currentQuads.size() && last == lastQuad(currentQuads);
+        }
+    }
+
+    private static RDFDataset.Quad lastQuad(final List<RDFDataset.Quad> quads) {
+        return quads.isEmpty() ? null : quads.get(quads.size() - 1);
+    }
+
+    private static List<RDFDataset.Quad> smallest(final List<RDFDataset.Quad> candidates,
+            final List<RDFDataset.Quad> bucket) {
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+        return bucket.size() < candidates.size() ? bucket : candidates;
+    }
+
+    private final JsonLdRDF factory;
+
+    private final Map<String, GraphIndex> graphs = new ConcurrentHashMap<>();
+
+    JsonLdQuadIndex(final JsonLdRDF factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Index the last quad of a graph after it was added.
+     *
+     * @param graphName
+     *            JSON-LD graph name, e.g. <code>@default</code>
+     * @param quads
+     *            The quads of the graph, as returned by
+     *            {@link RDFDataset#getQuads(String)}
+     */
+    void added(final String graphName, final List<RDFDataset.Quad> quads) {
+        graphs.computeIfPresent(graphName, (g, index) -> {
+            if (index.quads != quads || index.indexedSize != quads.size() - 1) {
+                // Modified elsewhere, rebuild on next lookup
+                return null;
+            }
+            index.add(lastQuad(quads));
+            return index;
+        });
+    }
+
+    /**
+     * Find candidate quads for a pattern in a graph.
+     *
+     * @param graphName
+     *            JSON-LD graph name, e.g. <code>@default</code>
+     * @param quads
+     *            The quads of the graph, as returned by
+     *            {@link RDFDataset#getQuads(String)}
+     * @param subjectKey
+     *            Key of subject as from {@link #key(RDFTerm)}, or
+     *            {@code null} for any
+     * @param predicateKey
+     *            Key of predicate as from {@link #key(RDFTerm)}, or
+     *            {@code null} for any
+     * @param objectKey
+     *            Key of object as from {@link #key(RDFTerm)}, or
+     *            {@code null} for any
+     * @return A superset of the matching quads, which must not be modified
+     */
+    List<RDFDataset.Quad> candidates(final String graphName, final List<RDFDataset.Quad> quads,
+            final Object subjectKey, final Object predicateKey, final Object objectKey) {
+        if (subjectKey == null && predicateKey == null && objectKey == null) {
+            return quads;
+        }
+        final GraphIndex index = graphs.compute(graphName,
+                (g, existing) -> existing != null && existing.isValid(quads) ? existing : new GraphIndex(quads));
+        return index.candidates(subjectKey, predicateKey, objectKey);
+    }
+
+    /**
+     * Index key for a JSON-LD node.
+     *
+     * @param node
+     *            Node of a quad
+     * @return The index key, equal for nodes of equal terms
+     */
+    Object key(final Node node) {
+        if (node.isLiteral()) {
+            // Special handling for COMMONSRDF-56, COMMONSRDF-51:
+            // use the RDF 1.1-compliant equality of a Commons RDF Literal
+            return factory.asRDFTerm(node);
+        }
+        // IRI or _:blanknode
+        return node.getValue();
+    }
+
+    /**
+     * Index key for a term.
+     *
+     * @param term
+     *            Term to look up, or {@code null} for any
+     * @return The index key, or {@code null} for any
+     */
+    Object key(final RDFTerm term) {
+        return term == null ? null : key(factory.asJsonLdNode(term));
+    }
+
+}
@@ -17,7 +17,6 @@
  */
 package org.apache.commons.rdf.jsonldjava;
 
-import java.util.List;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
@@ -77,6 +76,16 @@ final class JsonLdUnionGraphImpl extends AbstractJsonLdGraphLike<org.apache.comm
         return super.contains(null, subject, predicate, object);
     }
 
+    @Override
+    public Stream<JsonLdTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        return distinctTerms(null, subject, predicate, null, RDFDataset.Quad::getObject);
+    }
+
+    @Override
+    public Stream<JsonLdIRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        return distinctTerms(null, subject, null, object, RDFDataset.Quad::getPredicate).map(JsonLdIRI.class::cast);
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         super.remove(null, subject, predicate, object);
@@ -104,10 +113,15 @@ final class JsonLdUnionGraphImpl extends AbstractJsonLdGraphLike<org.apache.comm
 
     @Override
     public Stream<JsonLdTriple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
-        return filteredGraphs(null).flatMap(List::stream).filter(quadFilter(subject, predicate, object))
-                .map(factory::asTriple)
+        return filteredQuads(null, subject, predicate, object).map(factory::asTriple)
                 // Make sure we don't have duplicate triples
                 // NOTE: This can be quite inefficient
                 .distinct();
     }
+
+    @Override
+    public Stream<BlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        return distinctTerms(null, null, predicate, object, RDFDataset.Quad::getSubject)
+                .map(BlankNodeOrIRI.class::cast);
+    }
 }
@@ -0,0 +1,347 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava.experimental;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.jsonldjava.core.DocumentLoader;
+import com.github.jsonldjava.core.JsonLdError;
+import com.github.jsonldjava.core.RemoteDocument;
+import com.github.jsonldjava.utils.JsonUtils;
+
+/**
+ * A JSONLD-Java {@link DocumentLoader} that caches loaded documents, e.g.
+ * remote <code>@context</code> documents.
+ * <p>
+ * Loaded documents are kept in a bounded in-memory cache, with least recently
+ * used documents evicted first. If a cache directory is given, fetched
+ * documents are also stored there, so that they survive restarts and can be
+ * shared between processes. A document in the cache directory expires when
+ * its file is older than the maximum age; an expired document is fetched
+ * again, but still used if fetching fails, e.g. without network access, in
+ * which case it is not fetched again for a minute.
+ * <p>
+ * Documents can also be preloaded from local files with
+ * {@link #preload(String, Path)}. Preloaded documents are never evicted or
+ * fetched, but are read again if their file is modified.
+ * <p>
+ * Loaded documents are shared between parses and must not be modified.
+ * <p>
+ * This class is thread-safe, so a single instance can be used by several
+ * {@link JsonLdParser}s with {@link JsonLdParser#documentLoader(DocumentLoader)}.
+ */
+public class CachingDocumentLoader extends DocumentLoader {
+
+    /**
+     * Time before an expired document that could not be fetched is fetched
+     * again.
+     */
+    private static final Duration RETRY_INTERVAL = Duration.ofMinutes(1);
+
+    private static final class CachedDocument {
+        private final String documentUrl;
+        private final Object document;
+        private final Path file;
+        private final long lastModified;
+
+        private CachedDocument(final String documentUrl, final Object document, final Path file, final long lastModified) {
+            this.documentUrl = documentUrl;
+            this.document = document;
+            this.file = file;
+            this.lastModified = lastModified;
+        }
+    }
+
+    private static long lastModified(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (final IOException e) {
+            return -1;
+        }
+    }
+
+    private static Object read(final Path file) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return JsonUtils.fromInputStream(inputStream);
+        }
+    }
+
+    private final DocumentLoader delegate;
+    private final Path cacheDirectory;
+    private final Duration maxAge;
+    private final Map<String, CachedDocument> preloaded = new ConcurrentHashMap<>();
+    private final Map<String, CachedDocument> cache;
+
+    /**
+     * Constructs a loader with only an in-memory cache.
+     *
+     * @param maxEntries
+     *            Maximum number of documents kept in memory
+     */
+    public CachingDocumentLoader(final int maxEntries) {
+        this(new DocumentLoader(), maxEntries, null, null);
+    }
+
+    /**
+     * Constructs a loader with an in-memory cache and a cache directory.
+     *
+     * @param maxEntries
+     *            Maximum number of documents kept in memory
+     * @param cacheDirectory
+     *            Directory to store fetched documents in, or {@code null} for
+     *            no cache directory
+     * @param maxAge
+     *            Maximum age of a document in the cache directory before it
+     *            is fetched again, or {@code null} to never fetch it again
+     */
+    public CachingDocumentLoader(final int maxEntries, final Path cacheDirectory, final Duration maxAge) {
+        this(new DocumentLoader(), maxEntries, cacheDirectory, maxAge);
+    }
+
+    /**
+     * Constructs a loader that fetches documents with another loader.
+     *
+     * @param delegate
+     *            Loader used to fetch documents not in the cache
+     * @param maxEntries
+     *            Maximum number of documents kept in memory
+     * @param cacheDirectory
+     *            Directory to store fetched documents in, or {@code null} for
+     *            no cache directory
+     * @param maxAge
+     *            Maximum age of a document in the cache directory before it
+     *            is fetched again, or {@code null} to never fetch it again
+     */
+    public CachingDocumentLoader(final DocumentLoader delegate, final int maxEntries, final Path cacheDirectory,
+            final Duration maxAge) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must be non-negative: " + maxEntries);
+        }
+        this.delegate = Objects.requireNonNull(delegate);
+        this.cacheDirectory = cacheDirectory;
+        this.maxAge = maxAge;
+        this.cache = new LinkedHashMap<String, CachedDocument>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedDocument> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Add a document that is never fetched.
+     *
+     * @param url
+     *            URL of the document
+     * @param doc
+     *            The document as JSON
+     * @return This loader
+     * @throws JsonLdError
+     *             If the document is not valid JSON
+     */
+    @Override
+    public CachingDocumentLoader addInjectedDoc(final String url, final String doc) throws JsonLdError {
+        try {
+            preloaded.put(url, new CachedDocument(url, JsonUtils.fromString(doc), null, -1));
+        } catch (final IOException e) {
+            throw new JsonLdError(JsonLdError.Error.LOADING_INJECTED_CONTEXT_FAILED, url, e);
+        }
+        return this;
+    }
+
+    /**
+     * Remove all documents from the in-memory cache.
+     * <p>
+     * Preloaded documents and the cache directory are kept.
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private Path cacheFile(final String url) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder name = new StringBuilder(digest.length * 2 + 7);
+            for (final byte b : digest) {
+                name.append(String.format("%02x", b));
+            }
+            return cacheDirectory.resolve(name.append(".jsonld").toString());
+        } catch (final NoSuchAlgorithmException e) {
+            // SHA-256 is required of every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private boolean isExpired(final long lastModified) {
+        return maxAge != null && lastModified + maxAge.toMillis() < System.currentTimeMillis();
+    }
+
+    private boolean isValid(final CachedDocument entry) {
+        if (entry.file == null) {
+            return true;
+        }
+        final long lastModified = lastModified(entry.file);
+        return lastModified == entry.lastModified && !isExpired(lastModified);
+    }
+
+    @Override
+    public RemoteDocument loadDocument(final String url) throws JsonLdError {
+        final CachedDocument preloadedEntry = preloaded.get(url);
+        if (preloadedEntry != null) {
+            return loadPreloaded(url, preloadedEntry);
+        }
+        synchronized (cache) {
+            final CachedDocument entry = cache.get(url);
+            if (entry != null && isValid(entry)) {
+                return new RemoteDocument(entry.documentUrl, entry.document);
+            }
+        }
+        final CachedDocument entry = loadUncached(url);
+        synchronized (cache) {
+            cache.put(url, entry);
+        }
+        return new RemoteDocument(entry.documentUrl, entry.document);
+    }
+
+    private RemoteDocument loadPreloaded(final String url, final CachedDocument entry) throws JsonLdError {
+        if (entry.file == null || lastModified(entry.file) == entry.lastModified) {
+            return new RemoteDocument(entry.documentUrl, entry.document);
+        }
+        try {
+            preload(url, entry.file);
+        } catch (final IOException e) {
+            throw new JsonLdError(JsonLdError.Error.LOADING_DOCUMENT_FAILED, url, e);
+        }
+        return loadDocument(url);
+    }
+
+    private CachedDocument loadUncached(final String url) throws JsonLdError {
+        if (cacheDirectory == null) {
+            final RemoteDocument fetched = delegate.loadDocument(url);
+            return new CachedDocument(fetched.getDocumentUrl(), fetched.getDocument(), null, -1);
+        }
+        final Path file = cacheFile(url);
+        final long lastModified = lastModified(file);
+        if (lastModified != -1 && !isExpired(lastModified)) {
+            try {
+                return new CachedDocument(url, read(file), file, lastModified);
+            } catch (final IOException e) {
+                // Unreadable, fetch it again
+            }
+        }
+        final RemoteDocument fetched;
+        try {
+            fetched = delegate.loadDocument(url);
+        } catch (final JsonLdError e) {
+            if (lastModified == -1) {
+                throw e;
+            }
+            // Use the expired document rather than failing
+            final Object document;
+            try {
+                document = read(file);
+            } catch (final IOException ioe) {
+                e.addSuppressed(ioe);
+                throw e;
+            }
+            return new CachedDocument(url, document, file, retryLater(file));
+        }
+        store(file, fetched.getDocument());
+        return new CachedDocument(fetched.getDocumentUrl(), fetched.getDocument(), file, lastModified(file));
+    }
+
+    /**
+     * Backdates the file of an expired document so that it expires again
+     * after the retry interval.
+     *
+     * @return The new modification time of the file
+     */
+    private long retryLater(final Path file) {
+        final long retryInterval = Math.min(RETRY_INTERVAL.toMillis(), maxAge.toMillis());
+        try {
+            Files.setLastModifiedTime(file,
+                    FileTime.fromMillis(System.currentTimeMillis() - maxAge.toMillis() + retryInterval));
+        } catch (final IOException e) {
+            // The cache directory is best effort, the document is then
+            // fetched again on the next load
+        }
+        return lastModified(file);
+    }
+
+    /**
+     * Preload a document from a local file.
+     * <p>
+     * The document is read again if the file has been modified when it is
+     * next loaded.
+     *
+     * @param url
+     *            URL of the document, e.g. as used in <code>@context</code>
+     * @param file
+     *            Local file with the JSON-LD document
+     * @return This loader
+     * @throws IOException
+     *             If the file could not be read
+     */
+    public CachingDocumentLoader preload(final String url, final Path file) throws IOException {
+        Objects.requireNonNull(url);
+        final long lastModified = lastModified(file);
+        if (lastModified == -1) {
+            throw new NoSuchFileException(file.toString());
+        }
+        preloaded.put(url, new CachedDocument(url, read(file), file, lastModified));
+        return this;
+    }
+
+    private void store(final Path file, final Object document) {
+        try {
+            Files.createDirectories(cacheDirectory);
+            final Path tempFile = Files.createTempFile(cacheDirectory, file.getFileName().toString(), ".tmp");
+            try {
+                try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                    JsonUtils.write(writer, document);
+                }
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (final IOException e) {
+            // The cache directory is best effort, the document is still
+            // cached in memory
+        }
+    }
+
+}
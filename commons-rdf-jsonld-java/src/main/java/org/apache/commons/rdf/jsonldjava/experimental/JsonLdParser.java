@@ -24,6 +24,7 @@ import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.file.Files;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 import org.apache.commons.rdf.api.Dataset;
@@ -35,6 +36,7 @@ import org.apache.commons.rdf.jsonldjava.JsonLdGraph;
 import org.apache.commons.rdf.jsonldjava.JsonLdRDF;
 import org.apache.commons.rdf.simple.experimental.AbstractRDFParser;
 
+import com.github.jsonldjava.core.DocumentLoader;
 import com.github.jsonldjava.core.JsonLdError;
 import com.github.jsonldjava.core.JsonLdOptions;
 import com.github.jsonldjava.core.JsonLdProcessor;
@@ -54,6 +56,10 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
         }
     }
 
+    private boolean streaming;
+
+    private DocumentLoader documentLoader;
+
     /**
      * Constructs a new instance.
      */
@@ -85,11 +91,77 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
         return c;
     }
 
+    /**
+     * Use a specific loader for documents referenced while parsing, e.g.
+     * remote <code>@context</code> documents.
+     * <p>
+     * By default each parse uses a new JSONLD-Java {@link DocumentLoader},
+     * which fetches every referenced document again. Using the same
+     * {@link CachingDocumentLoader} for several parses avoids that.
+     *
+     * @param documentLoader
+     *            Document loader to use, or {@code null} for the default
+     * @return An {@link JsonLdParser} that will use the specified document loader
+     */
+    public JsonLdParser documentLoader(final DocumentLoader documentLoader) {
+        final JsonLdParser c = clone();
+        c.documentLoader = documentLoader;
+        return c;
+    }
+
     @Override
     protected JsonLdRDF createRDFTermFactory() {
         return new JsonLdRDF();
     }
 
+    /**
+     * Gets whether quads are streamed to the target while parsing.
+     *
+     * @return {@code true} if streaming
+     * @see #streaming(boolean)
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Stream quads to the target while parsing.
+     * <p>
+     * By default the whole JSON-LD document is read and converted to a
+     * JSONLD-Java {@link RDFDataset} before any quads are added to the target.
+     * In streaming mode, each member of a top-level JSON array, or of the
+     * <code>@graph</code> array of a top-level object with only
+     * <code>@context</code> and <code>@graph</code>, is read, converted and
+     * added to the target on its own, so memory use is bounded by the largest
+     * member rather than by the document.
+     * <p>
+     * From an input stream, the members of the <code>@graph</code> array of a
+     * top-level object are converted as they are read when only
+     * <code>@context</code> precedes it, and no other key may then follow it.
+     * Otherwise the array is copied to a temporary file while reading, and
+     * converted once the object has been read. A source file is scanned for
+     * the keys of its top-level object first, so the order of its keys does
+     * not matter. A source IRI is still fetched completely before conversion.
+     *
+     * @param streaming
+     *            {@code true} to stream quads to the target
+     * @return An {@link JsonLdParser} that will use the specified streaming mode
+     */
+    public JsonLdParser streaming(final boolean streaming) {
+        final JsonLdParser c = clone();
+        c.streaming = streaming;
+        return c;
+    }
+
+    /**
+     * Gets the document loader set with {@link #documentLoader(DocumentLoader)}.
+     *
+     * @return The document loader, or {@link Optional#empty()} for the default
+     */
+    public Optional<DocumentLoader> getDocumentLoader() {
+        return Optional.ofNullable(documentLoader);
+    }
+
     private JsonLdRDF getJsonLdFactory() {
         if (getRdfTermFactory().isPresent() && getRdfTermFactory().get() instanceof JsonLdRDF) {
             return (JsonLdRDF) getRdfTermFactory().get();
@@ -99,9 +171,12 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
 
     @Override
     protected void parseSynchronusly() throws IOException {
+        if (streaming) {
+            parseStreaming();
+            return;
+        }
         final Object json = readSource();
-        final JsonLdOptions options = new JsonLdOptions();
-        getBase().map(IRI::getIRIString).ifPresent(options::setBase);
+        final JsonLdOptions options = createOptions();
         // TODO: base from readSource() (after redirection and Content-Location
         // header)
         // should be forwarded
@@ -148,6 +223,27 @@ public class JsonLdParser extends AbstractRDFParser<JsonLdParser> {
         }
     }
 
+    private JsonLdOptions createOptions() {
+        final JsonLdOptions options = new JsonLdOptions();
+        getBase().map(IRI::getIRIString).ifPresent(options::setBase);
+        getDocumentLoader().ifPresent(options::setDocumentLoader);
+        return options;
+    }
+
+    private void parseStreaming() throws IOException {
+        // As in the non-streaming mode we don't know if the
+        // target is thread-safe, so all quads are added from this thread
+        final JsonLdStreamingConverter converter = new JsonLdStreamingConverter(createOptions(),
+                getJsonLdFactory(), getTarget());
+        if (getSourceInputStream().isPresent()) {
+            converter.read(getSourceInputStream().get());
+        } else if (getSourceFile().isPresent()) {
+            converter.read(getSourceFile().get());
+        } else {
+            converter.convert(readSource());
+        }
+    }
+
     private Object readSource() throws IOException {
         // Due to checked IOException we can't easily
         // do this with .map and .orElseGet()
@@ -0,0 +1,412 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava.experimental;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.jsonldjava.JsonLdRDF;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import com.github.jsonldjava.core.Context;
+import com.github.jsonldjava.core.JsonLdApi;
+import com.github.jsonldjava.core.JsonLdConsts;
+import com.github.jsonldjava.core.JsonLdError;
+import com.github.jsonldjava.core.JsonLdOptions;
+import com.github.jsonldjava.core.RDFDataset;
+import com.github.jsonldjava.core.RDFDataset.Node;
+
+/**
+ * Converts JSON-LD to quads one top-level node object at a time.
+ * <p>
+ * The members of a top-level array, and of the <code>@graph</code> of a
+ * top-level object that only has <code>@context</code> and
+ * <code>@graph</code>, are each expanded and converted to RDF separately,
+ * and their quads passed to the target before the next member is converted.
+ * Any other top-level object is converted as a whole.
+ * <p>
+ * Blank node labels are kept consistent across members, while blank nodes
+ * generated for unlabelled nodes are unique to their member.
+ */
+final class JsonLdStreamingConverter {
+
+    private static final JsonFactory JSON_FACTORY = new MappingJsonFactory();
+
+    private final JsonLdOptions options;
+    private final JsonLdRDF factory;
+    private final Consumer<Quad> target;
+
+    /**
+     * Prefix of the temporary IRIs standing in for labelled blank nodes, so
+     * that JSON-LD-Java does not relabel them per member.
+     */
+    private final String labelPrefix = "urn:uuid:" + UUID.randomUUID() + "#";
+    private final String salt = UUID.randomUUID().toString().replace("-", "");
+
+    private Context activeContext;
+    private long memberCount;
+
+    JsonLdStreamingConverter(final JsonLdOptions options, final JsonLdRDF factory, final Consumer<Quad> target) {
+        this.options = options;
+        this.factory = factory;
+        this.target = target;
+        this.activeContext = new Context(options);
+    }
+
+    /**
+     * Convert a JSON-LD document that has already been read.
+     *
+     * @param json
+     *            JSON-LD document as returned by JSONLD-Java's
+     *            {@link com.github.jsonldjava.utils.JsonUtils}
+     * @throws IOException
+     *             If the JSON-LD could not be converted
+     */
+    void convert(final Object json) throws IOException {
+        if (json instanceof List) {
+            for (final Object member : (List<?>) json) {
+                convertMember(member);
+            }
+            return;
+        }
+        if (json instanceof Map) {
+            final Map<?, ?> map = (Map<?, ?>) json;
+            final Object graph = map.get(JsonLdConsts.GRAPH);
+            final int expectedSize = map.containsKey(JsonLdConsts.CONTEXT) ? 2 : 1;
+            if (graph instanceof List && map.size() == expectedSize) {
+                parseContext(map.get(JsonLdConsts.CONTEXT));
+                for (final Object member : (List<?>) graph) {
+                    convertMember(member);
+                }
+                return;
+            }
+        }
+        convertMember(json);
+    }
+
+    /**
+     * Read and convert a JSON-LD document.
+     * <p>
+     * Only the current top-level member is kept in memory. The members of the
+     * <code>@graph</code> array of a top-level object are converted as they
+     * are read if only <code>@context</code> precedes it, in which case no
+     * other key may follow it. If other keys precede it, or it precedes
+     * <code>@context</code>, the array is copied to a temporary file while it
+     * is read, as keys following it change its meaning. Its members are then
+     * streamed from that file if the object has no other keys than
+     * <code>@context</code> and <code>@graph</code>, otherwise the object is
+     * converted as a whole.
+     *
+     * @param inputStream
+     *            Input stream to read the JSON-LD document from
+     * @throws IOException
+     *             If the JSON-LD could not be read or converted, or has keys
+     *             after a <code>@graph</code> whose members were converted
+     */
+    void read(final InputStream inputStream) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(inputStream)) {
+            read(parser, false, false);
+        }
+    }
+
+    /**
+     * Read and convert a JSON-LD file.
+     * <p>
+     * The keys of a top-level object are scanned first, so the members of the
+     * <code>@graph</code> array of an object with only <code>@context</code>
+     * and <code>@graph</code> are converted as they are read, whatever the
+     * order of its keys, and any other object is converted as a whole.
+     *
+     * @param file
+     *            File to read the JSON-LD document from
+     * @throws IOException
+     *             If the JSON-LD could not be read or converted
+     */
+    void read(final Path file) throws IOException {
+        final boolean graphContainer = scanGraphContainer(file);
+        try (JsonParser parser = JSON_FACTORY.createParser(file.toFile())) {
+            read(parser, true, graphContainer);
+        }
+    }
+
+    /**
+     * Read and convert a JSON-LD document.
+     *
+     * @param scanned
+     *            <code>true</code> if the keys of a top-level object have been
+     *            scanned
+     * @param graphContainer
+     *            <code>true</code> if the scanned top-level object only has
+     *            <code>@context</code> and a <code>@graph</code> array
+     */
+    private void read(final JsonParser parser, final boolean scanned, final boolean graphContainer)
+            throws IOException {
+        final JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_ARRAY) {
+            convertMembers(parser);
+        } else if (token == JsonToken.START_OBJECT && graphContainer) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && JsonLdConsts.GRAPH.equals(key)) {
+                    convertMembers(parser);
+                } else {
+                    // the context, already parsed by scanGraphContainer()
+                    parser.skipChildren();
+                }
+            }
+        } else if (token == JsonToken.START_OBJECT) {
+            readTopLevelObject(parser, !scanned);
+        } else if (token != null) {
+            throw new IOException("Expected JSON object or array, not " + token);
+        }
+        if (parser.nextToken() != null) {
+            throw new IOException("Unexpected content after JSON-LD document");
+        }
+    }
+
+    /**
+     * Check if a file is a top-level object with only <code>@context</code>
+     * and a <code>@graph</code> array, and if so parse its context.
+     */
+    private boolean scanGraphContainer(final Path file) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(file.toFile())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return false;
+            }
+            Object context = null;
+            int graphs = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if (JsonLdConsts.GRAPH.equals(key) && value == JsonToken.START_ARRAY) {
+                    graphs++;
+                    parser.skipChildren();
+                } else if (JsonLdConsts.CONTEXT.equals(key)) {
+                    context = parser.readValueAs(Object.class);
+                } else {
+                    return false;
+                }
+            }
+            if (graphs != 1) {
+                return false;
+            }
+            parseContext(context);
+            return true;
+        }
+    }
+
+    private void convertMembers(final JsonParser parser) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            convertMember(parser.readValueAs(Object.class));
+        }
+    }
+
+    /**
+     * Read and convert a top-level object.
+     *
+     * @param streamGraph
+     *            <code>true</code> to convert the members of a
+     *            <code>@graph</code> array only preceded by
+     *            <code>@context</code> as they are read
+     */
+    private void readTopLevelObject(final JsonParser parser, final boolean streamGraph) throws IOException {
+        final Map<String, Object> object = new LinkedHashMap<>();
+        Object context = null;
+        boolean hasContext = false;
+        boolean converted = false;
+        Path graph = null;
+        try {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.getCurrentName();
+                final JsonToken value = parser.nextToken();
+                if (converted) {
+                    throw new IOException("Key " + key + " after a streamed @graph, "
+                            + "which must be the last key of the top-level object when streamed from an input stream");
+                }
+                if (JsonLdConsts.GRAPH.equals(key) && value == JsonToken.START_ARRAY && graph == null
+                        && streamGraph && hasContext && object.isEmpty()) {
+                    parseContext(context);
+                    convertMembers(parser);
+                    converted = true;
+                } else if (JsonLdConsts.GRAPH.equals(key) && value == JsonToken.START_ARRAY && graph == null) {
+                    graph = spool(parser);
+                } else if (JsonLdConsts.CONTEXT.equals(key)) {
+                    hasContext = true;
+                    context = parser.readValueAs(Object.class);
+                } else {
+                    object.put(key, parser.readValueAs(Object.class));
+                }
+            }
+            if (converted) {
+                return;
+            }
+            if (graph != null && object.isEmpty()) {
+                parseContext(context);
+                try (JsonParser members = JSON_FACTORY.createParser(graph.toFile())) {
+                    members.nextToken();
+                    convertMembers(members);
+                }
+                return;
+            }
+            if (graph != null) {
+                try (JsonParser members = JSON_FACTORY.createParser(graph.toFile())) {
+                    object.put(JsonLdConsts.GRAPH, members.readValueAs(Object.class));
+                }
+            }
+            if (context != null) {
+                object.put(JsonLdConsts.CONTEXT, context);
+            }
+            convertMember(object);
+        } finally {
+            if (graph != null) {
+                Files.deleteIfExists(graph);
+            }
+        }
+    }
+
+    /**
+     * Copy the array at the current token of a parser to a temporary file.
+     *
+     * @return The temporary file, to be deleted by the caller
+     */
+    private static Path spool(final JsonParser parser) throws IOException {
+        final Path file = Files.createTempFile("commons-rdf-jsonld", ".json");
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(Files.newOutputStream(file))) {
+            generator.copyCurrentStructure(parser);
+        } catch (final IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    private void parseContext(final Object context) throws IOException {
+        if (context == null) {
+            return;
+        }
+        try {
+            activeContext = activeContext.parse(context);
+        } catch (final JsonLdError e) {
+            throw new IOException("Could not parse Json-LD context", e);
+        }
+    }
+
+    private void convertMember(final Object member) throws IOException {
+        final RDFDataset dataset;
+        try {
+            Object expanded = new JsonLdApi(options).expand(activeContext, member);
+            // As in JsonLdProcessor.expand()
+            if (expanded instanceof Map && ((Map<?, ?>) expanded).size() == 1
+                    && ((Map<?, ?>) expanded).containsKey(JsonLdConsts.GRAPH)) {
+                expanded = ((Map<?, ?>) expanded).get(JsonLdConsts.GRAPH);
+            } else if (expanded == null) {
+                expanded = new ArrayList<>();
+            }
+            if (!(expanded instanceof List)) {
+                expanded = new ArrayList<>(Collections.singletonList(expanded));
+            }
+            labelBlankNodes(expanded);
+            dataset = new JsonLdApi(expanded, options).toRDF();
+        } catch (final JsonLdError e) {
+            throw new IOException("Could not parse Json-LD", e);
+        }
+        final String memberPrefix = "_:" + salt + "m" + memberCount++ + "_";
+        for (final String graphName : dataset.graphNames()) {
+            final String graph = relabel(graphName, memberPrefix);
+            for (final RDFDataset.Quad quad : dataset.getQuads(graphName)) {
+                target.accept(factory.asQuad(new RDFDataset.Quad(relabel(quad.getSubject(), memberPrefix),
+                        quad.getPredicate(), relabel(quad.getObject(), memberPrefix), graph)));
+            }
+        }
+    }
+
+    /**
+     * Replace blank node labels in expanded JSON-LD with temporary IRIs.
+     *
+     * @param expanded
+     *            expanded JSON-LD, modified in place
+     */
+    @SuppressWarnings("unchecked")
+    private void labelBlankNodes(final Object expanded) {
+        if (expanded instanceof List) {
+            final List<Object> list = (List<Object>) expanded;
+            for (final Object item : list) {
+                labelBlankNodes(item);
+            }
+        } else if (expanded instanceof Map) {
+            final Map<String, Object> map = (Map<String, Object>) expanded;
+            if (map.containsKey(JsonLdConsts.VALUE)) {
+                // value object, no node references
+                return;
+            }
+            map.computeIfPresent(JsonLdConsts.ID, (k, id) -> labelBlankNode(id));
+            map.computeIfPresent(JsonLdConsts.TYPE, (k, type) -> {
+                if (type instanceof List) {
+                    ((List<Object>) type).replaceAll(this::labelBlankNode);
+                    return type;
+                }
+                return labelBlankNode(type);
+            });
+            for (final Object value : map.values()) {
+                labelBlankNodes(value);
+            }
+        }
+    }
+
+    private Object labelBlankNode(final Object id) {
+        if (id instanceof String && ((String) id).startsWith("_:")) {
+            return labelPrefix + ((String) id).substring(2);
+        }
+        return id;
+    }
+
+    private String relabel(final String graphName, final String memberPrefix) {
+        if (graphName.startsWith(labelPrefix)) {
+            return "_:" + salt + "l" + graphName.substring(labelPrefix.length());
+        }
+        if (graphName.startsWith("_:")) {
+            return memberPrefix + graphName.substring(2);
+        }
+        return graphName;
+    }
+
+    private Node relabel(final Node node, final String memberPrefix) {
+        if (node.isIRI() && node.getValue().startsWith(labelPrefix)) {
+            return new RDFDataset.BlankNode(relabel(node.getValue(), memberPrefix));
+        }
+        if (node.isBlankNode()) {
+            return new RDFDataset.BlankNode(relabel(node.getValue(), memberPrefix));
+        }
+        return node;
+    }
+
+}
@@ -0,0 +1,186 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.jsonldjava.experimental.CachingDocumentLoader;
+import org.apache.commons.rdf.jsonldjava.experimental.JsonLdParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.jsonldjava.core.DocumentLoader;
+import com.github.jsonldjava.core.JsonLdError;
+import com.github.jsonldjava.core.RemoteDocument;
+
+public class CachingDocumentLoaderTest {
+
+    private static final String CONTEXT_URL = "http://example.com/context.jsonld";
+
+    private static final String DOCUMENT = "{ \"@context\": \"" + CONTEXT_URL + "\", "
+            + "\"@id\": \"http://example.com/s\", \"name\": \"Alice\" }";
+
+    /**
+     * Serves a context, counting the fetches, or fails if offline.
+     */
+    private static final class CountingLoader extends DocumentLoader {
+        final AtomicInteger attempts = new AtomicInteger();
+        final AtomicInteger fetches = new AtomicInteger();
+        final String vocab;
+        boolean offline;
+
+        CountingLoader(final String vocab) {
+            this.vocab = vocab;
+        }
+
+        @Override
+        public RemoteDocument loadDocument(final String url) throws JsonLdError {
+            attempts.incrementAndGet();
+            if (offline) {
+                throw new JsonLdError(JsonLdError.Error.LOADING_REMOTE_CONTEXT_FAILED, url);
+            }
+            fetches.incrementAndGet();
+            final Map<String, Object> context = Collections.singletonMap("@vocab", vocab);
+            return new RemoteDocument(url, Collections.singletonMap("@context", context));
+        }
+    }
+
+    JsonLdRDF factory = new JsonLdRDF();
+
+    private boolean parse(final DocumentLoader loader, final String vocab) throws Exception {
+        final IRI name = factory.createIRI(vocab + "name");
+        try (final Graph graph = factory.createGraph()) {
+            new JsonLdParser().documentLoader(loader).base("http://example.com/")
+                    .source(new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8))).target(graph)
+                    .parse().get(10, TimeUnit.SECONDS);
+            return graph.contains(null, name, factory.createLiteral("Alice"));
+        }
+    }
+
+    @Test
+    public void testMemoryCache() throws Exception {
+        final CountingLoader remote = new CountingLoader("http://example.com/");
+        final CachingDocumentLoader loader = new CachingDocumentLoader(remote, 10, null, null);
+        assertTrue(parse(loader, "http://example.com/"));
+        assertTrue(parse(loader, "http://example.com/"));
+        assertEquals(1, remote.fetches.get());
+
+        loader.clear();
+        assertTrue(parse(loader, "http://example.com/"));
+        assertEquals(2, remote.fetches.get());
+    }
+
+    @Test
+    public void testCacheDirectory(@TempDir final Path cacheDirectory) throws Exception {
+        final CountingLoader remote = new CountingLoader("http://example.com/");
+        assertTrue(parse(new CachingDocumentLoader(remote, 10, cacheDirectory, Duration.ofDays(1)),
+                "http://example.com/"));
+        assertEquals(1, remote.fetches.get());
+
+        // A new loader uses the cache directory
+        remote.offline = true;
+        assertTrue(parse(new CachingDocumentLoader(remote, 10, cacheDirectory, Duration.ofDays(1)),
+                "http://example.com/"));
+
+        // Expired, but still used when offline
+        final Path file;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            file = files.findFirst().get();
+        }
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        assertTrue(parse(new CachingDocumentLoader(remote, 10, cacheDirectory, Duration.ofDays(1)),
+                "http://example.com/"));
+
+        // Expired again after the retry interval, and fetched when online
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        remote.offline = false;
+        assertTrue(parse(new CachingDocumentLoader(remote, 10, cacheDirectory, Duration.ofDays(1)),
+                "http://example.com/"));
+        assertEquals(2, remote.fetches.get());
+    }
+
+    @Test
+    public void testRefetchAfterFailure(@TempDir final Path cacheDirectory) throws Exception {
+        assertTrue(parse(new CachingDocumentLoader(new CountingLoader("http://example.com/"), 10, cacheDirectory,
+                Duration.ofDays(1)), "http://example.com/"));
+        final Path file;
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            file = files.findFirst().get();
+        }
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+
+        // The same loader serves the expired document while offline,
+        // without fetching it again until the retry interval has passed
+        final CountingLoader remote = new CountingLoader("http://example.org/");
+        final CachingDocumentLoader loader = new CachingDocumentLoader(remote, 10, cacheDirectory, Duration.ofDays(1));
+        remote.offline = true;
+        assertTrue(parse(loader, "http://example.com/"));
+        assertTrue(parse(loader, "http://example.com/"));
+        assertTrue(parse(new CachingDocumentLoader(remote, 10, cacheDirectory, Duration.ofDays(1)),
+                "http://example.com/"));
+        assertEquals(1, remote.attempts.get());
+
+        // and serves the fetched document once online again
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().minus(Duration.ofDays(2))));
+        remote.offline = false;
+        assertTrue(parse(loader, "http://example.org/"));
+        assertEquals(1, remote.fetches.get());
+    }
+
+    @Test
+    public void testPreload(@TempDir final Path dir) throws Exception {
+        final CountingLoader remote = new CountingLoader("http://example.com/");
+        remote.offline = true;
+        final Path file = dir.resolve("context.jsonld");
+        Files.write(file, "{ \"@context\": { \"@vocab\": \"http://example.org/\" } }".getBytes(StandardCharsets.UTF_8));
+        final CachingDocumentLoader loader = new CachingDocumentLoader(remote, 10, null, null).preload(CONTEXT_URL,
+                file);
+        assertTrue(parse(loader, "http://example.org/"));
+
+        // Modified file is read again
+        Files.write(file, "{ \"@context\": { \"@vocab\": \"http://example.net/\" } }".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+        assertTrue(parse(loader, "http://example.net/"));
+        assertEquals(0, remote.fetches.get());
+    }
+
+    @Test
+    public void testOfflineWithoutCache() throws Exception {
+        final CountingLoader remote = new CountingLoader("http://example.com/");
+        remote.offline = true;
+        final CachingDocumentLoader loader = new CachingDocumentLoader(remote, 10, null, null);
+        assertThrows(Exception.class, () -> parse(loader, "http://example.com/"));
+    }
+}
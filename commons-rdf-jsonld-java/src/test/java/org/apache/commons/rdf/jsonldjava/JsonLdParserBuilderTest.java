@@ -105,4 +105,29 @@ public class JsonLdParserBuilderTest {
             checkGraph(g);
         }
     }
+
+    @Test
+    public void testParseByStreamStreaming() throws Exception {
+        try (final Graph g = factory.createGraph()) {
+            try (InputStream is = getClass().getResourceAsStream(TEST_JSONLD)) {
+                assertNotNull(is, "Test resource not found: " + TEST_JSONLD);
+                new JsonLdParser().streaming(true).base("http://example.com/base/").contentType(RDFSyntax.JSONLD)
+                        .source(is).target(g).parse()
+                        .get(10, TimeUnit.SECONDS);
+            }
+            checkGraph(g);
+        }
+    }
+
+    @Test
+    public void testParseByUrlStreaming() throws Exception {
+        final URL url = getClass().getResource(TEST_JSONLD);
+        assertNotNull(url, "Test resource not found: " + TEST_JSONLD);
+        final IRI iri = factory.createIRI(url.toString());
+        try (final Graph g = factory.createGraph()) {
+            new JsonLdParser().streaming(true).contentType(RDFSyntax.JSONLD).source(iri).target(g).parse()
+                    .get(10, TimeUnit.SECONDS);
+            checkGraph(g);
+        }
+    }
 }
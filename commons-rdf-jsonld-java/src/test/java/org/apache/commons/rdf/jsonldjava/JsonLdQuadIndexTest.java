@@ -0,0 +1,94 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.jsonldjava.core.RDFDataset;
+
+/**
+ * Pattern lookups through the {@link JsonLdQuadIndex}.
+ */
+public class JsonLdQuadIndexTest {
+
+    JsonLdRDF rdf = new JsonLdRDF();
+
+    @Test
+    public void testIndexedAfterAdd() throws Exception {
+        try (final JsonLdGraph graph = rdf.createGraph()) {
+            final JsonLdIRI p = rdf.createIRI("http://example.com/p");
+            for (int i = 0; i < 100; i++) {
+                graph.add(rdf.createIRI("http://example.com/s" + i), p, rdf.createLiteral("v" + i));
+            }
+            final JsonLdIRI s5 = rdf.createIRI("http://example.com/s5");
+            assertTrue(graph.contains(s5, null, null));
+            assertEquals(100, graph.stream(null, p, null).count());
+
+            // incrementally indexed
+            graph.add(s5, p, rdf.createLiteral("extra"));
+            assertEquals(2, graph.stream(s5, null, null).count());
+            assertTrue(graph.contains(null, null, rdf.createLiteral("extra")));
+            assertEquals(101, graph.stream(null, p, null).count());
+
+            graph.remove(s5, null, null);
+            assertFalse(graph.contains(s5, null, null));
+            assertEquals(99, graph.stream(null, p, null).count());
+        }
+    }
+
+    @Test
+    public void testModifiedRdfDataSet() throws Exception {
+        try (final JsonLdDataset dataset = rdf.createDataset()) {
+            final JsonLdIRI g = rdf.createIRI("http://example.com/g");
+            final JsonLdIRI s = rdf.createIRI("http://example.com/s");
+            final JsonLdIRI p = rdf.createIRI("http://example.com/p");
+            dataset.add(g, s, p, rdf.createLiteral("Hello"));
+            assertTrue(dataset.contains(Optional.of(g), s, null, null));
+
+            final RDFDataset rdfDataSet = dataset.getRdfDataSet();
+            rdfDataSet.addQuad("http://example.com/s", "http://example.com/p", "http://example.com/o",
+                    "http://example.com/g");
+            assertTrue(dataset.contains(Optional.of(g), null, null, rdf.createIRI("http://example.com/o")));
+            assertEquals(2, dataset.stream(Optional.of(g), s, p, null).count());
+
+            rdfDataSet.getQuads("http://example.com/g").clear();
+            assertFalse(dataset.contains(Optional.of(g), s, null, null));
+        }
+    }
+
+    @Test
+    public void testContainsQuadInOwnGraph() throws Exception {
+        try (final JsonLdDataset dataset = rdf.createDataset()) {
+            final JsonLdIRI g = rdf.createIRI("http://example.com/g");
+            final JsonLdIRI s = rdf.createIRI("http://example.com/s");
+            final JsonLdIRI p = rdf.createIRI("http://example.com/p");
+            final JsonLdLiteral o = rdf.createLiteral("Hello");
+            dataset.add(g, s, p, o);
+            assertTrue(dataset.contains(rdf.createQuad(g, s, p, o)));
+            assertFalse(dataset.contains(rdf.createQuad(null, s, p, o)));
+            assertTrue(dataset.getGraph(g).get().contains(rdf.createTriple(s, p, o)));
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.jsonldjava;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.jsonldjava.experimental.JsonLdParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JsonLdStreamingParserTest {
+
+    private static final String GRAPH_DOCUMENT = "{ \"@context\": { \"@vocab\": \"http://example.com/\" },\n"
+            + "  \"@graph\": [\n"
+            + "    { \"@id\": \"_:alice\", \"name\": \"Alice\", \"knows\": { \"@id\": \"_:bob\" } },\n"
+            + "    { \"@id\": \"_:bob\", \"name\": \"Bob\", \"address\": { \"city\": \"Oslo\" } },\n"
+            + "    { \"@id\": \"http://example.com/carol\", \"address\": { \"city\": \"Bergen\" } },\n"
+            + "    { \"@id\": \"http://example.com/g\", \"@graph\": { \"@id\": \"_:alice\", \"age\": 42 } }\n"
+            + "  ]\n"
+            + "}";
+
+    private static final String ARRAY_DOCUMENT = "[\n"
+            + "  { \"@id\": \"_:a\", \"http://example.com/p\": { \"@id\": \"_:b\" } },\n"
+            + "  { \"@id\": \"_:b\", \"http://example.com/p\": \"x\" }\n"
+            + "]";
+
+    JsonLdRDF factory = new JsonLdRDF();
+    IRI name = factory.createIRI("http://example.com/name");
+    IRI knows = factory.createIRI("http://example.com/knows");
+    IRI address = factory.createIRI("http://example.com/address");
+    IRI age = factory.createIRI("http://example.com/age");
+    IRI p = factory.createIRI("http://example.com/p");
+
+    private List<Quad> parse(final String json, final boolean streaming) throws Exception {
+        final List<Quad> quads = new ArrayList<>();
+        new JsonLdParser().streaming(streaming).base("http://example.com/base/")
+                .source(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))).target(quads::add).parse()
+                .get(10, TimeUnit.SECONDS);
+        return quads;
+    }
+
+    private List<Quad> parse(final Path file) throws Exception {
+        final List<Quad> quads = new ArrayList<>();
+        new JsonLdParser().streaming(true).base("http://example.com/base/").source(file).target(quads::add).parse()
+                .get(10, TimeUnit.SECONDS);
+        return quads;
+    }
+
+    private RDFTerm single(final Dataset dataset, final BlankNodeOrIRI subject, final IRI predicate) {
+        final List<RDFTerm> objects = dataset.stream(null, subject, predicate, null).map(Quad::getObject)
+                .collect(Collectors.toList());
+        assertEquals(1, objects.size());
+        return objects.get(0);
+    }
+
+    @Test
+    public void testGraphMembers() throws Exception {
+        final List<Quad> quads = parse(GRAPH_DOCUMENT, true);
+        assertEquals(parse(GRAPH_DOCUMENT, false).size(), quads.size());
+        try (final Dataset dataset = factory.createDataset()) {
+            quads.forEach(dataset::add);
+            final BlankNode alice = (BlankNode) dataset
+                    .stream(Optional.empty(), null, name, factory.createLiteral("Alice")).findFirst().get()
+                    .getSubject();
+            final BlankNode bob = (BlankNode) single(dataset, alice, knows);
+            assertTrue(dataset.contains(Optional.empty(), bob, name, factory.createLiteral("Bob")));
+            // The same label in another member is the same blank node
+            assertTrue(dataset.contains(Optional.of(factory.createIRI("http://example.com/g")), alice, age, null));
+
+            // Unlabelled blank nodes are not merged across members
+            final RDFTerm bobAddress = single(dataset, bob, address);
+            final RDFTerm carolAddress = single(dataset, factory.createIRI("http://example.com/carol"), address);
+            assertFalse(bobAddress.equals(carolAddress));
+        }
+    }
+
+    @Test
+    public void testArrayMembers() throws Exception {
+        final List<Quad> quads = parse(ARRAY_DOCUMENT, true);
+        assertEquals(2, quads.size());
+        try (final Dataset dataset = factory.createDataset()) {
+            quads.forEach(dataset::add);
+            final Quad first = dataset.stream(null, null, p, null).filter(q -> q.getObject() instanceof BlankNode)
+                    .findFirst().get();
+            assertTrue(dataset.contains(Optional.empty(), (BlankNode) first.getObject(), p, factory.createLiteral("x")));
+        }
+    }
+
+    @Test
+    public void testIncremental() throws Exception {
+        // Fails once the members have been read
+        final InputStream input = new SequenceInputStream(
+                new ByteArrayInputStream(GRAPH_DOCUMENT.substring(0, GRAPH_DOCUMENT.lastIndexOf(']'))
+                        .getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection reset");
+                    }
+                });
+        final List<Quad> quads = new ArrayList<>();
+        final Future<?> parsed = new JsonLdParser().streaming(true).base("http://example.com/base/").source(input)
+                .target(quads::add).parse();
+        assertThrows(ExecutionException.class, () -> parsed.get(10, TimeUnit.SECONDS));
+        assertEquals(parse(GRAPH_DOCUMENT, true).size(), quads.size());
+    }
+
+    @Test
+    public void testContextAfterStreamedGraph() throws Exception {
+        final String json = "{ \"@graph\": [ { \"@id\": \"http://example.com/s\", \"p\": 1 } ], "
+                + "\"@context\": { \"@vocab\": \"http://example.com/\" } }";
+        final List<Quad> quads = parse(json, true);
+        assertEquals(parse(json, false), quads);
+        assertEquals(1, quads.size());
+        assertEquals(p, quads.get(0).getPredicate());
+    }
+
+    @Test
+    public void testGraphMembersFromFile(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("graph.jsonld");
+        Files.write(file, GRAPH_DOCUMENT.getBytes(StandardCharsets.UTF_8));
+        // blank nodes are salted per parse
+        assertEquals(parse(GRAPH_DOCUMENT, true).toString().replaceAll("_:[0-9a-f]{32}", "_:"),
+                parse(file).toString().replaceAll("_:[0-9a-f]{32}", "_:"));
+    }
+
+    @Test
+    public void testIdAfterStreamedGraph(@TempDir final Path dir) throws Exception {
+        final String json = "{ \"@context\": { \"@vocab\": \"http://example.com/\" }, "
+                + "\"@graph\": [ { \"@id\": \"http://example.com/s\", \"p\": 1 } ], "
+                + "\"@id\": \"http://example.com/g\", \"name\": \"G\" }";
+        // The members are converted before the @id is read from a stream
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> parse(json, true));
+        assertTrue(e.getCause() instanceof IOException);
+
+        // but a file is scanned first
+        final Path file = dir.resolve("named.jsonld");
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        final List<Quad> quads = parse(file);
+        assertEquals(parse(json, false), quads);
+        try (final Dataset dataset = factory.createDataset()) {
+            quads.forEach(dataset::add);
+            final IRI g = factory.createIRI("http://example.com/g");
+            assertTrue(dataset.contains(Optional.of(g), factory.createIRI("http://example.com/s"), p, null));
+            assertTrue(dataset.contains(Optional.empty(), g, name, factory.createLiteral("G")));
+            assertEquals(2, dataset.size());
+        }
+    }
+}
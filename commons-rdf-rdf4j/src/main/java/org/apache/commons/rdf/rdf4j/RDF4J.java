@@ -17,6 +17,7 @@
  */
 package org.apache.commons.rdf.rdf4j;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.Objects;
@@ -36,6 +37,7 @@ import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.api.TripleLike;
 import org.apache.commons.rdf.rdf4j.impl.InternalRDF4JFactory;
+import org.apache.commons.rdf.simple.experimental.TermTranslator;
 import org.eclipse.rdf4j.model.BNode;
 import org.eclipse.rdf4j.model.IRI;
 import org.eclipse.rdf4j.model.Literal;
@@ -50,7 +52,10 @@ import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.sail.SailRepository;
 import org.eclipse.rdf4j.sail.Sail;
+import org.eclipse.rdf4j.sail.lmdb.LmdbStore;
+import org.eclipse.rdf4j.sail.lmdb.config.LmdbStoreConfig;
 import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
 
 /**
  * RDF4J implementation of RDF.
@@ -68,6 +73,12 @@ import org.eclipse.rdf4j.sail.memory.MemoryStore;
  * {@link #createGraph()} creates a new Graph backed by {@link LinkedHashModel}.
  * To use other models, see {@link #asGraph(Model)}.
  * <p>
+ * {@link #createNativeGraph(Path, String...)},
+ * {@link #createNativeDataset(Path, String...)},
+ * {@link #createLmdbGraph(Path, String...)} and
+ * {@link #createLmdbDataset(Path, String...)} create a Graph or Dataset
+ * persisted in a local {@link NativeStore} or {@link LmdbStore}.
+ * <p>
  * To adapt a RDF4J {@link Repository} as a {@link Dataset} or {@link Graph},
  * use {@link #asDataset(Repository, Option...)} or
  * {@link #asGraph(Repository, Option...)}.
@@ -119,6 +130,22 @@ public final class RDF4J implements RDF {
         handleInitAndShutdown
     }
 
+    /**
+     * Creates {@link LmdbStore}s.
+     * <p>
+     * Kept in a separate class so that RDF4J can be used without
+     * <em>rdf4j-sail-lmdb</em> on the classpath.
+     */
+    private static final class Lmdb {
+        static Sail createStore(final Path dataDir, final String tripleIndexes) {
+            final LmdbStoreConfig config = new LmdbStoreConfig();
+            if (!tripleIndexes.isEmpty()) {
+                config.setTripleIndexes(tripleIndexes);
+            }
+            return new LmdbStore(dataDir.toFile(), config);
+        }
+    }
+
     /**
      * InternalRDF4JFactory is deliberately abstract
      */
@@ -531,6 +558,10 @@ public final class RDF4J implements RDF {
      * {@link RDF4JTerm#asValue()} is returned without any conversion. Note that
      * this could mean that a {@link Value} from a different kind of
      * {@link ValueFactory} could be returned.
+     * <p>
+     * Foreign IRIs and literals are translated with
+     * {@link TermTranslator#getDefault()}, which may likewise return a cached
+     * {@link Value} created by another {@link ValueFactory}.
      *
      * @param term
      *            RDFTerm to adapt to RDF4J Value
@@ -545,19 +576,8 @@ public final class RDF4J implements RDF {
             // (This is crucial to avoid double-escaping in BlankNode)
             return ((RDF4JTerm) term).asValue();
         }
-        if (term instanceof org.apache.commons.rdf.api.IRI) {
-            final org.apache.commons.rdf.api.IRI iri = (org.apache.commons.rdf.api.IRI) term;
-            return getValueFactory().createIRI(iri.getIRIString());
-        }
-        if (term instanceof org.apache.commons.rdf.api.Literal) {
-            final org.apache.commons.rdf.api.Literal literal = (org.apache.commons.rdf.api.Literal) term;
-            final String label = literal.getLexicalForm();
-            if (literal.getLanguageTag().isPresent()) {
-                final String lang = literal.getLanguageTag().get();
-                return getValueFactory().createLiteral(label, lang);
-            }
-            final org.eclipse.rdf4j.model.IRI dataType = (org.eclipse.rdf4j.model.IRI) asValue(literal.getDatatype());
-            return getValueFactory().createLiteral(label, dataType);
+        if (term instanceof org.apache.commons.rdf.api.IRI || term instanceof org.apache.commons.rdf.api.Literal) {
+            return TermTranslator.getDefault().translate(Value.class, term, this::createValue);
         }
         if (term instanceof BlankNode) {
             // This is where it gets tricky to support round trips!
@@ -570,6 +590,21 @@ public final class RDF4J implements RDF {
         throw new IllegalArgumentException("RDFTerm was not an IRI, Literal or BlankNode: " + term.getClass());
     }
 
+    private Value createValue(final RDFTerm term) {
+        if (term instanceof org.apache.commons.rdf.api.IRI) {
+            final org.apache.commons.rdf.api.IRI iri = (org.apache.commons.rdf.api.IRI) term;
+            return getValueFactory().createIRI(iri.getIRIString());
+        }
+        final org.apache.commons.rdf.api.Literal literal = (org.apache.commons.rdf.api.Literal) term;
+        final String label = literal.getLexicalForm();
+        if (literal.getLanguageTag().isPresent()) {
+            final String lang = literal.getLanguageTag().get();
+            return getValueFactory().createLiteral(label, lang);
+        }
+        final org.eclipse.rdf4j.model.IRI dataType = (org.eclipse.rdf4j.model.IRI) asValue(literal.getDatatype());
+        return getValueFactory().createLiteral(label, dataType);
+    }
+
     @Override
     public RDF4JBlankNode createBlankNode() {
         final BNode bnode = getValueFactory().createBNode();
@@ -592,9 +627,7 @@ public final class RDF4J implements RDF {
      */
     @Override
     public RDF4JDataset createDataset() {
-        final Sail sail = new MemoryStore();
-        final Repository repository = new SailRepository(sail);
-        return RDF4J.createRepositoryDatasetImpl(repository, true, false);
+        return asDataset(new MemoryStore());
     }
 
     @Override
@@ -602,6 +635,126 @@ public final class RDF4J implements RDF {
         return asGraph(new LinkedHashModel());
     }
 
+    /**
+     * Create a {@link Dataset} persisted in a local RDF4J {@link LmdbStore}.
+     * <p>
+     * This requires <em>rdf4j-sail-lmdb</em> and its native libraries on the
+     * classpath.
+     * <p>
+     * The store is initialized in the given directory, which may already
+     * contain an LMDB store, and is shut down on {@link Dataset#close()}.
+     * <p>
+     * See {@link #createNativeDataset(Path, String...)} for how to choose
+     * <code>tripleIndexes</code>.
+     * <p>
+     * <strong>Note:</strong> Some operations on the {@link RDF4JDataset}
+     * requires the use of try-with-resources to close underlying
+     * {@link RepositoryConnection}s, including {@link RDF4JDataset#iterate()},
+     * {@link RDF4JDataset#stream()} and {@link RDF4JDataset#getGraphNames()}.
+     *
+     * @param dataDir
+     *            Directory to keep the store in
+     * @param tripleIndexes
+     *            Zero or more index orders, e.g. <code>"spoc", "posc"</code>
+     * @return A {@link Dataset} backed by an LMDB store
+     */
+    public RDF4JDataset createLmdbDataset(final Path dataDir, final String... tripleIndexes) {
+        return asDataset(Lmdb.createStore(dataDir, String.join(",", tripleIndexes)));
+    }
+
+    /**
+     * Create a {@link Graph} persisted in a local RDF4J {@link LmdbStore}.
+     * <p>
+     * This requires <em>rdf4j-sail-lmdb</em> and its native libraries on the
+     * classpath.
+     * <p>
+     * The graph reflects the default graph of the store, which is initialized
+     * in the given directory, which may already contain an LMDB store, and is
+     * shut down on {@link Graph#close()}.
+     * <p>
+     * See {@link #createNativeDataset(Path, String...)} for how to choose
+     * <code>tripleIndexes</code>.
+     * <p>
+     * <strong>Note:</strong> Some operations on the {@link RDF4JGraph} requires
+     * the use of try-with-resources to close underlying
+     * {@link RepositoryConnection}s, including {@link RDF4JGraph#iterate()} and
+     * {@link RDF4JGraph#stream()}.
+     *
+     * @param dataDir
+     *            Directory to keep the store in
+     * @param tripleIndexes
+     *            Zero or more index orders, e.g. <code>"spoc", "posc"</code>
+     * @return A {@link Graph} backed by an LMDB store
+     */
+    public RDF4JGraph createLmdbGraph(final Path dataDir, final String... tripleIndexes) {
+        return asGraph(Lmdb.createStore(dataDir, String.join(",", tripleIndexes)));
+    }
+
+    /**
+     * Create a {@link Dataset} persisted in a local RDF4J {@link NativeStore}.
+     * <p>
+     * The store is initialized in the given directory, which may already
+     * contain a native store, and is shut down on {@link Dataset#close()}.
+     * <p>
+     * The <code>tripleIndexes</code> determine which B-tree indexes the store
+     * maintains, each named by the order of its fields: <code>s</code>ubject,
+     * <code>p</code>redicate, <code>o</code>bject and <code>c</code>ontext.
+     * For instance, <code>"spoc"</code> serves
+     * {@link Dataset#stream(java.util.Optional, BlankNodeOrIRI, org.apache.commons.rdf.api.IRI, RDFTerm)}
+     * patterns with a given subject, <code>"posc"</code> patterns with a given
+     * predicate (and object) and <code>"ospc"</code> patterns with a given
+     * object. Each index speeds up matching lookups, but costs disk space and
+     * time on every modification. If no indexes are given, the store's
+     * default (<code>"spoc", "posc"</code>) is used. Changing the indexes of an
+     * existing store will rebuild its indexes on initialization.
+     * <p>
+     * <strong>Note:</strong> Some operations on the {@link RDF4JDataset}
+     * requires the use of try-with-resources to close underlying
+     * {@link RepositoryConnection}s, including {@link RDF4JDataset#iterate()},
+     * {@link RDF4JDataset#stream()} and {@link RDF4JDataset#getGraphNames()}.
+     *
+     * @param dataDir
+     *            Directory to keep the store in
+     * @param tripleIndexes
+     *            Zero or more index orders, e.g. <code>"spoc", "posc"</code>
+     * @return A {@link Dataset} backed by a native store
+     */
+    public RDF4JDataset createNativeDataset(final Path dataDir, final String... tripleIndexes) {
+        return asDataset(createNativeStore(dataDir, tripleIndexes));
+    }
+
+    /**
+     * Create a {@link Graph} persisted in a local RDF4J {@link NativeStore}.
+     * <p>
+     * The graph reflects the default graph of the store, which is initialized
+     * in the given directory, which may already contain a native store, and is
+     * shut down on {@link Graph#close()}.
+     * <p>
+     * See {@link #createNativeDataset(Path, String...)} for how to choose
+     * <code>tripleIndexes</code>.
+     * <p>
+     * <strong>Note:</strong> Some operations on the {@link RDF4JGraph} requires
+     * the use of try-with-resources to close underlying
+     * {@link RepositoryConnection}s, including {@link RDF4JGraph#iterate()} and
+     * {@link RDF4JGraph#stream()}.
+     *
+     * @param dataDir
+     *            Directory to keep the store in
+     * @param tripleIndexes
+     *            Zero or more index orders, e.g. <code>"spoc", "posc"</code>
+     * @return A {@link Graph} backed by a native store
+     */
+    public RDF4JGraph createNativeGraph(final Path dataDir, final String... tripleIndexes) {
+        return asGraph(createNativeStore(dataDir, tripleIndexes));
+    }
+
+    private Sail createNativeStore(final Path dataDir, final String... tripleIndexes) {
+        if (tripleIndexes.length == 0) {
+            return new NativeStore(dataDir.toFile());
+        }
+        return new NativeStore(dataDir.toFile(), String.join(",", tripleIndexes));
+    }
+
     @Override
     public RDF4JIRI createIRI(final String iri) throws IllegalArgumentException {
         return asRDFTerm(getValueFactory().createIRI(iri));
@@ -655,6 +808,14 @@ public final class RDF4J implements RDF {
         return valueFactory;
     }
 
+    private RDF4JDataset asDataset(final Sail sail) {
+        return RDF4J.createRepositoryDatasetImpl(new SailRepository(sail), true, false);
+    }
+
+    private RDF4JGraph asGraph(final Sail sail) {
+        return RDF4J.createRepositoryGraphImpl(new SailRepository(sail), true, false, new Resource[] { null });
+    }
+
     private EnumSet<Option> optionSet(final Option... options) {
         final EnumSet<Option> opts = EnumSet.noneOf(Option.class);
         opts.addAll(Arrays.asList(options));
@@ -18,6 +18,7 @@
 
 package org.apache.commons.rdf.rdf4j;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import org.apache.commons.rdf.api.GraphLike;
@@ -41,6 +42,31 @@ import org.eclipse.rdf4j.repository.Repository;
  */
 public interface RDF4JGraphLike<T extends TripleLike> extends GraphLike<T>, AutoCloseable {
 
+    /**
+     * Return the number of statements, possibly as remembered from an earlier
+     * call.
+     * <p>
+     * This is intended for monitoring and pagination, where a slightly outdated
+     * count is acceptable, but counting a large repository for every request
+     * is not. A count calculated by this method is reused for calls within
+     * <code>maxStaleness</code>, unless the graph/dataset has been modified
+     * through this instance in the meantime. Modifications made directly to the
+     * underlying {@link Repository} are not detected, and may therefore be
+     * reflected only after <code>maxStaleness</code> has passed.
+     * </p>
+     * <p>
+     * The default implementation returns {@link #size()}.
+     * </p>
+     *
+     * @param maxStaleness
+     *            For how long a previously calculated count may be returned,
+     *            e.g. {@link Duration#ZERO} to always count.
+     * @return The (approximate) number of statements
+     */
+    default long approximateSize(final Duration maxStaleness) {
+        return size();
+    }
+
     /**
      * Return the corresponding RDF4J {@link Model}, if present.
      * <p>
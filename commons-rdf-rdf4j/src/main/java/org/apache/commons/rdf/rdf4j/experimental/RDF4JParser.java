@@ -23,6 +23,9 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
@@ -35,8 +38,13 @@ import org.apache.commons.rdf.rdf4j.RDF4JBlankNodeOrIRI;
 import org.apache.commons.rdf.rdf4j.RDF4JDataset;
 import org.apache.commons.rdf.rdf4j.RDF4JGraph;
 import org.apache.commons.rdf.simple.experimental.AbstractRDFParser;
+import org.eclipse.rdf4j.common.transaction.IsolationLevel;
+import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.common.transaction.TransactionSetting;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.util.RDFInserter;
 import org.eclipse.rdf4j.repository.util.RDFLoader;
 import org.eclipse.rdf4j.rio.ParserConfig;
@@ -54,6 +62,13 @@ import org.eclipse.rdf4j.rio.helpers.AbstractRDFHandler;
  * {@link RDFSyntax#RDFXML}, {@link RDFSyntax#TRIG} and {@link RDFSyntax#TURTLE}
  * - additional syntaxes can be supported by including the corresponding
  * <em>rdf4j-rio-*</em> module on the classpath.
+ * <p>
+ * If the target is an {@link RDF4JGraph} or {@link RDF4JDataset} backed by a
+ * {@link Repository}, statements are added directly using a dedicated
+ * {@link RepositoryConnection}, which is closed when parsing completes. The
+ * transactions of that connection can be controlled with
+ * {@link #commitChunkSize(long)}, {@link #isolationLevel(IsolationLevel)} and
+ * {@link #transactionSettings(TransactionSetting...)}.
  */
 public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
 
@@ -99,8 +114,62 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
         }
     }
 
+    /**
+     * Adds statements to a repository connection, committing every
+     * {@link RDF4JParser#getCommitChunkSize()} statements.
+     * <p>
+     * On {@link #close()} any uncommitted changes are rolled back (e.g. because
+     * parsing failed) and the connection is closed.
+     */
+    private final class RepositoryInserter extends RDFInserter implements AutoCloseable {
+        private long uncommitted;
+
+        private RepositoryInserter(final RepositoryConnection conn) {
+            super(conn);
+        }
+
+        private void beginIfNeeded() {
+            if (!con.isActive()) {
+                con.begin(getTransactionSettingsWithIsolation());
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (con.isActive()) {
+                    con.rollback();
+                }
+            } finally {
+                con.close();
+            }
+        }
+
+        @Override
+        public void endRDF() throws RDFHandlerException {
+            beginIfNeeded();
+            // NOTE: Adds any namespaces
+            super.endRDF();
+            con.commit();
+            uncommitted = 0;
+        }
+
+        @Override
+        public void handleStatement(final org.eclipse.rdf4j.model.Statement st) throws RDFHandlerException {
+            beginIfNeeded();
+            super.handleStatement(st);
+            if (commitChunkSize > 0 && ++uncommitted >= commitChunkSize) {
+                con.commit();
+                uncommitted = 0;
+            }
+        }
+    }
+
     private RDF4J rdf4jTermFactory;
     private ParserConfig parserConfig = new ParserConfig();
+    private long commitChunkSize;
+    private IsolationLevel isolationLevel;
+    private TransactionSetting[] transactionSettings = {};
 
     /**
      * Constructs a new instance.
@@ -109,11 +178,64 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
         // empty
     }
 
+    /**
+     * Sets how many statements to add to a {@link Repository} per
+     * transaction.
+     * <p>
+     * This only applies when the target is an {@link RDF4JGraph} or
+     * {@link RDF4JDataset} backed by a {@link Repository}. Committing in
+     * chunks avoids building up a single huge transaction for large sources,
+     * but means that a parse failure leaves the statements of any already
+     * committed chunks in the repository.
+     * <p>
+     * The default, <code>0</code>, adds all statements of the source in a single
+     * transaction.
+     *
+     * @param chunkSize
+     *            Number of statements per transaction, or <code>0</code> for a
+     *            single transaction
+     * @return A parser with the commit chunk size set
+     * @throws IllegalArgumentException
+     *             If the chunk size is negative
+     */
+    public RDF4JParser commitChunkSize(final long chunkSize) throws IllegalArgumentException {
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("Commit chunk size can't be negative: " + chunkSize);
+        }
+        final RDF4JParser c = clone();
+        c.commitChunkSize = chunkSize;
+        return c;
+    }
+
     @Override
     protected RDF4J createRDFTermFactory() {
         return new RDF4J();
     }
 
+    /**
+     * Gets the number of statements to add to a {@link Repository} per
+     * transaction.
+     *
+     * @return The commit chunk size, or <code>0</code> if all statements are
+     *         added in a single transaction.
+     * @see #commitChunkSize(long)
+     */
+    public long getCommitChunkSize() {
+        return commitChunkSize;
+    }
+
+    /**
+     * Gets the isolation level of the transactions adding to a
+     * {@link Repository}.
+     *
+     * @return The {@link IsolationLevel}, or {@link Optional#empty()} to use the
+     *         repository's default isolation level.
+     * @see #isolationLevel(IsolationLevel)
+     */
+    public Optional<IsolationLevel> getIsolationLevel() {
+        return Optional.ofNullable(isolationLevel);
+    }
+
     /**
      * Gets the RDF4J {@link ParserConfig} to use.
      * <p>
@@ -130,6 +252,47 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
         return parserConfig;
     }
 
+    /**
+     * Gets the additional {@link TransactionSetting}s of the transactions
+     * adding to a {@link Repository}.
+     *
+     * @return A copy of the transaction settings, which may be empty.
+     * @see #transactionSettings(TransactionSetting...)
+     */
+    public TransactionSetting[] getTransactionSettings() {
+        return transactionSettings.clone();
+    }
+
+    private TransactionSetting[] getTransactionSettingsWithIsolation() {
+        if (isolationLevel == null) {
+            return transactionSettings;
+        }
+        final List<TransactionSetting> settings = new ArrayList<>(transactionSettings.length + 1);
+        settings.add(isolationLevel);
+        settings.addAll(Arrays.asList(transactionSettings));
+        return settings.toArray(new TransactionSetting[0]);
+    }
+
+    /**
+     * Sets the isolation level of the transactions adding to a
+     * {@link Repository}.
+     * <p>
+     * This only applies when the target is an {@link RDF4JGraph} or
+     * {@link RDF4JDataset} backed by a {@link Repository}. For bulk loading
+     * where no concurrent readers need isolation from the load,
+     * {@link IsolationLevels#NONE} is typically the fastest.
+     *
+     * @param isolationLevel
+     *            The isolation level, or {@code null} to use the
+     *            repository's default isolation level
+     * @return A parser with the isolation level set
+     */
+    public RDF4JParser isolationLevel(final IsolationLevel isolationLevel) {
+        final RDF4JParser c = clone();
+        c.isolationLevel = isolationLevel;
+        return c;
+    }
+
     /**
      * Creates a new instance of an RDFHandler.
      *
@@ -145,7 +308,7 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
             // One of us, we can add them as Statements directly
             final RDF4JDataset dataset = (RDF4JDataset) getTargetDataset().get();
             if (dataset.asRepository().isPresent()) {
-                return new RDFInserter(dataset.asRepository().get().getConnection());
+                return new RepositoryInserter(dataset.asRepository().get().getConnection());
             }
             if (dataset.asModel().isPresent()) {
                 final Model model = dataset.asModel().get();
@@ -158,7 +321,7 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
             final RDF4JGraph graph = (RDF4JGraph) getTargetGraph().get();
 
             if (graph.asRepository().isPresent()) {
-                final RDFInserter inserter = new RDFInserter(graph.asRepository().get().getConnection());
+                final RDFInserter inserter = new RepositoryInserter(graph.asRepository().get().getConnection());
                 if (!graph.getContextMask().isEmpty()) {
                     final Stream<RDF4JBlankNodeOrIRI> b = graph.getContextMask().stream();
                     final Stream<Resource> c = b.map(RDF4JBlankNodeOrIRI::asValue);
@@ -188,6 +351,17 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
         // TODO: Should we need to set anything?
         final RDFLoader loader = new RDFLoader(parserConfig, rdf4jTermFactory.getValueFactory());
         final RDFHandler rdfHandler = makeRDFHandler();
+        try {
+            load(loader, base, formatByMimeType, rdfHandler);
+        } finally {
+            if (rdfHandler instanceof RepositoryInserter) {
+                ((RepositoryInserter) rdfHandler).close();
+            }
+        }
+    }
+
+    private void load(final RDFLoader loader, final String base, final Optional<RDFFormat> formatByMimeType,
+            final RDFHandler rdfHandler) throws IOException {
         if (getSourceFile().isPresent()) {
             // NOTE: While we could have used
             // loader.load(sourcePath.toFile()
@@ -213,14 +387,15 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
                 final URL url = new URL(getSourceIri().get().getIRIString());
                 // TODO: This probably does not support https:// -> http://
                 // redirections
-                loader.load(url, base, formatByMimeType.orElse(null), makeRDFHandler());
+                loader.load(url, base, formatByMimeType.orElse(null), rdfHandler);
             } catch (final MalformedURLException ex) {
                 throw new IOException("Can't handle source URL: " + getSourceIri().get(), ex);
             }
+        } else {
+            // must be getSourceInputStream then, this is guaranteed by
+            // super.checkSource();
+            loader.load(getSourceInputStream().get(), base, formatByMimeType.orElse(null), rdfHandler);
         }
-        // must be getSourceInputStream then, this is guaranteed by
-        // super.checkSource();
-        loader.load(getSourceInputStream().get(), base, formatByMimeType.orElse(null), rdfHandler);
     }
 
     @Override
@@ -243,4 +418,25 @@ public class RDF4JParser extends AbstractRDFParser<RDF4JParser> {
         this.parserConfig = parserConfig;
     }
 
+    /**
+     * Sets additional {@link TransactionSetting}s for the transactions adding
+     * to a {@link Repository}.
+     * <p>
+     * This only applies when the target is an {@link RDF4JGraph} or
+     * {@link RDF4JDataset} backed by a {@link Repository}. The settings are
+     * passed to {@link RepositoryConnection#begin(TransactionSetting...)}, and
+     * can be used for store-specific bulk load modes, e.g. to disable
+     * validation or inferencing while loading, if supported by the
+     * underlying store.
+     *
+     * @param settings
+     *            Zero or more transaction settings
+     * @return A parser with the transaction settings set
+     */
+    public RDF4JParser transactionSettings(final TransactionSetting... settings) {
+        final RDF4JParser c = clone();
+        c.transactionSettings = settings.clone();
+        return c;
+    }
+
 }
@@ -17,6 +17,7 @@
  */
 package org.apache.commons.rdf.rdf4j.impl;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -24,17 +25,45 @@ import org.apache.commons.rdf.api.TripleLike;
 import org.apache.commons.rdf.rdf4j.RDF4J;
 import org.apache.commons.rdf.rdf4j.RDF4JGraphLike;
 import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
+import org.eclipse.rdf4j.model.Value;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.RepositoryResult;
 
 abstract class AbstractRepositoryGraphLike<T extends TripleLike> implements RDF4JGraphLike<T> {
 
+    /**
+     * A previously calculated {@link #size()} and when it was calculated.
+     */
+    private static final class CachedSize {
+        private final long size;
+        private final long nanoTime;
+
+        CachedSize(final long size, final long nanoTime) {
+            this.size = size;
+            this.nanoTime = nanoTime;
+        }
+    }
+
+    /**
+     * Patterns with more matches than this are estimated as the whole graph
+     * or dataset by {@link #estimateStatements(Resource, org.eclipse.rdf4j.model.IRI, Value, Resource...)}.
+     */
+    static final long ESTIMATE_LIMIT = 10_000;
+
+    /**
+     * How old the size used for large pattern estimates may be.
+     */
+    private static final Duration ESTIMATE_STALENESS = Duration.ofSeconds(10);
+
     private final Repository repository;
     private final boolean includeInferred;
     private final boolean handleInitAndShutdown;
     private final RDF4J rdf4jTermFactory;
     private final UUID salt;
+    private volatile CachedSize cachedSize;
 
     AbstractRepositoryGraphLike(final Repository repository, final UUID salt, final boolean handleInitAndShutdown,
             final boolean includeInferred) {
@@ -48,6 +77,18 @@ abstract class AbstractRepositoryGraphLike<T extends TripleLike> implements RDF4
         rdf4jTermFactory = new RDF4J(repository.getValueFactory(), salt);
     }
 
+    @Override
+    public long approximateSize(final Duration maxStaleness) {
+        final long now = System.nanoTime();
+        final CachedSize cached = cachedSize;
+        if (cached != null && now - cached.nanoTime <= maxStaleness.toNanos()) {
+            return cached.size;
+        }
+        final long size = size();
+        cachedSize = new CachedSize(size, now);
+        return size;
+    }
+
     @Override
     public Optional<Model> asModel() {
         return Optional.empty();
@@ -69,6 +110,69 @@ abstract class AbstractRepositoryGraphLike<T extends TripleLike> implements RDF4
         // down
     }
 
+    /**
+     * Count the matching statements in the repository without converting them
+     * to Commons RDF.
+     * <p>
+     * Unlike {@link RepositoryConnection#size(Resource...)} this also counts
+     * inferred statements if {@link #getIncludeInferred()} is true.
+     *
+     * @param subj
+     *            Subject to match, or {@code null} for any
+     * @param pred
+     *            Predicate to match, or {@code null} for any
+     * @param obj
+     *            Object to match, or {@code null} for any
+     * @param contexts
+     *            Contexts to match, or none for any context
+     * @return Number of matching statements
+     */
+    protected long countStatements(final Resource subj, final org.eclipse.rdf4j.model.IRI pred, final Value obj,
+            final Resource... contexts) {
+        return countStatements(Long.MAX_VALUE, subj, pred, obj, contexts);
+    }
+
+    private long countStatements(final long limit, final Resource subj, final org.eclipse.rdf4j.model.IRI pred,
+            final Value obj, final Resource... contexts) {
+        try (RepositoryConnection conn = getRepositoryConnection();
+                RepositoryResult<Statement> statements = conn.getStatements(subj, pred, obj, includeInferred,
+                        contexts)) {
+            long count = 0;
+            while (count < limit && statements.hasNext()) {
+                statements.next();
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Estimate the number of matching statements in the repository.
+     * <p>
+     * Statements are counted without converting them, up to
+     * {@value #ESTIMATE_LIMIT}. Patterns with more matches are estimated as
+     * the {@link #approximateSize(Duration)} of this graph or dataset, as the
+     * repository API offers no cheaper cardinality statistics.
+     *
+     * @param subj
+     *            Subject to match, or {@code null} for any
+     * @param pred
+     *            Predicate to match, or {@code null} for any
+     * @param obj
+     *            Object to match, or {@code null} for any
+     * @param contexts
+     *            Contexts to match, or none for any context
+     * @return Estimated number of matching statements
+     */
+    protected long estimateStatements(final Resource subj, final org.eclipse.rdf4j.model.IRI pred, final Value obj,
+            final Resource... contexts) {
+        final long count = countStatements(ESTIMATE_LIMIT + 1, subj, pred, obj, contexts);
+        if (count <= ESTIMATE_LIMIT) {
+            return count;
+        }
+        return Math.max(count, approximateSize(ESTIMATE_STALENESS));
+    }
+
     protected boolean getHandleInitAndShutdown() {
         return handleInitAndShutdown;
     }
@@ -93,4 +197,13 @@ abstract class AbstractRepositoryGraphLike<T extends TripleLike> implements RDF4
         return salt;
     }
 
+    /**
+     * Forget any size remembered by {@link #approximateSize(Duration)}.
+     * <p>
+     * Called after modifications made through this graph or dataset.
+     */
+    protected void invalidateCachedSize() {
+        cachedSize = null;
+    }
+
 }
@@ -17,11 +17,16 @@
  */
 package org.apache.commons.rdf.rdf4j.impl;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.temporal.TemporalAccessor;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 
 import org.apache.commons.rdf.rdf4j.RDF4JLiteral;
+import org.eclipse.rdf4j.model.base.CoreDatatype;
 import org.eclipse.rdf4j.model.vocabulary.XMLSchema;
 import org.eclipse.rdf4j.rio.turtle.TurtleUtil;
 
@@ -37,6 +42,67 @@ final class LiteralImpl extends AbstractRDFTerm<org.eclipse.rdf4j.model.Literal>
         super(literal);
     }
 
+    @Override
+    public BigDecimal asDecimal() {
+        final CoreDatatype.XSD type = value.getCoreDatatype().asXSDDatatypeOrNull();
+        if (type != null && type.isDecimalDatatype()) {
+            return value.decimalValue();
+        }
+        return RDF4JLiteral.super.asDecimal();
+    }
+
+    @Override
+    public double asDouble() {
+        final CoreDatatype.XSD type = value.getCoreDatatype().asXSDDatatypeOrNull();
+        if (type != null && type.isNumericDatatype()) {
+            return value.doubleValue();
+        }
+        return RDF4JLiteral.super.asDouble();
+    }
+
+    @Override
+    public long asLong() {
+        final CoreDatatype.XSD type = value.getCoreDatatype().asXSDDatatypeOrNull();
+        if (type != null && type.isIntegerDatatype()) {
+            return value.integerValue().longValueExact();
+        }
+        return RDF4JLiteral.super.asLong();
+    }
+
+    @Override
+    public Number asNumber() {
+        // Typed RDF4J literals, such as those created from Java values,
+        // keep their value and need no parsing
+        final CoreDatatype.XSD type = value.getCoreDatatype().asXSDDatatypeOrNull();
+        if (type == null || !type.isNumericDatatype()) {
+            return RDF4JLiteral.super.asNumber();
+        }
+        if (type.isIntegerDatatype()) {
+            final BigInteger integer = value.integerValue();
+            return integer.bitLength() < Long.SIZE ? (Number) integer.longValue() : integer;
+        }
+        if (type.isDecimalDatatype()) {
+            return value.decimalValue();
+        }
+        if (type == CoreDatatype.XSD.FLOAT) {
+            return value.floatValue();
+        }
+        return value.doubleValue();
+    }
+
+    @Override
+    public TemporalAccessor asTemporal() {
+        final CoreDatatype.XSD type = value.getCoreDatatype().asXSDDatatypeOrNull();
+        if (type != null && type.isCalendarDatatype()) {
+            try {
+                return value.temporalAccessorValue();
+            } catch (final IllegalArgumentException e) {
+                throw new DateTimeException(e.getMessage(), e);
+            }
+        }
+        return RDF4JLiteral.super.asTemporal();
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (obj == this) {
@@ -17,14 +17,18 @@
  */
 package org.apache.commons.rdf.rdf4j.impl;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
@@ -32,13 +36,16 @@ import org.apache.commons.rdf.rdf4j.ClosableIterable;
 import org.apache.commons.rdf.rdf4j.RDF4J;
 import org.apache.commons.rdf.rdf4j.RDF4JBlankNodeOrIRI;
 import org.apache.commons.rdf.rdf4j.RDF4JGraph;
+import org.apache.commons.rdf.rdf4j.RDF4JIRI;
+import org.apache.commons.rdf.rdf4j.RDF4JTerm;
 import org.apache.commons.rdf.rdf4j.RDF4JTriple;
+import org.apache.commons.rdf.simple.GraphCopyTarget;
 import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.repository.Repository;
 
 @SuppressWarnings("PMD.UnnecessaryFullyQualifiedName") // we use fully-qualified names for clarity
-final class ModelGraphImpl implements RDF4JGraph {
+final class ModelGraphImpl implements RDF4JGraph, GraphCopyTarget {
 
     private final Model model;
     private final RDF4J rdf4jTermFactory;
@@ -59,6 +66,37 @@ final class ModelGraphImpl implements RDF4JGraph {
         model.add(rdf4jTermFactory.asStatement(triple));
     }
 
+    @Override
+    public void addAll(final Collection<? extends Triple> triples) {
+        model.addAll(triples.parallelStream().map(rdf4jTermFactory::asStatement).collect(Collectors.toList()));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The statements of another {@link RDF4JGraph} are added without
+     * converting their terms, with {@link Model#addAll(Collection)} if it has
+     * a {@link Model}.
+     */
+    @Override
+    public boolean addAllNatively(final Graph source) {
+        if (!(source instanceof RDF4JGraph)) {
+            return false;
+        }
+        final RDF4JGraph rdf4jSource = (RDF4JGraph) source;
+        final Optional<Model> sourceModel = rdf4jSource.asModel();
+        if (sourceModel.isPresent()) {
+            if (sourceModel.get() != model) {
+                model.addAll(sourceModel.get());
+            }
+        } else {
+            try (Stream<RDF4JTriple> triples = rdf4jSource.stream()) {
+                triples.map(RDF4JTriple::asStatement).forEach(model::add);
+            }
+        }
+        return true;
+    }
+
     @Override
     public Optional<Model> asModel() {
         return Optional.of(model);
@@ -97,6 +135,37 @@ final class ModelGraphImpl implements RDF4JGraph {
         return iterate(null, null, null);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The count is exact, as is {@link #estimateCount(BlankNodeOrIRI, IRI, RDFTerm)}.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final org.apache.commons.rdf.api.IRI predicate,
+            final RDFTerm object) {
+        return estimateCount(subject, predicate, object);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The matching statements are counted with
+     * {@link Model#filter(Resource, org.eclipse.rdf4j.model.IRI, org.eclipse.rdf4j.model.Value, Resource...)},
+     * which for indexed models like
+     * {@link org.eclipse.rdf4j.model.impl.LinkedHashModel} only visits the
+     * statements of the smallest matching index, without converting them.
+     */
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final org.apache.commons.rdf.api.IRI predicate,
+            final RDFTerm object) {
+        if (subject == null && predicate == null && object == null) {
+            return size();
+        }
+        return model.filter((Resource) rdf4jTermFactory.asValue(subject),
+                (org.eclipse.rdf4j.model.IRI) rdf4jTermFactory.asValue(predicate), rdf4jTermFactory.asValue(object))
+                .size();
+    }
+
     @Override
     public ClosableIterable<Triple> iterate(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         return new ClosableIterable<Triple>() {
@@ -115,6 +184,25 @@ final class ModelGraphImpl implements RDF4JGraph {
         };
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The distinct values are those of {@link Model#objects()} of the
+     * filtered model, and only they are converted.
+     */
+    @Override
+    public Stream<RDF4JTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        return model.filter((Resource) rdf4jTermFactory.asValue(subject),
+                (org.eclipse.rdf4j.model.IRI) rdf4jTermFactory.asValue(predicate), null).objects().stream()
+                .map(rdf4jTermFactory::asRDFTerm);
+    }
+
+    @Override
+    public Stream<RDF4JIRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        return model.filter((Resource) rdf4jTermFactory.asValue(subject), null, rdf4jTermFactory.asValue(object))
+                .predicates().stream().map(rdf4jTermFactory::asRDFTerm);
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final org.apache.commons.rdf.api.IRI predicate, final RDFTerm object) {
         model.remove((Resource) rdf4jTermFactory.asValue(subject),
@@ -134,20 +222,46 @@ final class ModelGraphImpl implements RDF4JGraph {
         }
         // TODO: Check if this can really happen with RDF4J models
         // Collection.size() can't help us, we'll have to count
-        return model.parallelStream().count();
+        // (without a SIZED spliterator, as that would just return size())
+        return StreamSupport.stream(new ModelSpliterator(model, false), true).count();
+    }
+
+    @Override
+    public Stream<RDF4JBlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        return model.filter(null, (org.eclipse.rdf4j.model.IRI) rdf4jTermFactory.asValue(predicate),
+                rdf4jTermFactory.asValue(object)).subjects().stream().map(rdf4jTermFactory::asRDFTerm);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The stream can be made {@link Stream#parallel()}, in which case batches
+     * of statements are converted to triples in parallel.
+     */
     @Override
     public Stream<RDF4JTriple> stream() {
-        return model.stream().map(rdf4jTermFactory::asTriple);
+        return StreamSupport.stream(new ModelSpliterator(model, true), false).map(rdf4jTermFactory::asTriple);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The pattern is matched using {@link Model#filter(Resource, org.eclipse.rdf4j.model.IRI, org.eclipse.rdf4j.model.Value, Resource...)},
+     * which for models like {@link org.eclipse.rdf4j.model.impl.LinkedHashModel}
+     * only iterates over statements with the given subject, predicate or
+     * object. The stream can be made {@link Stream#parallel()}, in which case
+     * batches of statements are converted to triples in parallel.
+     */
     @Override
     public Stream<RDF4JTriple> stream(final BlankNodeOrIRI subject, final org.apache.commons.rdf.api.IRI predicate,
             final RDFTerm object) {
-        return model.filter((Resource) rdf4jTermFactory.asValue(subject),
-                (org.eclipse.rdf4j.model.IRI) rdf4jTermFactory.asValue(predicate), rdf4jTermFactory.asValue(object))
-                .stream().map(rdf4jTermFactory::asTriple);
+        if (subject == null && predicate == null && object == null) {
+            return stream();
+        }
+        final Model filtered = model.filter((Resource) rdf4jTermFactory.asValue(subject),
+                (org.eclipse.rdf4j.model.IRI) rdf4jTermFactory.asValue(predicate), rdf4jTermFactory.asValue(object));
+        // NOTE: Not sized, as filtered.size() would iterate over the matches
+        return StreamSupport.stream(new ModelSpliterator(filtered, false), false).map(rdf4jTermFactory::asTriple);
     }
 
 }
@@ -0,0 +1,138 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j.impl;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import org.eclipse.rdf4j.model.Model;
+import org.eclipse.rdf4j.model.Statement;
+
+/**
+ * A {@link Spliterator} over the statements of a {@link Model}, e.g. for
+ * parallel streams.
+ * <p>
+ * Models like {@link org.eclipse.rdf4j.model.impl.LinkedHashModel} only
+ * provide an {@link Iterator}, so this spliterator splits by taking batches of
+ * statements from a shared iterator, like
+ * {@link Spliterators#spliterator(Collection, int)}. Unlike that spliterator,
+ * when the size is known the batches are sized so that each worker of the
+ * {@link ForkJoinPool#commonPool()} gets a few of them, rather than starting
+ * with small batches that grow by a fixed amount.
+ * <p>
+ * The iterator is created on first use, so the spliterator reflects the model
+ * at the time the stream is consumed.
+ */
+final class ModelSpliterator implements Spliterator<Statement> {
+
+    private static final int MIN_BATCH = 1 << 10;
+    private static final int MAX_BATCH = 1 << 25;
+
+    private final Collection<Statement> statements;
+    private final boolean sized;
+    private Iterator<Statement> iterator;
+    private long estimatedSize;
+    private int batchSize;
+
+    /**
+     * Constructs a spliterator over statements.
+     *
+     * @param statements
+     *            Statements, e.g. a {@link Model} or a
+     *            {@link Model#filter(org.eclipse.rdf4j.model.Resource, org.eclipse.rdf4j.model.IRI, org.eclipse.rdf4j.model.Value, org.eclipse.rdf4j.model.Resource...)}
+     *            view
+     * @param sized
+     *            True if {@link Collection#size()} of the statements is cheap
+     *            and exact. Filtered views of a model count their size by
+     *            iterating, and so should not be considered sized.
+     */
+    ModelSpliterator(final Collection<Statement> statements, final boolean sized) {
+        this.statements = statements;
+        this.sized = sized;
+    }
+
+    private Iterator<Statement> bind() {
+        if (iterator == null) {
+            iterator = statements.iterator();
+            if (sized) {
+                estimatedSize = statements.size();
+                final long perWorker = estimatedSize / (4L * ForkJoinPool.getCommonPoolParallelism());
+                batchSize = (int) Math.max(MIN_BATCH, Math.min(MAX_BATCH, perWorker));
+            } else {
+                estimatedSize = Long.MAX_VALUE;
+                batchSize = MIN_BATCH;
+            }
+        }
+        return iterator;
+    }
+
+    @Override
+    public int characteristics() {
+        return DISTINCT | NONNULL | (sized ? SIZED : 0);
+    }
+
+    @Override
+    public long estimateSize() {
+        bind();
+        return estimatedSize;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super Statement> action) {
+        bind().forEachRemaining(action);
+        estimatedSize = 0;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super Statement> action) {
+        final Iterator<Statement> it = bind();
+        if (!it.hasNext()) {
+            return false;
+        }
+        action.accept(it.next());
+        if (sized) {
+            estimatedSize--;
+        }
+        return true;
+    }
+
+    @Override
+    public Spliterator<Statement> trySplit() {
+        final Iterator<Statement> it = bind();
+        if (estimatedSize <= 1 || !it.hasNext()) {
+            return null;
+        }
+        final int n = (int) Math.min(batchSize, estimatedSize);
+        final Statement[] batch = new Statement[n];
+        int i = 0;
+        while (i < n && it.hasNext()) {
+            batch[i++] = it.next();
+        }
+        if (sized) {
+            estimatedSize -= i;
+        } else {
+            batchSize = Math.min(MAX_BATCH, batchSize * 2);
+        }
+        return Spliterators.spliterator(batch, 0, i, DISTINCT | NONNULL);
+    }
+
+}
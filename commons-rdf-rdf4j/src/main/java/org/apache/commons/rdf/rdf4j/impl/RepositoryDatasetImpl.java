@@ -17,12 +17,16 @@
  */
 package org.apache.commons.rdf.rdf4j.impl;
 
+import java.util.Collection;
 import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
 import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.Quad;
@@ -30,6 +34,7 @@ import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.rdf4j.ClosableIterable;
 import org.apache.commons.rdf.rdf4j.RDF4JDataset;
 import org.apache.commons.rdf.rdf4j.RDF4JQuad;
+import org.apache.commons.rdf.simple.DatasetCopyTarget;
 import org.eclipse.rdf4j.common.iteration.Iterations;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
@@ -38,7 +43,7 @@ import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.RepositoryResult;
 
-final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> implements RDF4JDataset {
+final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> implements RDF4JDataset, DatasetCopyTarget {
 
     RepositoryDatasetImpl(final Repository repository, final UUID salt, final boolean handleInitAndShutdown, final boolean includeInferred) {
         super(repository, salt, handleInitAndShutdown, includeInferred);
@@ -54,6 +59,7 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
             conn.add(subj, pred, obj, context);
             conn.commit();
         }
+        invalidateCachedSize();
     }
 
     @Override
@@ -63,6 +69,45 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
             conn.add(statement);
             conn.commit();
         }
+        invalidateCachedSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The quads are converted in parallel and added in one transaction.
+     */
+    @Override
+    public void addAll(final Collection<? extends Quad> quads) {
+        final List<Statement> statements = quads.parallelStream().map(getRdf4jTermFactory()::asStatement)
+                .collect(Collectors.toList());
+        try (RepositoryConnection conn = getRepositoryConnection()) {
+            conn.begin();
+            conn.add(statements);
+            conn.commit();
+        }
+        invalidateCachedSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The statements of another {@link RDF4JDataset} are added in one
+     * transaction, without converting their terms.
+     */
+    @Override
+    public boolean addAllNatively(final Dataset source) {
+        if (!(source instanceof RDF4JDataset)) {
+            return false;
+        }
+        try (RepositoryConnection conn = getRepositoryConnection();
+                Stream<RDF4JQuad> quads = ((RDF4JDataset) source).stream()) {
+            conn.begin();
+            conn.add((Iterable<Statement>) quads.map(RDF4JQuad::asStatement)::iterator);
+            conn.commit();
+        }
+        invalidateCachedSize();
+        return true;
     }
 
     private Resource[] asContexts(final Optional<BlankNodeOrIRI> graphName) {
@@ -89,6 +134,7 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
             conn.clear();
             conn.commit();
         }
+        invalidateCachedSize();
     }
 
     @Override
@@ -110,6 +156,42 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Matching statements are counted without converting them.
+     */
+    @Override
+    public long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (graphName == null && subject == null && predicate == null && object == null) {
+            return size();
+        }
+        final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
+        final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
+        final Value obj = getRdf4jTermFactory().asValue(object);
+        return countStatements(subj, pred, obj, asContexts(graphName));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Patterns with up to {@value AbstractRepositoryGraphLike#ESTIMATE_LIMIT}
+     * matches are counted exactly, larger patterns are estimated as the size
+     * of the dataset.
+     */
+    @Override
+    public long estimateCount(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (graphName == null && subject == null && predicate == null && object == null) {
+            return size();
+        }
+        final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
+        final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
+        final Value obj = getRdf4jTermFactory().asValue(object);
+        return estimateStatements(subj, pred, obj, asContexts(graphName));
+    }
+
     @Override
     public Graph getGraph() {
         // default context only
@@ -162,6 +244,7 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
             conn.remove(subj, pred, obj, contexts);
             conn.commit();
         }
+        invalidateCachedSize();
     }
 
     @Override
@@ -171,13 +254,14 @@ final class RepositoryDatasetImpl extends AbstractRepositoryGraphLike<Quad> impl
             conn.remove(statement);
             conn.commit();
         }
+        invalidateCachedSize();
     }
 
     @Override
     public long size() {
         if (getIncludeInferred()) {
-            // We'll need to count them all
-            return stream().count();
+            // We'll need to count them all, but there is no need to convert them
+            return countStatements(null, null, null);
         }
         // else: Ask directly
         try (RepositoryConnection conn = getRepositoryConnection()) {
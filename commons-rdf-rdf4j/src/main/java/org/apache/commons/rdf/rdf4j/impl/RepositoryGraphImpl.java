@@ -17,31 +17,53 @@
  */
 package org.apache.commons.rdf.rdf4j.impl;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.ConcurrentModificationException;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
 import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.rdf4j.ClosableIterable;
 import org.apache.commons.rdf.rdf4j.RDF4JBlankNodeOrIRI;
 import org.apache.commons.rdf.rdf4j.RDF4JGraph;
+import org.apache.commons.rdf.rdf4j.RDF4JIRI;
+import org.apache.commons.rdf.rdf4j.RDF4JTerm;
 import org.apache.commons.rdf.rdf4j.RDF4JTriple;
+import org.apache.commons.rdf.simple.GraphCopyTarget;
+import org.apache.commons.rdf.simple.experimental.BasicGraphPattern;
+import org.apache.commons.rdf.simple.experimental.BasicGraphPatternEvaluator;
+import org.apache.commons.rdf.simple.experimental.Solution;
+import org.apache.commons.rdf.simple.experimental.TriplePattern;
+import org.apache.commons.rdf.simple.experimental.Variable;
 import org.eclipse.rdf4j.common.iteration.Iterations;
+import org.eclipse.rdf4j.model.Model;
 import org.eclipse.rdf4j.model.Resource;
 import org.eclipse.rdf4j.model.Statement;
 import org.eclipse.rdf4j.model.Value;
+import org.eclipse.rdf4j.query.BindingSet;
+import org.eclipse.rdf4j.query.QueryLanguage;
+import org.eclipse.rdf4j.query.TupleQuery;
+import org.eclipse.rdf4j.query.TupleQueryResult;
+import org.eclipse.rdf4j.query.impl.SimpleDataset;
 import org.eclipse.rdf4j.repository.Repository;
 import org.eclipse.rdf4j.repository.RepositoryConnection;
 import org.eclipse.rdf4j.repository.RepositoryResult;
 
-final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> implements RDF4JGraph {
+final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple>
+        implements RDF4JGraph, BasicGraphPatternEvaluator, GraphCopyTarget {
 
     private final Resource[] contextMask;
 
@@ -60,6 +82,7 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
             conn.add(subj, pred, obj, contextMask);
             conn.commit();
         }
+        invalidateCachedSize();
     }
 
     @Override
@@ -69,6 +92,53 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
             conn.add(statement, contextMask);
             conn.commit();
         }
+        invalidateCachedSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The triples are converted in parallel and added in one transaction.
+     */
+    @Override
+    public void addAll(final Collection<? extends Triple> triples) {
+        final List<Statement> statements = triples.parallelStream().map(getRdf4jTermFactory()::asStatement)
+                .collect(Collectors.toList());
+        try (RepositoryConnection conn = getRepositoryConnection()) {
+            conn.begin();
+            conn.add(statements, contextMask);
+            conn.commit();
+        }
+        invalidateCachedSize();
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The statements of another {@link RDF4JGraph} are added in one
+     * transaction, without converting their terms, directly from its
+     * {@link Model} if it has one.
+     */
+    @Override
+    public boolean addAllNatively(final Graph source) {
+        if (!(source instanceof RDF4JGraph)) {
+            return false;
+        }
+        final RDF4JGraph rdf4jSource = (RDF4JGraph) source;
+        final Optional<Model> model = rdf4jSource.asModel();
+        try (RepositoryConnection conn = getRepositoryConnection()) {
+            conn.begin();
+            if (model.isPresent()) {
+                conn.add(model.get(), contextMask);
+            } else {
+                try (Stream<RDF4JTriple> triples = rdf4jSource.stream()) {
+                    conn.add((Iterable<Statement>) triples.map(RDF4JTriple::asStatement)::iterator, contextMask);
+                }
+            }
+            conn.commit();
+        }
+        invalidateCachedSize();
+        return true;
     }
 
     @Override
@@ -82,6 +152,7 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
             conn.clear(contextMask);
             conn.commit();
         }
+        invalidateCachedSize();
     }
 
     @Override
@@ -102,6 +173,105 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Matching statements are counted without converting them.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject == null && predicate == null && object == null) {
+            return size();
+        }
+        final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
+        final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
+        final Value obj = getRdf4jTermFactory().asValue(object);
+        return countStatements(subj, pred, obj, contextMask);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Patterns with up to {@value AbstractRepositoryGraphLike#ESTIMATE_LIMIT}
+     * matches are counted exactly, larger patterns are estimated as the size
+     * of the graph.
+     */
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject == null && predicate == null && object == null) {
+            return size();
+        }
+        final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
+        final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
+        final Value obj = getRdf4jTermFactory().asValue(object);
+        return estimateStatements(subj, pred, obj, contextMask);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The pattern is evaluated as a SPARQL query by the repository, with the
+     * context mask as the default graphs and the constant terms bound as
+     * variables. Blank node contexts can't be default graphs, so graphs
+     * masking them are not evaluated natively.
+     */
+    @Override
+    public Optional<Stream<Solution>> evaluate(final BasicGraphPattern pattern) {
+        final SimpleDataset dataset = new SimpleDataset();
+        for (final Resource context : contextMask) {
+            if (context == null) {
+                dataset.addDefaultGraph(org.eclipse.rdf4j.model.vocabulary.RDF4J.NIL);
+            } else if (context instanceof org.eclipse.rdf4j.model.IRI) {
+                dataset.addDefaultGraph((org.eclipse.rdf4j.model.IRI) context);
+            } else {
+                return Optional.empty();
+            }
+        }
+        final List<Variable> variables = pattern.getVariables();
+        final List<RDFTerm> constants = new ArrayList<>();
+        final StringBuilder query = new StringBuilder("SELECT * WHERE {");
+        for (final TriplePattern p : pattern.getPatterns()) {
+            for (final Object term : new Object[] { p.getSubject(), p.getPredicate(), p.getObject() }) {
+                if (term instanceof Variable) {
+                    query.append(" ?v").append(variables.indexOf(term));
+                } else {
+                    query.append(" ?c").append(constants.size());
+                    constants.add((RDFTerm) term);
+                }
+            }
+            query.append(" .");
+        }
+        query.append(" }");
+
+        final RepositoryConnection conn = getRepositoryConnection();
+        Stream<Solution> stream = null;
+        try {
+            final TupleQuery tupleQuery = conn.prepareTupleQuery(QueryLanguage.SPARQL, query.toString());
+            for (int i = 0; i < constants.size(); i++) {
+                tupleQuery.setBinding("c" + i, getRdf4jTermFactory().asValue(constants.get(i)));
+            }
+            if (contextMask.length > 0) {
+                tupleQuery.setDataset(dataset);
+            }
+            tupleQuery.setIncludeInferred(getIncludeInferred());
+            final TupleQueryResult result = tupleQuery.evaluate();
+            stream = Iterations.stream(result).map(bindings -> asSolution(variables, bindings));
+        } finally {
+            if (stream == null) {
+                conn.close();
+            }
+        }
+        return Optional.of(stream.onClose(conn::close));
+    }
+
+    private Solution asSolution(final List<Variable> variables, final BindingSet bindings) {
+        final RDFTerm[] values = new RDFTerm[variables.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = getRdf4jTermFactory().asRDFTerm(bindings.getValue("v" + i));
+        }
+        return new Solution(variables, values);
+    }
+
     @Override
     public Set<RDF4JBlankNodeOrIRI> getContextMask() {
         final Set<RDF4JBlankNodeOrIRI> mask = new HashSet<>();
@@ -126,6 +296,21 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
                 obj, contextMask);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Duplicate RDF4J values are removed before they are converted.
+     */
+    @Override
+    public Stream<RDF4JTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        return values(subject, predicate, null, Statement::getObject).map(getRdf4jTermFactory()::asRDFTerm);
+    }
+
+    @Override
+    public Stream<RDF4JIRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        return values(subject, null, object, Statement::getPredicate).map(getRdf4jTermFactory()::asRDFTerm);
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
@@ -135,6 +320,7 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
             conn.remove(subj, pred, obj, contextMask);
             conn.commit();
         }
+        invalidateCachedSize();
     }
 
     @Override
@@ -144,18 +330,23 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
             conn.remove(statement, contextMask);
             conn.commit();
         }
+        invalidateCachedSize();
     }
 
     @Override
     public long size() {
-        if (!getIncludeInferred() && contextMask.length == 0) {
+        if (!getIncludeInferred()) {
             try (RepositoryConnection conn = getRepositoryConnection()) {
-                return conn.size();
+                return conn.size(contextMask);
             }
         }
-        try (Stream<RDF4JTriple> stream = stream()) {
-            return stream.count();
-        }
+        // We'll need to count them all, but there is no need to convert them
+        return countStatements(null, null, null, contextMask);
+    }
+
+    @Override
+    public Stream<RDF4JBlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        return values(null, predicate, object, Statement::getSubject).map(getRdf4jTermFactory()::asRDFTerm);
     }
 
     @Override
@@ -190,4 +381,22 @@ final class RepositoryGraphImpl extends AbstractRepositoryGraphLike<Triple> impl
         return stream == null ? null : stream.onClose(conn::close);
     }
 
+    private <V extends Value> Stream<V> values(final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object, final Function<Statement, V> position) {
+        final Resource subj = (Resource) getRdf4jTermFactory().asValue(subject);
+        final org.eclipse.rdf4j.model.IRI pred = (org.eclipse.rdf4j.model.IRI) getRdf4jTermFactory().asValue(predicate);
+        final Value obj = getRdf4jTermFactory().asValue(object);
+        final RepositoryConnection conn = getRepositoryConnection();
+        Stream<V> stream = null;
+        try {
+            final RepositoryResult<Statement> statements = conn.getStatements(subj, pred, obj, getIncludeInferred(), contextMask);
+            stream = Iterations.stream(statements).map(position).distinct();
+        } finally {
+            if (stream == null) {
+                conn.close();
+            }
+        }
+        return stream.onClose(conn::close);
+    }
+
 }
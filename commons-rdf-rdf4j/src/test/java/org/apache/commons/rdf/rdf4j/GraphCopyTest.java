@@ -0,0 +1,120 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.simple.Graphs;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.eclipse.rdf4j.model.impl.LinkedHashModel;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GraphCopyTest {
+
+    private final RDF4J rdf4j = new RDF4J();
+    private final SimpleRDF simple = new SimpleRDF();
+    private Repository repository;
+
+    @BeforeEach
+    public void createRepository() {
+        repository = new SailRepository(new MemoryStore());
+        repository.init();
+    }
+
+    @AfterEach
+    public void shutdownRepository() {
+        repository.shutDown();
+    }
+
+    private Graph createGraph() {
+        final Graph graph = simple.createGraph();
+        final IRI p = simple.createIRI("http://example.com/p");
+        BlankNode previous = simple.createBlankNode();
+        for (int i = 0; i < 25_000; i++) {
+            final BlankNode next = simple.createBlankNode();
+            graph.add(previous, p, next);
+            graph.add(next, p, simple.createLiteral("node " + i, "en"));
+            previous = next;
+        }
+        return graph;
+    }
+
+    @Test
+    public void copyGraph() throws Exception {
+        final Graph graph = createGraph();
+        final IRI context = rdf4j.createIRI("http://example.com/graph");
+        try (RDF4JGraph defaultGraph = rdf4j.asGraph(repository);
+                RDF4JGraph named = rdf4j.asGraph(repository, Collections.singleton(context))) {
+            Graphs.copy(graph, defaultGraph);
+            assertEquals(graph.size(), defaultGraph.size());
+            assertTrue(Graphs.isIsomorphic(graph, defaultGraph));
+
+            // Native copy within the same repository
+            Graphs.copy(defaultGraph, named);
+            assertEquals(graph.size(), named.size());
+            assertTrue(Graphs.isIsomorphic(graph, named));
+
+            final RDF4JGraph model = rdf4j.asGraph(new LinkedHashModel());
+            Graphs.copy(named, model);
+            assertEquals(graph.size(), model.size());
+            final RDF4JGraph batchedModel = rdf4j.asGraph(new LinkedHashModel());
+            Graphs.copy(graph, batchedModel);
+            assertTrue(Graphs.isIsomorphic(graph, batchedModel));
+        }
+        try (RDF4JGraph union = rdf4j.asGraphUnion(repository)) {
+            assertEquals(2 * graph.size(), union.size());
+        }
+    }
+
+    @Test
+    public void copyDataset() throws Exception {
+        final Dataset dataset = simple.createDataset();
+        final IRI p = simple.createIRI("http://example.com/p");
+        final BlankNode b = simple.createBlankNode();
+        dataset.add(null, b, p, simple.createLiteral("default"));
+        dataset.add(p, b, p, simple.createLiteral("named"));
+        dataset.add(b, p, p, b);
+
+        try (RDF4JDataset rdf4jDataset = rdf4j.asDataset(repository)) {
+            Graphs.copy(dataset, rdf4jDataset);
+            assertEquals(3, rdf4jDataset.size());
+            assertTrue(Graphs.isIsomorphic(dataset, rdf4jDataset));
+            final Repository other = new SailRepository(new MemoryStore());
+            other.init();
+            try (RDF4JDataset nativeCopy = rdf4j.asDataset(other)) {
+                Graphs.copy(rdf4jDataset, nativeCopy);
+                assertTrue(Graphs.isIsomorphic(dataset, nativeCopy));
+            } finally {
+                other.shutDown();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,83 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.lmdb.LmdbStore;
+import org.eclipse.rdf4j.sail.nativerdf.NativeStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LocalStoreTest {
+
+    private final RDF4J rdf4j = new RDF4J();
+    private final IRI s = rdf4j.createIRI("http://example.com/s");
+    private final IRI p = rdf4j.createIRI("http://example.com/p");
+    private final IRI g = rdf4j.createIRI("http://example.com/g");
+
+    @TempDir
+    public Path dataDir;
+
+    @Test
+    public void lmdbDataset() throws Exception {
+        try (RDF4JDataset dataset = rdf4j.createLmdbDataset(dataDir, "spoc", "posc", "ospc")) {
+            final SailRepository repository = (SailRepository) dataset.asRepository().get();
+            assertTrue(repository.getSail() instanceof LmdbStore);
+            dataset.add(g, s, p, rdf4j.createLiteral("o"));
+        }
+        try (RDF4JDataset dataset = rdf4j.createLmdbDataset(dataDir, "spoc", "posc", "ospc")) {
+            assertTrue(dataset.contains(Optional.of(g), s, p, null));
+        }
+    }
+
+    @Test
+    public void nativeDataset() throws Exception {
+        try (RDF4JDataset dataset = rdf4j.createNativeDataset(dataDir, "spoc", "posc", "ospc")) {
+            final SailRepository repository = (SailRepository) dataset.asRepository().get();
+            assertEquals("spoc,posc,ospc", ((NativeStore) repository.getSail()).getTripleIndexes());
+            dataset.add(g, s, p, rdf4j.createLiteral("o"));
+        }
+        // Reopen with a different index
+        try (RDF4JDataset dataset = rdf4j.createNativeDataset(dataDir, "opsc")) {
+            assertTrue(dataset.contains(Optional.of(g), s, p, null));
+        }
+    }
+
+    @Test
+    public void nativeGraph() throws Exception {
+        try (RDF4JGraph graph = rdf4j.createNativeGraph(dataDir)) {
+            graph.add(s, p, rdf4j.createLiteral("o"));
+        }
+        try (RDF4JDataset dataset = rdf4j.createNativeDataset(dataDir);
+                Stream<BlankNodeOrIRI> graphNames = dataset.getGraphNames()) {
+            // Default graph only
+            assertTrue(dataset.contains(Optional.empty(), s, p, null));
+            assertEquals(0, graphNames.count());
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Triple;
+import org.junit.jupiter.api.Test;
+
+public class ModelGraphStreamTest {
+
+    private final RDF4J rdf4j = new RDF4J();
+
+    @Test
+    public void parallelStream() throws Exception {
+        try (RDF4JGraph graph = rdf4j.createGraph()) {
+            final IRI even = rdf4j.createIRI("http://example.com/even");
+            final IRI odd = rdf4j.createIRI("http://example.com/odd");
+            for (int i = 0; i < 50_000; i++) {
+                graph.add(rdf4j.createIRI("http://example.com/s" + i), i % 2 == 0 ? even : odd,
+                        rdf4j.createLiteral(Integer.toString(i)));
+            }
+            final Set<Triple> sequential = graph.stream().collect(Collectors.toSet());
+            final Set<Triple> parallel = graph.stream().parallel().collect(Collectors.toSet());
+            assertEquals(50_000, parallel.size());
+            assertEquals(sequential, parallel);
+            assertEquals(50_000, graph.stream().parallel().count());
+            assertEquals(25_000, graph.stream(null, even, null).parallel().count());
+            assertEquals(25_000, graph.stream(null, odd, null).parallel().distinct().count());
+            assertEquals(1, graph.stream(rdf4j.createIRI("http://example.com/s1"), null, null).parallel().count());
+        }
+    }
+
+}
@@ -17,8 +17,16 @@
  */
 package org.apache.commons.rdf.rdf4j;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
 import org.apache.commons.rdf.api.AbstractRDFTest;
+import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.experimental.CachingTermTranslator;
+import org.apache.commons.rdf.simple.experimental.TermTranslator;
+import org.eclipse.rdf4j.model.Value;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
@@ -29,6 +37,22 @@ public class RDF4JTest extends AbstractRDFTest {
         return new RDF4J();
     }
 
+    @Test
+    public void testTermTranslator() {
+        final CachingTermTranslator translator = new CachingTermTranslator(100);
+        TermTranslator.setDefault(translator);
+        try {
+            final SimpleRDF simple = new SimpleRDF();
+            final Literal literal = simple.createLiteral("hello", "en");
+            final Value value = new RDF4J().asValue(literal);
+            assertSame(value, new RDF4J().asValue(simple.createLiteral("hello", "en")));
+            assertEquals(0.5, translator.getHitRate(Value.class));
+            assertEquals("hello", value.stringValue());
+        } finally {
+            TermTranslator.setDefault(TermTranslator.none());
+        }
+    }
+
     @Override
     @Test
     @Disabled("RDF4J doesn't check Lang strings")
@@ -0,0 +1,87 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.rdf4j.RDF4J.Option;
+import org.eclipse.rdf4j.model.ValueFactory;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.RepositoryConnection;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RepositorySizeTest {
+
+    private final RDF4J rdf4j = new RDF4J();
+    private Repository repository;
+
+    private void addDirectly(final String subject) {
+        final ValueFactory vf = repository.getValueFactory();
+        try (RepositoryConnection conn = repository.getConnection()) {
+            conn.add(vf.createIRI(subject), vf.createIRI("http://example.com/p"), vf.createLiteral("o"));
+        }
+    }
+
+    @BeforeEach
+    public void createRepository() {
+        repository = new SailRepository(new MemoryStore());
+        repository.init();
+    }
+
+    @AfterEach
+    public void shutdownRepository() {
+        repository.shutDown();
+    }
+
+    @Test
+    public void approximateSize() throws Exception {
+        try (RDF4JDataset dataset = rdf4j.asDataset(repository)) {
+            addDirectly("http://example.com/s1");
+            assertEquals(1, dataset.approximateSize(Duration.ofHours(1)));
+            // Not noticed within the staleness bound
+            addDirectly("http://example.com/s2");
+            assertEquals(1, dataset.approximateSize(Duration.ofHours(1)));
+            assertEquals(2, dataset.approximateSize(Duration.ZERO));
+            // .. but our own modifications are
+            final IRI p = rdf4j.createIRI("http://example.com/p");
+            dataset.add(null, rdf4j.createIRI("http://example.com/s3"), p, rdf4j.createLiteral("o"));
+            assertEquals(3, dataset.approximateSize(Duration.ofHours(1)));
+        }
+    }
+
+    @Test
+    public void sizeIncludeInferred() throws Exception {
+        addDirectly("http://example.com/s1");
+        addDirectly("http://example.com/s2");
+        try (RDF4JDataset dataset = rdf4j.asDataset(repository, Option.includeInferred);
+                RDF4JGraph graph = rdf4j.asGraph(repository, Option.includeInferred);
+                RDF4JGraph union = rdf4j.asGraphUnion(repository, Option.includeInferred)) {
+            assertEquals(2, dataset.size());
+            assertEquals(2, graph.size());
+            assertEquals(2, union.size());
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.rdf4j.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.rdf4j.RDF4J;
+import org.apache.commons.rdf.rdf4j.RDF4JDataset;
+import org.eclipse.rdf4j.common.transaction.IsolationLevels;
+import org.eclipse.rdf4j.repository.Repository;
+import org.eclipse.rdf4j.repository.sail.SailRepository;
+import org.eclipse.rdf4j.sail.memory.MemoryStore;
+import org.junit.jupiter.api.Test;
+
+public class RDF4JParserTest {
+
+    private static final String NQUADS = "<http://example.com/s> <http://example.com/p> \"1\" .\n"
+            + "<http://example.com/s> <http://example.com/p> \"2\" <http://example.com/g> .\n"
+            + "<http://example.com/s> <http://example.com/p> \"3\" .\n";
+
+    private static InputStream source(final String nquads) {
+        return new ByteArrayInputStream(nquads.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void parseInChunks() throws Exception {
+        final Repository repository = new SailRepository(new MemoryStore());
+        repository.init();
+        try (RDF4JDataset dataset = new RDF4J().asDataset(repository)) {
+            new RDF4JParser().commitChunkSize(2).isolationLevel(IsolationLevels.NONE).contentType(RDFSyntax.NQUADS)
+                    .source(source(NQUADS)).target(dataset).parse().get();
+            assertEquals(3, dataset.size());
+        } finally {
+            // Would hang if the parser's connection was left open
+            repository.shutDown();
+        }
+    }
+
+    @Test
+    public void parseFailureRollsBackChunk() throws Exception {
+        final Repository repository = new SailRepository(new MemoryStore());
+        repository.init();
+        try (RDF4JDataset dataset = new RDF4J().asDataset(repository)) {
+            final RDF4JParser parser = new RDF4JParser().commitChunkSize(2).contentType(RDFSyntax.NQUADS)
+                    .source(source(NQUADS + "this is not N-Quads\n")).target(dataset);
+            assertThrows(ExecutionException.class, () -> parser.parse().get());
+            // The first chunk was committed, the remaining statement was not
+            assertEquals(2, dataset.size());
+        } finally {
+            repository.shutDown();
+        }
+    }
+
+    @Test
+    public void negativeChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new RDF4JParser().commitChunkSize(-1));
+    }
+
+}
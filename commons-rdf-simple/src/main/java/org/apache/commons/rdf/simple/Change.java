@@ -0,0 +1,125 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Objects;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A triple added to or removed from a {@link Graph}.
+ *
+ * @see GraphDiff
+ */
+public final class Change {
+
+    /**
+     * Kind of change.
+     */
+    public enum Type {
+        /** The triple is added */
+        ADD,
+        /** The triple is removed */
+        REMOVE
+    }
+
+    /**
+     * Creates a change adding a triple.
+     *
+     * @param triple
+     *            Triple to add
+     * @return The change
+     */
+    public static Change addition(final Triple triple) {
+        return new Change(Type.ADD, triple);
+    }
+
+    /**
+     * Creates a change removing a triple.
+     *
+     * @param triple
+     *            Triple to remove
+     * @return The change
+     */
+    public static Change removal(final Triple triple) {
+        return new Change(Type.REMOVE, triple);
+    }
+
+    private final Type type;
+
+    private final Triple triple;
+
+    private Change(final Type type, final Triple triple) {
+        this.type = Objects.requireNonNull(type);
+        this.triple = Objects.requireNonNull(triple);
+    }
+
+    /**
+     * Applies this change to a graph.
+     *
+     * @param graph
+     *            Graph to add the triple to or remove it from
+     */
+    public void applyTo(final Graph graph) {
+        if (type == Type.ADD) {
+            graph.add(triple);
+        } else {
+            graph.remove(triple);
+        }
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!(obj instanceof Change)) {
+            return false;
+        }
+        final Change other = (Change) obj;
+        return type == other.type && triple.equals(other.triple);
+    }
+
+    /**
+     * Gets the added or removed triple.
+     *
+     * @return The triple
+     */
+    public Triple getTriple() {
+        return triple;
+    }
+
+    /**
+     * Gets the kind of change.
+     *
+     * @return {@link Type#ADD} or {@link Type#REMOVE}
+     */
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, triple);
+    }
+
+    @Override
+    public String toString() {
+        return (type == Type.ADD ? "+ " : "- ") + triple.getSubject().ntriplesString() + " "
+                + triple.getPredicate().ntriplesString() + " " + triple.getObject().ntriplesString() + " .";
+    }
+
+}
@@ -0,0 +1,136 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.rdf.api.IRI;
+
+/**
+ * A memory-saving implementation of IRI, created by
+ * {@link SimpleRDF#SimpleRDF(boolean)}.
+ * <p>
+ * The IRI is split after its last <code>#</code>, <code>/</code> or
+ * <code>:</code> into a namespace, which is interned and so shared by all the
+ * IRIs of the namespace, and a local name, kept as UTF-8 bytes. The IRI
+ * string is rebuilt by {@link #getIRIString()} on each call, while
+ * {@link #hashCode()} is computed once and is that of the IRI string, and
+ * {@link #equals(Object)} compares other IRIs with the namespace and local
+ * name in place.
+ */
+final class CompactIRI implements IRI, SimpleRDF.SimpleRDFTerm {
+
+    private static int splitIndex(final String iri) {
+        for (int i = iri.length() - 1; i >= 0; i--) {
+            final char c = iri.charAt(i);
+            if (c == '#' || c == '/' || c == ':') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private final String namespace;
+    private final byte[] localName;
+    private final int hash;
+
+    CompactIRI(final String iri) {
+        // should throw IllegalArgumentException on most illegal IRIs
+        URI.create(iri);
+        final int split = splitIndex(iri);
+        this.namespace = iri.substring(0, split).intern();
+        this.localName = iri.substring(split).getBytes(StandardCharsets.UTF_8);
+        this.hash = iri.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof CompactIRI) {
+            final CompactIRI other = (CompactIRI) obj;
+            // namespaces are interned
+            return hash == other.hash && namespace == other.namespace && Arrays.equals(localName, other.localName);
+        }
+        if (obj == null || !(obj instanceof IRI)) {
+            return false;
+        }
+        final IRI other = (IRI) obj;
+        if (hash != other.hashCode()) {
+            return false;
+        }
+        final String iri = other.getIRIString();
+        return iri.startsWith(namespace) && localNameMatches(iri, namespace.length());
+    }
+
+    /**
+     * Compares the local name with the end of a string, decoding its UTF-8
+     * bytes in place.
+     */
+    private boolean localNameMatches(final String iri, final int offset) {
+        int pos = offset;
+        int i = 0;
+        while (i < localName.length) {
+            final int b = localName[i] & 0xff;
+            final int codePoint;
+            if (b < 0x80) {
+                codePoint = b;
+                i += 1;
+            } else if (b < 0xe0) {
+                codePoint = (b & 0x1f) << 6 | localName[i + 1] & 0x3f;
+                i += 2;
+            } else if (b < 0xf0) {
+                codePoint = (b & 0x0f) << 12 | (localName[i + 1] & 0x3f) << 6 | localName[i + 2] & 0x3f;
+                i += 3;
+            } else {
+                codePoint = (b & 0x07) << 18 | (localName[i + 1] & 0x3f) << 12 | (localName[i + 2] & 0x3f) << 6
+                        | localName[i + 3] & 0x3f;
+                i += 4;
+            }
+            if (pos >= iri.length() || iri.codePointAt(pos) != codePoint) {
+                return false;
+            }
+            pos += Character.charCount(codePoint);
+        }
+        return pos == iri.length();
+    }
+
+    @Override
+    public String getIRIString() {
+        return namespace.concat(new String(localName, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String ntriplesString() {
+        return "<" + getIRIString() + ">";
+    }
+
+    @Override
+    public String toString() {
+        return ntriplesString();
+    }
+
+}
@@ -108,6 +108,23 @@ public class DatasetGraphView implements Graph {
         return dataset.contains(unionOrNamedGraph(), triple.getSubject(), triple.getPredicate(), triple.getObject());
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * A named or default graph is counted by the dataset. The union graph
+     * is counted from its stream, as the same triple may be in several
+     * graphs.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (unionGraph) {
+            try (Stream<? extends Triple> stream = stream(subject, predicate, object)) {
+                return stream.count();
+            }
+        }
+        return dataset.count(unionOrNamedGraph(), subject, predicate, object);
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         dataset.remove(unionOrNamedGraph(), subject, predicate, object);
@@ -120,7 +137,7 @@ public class DatasetGraphView implements Graph {
 
     @Override
     public long size() {
-        return stream().count();
+        return count(null, null, null);
     }
 
     @Override
@@ -34,6 +34,7 @@ import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.api.Quad;
 import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.simple.SimpleRDF.SimpleRDFTerm;
+import org.apache.commons.rdf.simple.experimental.TermTranslator;
 
 /**
  * A simple, memory-based implementation of Dataset.
@@ -47,6 +48,7 @@ final class DatasetImpl implements Dataset {
     private static final int TO_STRING_MAX = 10;
     private final Set<Quad> quads = new HashSet<>();
     private final SimpleRDF factory;
+    private final ForeignTermCache foreignTerms = new ForeignTermCache();
 
     DatasetImpl(final SimpleRDF simpleRDF) {
         this.factory = simpleRDF;
@@ -123,21 +125,29 @@ final class DatasetImpl implements Dataset {
         if (object == null || object instanceof SimpleRDFTerm) {
             return object;
         }
-        if (object instanceof BlankNode && !(object instanceof BlankNodeImpl)) {
+        if (!(object instanceof BlankNode) && !(object instanceof IRI) && !(object instanceof Literal)) {
+            throw new IllegalArgumentException("Not a BlankNode, IRI or Literal: " + object);
+        }
+        return foreignTerms.get(object, this::importTerm);
+    }
+
+    private RDFTerm importTerm(final RDFTerm object) {
+        if (object instanceof BlankNode) {
             final BlankNode blankNode = (BlankNode) object;
             // This guarantees that adding the same BlankNode multiple times to
-            // this graph will generate a local object that is mapped to an
+            // this dataset will generate a local object that is mapped to an
             // equivalent object, based on the code in the package private
             // BlankNodeImpl class
             return factory.createBlankNode(blankNode.uniqueReference());
         }
-        if (object instanceof IRI && !(object instanceof IRIImpl)) {
+        return TermTranslator.getDefault().translate(RDFTerm.class, factory.translationTarget(), object, this::copyTerm);
+    }
+
+    private RDFTerm copyTerm(final RDFTerm object) {
+        if (object instanceof IRI) {
             final IRI iri = (IRI) object;
             return factory.createIRI(iri.getIRIString());
         }
-        if (!(object instanceof Literal) || object instanceof LiteralImpl) {
-            throw new IllegalArgumentException("Not a BlankNode, IRI or Literal: " + object);
-        }
         final Literal literal = (Literal) object;
         if (literal.getLanguageTag().isPresent()) {
             return factory.createLiteral(literal.getLexicalForm(), literal.getLanguageTag().get());
@@ -0,0 +1,86 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A bounded cache of the internal equivalents of terms from other
+ * implementations, kept by each graph or dataset of this implementation.
+ * <p>
+ * Importing a graph from another implementation typically involves the same
+ * terms many times. Without this cache each foreign {@link BlankNode} would be
+ * re-created from its {@link BlankNode#uniqueReference()}, which costs an MD5
+ * hash, and each foreign IRI or literal would be copied again.
+ * <p>
+ * The cache is direct-mapped: a term that collides with another simply
+ * replaces it, so it never holds more than {@value #SIZE} terms and needs no
+ * locking. Concurrent updates may lose entries, which only costs a repeated
+ * import. Blank nodes are keyed by their unique reference, other terms by
+ * themselves; lookups compare by identity before falling back to
+ * {@link Object#equals(Object)}.
+ */
+final class ForeignTermCache {
+
+    private static final class Entry {
+        private final Object key;
+        private final RDFTerm value;
+
+        private Entry(final Object key, final RDFTerm value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final int SIZE = 1024;
+
+    /** Allocated on the first foreign term, as most graphs never see any. */
+    private volatile Entry[] entries;
+
+    /**
+     * Gets the internal equivalent of a foreign term, importing it on a
+     * cache miss.
+     *
+     * @param term
+     *            Term of another implementation
+     * @param importer
+     *            Creates the internal equivalent of the term
+     * @return The cached or newly imported equivalent
+     */
+    RDFTerm get(final RDFTerm term, final Function<RDFTerm, RDFTerm> importer) {
+        final Object key = term instanceof BlankNode ? ((BlankNode) term).uniqueReference() : term;
+        Entry[] table = entries;
+        if (table == null) {
+            table = new Entry[SIZE];
+            entries = table;
+        }
+        final int h = key.hashCode();
+        final int index = (h ^ h >>> 16) & SIZE - 1;
+        final Entry entry = table[index];
+        if (entry != null && (entry.key == key || entry.key.equals(key))) {
+            return entry.value;
+        }
+        final RDFTerm value = importer.apply(term);
+        table[index] = new Entry(key, value);
+        return value;
+    }
+
+}
@@ -0,0 +1,548 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.SimpleRDF.SimpleRDFTerm;
+
+/**
+ * An immutable, memory-compact {@link Graph}.
+ * <p>
+ * Each distinct term is stored once in a dictionary, and triples are stored
+ * as term numbers in three sorted {@code int} arrays, ordered by
+ * subject-predicate-object, predicate-object-subject and
+ * object-subject-predicate. Any triple pattern is found by binary search in
+ * one of them. {@link Triple} objects are only created when streamed.
+ * <p>
+ * As the graph never changes, it can be read by any number of threads
+ * without locking. All mutating methods throw
+ * {@link UnsupportedOperationException}.
+ */
+public final class FrozenGraph implements Graph {
+
+    private static final int TO_STRING_MAX = 10;
+
+    /** Offsets of subject, predicate and object in an index entry */
+    private static final int[] SPO = { 0, 1, 2 };
+    private static final int[] POS = { 2, 0, 1 };
+    private static final int[] OSP = { 1, 2, 0 };
+
+    private static int compare(final int[] a, final int i, final int[] b, final int j, final int length) {
+        for (int k = 0; k < length; k++) {
+            final int c = Integer.compare(a[i + k], b[j + k]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sort the entries (of three ints each) between two entry indexes.
+     */
+    private static void sort(final int[] entries, int from, int to) {
+        final int[] pivot = new int[3];
+        while (to - from > 16) {
+            final int middle = (from + to) >>> 1;
+            System.arraycopy(entries, middle * 3, pivot, 0, 3);
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (compare(entries, i * 3, pivot, 0, 3) < 0) {
+                    i++;
+                }
+                while (compare(entries, j * 3, pivot, 0, 3) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(entries, i++, j--);
+                }
+            }
+            // Recurse into the smaller part
+            if (j - from < to - i) {
+                sort(entries, from, j);
+                from = i;
+            } else {
+                sort(entries, i, to);
+                to = j;
+            }
+        }
+        // Insertion sort for short ranges
+        for (int i = from + 1; i <= to; i++) {
+            for (int j = i; j > from && compare(entries, (j - 1) * 3, entries, j * 3, 3) > 0; j--) {
+                swap(entries, j - 1, j);
+            }
+        }
+    }
+
+    private static void swap(final int[] entries, final int i, final int j) {
+        for (int k = 0; k < 3; k++) {
+            final int t = entries[i * 3 + k];
+            entries[i * 3 + k] = entries[j * 3 + k];
+            entries[j * 3 + k] = t;
+        }
+    }
+
+    private final SimpleRDF factory;
+
+    /** Terms by number */
+    private final RDFTerm[] terms;
+
+    /** Open addressing hash table of term numbers + 1 */
+    private final int[] termTable;
+
+    private final int size;
+
+    /** Triples as subject, predicate, object numbers */
+    private final int[] spo;
+
+    /** Triples as predicate, object, subject numbers */
+    private final int[] pos;
+
+    /** Triples as object, subject, predicate numbers */
+    private final int[] osp;
+
+    /**
+     * Makes an immutable copy of a graph.
+     * <p>
+     * The copy is compact and indexed for any triple pattern, and can be read
+     * concurrently by any number of threads without locking. Its mutating
+     * methods throw {@link UnsupportedOperationException}.
+     * <p>
+     * Blank nodes of other implementations than {@link SimpleRDF} are mapped
+     * to new blank nodes, as when adding them to a graph from
+     * {@link SimpleRDF#createGraph()}.
+     *
+     * @param graph
+     *            Graph to copy
+     * @return An immutable graph with the triples of the graph
+     */
+    public static FrozenGraph copyOf(final Graph graph) {
+        if (graph instanceof FrozenGraph) {
+            return (FrozenGraph) graph;
+        }
+        return new FrozenGraph(new SimpleRDF(), graph);
+    }
+
+    /**
+     * Copy a graph.
+     *
+     * @param factory
+     *            Factory to map foreign terms with
+     * @param graph
+     *            Graph to copy
+     */
+    FrozenGraph(final SimpleRDF factory, final Graph graph) {
+        this.factory = factory;
+        final List<RDFTerm> termList = new ArrayList<>();
+        int[] table = new int[16];
+        int[] entries = new int[3 * 16];
+        int count = 0;
+        try (Stream<? extends Triple> triples = graph.stream()) {
+            final Iterator<? extends Triple> iterator = triples.iterator();
+            while (iterator.hasNext()) {
+                final Triple triple = iterator.next();
+                if (count * 3 == entries.length) {
+                    entries = Arrays.copyOf(entries, entries.length * 2);
+                }
+                final RDFTerm[] parts = { triple.getSubject(), triple.getPredicate(), triple.getObject() };
+                for (int k = 0; k < 3; k++) {
+                    final RDFTerm term = internallyMap(parts[k]);
+                    int number = find(termList, table, term);
+                    if (number == -1) {
+                        number = termList.size();
+                        termList.add(term);
+                        if (termList.size() * 2 > table.length) {
+                            table = rehash(termList, table.length * 2);
+                        } else {
+                            insert(termList, table, number);
+                        }
+                    }
+                    entries[count * 3 + k] = number;
+                }
+                count++;
+            }
+        }
+        this.terms = termList.toArray(new RDFTerm[0]);
+        this.termTable = table;
+
+        // Sort and remove duplicates
+        sort(entries, 0, count - 1);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || compare(entries, (distinct - 1) * 3, entries, i * 3, 3) != 0) {
+                System.arraycopy(entries, i * 3, entries, distinct * 3, 3);
+                distinct++;
+            }
+        }
+        this.size = distinct;
+        this.spo = Arrays.copyOf(entries, distinct * 3);
+        final int[][] permutations = IntStream.of(1, 2).parallel().mapToObj(this::permute)
+                .toArray(int[][]::new);
+        this.pos = permutations[0];
+        this.osp = permutations[1];
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        throw new UnsupportedOperationException("Graph is immutable");
+    }
+
+    @Override
+    public void add(final Triple triple) {
+        throw new UnsupportedOperationException("Graph is immutable");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Graph is immutable");
+    }
+
+    @Override
+    public void close() {
+        // nothing to close
+    }
+
+    @Override
+    public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return stream(subject, predicate, object).findAny().isPresent();
+    }
+
+    @Override
+    public boolean contains(final Triple triple) {
+        return contains(triple.getSubject(), triple.getPredicate(), triple.getObject());
+    }
+
+    /**
+     * Stream the distinct terms of a column of the entries starting with a
+     * prefix.
+     * <p>
+     * If the column follows the prefix, the terms are sorted, and each is
+     * found by skipping over the entries of the one before. Otherwise the
+     * term numbers of the entries are deduplicated. No triples are created.
+     */
+    private Stream<RDFTerm> distinct(final int[] index, final int column, final int[] prefix, final int length) {
+        final int[] range = findRange(index, prefix, length);
+        if (column != length) {
+            return IntStream.range(range[0], range[1]).map(i -> index[i * 3 + column]).distinct()
+                    .mapToObj(number -> terms[number]);
+        }
+        final int[] next = Arrays.copyOf(prefix, length + 1);
+        final Iterator<RDFTerm> iterator = new Iterator<RDFTerm>() {
+            private int entry = range[0];
+
+            @Override
+            public boolean hasNext() {
+                return entry < range[1];
+            }
+
+            @Override
+            public RDFTerm next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                next[length] = index[entry * 3 + column];
+                entry = findRange(index, next, length + 1)[1];
+                return terms[next[length]];
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED), false);
+    }
+
+    private int find(final List<RDFTerm> termList, final int[] table, final RDFTerm term) {
+        final int mask = table.length - 1;
+        for (int slot = term.hashCode() & mask;; slot = slot + 1 & mask) {
+            final int number = table[slot] - 1;
+            if (number == -1 || termList.get(number).equals(term)) {
+                return number;
+            }
+        }
+    }
+
+    /**
+     * Find the range of entries starting with a prefix.
+     *
+     * @return start (inclusive) and end (exclusive) entry index
+     */
+    private int[] findRange(final int[] index, final int[] prefix, final int length) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (compare(index, middle * 3, prefix, 0, length) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        final int start = low;
+        high = size;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (compare(index, middle * 3, prefix, 0, length) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return new int[] { start, low };
+    }
+
+    private void insert(final List<RDFTerm> termList, final int[] table, final int number) {
+        final int mask = table.length - 1;
+        int slot = termList.get(number).hashCode() & mask;
+        while (table[slot] != 0) {
+            slot = slot + 1 & mask;
+        }
+        table[slot] = number + 1;
+    }
+
+    private RDFTerm internallyMap(final RDFTerm object) {
+        if (object == null || object instanceof SimpleRDFTerm) {
+            return object;
+        }
+        if (object instanceof BlankNode) {
+            final BlankNode blankNode = (BlankNode) object;
+            // As in GraphImpl, the same foreign BlankNode is always mapped to
+            // an equivalent BlankNodeImpl
+            return factory.createBlankNode(blankNode.uniqueReference());
+        }
+        if (object instanceof IRI) {
+            final IRI iri = (IRI) object;
+            return factory.createIRI(iri.getIRIString());
+        }
+        if (!(object instanceof Literal)) {
+            throw new IllegalArgumentException("RDFTerm was neither a BlankNode, IRI nor Literal: " + object);
+        }
+        final Literal literal = (Literal) object;
+        if (literal.getLanguageTag().isPresent()) {
+            return factory.createLiteral(literal.getLexicalForm(), literal.getLanguageTag().get());
+        }
+        return factory.createLiteral(literal.getLexicalForm(), (IRI) internallyMap(literal.getDatatype()));
+    }
+
+    /**
+     * Find the number of a term.
+     *
+     * @return the term number, or -1 if the term is not in this graph
+     */
+    private int number(final RDFTerm term) {
+        return find(Arrays.asList(terms), termTable, internallyMap(term));
+    }
+
+    /**
+     * Creates an index with rotated entries.
+     *
+     * @param rotation
+     *            1 for predicate-object-subject, 2 for object-subject-predicate
+     */
+    private int[] permute(final int rotation) {
+        final int[] index = new int[size * 3];
+        for (int i = 0; i < size * 3; i += 3) {
+            for (int k = 0; k < 3; k++) {
+                index[i + k] = spo[i + (k + rotation) % 3];
+            }
+        }
+        sort(index, 0, size - 1);
+        return index;
+    }
+
+    private int[] rehash(final List<RDFTerm> termList, final int length) {
+        final int[] table = new int[length];
+        for (int number = 0; number < termList.size(); number++) {
+            insert(termList, table, number);
+        }
+        return table;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The count is the size of the index range of the pattern.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return estimateCount(subject, predicate, object);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The count is exact, from the size of the index range of the pattern.
+     */
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final int s = subject == null ? -1 : number(subject);
+        final int p = predicate == null ? -1 : number(predicate);
+        final int o = object == null ? -1 : number(object);
+        if (subject != null && s == -1 || predicate != null && p == -1 || object != null && o == -1) {
+            return 0;
+        }
+        final int[] range;
+        if (subject != null) {
+            if (predicate == null && object != null) {
+                range = findRange(osp, new int[] { o, s }, 2);
+            } else {
+                range = findRange(spo, new int[] { s, p, o }, predicate == null ? 1 : object == null ? 2 : 3);
+            }
+        } else if (predicate != null) {
+            range = findRange(pos, new int[] { p, o }, object == null ? 1 : 2);
+        } else if (object != null) {
+            range = findRange(osp, new int[] { o }, 1);
+        } else {
+            return size();
+        }
+        return range[1] - range[0];
+    }
+
+    @Override
+    public Stream<RDFTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        final int s = subject == null ? -1 : number(subject);
+        final int p = predicate == null ? -1 : number(predicate);
+        if (subject != null && s == -1 || predicate != null && p == -1) {
+            return Stream.empty();
+        }
+        if (subject != null) {
+            return distinct(spo, SPO[2], new int[] { s, p }, predicate == null ? 1 : 2);
+        }
+        if (predicate != null) {
+            return distinct(pos, POS[2], new int[] { p }, 1);
+        }
+        return distinct(osp, OSP[2], new int[0], 0);
+    }
+
+    @Override
+    public Stream<IRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        final int s = subject == null ? -1 : number(subject);
+        final int o = object == null ? -1 : number(object);
+        if (subject != null && s == -1 || object != null && o == -1) {
+            return Stream.empty();
+        }
+        final Stream<RDFTerm> predicates;
+        if (object != null) {
+            predicates = distinct(osp, OSP[1], new int[] { o, s }, subject == null ? 1 : 2);
+        } else if (subject != null) {
+            predicates = distinct(spo, SPO[1], new int[] { s }, 1);
+        } else {
+            predicates = distinct(pos, POS[1], new int[0], 0);
+        }
+        return predicates.map(IRI.class::cast);
+    }
+
+    @Override
+    public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        throw new UnsupportedOperationException("Graph is immutable");
+    }
+
+    @Override
+    public void remove(final Triple triple) {
+        throw new UnsupportedOperationException("Graph is immutable");
+    }
+
+    @Override
+    public long size() {
+        return size;
+    }
+
+    @Override
+    public Stream<Triple> stream() {
+        return stream(spo, SPO, 0, size);
+    }
+
+    @Override
+    public Stream<Triple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final int s = subject == null ? -1 : number(subject);
+        final int p = predicate == null ? -1 : number(predicate);
+        final int o = object == null ? -1 : number(object);
+        if (subject != null && s == -1 || predicate != null && p == -1 || object != null && o == -1) {
+            return Stream.empty();
+        }
+        // Pick the index where the bound terms form a prefix
+        if (subject != null) {
+            if (predicate == null && object != null) {
+                return stream(osp, OSP, new int[] { o, s }, 2);
+            }
+            return stream(spo, SPO, new int[] { s, p, o }, predicate == null ? 1 : object == null ? 2 : 3);
+        }
+        if (predicate != null) {
+            return stream(pos, POS, new int[] { p, o }, object == null ? 1 : 2);
+        }
+        if (object != null) {
+            return stream(osp, OSP, new int[] { o }, 1);
+        }
+        return stream();
+    }
+
+    private Stream<Triple> stream(final int[] index, final int[] offsets, final int start, final int end) {
+        return IntStream.range(start, end).mapToObj(i -> factory.createTriple(
+                (BlankNodeOrIRI) terms[index[i * 3 + offsets[0]]], (IRI) terms[index[i * 3 + offsets[1]]],
+                terms[index[i * 3 + offsets[2]]]));
+    }
+
+    private Stream<Triple> stream(final int[] index, final int[] offsets, final int[] prefix, final int length) {
+        final int[] range = findRange(index, prefix, length);
+        return stream(index, offsets, range[0], range[1]);
+    }
+
+    @Override
+    public Stream<BlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        final int p = predicate == null ? -1 : number(predicate);
+        final int o = object == null ? -1 : number(object);
+        if (predicate != null && p == -1 || object != null && o == -1) {
+            return Stream.empty();
+        }
+        final Stream<RDFTerm> subjects;
+        if (predicate != null) {
+            subjects = distinct(pos, POS[0], new int[] { p, o }, object == null ? 1 : 2);
+        } else if (object != null) {
+            subjects = distinct(osp, OSP[0], new int[] { o }, 1);
+        } else {
+            subjects = distinct(spo, SPO[0], new int[0], 0);
+        }
+        return subjects.map(BlankNodeOrIRI.class::cast);
+    }
+
+    @Override
+    public String toString() {
+        final String s = stream().limit(TO_STRING_MAX).map(Object::toString).collect(Collectors.joining("\n"));
+        if (size() > TO_STRING_MAX) {
+            return s + "\n# ... +" + (size() - TO_STRING_MAX) + " more";
+        }
+        return s;
+    }
+
+}
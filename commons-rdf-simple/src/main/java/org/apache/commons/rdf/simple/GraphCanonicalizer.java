@@ -0,0 +1,472 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.TripleLike;
+
+/**
+ * Canonical blank node labelling of a set of triples or quads.
+ * <p>
+ * Blank nodes are first split into components of blank nodes connected by
+ * statements. Within each component, blank node colours are refined by
+ * hashing the colours of their neighbourhood until the partition is stable.
+ * Only if some blank nodes still share a colour, one of them is distinguished
+ * at a time and the refinement repeated, keeping the smallest resulting
+ * canonical form. Components, and the blank nodes of large components, are
+ * refined in parallel.
+ * <p>
+ * The canonical form is the sorted N-Triples or N-Quads lines of the
+ * statements, with blank nodes labelled <code>_:c14n0</code>,
+ * <code>_:c14n1</code>, etc.
+ */
+final class GraphCanonicalizer {
+
+    /**
+     * A triple or quad.
+     */
+    private static final class Statement {
+        /** The terms, with {@code null} for the default graph */
+        private final RDFTerm[] terms;
+        /** Blank node number of each term, or -1 if not a blank node */
+        private final int[] nodes;
+        /** Hash of each term that is not a blank node */
+        private final long[] hashes;
+
+        private Statement(final RDFTerm[] terms, final int[] nodes) {
+            this.terms = terms;
+            this.nodes = nodes;
+            this.hashes = new long[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                if (nodes[i] == -1) {
+                    hashes[i] = hash(terms[i] == null ? "" : terms[i].ntriplesString());
+                }
+            }
+        }
+
+        private boolean hasBlankNodes() {
+            return Arrays.stream(nodes).anyMatch(n -> n != -1);
+        }
+    }
+
+    /**
+     * Blank nodes connected by statements, and the statements connecting them.
+     */
+    private static final class Component {
+        /** Blank node numbers, indexed by local node number */
+        private final int[] nodes;
+        private final List<Statement> statements = new ArrayList<>();
+        /** Indexes of statements of each local node */
+        private int[][] incidence;
+        private Leaf canonical;
+
+        private Component(final int[] nodes) {
+            this.nodes = nodes;
+        }
+    }
+
+    /**
+     * A colouring where all blank nodes of a component have distinct colours.
+     */
+    private static final class Leaf {
+        /** Canonical rank of each local node */
+        private final int[] ranks;
+        /** Sorted statements, as labelled by ranks */
+        private final String form;
+
+        private Leaf(final int[] ranks, final String form) {
+            this.ranks = ranks;
+            this.form = form;
+        }
+    }
+
+    private static final long SELF = 0x3c6ef372fe94f82bL;
+    private static final long INDIVIDUALIZED = 0xa54ff53a5f1d36f1L;
+    private static final long STATEMENT = 0x510e527fade682d1L;
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+
+    private static int countDistinct(final long[] colours) {
+        final long[] sorted = colours.clone();
+        Arrays.sort(sorted);
+        int count = sorted.length == 0 ? 0 : 1;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] != sorted[i - 1]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int find(final int[] parents, int node) {
+        while (parents[node] != node) {
+            parents[node] = parents[parents[node]];
+            node = parents[node];
+        }
+        return node;
+    }
+
+    private static long fmix(long h) {
+        // MurmurHash3 finalizer
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private static long hash(final String string) {
+        // FNV-1a
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < string.length(); i++) {
+            h ^= string.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return fmix(h);
+    }
+
+    private static long mix(final long h, final long value) {
+        return fmix(Long.rotateLeft(h, 23) * 0x9e3779b97f4a7c15L + value);
+    }
+
+    private static void union(final int[] parents, final int a, final int b) {
+        final int rootA = find(parents, a);
+        final int rootB = find(parents, b);
+        if (rootA != rootB) {
+            parents[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+
+    private final List<BlankNode> blankNodes = new ArrayList<>();
+    private final List<Statement> ground = new ArrayList<>();
+    private final List<Component> components = new ArrayList<>();
+    /** Local node number in its component of each blank node */
+    private final int[] localNodes;
+    /** Canonical number of each blank node */
+    private final int[] labels;
+
+    private List<String> lines;
+
+    /**
+     * Canonicalize statements.
+     *
+     * @param statements
+     *            Triples, or quads if {@code quads} is true
+     * @param quads
+     *            Whether to include graph names
+     */
+    GraphCanonicalizer(final Stream<? extends TripleLike> statements, final boolean quads) {
+        final Map<BlankNode, Integer> numbers = new HashMap<>();
+        final List<Statement> withBlankNodes = new ArrayList<>();
+        final Iterator<? extends TripleLike> iterator = statements.iterator();
+        while (iterator.hasNext()) {
+            final TripleLike t = iterator.next();
+            final RDFTerm[] terms = new RDFTerm[quads ? 4 : 3];
+            terms[0] = t.getSubject();
+            terms[1] = t.getPredicate();
+            terms[2] = t.getObject();
+            if (quads) {
+                terms[3] = ((Quad) t).getGraphName().orElse(null);
+            }
+            final int[] nodes = new int[terms.length];
+            for (int i = 0; i < terms.length; i++) {
+                if (terms[i] instanceof BlankNode) {
+                    final BlankNode blankNode = (BlankNode) terms[i];
+                    nodes[i] = numbers.computeIfAbsent(blankNode, b -> {
+                        blankNodes.add(b);
+                        return blankNodes.size() - 1;
+                    });
+                } else {
+                    nodes[i] = -1;
+                }
+            }
+            final Statement statement = new Statement(terms, nodes);
+            (statement.hasBlankNodes() ? withBlankNodes : ground).add(statement);
+        }
+        localNodes = new int[blankNodes.size()];
+        labels = new int[blankNodes.size()];
+        findComponents(withBlankNodes);
+        components.parallelStream().forEach(this::canonicalize);
+        label();
+    }
+
+    private String blankNodeLabel(final Statement statement, final int position, final int[] ranks) {
+        final int node = statement.nodes[position];
+        return ranks == null ? "_:c14n" + labels[node] : "_:b" + ranks[localNodes[node]];
+    }
+
+    private void canonicalize(final Component component) {
+        final int size = component.nodes.length;
+        final int[] counts = new int[size];
+        final List<int[]> statementNodes = new ArrayList<>(component.statements.size());
+        for (final Statement statement : component.statements) {
+            final int[] local = Arrays.stream(statement.nodes).filter(n -> n != -1).map(n -> localNodes[n]).distinct()
+                    .toArray();
+            statementNodes.add(local);
+            for (final int node : local) {
+                counts[node]++;
+            }
+        }
+        component.incidence = new int[size][];
+        for (int node = 0; node < size; node++) {
+            component.incidence[node] = new int[counts[node]];
+            counts[node] = 0;
+        }
+        for (int i = 0; i < statementNodes.size(); i++) {
+            for (final int node : statementNodes.get(i)) {
+                component.incidence[node][counts[node]++] = i;
+            }
+        }
+        component.canonical = search(component, new long[size]);
+    }
+
+    /**
+     * Gets the canonical label of each blank node.
+     *
+     * @return Map from blank node to label, e.g. <code>c14n0</code>
+     */
+    Map<BlankNode, String> canonicalLabels() {
+        final Map<BlankNode, String> result = new HashMap<>();
+        for (int node = 0; node < blankNodes.size(); node++) {
+            result.put(blankNodes.get(node), "c14n" + labels[node]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the statements in canonical form.
+     *
+     * @return Sorted N-Triples or N-Quads lines, without line endings
+     */
+    synchronized List<String> canonicalLines() {
+        if (lines == null) {
+            final Stream<Statement> statements = Stream.concat(ground.stream(),
+                    components.stream().flatMap(c -> c.statements.stream()));
+            final String[] sorted = statements.parallel().map(s -> line(s, null)).toArray(String[]::new);
+            Arrays.parallelSort(sorted);
+            lines = Collections.unmodifiableList(Arrays.asList(sorted));
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the SHA-256 hash of the canonical form.
+     *
+     * @return Hexadecimal SHA-256 of the canonical lines, each terminated by
+     *         a line feed
+     */
+    String canonicalHash() {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // SHA-256 is required of every Java platform
+            throw new IllegalStateException(e);
+        }
+        for (final String line : canonicalLines()) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        final StringBuilder hex = new StringBuilder(64);
+        for (final byte b : digest.digest()) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    private void findComponents(final List<Statement> statements) {
+        final int[] parents = IntStream.range(0, blankNodes.size()).toArray();
+        for (final Statement statement : statements) {
+            int first = -1;
+            for (final int node : statement.nodes) {
+                if (node != -1) {
+                    if (first == -1) {
+                        first = node;
+                    } else {
+                        union(parents, first, node);
+                    }
+                }
+            }
+        }
+        final int[] sizes = new int[blankNodes.size()];
+        for (int node = 0; node < blankNodes.size(); node++) {
+            localNodes[node] = sizes[find(parents, node)]++;
+        }
+        final Component[] byRoot = new Component[blankNodes.size()];
+        for (int node = 0; node < blankNodes.size(); node++) {
+            final int root = find(parents, node);
+            if (byRoot[root] == null) {
+                byRoot[root] = new Component(new int[sizes[root]]);
+                components.add(byRoot[root]);
+            }
+            byRoot[root].nodes[localNodes[node]] = node;
+        }
+        for (final Statement statement : statements) {
+            final int node = Arrays.stream(statement.nodes).filter(n -> n != -1).findFirst().getAsInt();
+            byRoot[find(parents, node)].statements.add(statement);
+        }
+    }
+
+    private void label() {
+        components.sort(Comparator.comparing(c -> c.canonical.form));
+        int offset = 0;
+        for (final Component component : components) {
+            for (int local = 0; local < component.nodes.length; local++) {
+                labels[component.nodes[local]] = offset + component.canonical.ranks[local];
+            }
+            offset += component.nodes.length;
+        }
+    }
+
+    private Leaf leaf(final Component component, final long[] colours) {
+        final int[] order = IntStream.range(0, colours.length).boxed()
+                .sorted(Comparator.comparingLong(node -> colours[node])).mapToInt(Integer::intValue).toArray();
+        final int[] ranks = new int[colours.length];
+        for (int rank = 0; rank < order.length; rank++) {
+            ranks[order[rank]] = rank;
+        }
+        final String form = component.statements.stream().map(s -> line(s, ranks)).sorted()
+                .collect(Collectors.joining("\n"));
+        return new Leaf(ranks, form);
+    }
+
+    private String line(final Statement statement, final int[] ranks) {
+        final StringBuilder line = new StringBuilder();
+        for (int i = 0; i < statement.terms.length; i++) {
+            if (statement.terms[i] == null) {
+                // default graph
+                continue;
+            }
+            line.append(statement.nodes[i] == -1 ? statement.terms[i].ntriplesString()
+                    : blankNodeLabel(statement, i, ranks));
+            line.append(' ');
+        }
+        return line.append('.').toString();
+    }
+
+    private long[] refine(final Component component, long[] colours) {
+        int classes = countDistinct(colours);
+        while (classes < colours.length) {
+            final long[] current = colours;
+            final long[] next = new long[current.length];
+            IntStream nodes = IntStream.range(0, current.length);
+            if (current.length >= PARALLEL_THRESHOLD) {
+                nodes = nodes.parallel();
+            }
+            nodes.forEach(node -> next[node] = signature(component, current, node));
+            final int nextClasses = countDistinct(next);
+            if (nextClasses == classes) {
+                // stable
+                break;
+            }
+            colours = next;
+            classes = nextClasses;
+        }
+        return colours;
+    }
+
+    private Leaf search(final Component component, final long[] initialColours) {
+        final long[] colours = refine(component, initialColours);
+        // Distinguish the nodes sharing the smallest shared colour
+        final long[] sorted = colours.clone();
+        Arrays.sort(sorted);
+        int tie = -1;
+        for (int i = 1; i < sorted.length && tie == -1; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                tie = i;
+            }
+        }
+        if (tie == -1) {
+            return leaf(component, colours);
+        }
+        final long tied = sorted[tie];
+        // Orbits of the automorphisms found, to skip equivalent nodes
+        final int[] orbits = IntStream.range(0, colours.length).toArray();
+        final List<Integer> explored = new ArrayList<>();
+        Leaf best = null;
+        for (int node = 0; node < colours.length; node++) {
+            if (colours[node] != tied) {
+                continue;
+            }
+            final int orbit = find(orbits, node);
+            if (explored.stream().anyMatch(e -> find(orbits, e) == orbit)) {
+                continue;
+            }
+            explored.add(node);
+            final long[] individualized = colours.clone();
+            individualized[node] = mix(individualized[node], INDIVIDUALIZED);
+            final Leaf leaf = search(component, individualized);
+            if (best == null || leaf.form.compareTo(best.form) < 0) {
+                best = leaf;
+            } else if (leaf.form.equals(best.form)) {
+                // Same form, so mapping equal ranks is an automorphism
+                final int[] nodeOfRank = new int[leaf.ranks.length];
+                for (int local = 0; local < leaf.ranks.length; local++) {
+                    nodeOfRank[leaf.ranks[local]] = local;
+                }
+                for (int local = 0; local < best.ranks.length; local++) {
+                    union(orbits, local, nodeOfRank[best.ranks[local]]);
+                }
+            }
+        }
+        return best;
+    }
+
+    private long signature(final Component component, final long[] colours, final int node) {
+        final int[] incidence = component.incidence[node];
+        final long[] hashes = new long[incidence.length];
+        for (int i = 0; i < incidence.length; i++) {
+            final Statement statement = component.statements.get(incidence[i]);
+            long h = STATEMENT;
+            for (int position = 0; position < statement.terms.length; position++) {
+                final int other = statement.nodes[position];
+                if (other == -1) {
+                    h = mix(h, statement.hashes[position]);
+                } else {
+                    final int local = localNodes[other];
+                    h = mix(h, local == node ? SELF : colours[local]);
+                }
+            }
+            hashes[i] = h;
+        }
+        Arrays.sort(hashes);
+        long h = colours[node];
+        for (final long hash : hashes) {
+            h = mix(h, hash);
+        }
+        return h;
+    }
+
+}
@@ -0,0 +1,55 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Collection;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A {@link Graph} that can add the triples of another graph in bulk, as used
+ * by {@link Graphs#copy(Graph, Graph)}.
+ */
+public interface GraphCopyTarget {
+
+    /**
+     * Adds a batch of triples from any implementation.
+     * <p>
+     * Implementations may convert the triples in parallel, and should add them
+     * with a single bulk operation of the underlying store.
+     *
+     * @param triples
+     *            Triples to add
+     */
+    void addAll(Collection<? extends Triple> triples);
+
+    /**
+     * Adds all the triples of a graph with the native API of the underlying
+     * store, without converting each term, if the source graph is backed by
+     * a compatible store.
+     *
+     * @param source
+     *            Graph to copy from
+     * @return <code>true</code> if the triples were added, or
+     *         <code>false</code> if the source is not compatible and nothing
+     *         was added
+     */
+    boolean addAllNatively(Graph source);
+
+}
@@ -0,0 +1,564 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * Computes the differences between two {@link Graph}s of any implementation.
+ * <p>
+ * Rather than checking each triple of one graph with
+ * {@link Graph#contains(Triple)} of the other, each graph is streamed once to
+ * collect the first 128 bits of the SHA-256 hash of each triple. The hashes
+ * are sorted, in runs that
+ * are spilled to temporary files if there are more than fit in memory, and the
+ * sorted hashes of both graphs are merged to find the hashes of the triples
+ * only in one of them. Each graph is then streamed once more to emit the
+ * differing triples.
+ * <p>
+ * Triples are compared as by {@link Triple#equals(Object)}, so blank nodes
+ * only match blank nodes with the same {@link BlankNode#uniqueReference()},
+ * but only by their hash; see {@link #diff(Graph, Graph)}.
+ * Memory use is bounded by the number of hashes kept in memory plus the number
+ * of differences.
+ * <p>
+ * A {@link GraphDiff} is thread-safe.
+ */
+public final class GraphDiff {
+
+    /**
+     * The first 128 bits of the SHA-256 hash of a triple.
+     */
+    private static final class Hash {
+        private final long high;
+        private final long low;
+
+        private Hash(final long high, final long low) {
+            this.high = high;
+            this.low = low;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof Hash)) {
+                return false;
+            }
+            final Hash other = (Hash) obj;
+            return high == other.high && low == other.low;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(high);
+        }
+    }
+
+    /**
+     * A sorted sequence of hashes.
+     */
+    private interface Run extends Closeable {
+        long high();
+
+        long low();
+
+        /**
+         * @return {@code false} if there are no more hashes
+         */
+        boolean next() throws IOException;
+    }
+
+    /**
+     * A sorted run in memory.
+     */
+    private static final class MemoryRun implements Run {
+        private final long[] highs;
+        private final long[] lows;
+        private final int size;
+        private int index = -1;
+
+        private MemoryRun(final long[] highs, final long[] lows, final int size) {
+            this.highs = highs;
+            this.lows = lows;
+            this.size = size;
+        }
+
+        @Override
+        public void close() {
+            // nothing to close
+        }
+
+        @Override
+        public long high() {
+            return highs[index];
+        }
+
+        @Override
+        public long low() {
+            return lows[index];
+        }
+
+        @Override
+        public boolean next() {
+            return ++index < size;
+        }
+    }
+
+    /**
+     * A sorted run spilled to a temporary file.
+     */
+    private static final class FileRun implements Run {
+        private final Path file;
+        private final DataInputStream input;
+        private long high;
+        private long low;
+
+        private FileRun(final Path file) throws IOException {
+            this.file = file;
+            this.input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                input.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+
+        @Override
+        public long high() {
+            return high;
+        }
+
+        @Override
+        public long low() {
+            return low;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            try {
+                high = input.readLong();
+            } catch (final EOFException e) {
+                return false;
+            }
+            low = input.readLong();
+            return true;
+        }
+    }
+
+    /**
+     * The distinct sorted hashes of all triples of a graph.
+     */
+    private final class SortedHashes implements Run {
+        private final List<Run> runs = new ArrayList<>();
+        private final PriorityQueue<Run> queue = new PriorityQueue<>(GraphDiff::compare);
+        private Run current;
+        private boolean started;
+        private boolean hasPrevious;
+        private long high;
+        private long low;
+
+        private SortedHashes(final Graph graph) throws IOException {
+            final MessageDigest digest = sha256();
+            long[] highs = new long[Math.min(maxInMemory, 1024)];
+            long[] lows = new long[highs.length];
+            int size = 0;
+            try (Stream<? extends Triple> triples = graph.stream()) {
+                final Iterator<? extends Triple> iterator = triples.iterator();
+                while (iterator.hasNext()) {
+                    final Triple triple = iterator.next();
+                    if (size == maxInMemory) {
+                        runs.add(spill(highs, lows, size));
+                        size = 0;
+                    } else if (size == highs.length) {
+                        final int length = (int) Math.min(maxInMemory, 2L * highs.length);
+                        highs = Arrays.copyOf(highs, length);
+                        lows = Arrays.copyOf(lows, length);
+                    }
+                    final Hash hash = hash(triple, digest);
+                    highs[size] = hash.high;
+                    lows[size] = hash.low;
+                    size++;
+                }
+            } catch (final IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+            sort(highs, lows, 0, size - 1);
+            runs.add(new MemoryRun(highs, lows, size));
+        }
+
+        @Override
+        public void close() throws IOException {
+            IOException exception = null;
+            for (final Run run : runs) {
+                try {
+                    run.close();
+                } catch (final IOException e) {
+                    exception = e;
+                }
+            }
+            if (exception != null) {
+                throw exception;
+            }
+        }
+
+        @Override
+        public long high() {
+            return high;
+        }
+
+        @Override
+        public long low() {
+            return low;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (!started) {
+                started = true;
+                for (final Run run : runs) {
+                    if (run.next()) {
+                        queue.add(run);
+                    }
+                }
+            }
+            while (true) {
+                if (current != null && current.next()) {
+                    queue.add(current);
+                }
+                current = queue.poll();
+                if (current == null) {
+                    return false;
+                }
+                // skip duplicates
+                if (!hasPrevious || current.high() != high || current.low() != low) {
+                    hasPrevious = true;
+                    high = current.high();
+                    low = current.low();
+                    return true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Default maximum number of hashes per graph kept in memory.
+     */
+    public static final int DEFAULT_MAX_IN_MEMORY = 1 << 22;
+
+    private static int compare(final Run a, final Run b) {
+        final int high = Long.compare(a.high(), b.high());
+        return high != 0 ? high : Long.compare(a.low(), b.low());
+    }
+
+    private static Hash hash(final Triple triple, final MessageDigest digest) {
+        final ByteBuffer bytes = ByteBuffer.wrap(digest.digest(key(triple).getBytes(StandardCharsets.UTF_8)));
+        return new Hash(bytes.getLong(0), bytes.getLong(8));
+    }
+
+    private static String key(final RDFTerm term) {
+        if (term instanceof BlankNode) {
+            final String reference = ((BlankNode) term).uniqueReference();
+            return "_" + reference.length() + ":" + reference;
+        }
+        if (term instanceof Literal) {
+            // As by Literal.equals(), language tags are case insensitive
+            final Literal literal = (Literal) term;
+            final String lexicalForm = literal.getLexicalForm();
+            return "\"" + lexicalForm.length() + ":" + lexicalForm
+                    + literal.getLanguageTag().map(tag -> "@" + tag.toLowerCase(Locale.ROOT))
+                            .orElseGet(() -> "^^" + literal.getDatatype().ntriplesString());
+        }
+        return term.ntriplesString();
+    }
+
+    private static String key(final Triple triple) {
+        return key(triple.getSubject()) + " " + key(triple.getPredicate()) + " " + key(triple.getObject());
+    }
+
+    /**
+     * Adds a batch of triples, in bulk if the graph supports it.
+     */
+    private static void addAll(final Graph graph, final List<Triple> triples) {
+        if (graph instanceof GraphCopyTarget) {
+            ((GraphCopyTarget) graph).addAll(triples);
+        } else {
+            triples.forEach(graph::add);
+        }
+        triples.clear();
+    }
+
+    /**
+     * Applies changes to a graph.
+     * <p>
+     * Changes are applied in the order of the stream as it is consumed.
+     * Additions are applied in batches of {@value Graphs#COPY_BATCH_SIZE},
+     * with {@link GraphCopyTarget#addAll(java.util.Collection)} if the graph
+     * implements {@link GraphCopyTarget}. Removals are held until the next
+     * addition or the end of the stream, so the graph may be the
+     * {@code from} graph of {@link #diff(Graph, Graph)}, whose removals are
+     * streamed from it before any additions.
+     *
+     * @param graph
+     *            Graph to change
+     * @param changes
+     *            Changes to apply, which is closed after use
+     */
+    public static void patch(final Graph graph, final Stream<Change> changes) {
+        final List<Triple> removals = new ArrayList<>();
+        final List<Triple> additions = new ArrayList<>();
+        try (Stream<Change> s = changes) {
+            final Iterator<Change> iterator = s.sequential().iterator();
+            while (iterator.hasNext()) {
+                final Change change = iterator.next();
+                if (change.getType() == Change.Type.REMOVE) {
+                    if (!additions.isEmpty()) {
+                        addAll(graph, additions);
+                    }
+                    removals.add(change.getTriple());
+                    continue;
+                }
+                if (!removals.isEmpty()) {
+                    removals.forEach(graph::remove);
+                    removals.clear();
+                }
+                additions.add(change.getTriple());
+                if (additions.size() == Graphs.COPY_BATCH_SIZE) {
+                    addAll(graph, additions);
+                }
+            }
+        }
+        removals.forEach(graph::remove);
+        if (!additions.isEmpty()) {
+            addAll(graph, additions);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            // SHA-256 is required of every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sort(final long[] highs, final long[] lows, int from, int to) {
+        // Quicksort, hashes are random so the middle is a good pivot
+        while (from < to) {
+            final int middle = (from + to) >>> 1;
+            final long pivotHigh = highs[middle];
+            final long pivotLow = lows[middle];
+            int i = from;
+            int j = to;
+            while (i <= j) {
+                while (highs[i] < pivotHigh || highs[i] == pivotHigh && lows[i] < pivotLow) {
+                    i++;
+                }
+                while (highs[j] > pivotHigh || highs[j] == pivotHigh && lows[j] > pivotLow) {
+                    j--;
+                }
+                if (i <= j) {
+                    final long high = highs[i];
+                    highs[i] = highs[j];
+                    highs[j] = high;
+                    final long low = lows[i];
+                    lows[i] = lows[j];
+                    lows[j] = low;
+                    i++;
+                    j--;
+                }
+            }
+            // Recurse into the smaller part
+            if (j - from < to - i) {
+                sort(highs, lows, from, j);
+                from = i;
+            } else {
+                sort(highs, lows, i, to);
+                to = j;
+            }
+        }
+    }
+
+    private final int maxInMemory;
+
+    private final Path tempDirectory;
+
+    /**
+     * Constructs a {@link GraphDiff} keeping up to
+     * {@link #DEFAULT_MAX_IN_MEMORY} hashes per graph in memory, and spilling
+     * to the default temporary directory.
+     */
+    public GraphDiff() {
+        this(DEFAULT_MAX_IN_MEMORY, null);
+    }
+
+    /**
+     * Constructs a {@link GraphDiff}.
+     *
+     * @param maxInMemory
+     *            Maximum number of hashes per graph to keep in memory, each
+     *            taking 16 bytes
+     * @param tempDirectory
+     *            Directory for temporary files, or {@code null} for the
+     *            default temporary directory
+     */
+    public GraphDiff(final int maxInMemory, final Path tempDirectory) {
+        if (maxInMemory < 1) {
+            throw new IllegalArgumentException("maxInMemory must be positive: " + maxInMemory);
+        }
+        this.maxInMemory = maxInMemory;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Computes the changes that turn one graph into another.
+     * <p>
+     * The returned stream is lazy; the graphs are first streamed when the
+     * first change is requested. The graphs must not be modified until the
+     * stream has been consumed, but see {@link #patch(Graph, Stream)}.
+     * <p>
+     * Removals are streamed before additions.
+     * <p>
+     * Triples are matched by the first 128 bits of their SHA-256 hash,
+     * without comparing them. A change is missed if a triple only in one graph
+     * has the same truncated hash as a triple of the other graph, which for
+     * graphs of {@code n} triples in total has a probability below
+     * {@code n * n / 2^129}.
+     *
+     * @param from
+     *            Graph to compare from
+     * @param to
+     *            Graph to compare to
+     * @return Stream of changes; triples of {@code from} not in {@code to} as
+     *         {@link Change.Type#REMOVE}, followed by triples of {@code to} not
+     *         in {@code from} as {@link Change.Type#ADD}
+     * @throws UncheckedIOException
+     *             If the temporary files can't be written or read
+     */
+    public Stream<Change> diff(final Graph from, final Graph to) {
+        // Computed once, by whichever of the two streams is read first
+        final Supplier<List<Set<Hash>>> delta = new Supplier<List<Set<Hash>>>() {
+            private List<Set<Hash>> value;
+
+            @Override
+            public synchronized List<Set<Hash>> get() {
+                if (value == null) {
+                    value = delta(from, to);
+                }
+                return value;
+            }
+        };
+        final Stream<Change> removals = Stream.of(from).flatMap(g -> {
+            final Set<Hash> removed = delta.get().get(0);
+            final MessageDigest digest = sha256();
+            return removed.isEmpty() ? Stream.empty()
+                    : g.stream().filter(t -> removed.contains(hash(t, digest))).map(Change::removal);
+        });
+        final Stream<Change> additions = Stream.of(to).flatMap(g -> {
+            final Set<Hash> added = delta.get().get(1);
+            final MessageDigest digest = sha256();
+            return added.isEmpty() ? Stream.empty()
+                    : g.stream().filter(t -> added.contains(hash(t, digest))).map(Change::addition);
+        });
+        return Stream.concat(removals, additions).sequential();
+    }
+
+    /**
+     * Finds the hashes only in one of the graphs.
+     *
+     * @return hashes only in {@code from}, and hashes only in {@code to}
+     */
+    private List<Set<Hash>> delta(final Graph from, final Graph to) {
+        final Set<Hash> removed = new HashSet<>();
+        final Set<Hash> added = new HashSet<>();
+        try (SortedHashes fromHashes = new SortedHashes(from); SortedHashes toHashes = new SortedHashes(to)) {
+            boolean fromNext = fromHashes.next();
+            boolean toNext = toHashes.next();
+            while (fromNext || toNext) {
+                final int comparison = !toNext ? -1 : !fromNext ? 1 : compare(fromHashes, toHashes);
+                if (comparison < 0) {
+                    removed.add(new Hash(fromHashes.high(), fromHashes.low()));
+                    fromNext = fromHashes.next();
+                } else if (comparison > 0) {
+                    added.add(new Hash(toHashes.high(), toHashes.low()));
+                    toNext = toHashes.next();
+                } else {
+                    fromNext = fromHashes.next();
+                    toNext = toHashes.next();
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final List<Set<Hash>> result = new ArrayList<>(2);
+        result.add(removed);
+        result.add(added);
+        return result;
+    }
+
+    private Run spill(final long[] highs, final long[] lows, final int size) throws IOException {
+        sort(highs, lows, 0, size - 1);
+        final Path file = tempDirectory == null ? Files.createTempFile("graphdiff", ".tmp")
+                : Files.createTempFile(Objects.requireNonNull(tempDirectory), "graphdiff", ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            for (int i = 0; i < size; i++) {
+                output.writeLong(highs[i]);
+                output.writeLong(lows[i]);
+            }
+        } catch (final IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new FileRun(file);
+    }
+
+}
@@ -17,7 +17,11 @@
  */
 package org.apache.commons.rdf.simple;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -31,19 +35,36 @@ import org.apache.commons.rdf.api.Literal;
 import org.apache.commons.rdf.api.RDFTerm;
 import org.apache.commons.rdf.api.Triple;
 import org.apache.commons.rdf.simple.SimpleRDF.SimpleRDFTerm;
+import org.apache.commons.rdf.simple.experimental.LiteralRangeIndex;
+import org.apache.commons.rdf.simple.experimental.LiteralTextIndex;
+import org.apache.commons.rdf.simple.experimental.RangeIndexedGraph;
+import org.apache.commons.rdf.simple.experimental.TextIndexedGraph;
+import org.apache.commons.rdf.simple.experimental.TermTranslator;
 
 /**
  * A simple, memory-based implementation of Graph.
  * <p>
- * {@link Triple}s in the graph are kept in a {@link Set}.
+ * {@link Triple}s in the graph are kept in a {@link Set}. The number of
+ * triples of each subject, predicate and object is maintained for
+ * {@link #estimateCount(BlankNodeOrIRI, IRI, RDFTerm)}. A
+ * {@link LiteralRangeIndex} is built on the first call of
+ * {@link #streamRange(IRI, Literal, boolean, Literal, boolean)}, and
+ * maintained from then on, as is a {@link LiteralTextIndex} from the first
+ * search.
  * <p>
  * All Stream operations are performed using sequential and unordered directives.
  */
-final class GraphImpl implements Graph {
+final class GraphImpl implements RangeIndexedGraph, TextIndexedGraph, GraphCopyTarget {
 
     private static final int TO_STRING_MAX = 10;
     private final Set<Triple> triples = new HashSet<>();
+    private final Map<RDFTerm, Integer> subjectCounts = new HashMap<>();
+    private final Map<RDFTerm, Integer> predicateCounts = new HashMap<>();
+    private final Map<RDFTerm, Integer> objectCounts = new HashMap<>();
     private final SimpleRDF factory;
+    private final ForeignTermCache foreignTerms = new ForeignTermCache();
+    private LiteralRangeIndex rangeIndex;
+    private LiteralTextIndex textIndex;
 
     GraphImpl(final SimpleRDF simpleRDF) {
         this.factory = simpleRDF;
@@ -55,17 +76,56 @@ final class GraphImpl implements Graph {
         final IRI newPredicate = (IRI) internallyMap(predicate);
         final RDFTerm newObject = internallyMap(object);
         final Triple result = factory.createTriple(newSubject, newPredicate, newObject);
-        triples.add(result);
+        addInternal(result);
     }
 
     @Override
     public void add(final Triple triple) {
-        triples.add(internallyMap(triple));
+        addInternal(internallyMap(triple));
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Foreign terms are mapped in parallel before the triples are added.
+     */
+    @Override
+    public void addAll(final Collection<? extends Triple> triples) {
+        final List<Triple> mapped = triples.parallelStream().map(this::internallyMap).collect(Collectors.toList());
+        mapped.forEach(this::addInternal);
+    }
+
+    @Override
+    public boolean addAllNatively(final Graph source) {
+        if (!(source instanceof GraphImpl)) {
+            return false;
+        }
+        ((GraphImpl) source).triples.forEach(this::addInternal);
+        return true;
+    }
+
+    private void addInternal(final Triple triple) {
+        if (triples.add(triple)) {
+            subjectCounts.merge(triple.getSubject(), 1, Integer::sum);
+            predicateCounts.merge(triple.getPredicate(), 1, Integer::sum);
+            objectCounts.merge(triple.getObject(), 1, Integer::sum);
+            if (rangeIndex != null) {
+                rangeIndex.add(triple);
+            }
+            if (textIndex != null) {
+                textIndex.add(triple);
+            }
+        }
     }
 
     @Override
     public void clear() {
         triples.clear();
+        subjectCounts.clear();
+        predicateCounts.clear();
+        objectCounts.clear();
+        rangeIndex = null;
+        textIndex = null;
     }
 
     @Override
@@ -78,6 +138,67 @@ final class GraphImpl implements Graph {
         return triples.contains(internallyMap(triple));
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Patterns with one term are counted from the maintained counts of the
+     * term, patterns with all three terms by a set lookup.
+     */
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final int bound = (subject == null ? 0 : 1) + (predicate == null ? 0 : 1) + (object == null ? 0 : 1);
+        if (bound == 0) {
+            return size();
+        }
+        if (bound == 3) {
+            return estimateCount(subject, predicate, object);
+        }
+        if (bound == 1) {
+            final Map<RDFTerm, Integer> counts = subject != null ? subjectCounts
+                    : predicate != null ? predicateCounts : objectCounts;
+            final RDFTerm term = subject != null ? subject : predicate != null ? predicate : object;
+            return counts.getOrDefault(internallyMap(term), 0);
+        }
+        if (estimateCount(subject, predicate, object) == 0) {
+            return 0;
+        }
+        return stream(subject, predicate, object).count();
+    }
+
+    private static void decrement(final Map<RDFTerm, Integer> counts, final RDFTerm term) {
+        counts.computeIfPresent(term, (t, count) -> count == 1 ? null : count - 1);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Patterns with one term are counted exactly. Patterns with two terms are
+     * estimated from the counts of each term, assuming they are independent.
+     */
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (subject != null && predicate != null && object != null) {
+            return triples.contains(internallyMap(factory.createTriple(subject, predicate, object))) ? 1 : 0;
+        }
+        final long size = size();
+        final long[] counts = { size, size, size };
+        if (subject != null) {
+            counts[0] = subjectCounts.getOrDefault(internallyMap(subject), 0);
+        }
+        if (predicate != null) {
+            counts[1] = predicateCounts.getOrDefault(internallyMap(predicate), 0);
+        }
+        if (object != null) {
+            counts[2] = objectCounts.getOrDefault(internallyMap(object), 0);
+        }
+        final long bound = Math.min(counts[0], Math.min(counts[1], counts[2]));
+        if (bound == 0) {
+            return 0;
+        }
+        final double estimate = (double) counts[0] * counts[1] / size * counts[2] / size;
+        return Math.max(1, Math.min(bound, Math.round(estimate)));
+    }
+
     private Stream<Triple> getTriples(final Predicate<Triple> filter) {
         return stream().filter(filter);
     }
@@ -90,6 +211,13 @@ final class GraphImpl implements Graph {
             // factory constructors later do null checks
             return object;
         }
+        if (!(object instanceof BlankNode) && !(object instanceof IRI) && !(object instanceof Literal)) {
+            throw new IllegalArgumentException("RDFTerm was neither a BlankNode, IRI nor Literal: " + object);
+        }
+        return foreignTerms.get(object, this::importTerm);
+    }
+
+    private RDFTerm importTerm(final RDFTerm object) {
         if (object instanceof BlankNode) {
             final BlankNode blankNode = (BlankNode) object;
             // This guarantees that adding the same BlankNode multiple times to
@@ -98,13 +226,14 @@ final class GraphImpl implements Graph {
             // BlankNodeImpl class
             return factory.createBlankNode(blankNode.uniqueReference());
         }
+        return TermTranslator.getDefault().translate(RDFTerm.class, factory.translationTarget(), object, this::copyTerm);
+    }
+
+    private RDFTerm copyTerm(final RDFTerm object) {
         if (object instanceof IRI) {
             final IRI iri = (IRI) object;
             return factory.createIRI(iri.getIRIString());
         }
-        if (!(object instanceof Literal)) {
-            throw new IllegalArgumentException("RDFTerm was neither a BlankNode, IRI nor Literal: " + object);
-        }
         final Literal literal = (Literal) object;
         if (literal.getLanguageTag().isPresent()) {
             return factory.createLiteral(literal.getLexicalForm(), literal.getLanguageTag().get());
@@ -125,6 +254,34 @@ final class GraphImpl implements Graph {
         return factory.createTriple(newSubject, newPredicate, newObject);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Without a pattern the objects are those of the maintained counts.
+     * Patterns with a term that is not in the graph match nothing.
+     */
+    @Override
+    public Stream<RDFTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        if (subject == null && predicate == null) {
+            return objectCounts.keySet().stream();
+        }
+        if (estimateCount(subject, predicate, null) == 0) {
+            return Stream.empty();
+        }
+        return stream(subject, predicate, null).map(Triple::getObject).distinct();
+    }
+
+    @Override
+    public Stream<IRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        if (subject == null && object == null) {
+            return predicateCounts.keySet().stream().map(IRI.class::cast);
+        }
+        if (estimateCount(subject, null, object) == 0) {
+            return Stream.empty();
+        }
+        return stream(subject, null, object).map(Triple::getPredicate).distinct();
+    }
+
     @Override
     public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
         final Stream<Triple> toRemove = stream(subject, predicate, object);
@@ -136,7 +293,39 @@ final class GraphImpl implements Graph {
 
     @Override
     public void remove(final Triple triple) {
-        triples.remove(internallyMap(triple));
+        final Triple mapped = internallyMap(triple);
+        if (triples.remove(mapped)) {
+            decrement(subjectCounts, mapped.getSubject());
+            decrement(predicateCounts, mapped.getPredicate());
+            decrement(objectCounts, mapped.getObject());
+            if (rangeIndex != null) {
+                rangeIndex.remove(mapped);
+            }
+            if (textIndex != null) {
+                textIndex.remove(mapped);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of triples of each predicate.
+     *
+     * @return A copy of the maintained predicate counts
+     */
+    Map<IRI, Long> predicateCounts() {
+        final Map<IRI, Long> result = new HashMap<>();
+        predicateCounts.forEach((predicate, count) -> result.put((IRI) predicate, count.longValue()));
+        return result;
+    }
+
+    @Override
+    public Stream<Triple> searchPrefix(final IRI predicate, final String prefix, final String languageRange) {
+        return textIndex().prefix((IRI) internallyMap(predicate), prefix, languageRange);
+    }
+
+    @Override
+    public Stream<Triple> searchToken(final IRI predicate, final String token, final String languageRange) {
+        return textIndex().token((IRI) internallyMap(predicate), token, languageRange);
     }
 
     @Override
@@ -171,6 +360,37 @@ final class GraphImpl implements Graph {
         });
     }
 
+    @Override
+    public Stream<Triple> streamRange(final IRI predicate, final Literal lower, final boolean lowerInclusive,
+            final Literal upper, final boolean upperInclusive) {
+        if (rangeIndex == null) {
+            final LiteralRangeIndex index = new LiteralRangeIndex();
+            triples.forEach(index::add);
+            rangeIndex = index;
+        }
+        return rangeIndex.range((IRI) internallyMap(predicate), lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    @Override
+    public Stream<BlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        if (predicate == null && object == null) {
+            return subjectCounts.keySet().stream().map(BlankNodeOrIRI.class::cast);
+        }
+        if (estimateCount(null, predicate, object) == 0) {
+            return Stream.empty();
+        }
+        return stream(null, predicate, object).map(Triple::getSubject).distinct();
+    }
+
+    private LiteralTextIndex textIndex() {
+        if (textIndex == null) {
+            final LiteralTextIndex index = new LiteralTextIndex();
+            triples.forEach(index::add);
+            textIndex = index;
+        }
+        return textIndex;
+    }
+
     @Override
     public String toString() {
         final String s = stream().limit(TO_STRING_MAX).map(Object::toString).collect(Collectors.joining("\n"));
@@ -0,0 +1,271 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * Static utility methods for {@link Graph}s and {@link Dataset}s of any
+ * implementation.
+ * <p>
+ * {@link #copy(Graph, Graph)} and {@link #copy(Dataset, Dataset)} add all
+ * triples or quads of one graph or dataset to another, using bulk or native
+ * operations of the target where it supports them.
+ * {@link #predicateCounts(Graph)} counts the triples of each predicate.
+ * <p>
+ * The remaining methods compare graphs and datasets up to blank node
+ * labels. Two graphs are isomorphic if they are equal after relabelling their
+ * blank nodes. A canonical labelling gives each blank node a label that only
+ * depends on the structure of the graph, in the style of RDF Dataset
+ * Canonicalization (RDFC-1.0), though the labels and hashes are not those of
+ * RDFC-1.0.
+ * <p>
+ * Blank node labels are derived by iteratively hashing the neighbourhood of
+ * each blank node, which distinguishes the blank nodes of most graphs without
+ * any backtracking. Only blank nodes that cannot be distinguished that way,
+ * such as those of symmetric structures, are distinguished by trying each of
+ * them in turn. Large graphs are hashed in parallel.
+ * <p>
+ * Changes between graphs are computed by {@link GraphDiff}, and immutable
+ * copies of graphs are made by {@link FrozenGraph#copyOf(Graph)}.
+ */
+public final class Graphs {
+
+    /**
+     * Number of triples or quads passed to each bulk add of
+     * {@link #copy(Graph, Graph)} and {@link #copy(Dataset, Dataset)}.
+     */
+    static final int COPY_BATCH_SIZE = 10_000;
+
+    private static <T> void batches(final Stream<? extends T> stream, final Consumer<List<T>> consumer) {
+        final Iterator<? extends T> it = stream.sequential().iterator();
+        while (it.hasNext()) {
+            final List<T> batch = new ArrayList<>(COPY_BATCH_SIZE);
+            while (it.hasNext() && batch.size() < COPY_BATCH_SIZE) {
+                batch.add(it.next());
+            }
+            consumer.accept(batch);
+        }
+    }
+
+    private static GraphCanonicalizer canonicalize(final Dataset dataset) {
+        try (Stream<? extends Quad> quads = dataset.stream()) {
+            return new GraphCanonicalizer(quads, true);
+        }
+    }
+
+    private static GraphCanonicalizer canonicalize(final Graph graph) {
+        try (Stream<? extends Triple> triples = graph.stream()) {
+            return new GraphCanonicalizer(triples, false);
+        }
+    }
+
+    /**
+     * Adds all the quads of one dataset to another.
+     * <p>
+     * If the target implements {@link DatasetCopyTarget}, the quads are
+     * copied with the native API of its store when the source is backed by a
+     * compatible store, and otherwise added in batches of
+     * {@value #COPY_BATCH_SIZE} quads, which the target may convert in
+     * parallel. Other targets get each quad added in turn.
+     *
+     * @param from
+     *            Dataset to copy from
+     * @param to
+     *            Dataset to add the quads to
+     */
+    public static void copy(final Dataset from, final Dataset to) {
+        if (from == to) {
+            return;
+        }
+        if (to instanceof DatasetCopyTarget) {
+            final DatasetCopyTarget target = (DatasetCopyTarget) to;
+            if (!target.addAllNatively(from)) {
+                try (Stream<? extends Quad> quads = from.stream()) {
+                    batches(quads, target::addAll);
+                }
+            }
+            return;
+        }
+        try (Stream<? extends Quad> quads = from.stream()) {
+            quads.sequential().forEach(to::add);
+        }
+    }
+
+    /**
+     * Adds all the triples of one graph to another.
+     * <p>
+     * If the target implements {@link GraphCopyTarget}, the triples are
+     * copied with the native API of its store when the source is backed by a
+     * compatible store, and otherwise added in batches of
+     * {@value #COPY_BATCH_SIZE} triples, which the target may convert in
+     * parallel. Other targets get each triple added in turn.
+     *
+     * @param from
+     *            Graph to copy from
+     * @param to
+     *            Graph to add the triples to
+     */
+    public static void copy(final Graph from, final Graph to) {
+        if (from == to) {
+            return;
+        }
+        if (to instanceof GraphCopyTarget) {
+            final GraphCopyTarget target = (GraphCopyTarget) to;
+            if (!target.addAllNatively(from)) {
+                try (Stream<? extends Triple> triples = from.stream()) {
+                    batches(triples, target::addAll);
+                }
+            }
+            return;
+        }
+        try (Stream<? extends Triple> triples = from.stream()) {
+            triples.sequential().forEach(to::add);
+        }
+    }
+
+    /**
+     * Gets the number of triples of each predicate of a graph.
+     * <p>
+     * Graphs from {@link SimpleRDF#createGraph()} maintain these counts as
+     * triples are added and removed, so they are returned without iterating
+     * over the graph. Other graphs are counted in one pass.
+     *
+     * @param graph
+     *            Graph to count
+     * @return A new map from each predicate of the graph to its number of
+     *         triples
+     */
+    public static Map<IRI, Long> predicateCounts(final Graph graph) {
+        if (graph instanceof GraphImpl) {
+            return ((GraphImpl) graph).predicateCounts();
+        }
+        final Map<IRI, Long> counts = new HashMap<>();
+        try (Stream<? extends Triple> triples = graph.stream()) {
+            final Iterator<? extends Triple> iterator = triples.iterator();
+            while (iterator.hasNext()) {
+                counts.merge(iterator.next().getPredicate(), 1L, Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Gets a canonical hash of a dataset.
+     * <p>
+     * Isomorphic datasets have the same hash, while datasets that are not
+     * isomorphic have different hashes (barring SHA-256 collisions).
+     *
+     * @param dataset
+     *            Dataset to hash
+     * @return Hexadecimal SHA-256 hash of the canonical N-Quads of the dataset
+     */
+    public static String canonicalHash(final Dataset dataset) {
+        return canonicalize(dataset).canonicalHash();
+    }
+
+    /**
+     * Gets a canonical hash of a graph.
+     * <p>
+     * Isomorphic graphs have the same hash, while graphs that are not
+     * isomorphic have different hashes (barring SHA-256 collisions).
+     *
+     * @param graph
+     *            Graph to hash
+     * @return Hexadecimal SHA-256 hash of the canonical N-Triples of the graph
+     */
+    public static String canonicalHash(final Graph graph) {
+        return canonicalize(graph).canonicalHash();
+    }
+
+    /**
+     * Gets canonical labels for the blank nodes of a dataset.
+     *
+     * @param dataset
+     *            Dataset to label
+     * @return Map from each blank node of the dataset to its label, e.g.
+     *         <code>c14n0</code>
+     */
+    public static Map<BlankNode, String> canonicalLabels(final Dataset dataset) {
+        return canonicalize(dataset).canonicalLabels();
+    }
+
+    /**
+     * Gets canonical labels for the blank nodes of a graph.
+     *
+     * @param graph
+     *            Graph to label
+     * @return Map from each blank node of the graph to its label, e.g.
+     *         <code>c14n0</code>
+     */
+    public static Map<BlankNode, String> canonicalLabels(final Graph graph) {
+        return canonicalize(graph).canonicalLabels();
+    }
+
+    /**
+     * Checks if two datasets are isomorphic.
+     *
+     * @param dataset1
+     *            First dataset
+     * @param dataset2
+     *            Second dataset
+     * @return {@code true} if the datasets are equal after relabelling blank
+     *         nodes
+     */
+    public static boolean isIsomorphic(final Dataset dataset1, final Dataset dataset2) {
+        if (dataset1.size() != dataset2.size()) {
+            return false;
+        }
+        return canonicalize(dataset1).canonicalLines().equals(canonicalize(dataset2).canonicalLines());
+    }
+
+    /**
+     * Checks if two graphs are isomorphic.
+     *
+     * @param graph1
+     *            First graph
+     * @param graph2
+     *            Second graph
+     * @return {@code true} if the graphs are equal after relabelling blank
+     *         nodes
+     */
+    public static boolean isIsomorphic(final Graph graph1, final Graph graph2) {
+        if (graph1.size() != graph2.size()) {
+            return false;
+        }
+        return canonicalize(graph1).canonicalLines().equals(canonicalize(graph2).canonicalLines());
+    }
+
+    private Graphs() {
+        // static utility methods only
+    }
+
+}
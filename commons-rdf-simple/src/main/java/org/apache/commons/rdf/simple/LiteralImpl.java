@@ -17,6 +17,7 @@
  */
 package org.apache.commons.rdf.simple;
 
+import java.time.temporal.TemporalAccessor;
 import java.util.IllformedLocaleException;
 import java.util.Locale;
 import java.util.Objects;
@@ -40,6 +41,9 @@ final class LiteralImpl implements Literal, SimpleRDF.SimpleRDFTerm {
 
     private final String lexicalForm;
 
+    /** The parsed {@link Number} or {@link TemporalAccessor}, once asked for. */
+    private volatile Object value;
+
     public LiteralImpl(final String literal) {
         this(literal, Types.XSD_STRING);
     }
@@ -72,6 +76,28 @@ final class LiteralImpl implements Literal, SimpleRDF.SimpleRDFTerm {
         this.dataType = Types.RDF_LANGSTRING;
     }
 
+    @Override
+    public Number asNumber() {
+        final Object parsed = value;
+        if (parsed instanceof Number) {
+            return (Number) parsed;
+        }
+        final Number number = Literal.super.asNumber();
+        value = number;
+        return number;
+    }
+
+    @Override
+    public TemporalAccessor asTemporal() {
+        final Object parsed = value;
+        if (parsed instanceof TemporalAccessor) {
+            return (TemporalAccessor) parsed;
+        }
+        final TemporalAccessor temporal = Literal.super.asTemporal();
+        value = temporal;
+        return temporal;
+    }
+
     @Override
     public boolean equals(final Object obj) {
         if (this == obj) {
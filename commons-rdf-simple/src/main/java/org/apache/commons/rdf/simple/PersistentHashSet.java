@@ -0,0 +1,391 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * An immutable hash set that shares structure with the sets it was derived
+ * from.
+ * <p>
+ * The set is a hash array mapped trie: every node covers 5 bits of the hash
+ * of its elements and holds either elements or child nodes in a compact
+ * array selected by a bitmap. {@link #with(Object)} and
+ * {@link #without(Object)} copy only the nodes on the path to the changed
+ * element, so both are effectively O(1) while earlier versions of the set
+ * stay valid and unchanged.
+ *
+ * @param <E>
+ *            Type of elements
+ */
+final class PersistentHashSet<E> implements Iterable<E> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = 8;
+
+    private static final PersistentHashSet<Object> EMPTY = new PersistentHashSet<>(
+            new BitmapNode(0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashSet(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Gets the empty set.
+     *
+     * @param <E>
+     *            Type of elements
+     * @return The empty set
+     */
+    @SuppressWarnings("unchecked")
+    static <E> PersistentHashSet<E> empty() {
+        return (PersistentHashSet<E>) EMPTY;
+    }
+
+    private static int hash(final Object element) {
+        final int h = element.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    boolean contains(final Object element) {
+        return root.contains(element, hash(element), 0);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new TrieIterator<>(root);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Stream<E> stream() {
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), size,
+                Spliterator.DISTINCT | Spliterator.IMMUTABLE | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Gets a set with an element added.
+     *
+     * @param element
+     *            Element to add
+     * @return This set if it already contains the element, otherwise a new
+     *         set
+     */
+    PersistentHashSet<E> with(final E element) {
+        final Node newRoot = root.with(element, hash(element), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        return new PersistentHashSet<>(newRoot, size + 1);
+    }
+
+    /**
+     * Gets a set with an element removed.
+     *
+     * @param element
+     *            Element to remove
+     * @return This set if it does not contain the element, otherwise a new
+     *         set
+     */
+    PersistentHashSet<E> without(final Object element) {
+        final Node newRoot = root.without(element, hash(element), 0);
+        if (newRoot == root) {
+            return this;
+        }
+        if (size == 1) {
+            return empty();
+        }
+        return new PersistentHashSet<>(newRoot, size - 1);
+    }
+
+    private abstract static class Node {
+
+        abstract boolean contains(Object element, int hash, int shift);
+
+        /** Entries of this node, each either an element or a child Node. */
+        abstract Object[] entries();
+
+        /**
+         * Gets the only element of this node, or null if it has child nodes
+         * or more than one element.
+         */
+        abstract Object single();
+
+        abstract Node with(Object element, int hash, int shift);
+
+        /** Returns null if the node became empty. */
+        abstract Node without(Object element, int hash, int shift);
+    }
+
+    private static final class BitmapNode extends Node {
+
+        /**
+         * Gets a node at the given shift holding two entries with their
+         * hashes, either of which may itself be a collision node.
+         */
+        private static Node merge(final Object a, final int hashA, final Object b, final int hashB, final int shift) {
+            if (hashA == hashB) {
+                return new CollisionNode(hashA, new Object[] { a, b });
+            }
+            final int bitA = 1 << ((hashA >>> shift) & MASK);
+            final int bitB = 1 << ((hashB >>> shift) & MASK);
+            if (bitA == bitB) {
+                return new BitmapNode(bitA, new Object[] { merge(a, hashA, b, hashB, shift + BITS) });
+            }
+            if (Integer.compareUnsigned(bitA, bitB) < 0) {
+                return new BitmapNode(bitA | bitB, new Object[] { a, b });
+            }
+            return new BitmapNode(bitA | bitB, new Object[] { b, a });
+        }
+
+        private final int bitmap;
+        private final Object[] entries;
+
+        BitmapNode(final int bitmap, final Object[] entries) {
+            this.bitmap = bitmap;
+            this.entries = entries;
+        }
+
+        @Override
+        boolean contains(final Object element, final int hash, final int shift) {
+            final int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return false;
+            }
+            final Object entry = entries[index(bit)];
+            if (entry instanceof Node) {
+                return ((Node) entry).contains(element, hash, shift + BITS);
+            }
+            return entry.equals(element);
+        }
+
+        @Override
+        Object[] entries() {
+            return entries;
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object single() {
+            if (entries.length == 1 && !(entries[0] instanceof Node)) {
+                return entries[0];
+            }
+            return null;
+        }
+
+        @Override
+        Node with(final Object element, final int hash, final int shift) {
+            final int bit = 1 << ((hash >>> shift) & MASK);
+            final int index = index(bit);
+            if ((bitmap & bit) == 0) {
+                final Object[] newEntries = new Object[entries.length + 1];
+                System.arraycopy(entries, 0, newEntries, 0, index);
+                newEntries[index] = element;
+                System.arraycopy(entries, index, newEntries, index + 1, entries.length - index);
+                return new BitmapNode(bitmap | bit, newEntries);
+            }
+            final Object entry = entries[index];
+            final Object newEntry;
+            if (entry instanceof Node) {
+                newEntry = ((Node) entry).with(element, hash, shift + BITS);
+            } else if (entry.equals(element)) {
+                return this;
+            } else {
+                newEntry = merge(entry, PersistentHashSet.hash(entry), element, hash, shift + BITS);
+            }
+            if (newEntry == entry) {
+                return this;
+            }
+            final Object[] newEntries = entries.clone();
+            newEntries[index] = newEntry;
+            return new BitmapNode(bitmap, newEntries);
+        }
+
+        @Override
+        Node without(final Object element, final int hash, final int shift) {
+            final int bit = 1 << ((hash >>> shift) & MASK);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            final int index = index(bit);
+            final Object entry = entries[index];
+            final Object newEntry;
+            if (entry instanceof Node) {
+                final Node child = ((Node) entry).without(element, hash, shift + BITS);
+                if (child == entry) {
+                    return this;
+                }
+                // Pull a lone remaining element up so that the trie stays
+                // as shallow as possible
+                newEntry = child == null ? null : child.single() != null ? child.single() : child;
+            } else if (entry.equals(element)) {
+                newEntry = null;
+            } else {
+                return this;
+            }
+            if (newEntry != null) {
+                final Object[] newEntries = entries.clone();
+                newEntries[index] = newEntry;
+                return new BitmapNode(bitmap, newEntries);
+            }
+            if (entries.length == 1) {
+                return null;
+            }
+            final Object[] newEntries = new Object[entries.length - 1];
+            System.arraycopy(entries, 0, newEntries, 0, index);
+            System.arraycopy(entries, index + 1, newEntries, index, entries.length - index - 1);
+            return new BitmapNode(bitmap & ~bit, newEntries);
+        }
+    }
+
+    /** Elements whose full 32-bit hashes are equal. */
+    private static final class CollisionNode extends Node {
+
+        private final int hash;
+        private final Object[] elements;
+
+        CollisionNode(final int hash, final Object[] elements) {
+            this.hash = hash;
+            this.elements = elements;
+        }
+
+        @Override
+        boolean contains(final Object element, final int hash, final int shift) {
+            return this.hash == hash && indexOf(element) >= 0;
+        }
+
+        @Override
+        Object[] entries() {
+            return elements;
+        }
+
+        private int indexOf(final Object element) {
+            for (int i = 0; i < elements.length; i++) {
+                if (elements[i].equals(element)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object single() {
+            return elements.length == 1 ? elements[0] : null;
+        }
+
+        @Override
+        Node with(final Object element, final int hash, final int shift) {
+            if (this.hash != hash) {
+                // Merging equal hashes may have stopped at any level, so push
+                // this node down until the bits of the two hashes differ
+                return BitmapNode.merge(this, this.hash, element, hash, shift);
+            }
+            if (indexOf(element) >= 0) {
+                return this;
+            }
+            final Object[] newElements = Arrays.copyOf(elements, elements.length + 1);
+            newElements[elements.length] = element;
+            return new CollisionNode(hash, newElements);
+        }
+
+        @Override
+        Node without(final Object element, final int hash, final int shift) {
+            final int index = this.hash == hash ? indexOf(element) : -1;
+            if (index < 0) {
+                return this;
+            }
+            if (elements.length == 1) {
+                return null;
+            }
+            final Object[] newElements = new Object[elements.length - 1];
+            System.arraycopy(elements, 0, newElements, 0, index);
+            System.arraycopy(elements, index + 1, newElements, index, elements.length - index - 1);
+            return new CollisionNode(hash, newElements);
+        }
+    }
+
+    /** Depth-first iteration over the entries of a trie. */
+    private static final class TrieIterator<E> implements Iterator<E> {
+
+        private final Object[][] stack = new Object[MAX_DEPTH + 1][];
+        private final int[] positions = new int[MAX_DEPTH + 1];
+        private int depth;
+        private Object next;
+
+        TrieIterator(final Node root) {
+            stack[0] = root.entries();
+            advance();
+        }
+
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                final Object[] entries = stack[depth];
+                if (positions[depth] == entries.length) {
+                    depth--;
+                    continue;
+                }
+                final Object entry = entries[positions[depth]++];
+                if (entry instanceof Node) {
+                    depth++;
+                    stack[depth] = ((Node) entry).entries();
+                    positions[depth] = 0;
+                } else {
+                    next = entry;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final E result = (E) next;
+            advance();
+            return result;
+        }
+    }
+}
@@ -51,16 +51,45 @@ public class SimpleRDF implements RDF {
     interface SimpleRDFTerm extends RDFTerm {
     }
 
+    /**
+     * Targets of the {@link org.apache.commons.rdf.simple.experimental.TermTranslator} for foreign terms, one per
+     * configuration, as the IRIs translated for a compact factory must not be
+     * shared with a non-compact one, and vice versa.
+     */
+    private enum TranslationTarget {
+        TERMS, COMPACT_TERMS
+    }
+
     /**
      * Unique salt per instance, for {@link #createBlankNode(String)}
      */
     private final UUID SALT = UUID.randomUUID();
 
+    private final boolean compactIRIs;
+
     /**
      * Constructs a new instance.
      */
     public SimpleRDF() {
-        // empty
+        this(false);
+    }
+
+    /**
+     * Constructs a new instance, optionally creating compact IRIs.
+     * <p>
+     * Compact IRIs share their namespace, up to the last <code>#</code>,
+     * <code>/</code> or <code>:</code>, with all the other IRIs of the
+     * namespace, and keep their local name as UTF-8 bytes. This typically
+     * halves the memory used by IRIs of data with a few long namespaces, at
+     * the cost of rebuilding the string on each call of
+     * {@link IRI#getIRIString()}. Compact IRIs are equal to, and have the same
+     * hash codes as, other IRIs with the same string.
+     *
+     * @param compactIRIs
+     *            <code>true</code> to create compact IRIs
+     */
+    public SimpleRDF(final boolean compactIRIs) {
+        this.compactIRIs = compactIRIs;
     }
 
     @Override
@@ -78,6 +107,19 @@ public class SimpleRDF implements RDF {
         return new DatasetImpl(this);
     }
 
+    /**
+     * Creates a new, empty {@link SnapshotDataset}.
+     * <p>
+     * Unlike the dataset returned by {@link #createDataset()}, it can be
+     * streamed while it is modified, and can return immutable snapshots of
+     * itself.
+     *
+     * @return A new, empty {@link SnapshotDataset}
+     */
+    public SnapshotDataset createSnapshotDataset() {
+        return new SnapshotDataset(this);
+    }
+
     @Override
     public Graph createGraph() {
         // Creates a GraphImpl object using this object as the factory for
@@ -87,11 +129,31 @@ public class SimpleRDF implements RDF {
 
     @Override
     public IRI createIRI(final String iri) {
-        final IRI result = new IRIImpl(iri);
+        final IRI result = compactIRIs ? new CompactIRI(iri) : new IRIImpl(iri);
         // Reuse any IRI objects already created in Types
         return Types.get(result).orElse(result);
     }
 
+    /**
+     * Checks if this factory creates compact IRIs.
+     *
+     * @return <code>true</code> if IRIs are created compact
+     * @see #SimpleRDF(boolean)
+     */
+    public boolean isCompactIRIs() {
+        return compactIRIs;
+    }
+
+    /**
+     * Gets the target under which foreign terms are translated to terms of
+     * this factory, which identifies its configuration.
+     *
+     * @return The translation target
+     */
+    Object translationTarget() {
+        return compactIRIs ? TranslationTarget.COMPACT_TERMS : TranslationTarget.TERMS;
+    }
+
     @Override
     public Literal createLiteral(final String literal) {
         return new LiteralImpl(literal);
@@ -0,0 +1,269 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.simple.SimpleRDF.SimpleRDFTerm;
+import org.apache.commons.rdf.simple.experimental.TermTranslator;
+
+/**
+ * A memory-based Dataset that can take consistent snapshots of itself.
+ * <p>
+ * {@link Quad}s are kept in a persistent hash trie that is never modified in
+ * place: every change builds a new version of the trie that shares all
+ * unchanged nodes with the previous one, and then replaces the current
+ * version. Writers are serialized with each other, but never block readers.
+ * <p>
+ * Every {@link #stream()} iterates over the version that was current when it
+ * was called, so long-running readers neither see later changes nor fail with
+ * a {@link java.util.ConcurrentModificationException}. {@link #snapshot()}
+ * returns such a version as an immutable Dataset in O(1).
+ * <p>
+ * Instances are created with {@link SimpleRDF#createSnapshotDataset()}.
+ */
+public final class SnapshotDataset implements Dataset {
+
+    private static final int TO_STRING_MAX = 10;
+    private final SimpleRDF factory;
+    private final ForeignTermCache foreignTerms = new ForeignTermCache();
+    private final boolean snapshot;
+    private volatile PersistentHashSet<Quad> quads;
+
+    SnapshotDataset(final SimpleRDF factory) {
+        this(factory, PersistentHashSet.empty(), false);
+    }
+
+    private SnapshotDataset(final SimpleRDF factory, final PersistentHashSet<Quad> quads, final boolean snapshot) {
+        this.factory = factory;
+        this.quads = quads;
+        this.snapshot = snapshot;
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final BlankNodeOrIRI newGraphName = (BlankNodeOrIRI) internallyMap(graphName);
+        final BlankNodeOrIRI newSubject = (BlankNodeOrIRI) internallyMap(subject);
+        final IRI newPredicate = (IRI) internallyMap(predicate);
+        final RDFTerm newObject = internallyMap(object);
+        addInternal(factory.createQuad(newGraphName, newSubject, newPredicate, newObject));
+    }
+
+    @Override
+    public void add(final Quad quad) {
+        final BlankNodeOrIRI newGraph = (BlankNodeOrIRI) internallyMap(quad.getGraphName().orElse(null));
+        final BlankNodeOrIRI newSubject = (BlankNodeOrIRI) internallyMap(quad.getSubject());
+        final IRI newPredicate = (IRI) internallyMap(quad.getPredicate());
+        final RDFTerm newObject = internallyMap(quad.getObject());
+        // Check if any of the object references changed during the mapping, to
+        // avoid creating a new Quad object if possible
+        if (newGraph == quad.getGraphName().orElse(null) && newSubject == quad.getSubject()
+                && newPredicate == quad.getPredicate() && newObject == quad.getObject()) {
+            addInternal(quad);
+        } else {
+            addInternal(factory.createQuad(newGraph, newSubject, newPredicate, newObject));
+        }
+    }
+
+    private synchronized void addInternal(final Quad quad) {
+        checkWritable();
+        quads = quads.with(quad);
+    }
+
+    private void checkWritable() {
+        if (snapshot) {
+            throw new UnsupportedOperationException("Snapshot is immutable");
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        checkWritable();
+        quads = PersistentHashSet.empty();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public boolean contains(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return stream(graphName, subject, predicate, object).findAny().isPresent();
+    }
+
+    @Override
+    public boolean contains(final Quad quad) {
+        return quads.contains(Objects.requireNonNull(quad));
+    }
+
+    @Override
+    public Graph getGraph() {
+        return getGraph(null).get();
+    }
+
+    @Override
+    public Optional<Graph> getGraph(final BlankNodeOrIRI graphName) {
+        return Optional.of(new DatasetGraphView(this, graphName));
+    }
+
+    @Override
+    public Stream<BlankNodeOrIRI> getGraphNames() {
+        return stream().map(Quad::getGraphName).filter(Optional::isPresent).map(Optional::get).distinct();
+    }
+
+    private <T extends RDFTerm> RDFTerm internallyMap(final T object) {
+        if (object == null || object instanceof SimpleRDFTerm) {
+            return object;
+        }
+        if (!(object instanceof BlankNode) && !(object instanceof IRI) && !(object instanceof Literal)) {
+            throw new IllegalArgumentException("Not a BlankNode, IRI or Literal: " + object);
+        }
+        return foreignTerms.get(object, this::importTerm);
+    }
+
+    private RDFTerm importTerm(final RDFTerm object) {
+        if (object instanceof BlankNode) {
+            final BlankNode blankNode = (BlankNode) object;
+            // This guarantees that adding the same BlankNode multiple times to
+            // this dataset will generate a local object that is mapped to an
+            // equivalent object, based on the code in the package private
+            // BlankNodeImpl class
+            return factory.createBlankNode(blankNode.uniqueReference());
+        }
+        return TermTranslator.getDefault().translate(RDFTerm.class, factory.translationTarget(), object, this::copyTerm);
+    }
+
+    private RDFTerm copyTerm(final RDFTerm object) {
+        if (object instanceof IRI) {
+            final IRI iri = (IRI) object;
+            return factory.createIRI(iri.getIRIString());
+        }
+        final Literal literal = (Literal) object;
+        if (literal.getLanguageTag().isPresent()) {
+            return factory.createLiteral(literal.getLexicalForm(), literal.getLanguageTag().get());
+        }
+        return factory.createLiteral(literal.getLexicalForm(), (IRI) internallyMap(literal.getDatatype()));
+    }
+
+    /**
+     * Checks if this dataset is an immutable snapshot.
+     *
+     * @return true if this dataset was returned by {@link #snapshot()}
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    @Override
+    public synchronized void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        checkWritable();
+        // Readers see either none or all of the matching quads removed
+        PersistentHashSet<Quad> newQuads = quads;
+        for (final Quad q : stream(graphName, subject, predicate, object).collect(Collectors.toList())) {
+            newQuads = newQuads.without(q);
+        }
+        quads = newQuads;
+    }
+
+    @Override
+    public synchronized void remove(final Quad quad) {
+        checkWritable();
+        quads = quads.without(Objects.requireNonNull(quad));
+    }
+
+    @Override
+    public long size() {
+        return quads.size();
+    }
+
+    /**
+     * Gets an immutable snapshot of the current content of this dataset.
+     * <p>
+     * The snapshot shares its quads with this dataset, so taking it is O(1)
+     * regardless of the size of the dataset, and later changes to this
+     * dataset are not visible in it. Its graphs, as returned by
+     * {@link #getGraph(BlankNodeOrIRI)}, are immutable as well.
+     *
+     * @return An immutable Dataset, or this dataset if it is already a
+     *         snapshot
+     */
+    public SnapshotDataset snapshot() {
+        if (snapshot) {
+            return this;
+        }
+        return new SnapshotDataset(factory, quads, true);
+    }
+
+    @Override
+    public Stream<Quad> stream() {
+        return quads.stream();
+    }
+
+    @Override
+    public Stream<Quad> stream(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        final Optional<BlankNodeOrIRI> newGraphName;
+        if (graphName == null) {
+            // Avoid Optional<Optional<BlankNodeOrIRI>> ...
+            newGraphName = null;
+        } else {
+            newGraphName = graphName.map(g -> (BlankNodeOrIRI) internallyMap(g));
+        }
+        final BlankNodeOrIRI newSubject = (BlankNodeOrIRI) internallyMap(subject);
+        final IRI newPredicate = (IRI) internallyMap(predicate);
+        final RDFTerm newObject = internallyMap(object);
+
+        return stream().filter(t -> {
+            if (newGraphName != null && !t.getGraphName().equals(newGraphName)) {
+                return false;
+            }
+            if (subject != null && !t.getSubject().equals(newSubject)) {
+                return false;
+            }
+            if (predicate != null && !t.getPredicate().equals(newPredicate)) {
+                return false;
+            }
+            if (object != null && !t.getObject().equals(newObject)) {
+                return false;
+            }
+            return true;
+        });
+    }
+
+    @Override
+    public String toString() {
+        final PersistentHashSet<Quad> current = quads;
+        final String s = current.stream().limit(TO_STRING_MAX).map(Object::toString).collect(Collectors.joining("\n"));
+        if (current.size() > TO_STRING_MAX) {
+            return s + "\n# ... +" + (current.size() - TO_STRING_MAX) + " more";
+        }
+        return s;
+    }
+
+}
@@ -0,0 +1,196 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+
+/**
+ * A basic graph pattern: a conjunction of {@link TriplePattern}s, evaluated
+ * against a {@link Graph} or {@link Dataset} as a stream of {@link Solution}s.
+ * <p>
+ * Evaluation orders the joins greedily by selectivity, using
+ * {@link Graph#estimateCount(org.apache.commons.rdf.api.BlankNodeOrIRI, org.apache.commons.rdf.api.IRI, org.apache.commons.rdf.api.RDFTerm)},
+ * and uses index nested-loop joins, or hash joins where the next pattern is
+ * small. Solutions are streamed lazily; the returned stream should be closed
+ * to release any underlying resources.
+ * <p>
+ * If the graph implements {@link BasicGraphPatternEvaluator}, evaluation is
+ * pushed down to its native query engine, unless disabled with
+ * {@link #pushDown(boolean)}.
+ * <p>
+ * Instances are immutable and thread-safe; the options methods return
+ * modified copies.
+ */
+public final class BasicGraphPattern implements Cloneable {
+
+    private final List<TriplePattern> patterns;
+    private final List<Variable> variables;
+    private boolean parallel = false;
+    private boolean pushDown = true;
+
+    /**
+     * Creates a basic graph pattern.
+     *
+     * @param patterns
+     *            Triple patterns to join
+     */
+    public BasicGraphPattern(final List<TriplePattern> patterns) {
+        this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+        final Set<Variable> vars = new LinkedHashSet<>();
+        this.patterns.forEach(p -> vars.addAll(p.getVariables()));
+        this.variables = Collections.unmodifiableList(new ArrayList<>(vars));
+    }
+
+    /**
+     * Creates a basic graph pattern.
+     *
+     * @param patterns
+     *            Triple patterns to join
+     */
+    public BasicGraphPattern(final TriplePattern... patterns) {
+        this(Arrays.asList(patterns));
+    }
+
+    @Override
+    protected BasicGraphPattern clone() {
+        try {
+            return (BasicGraphPattern) super.clone();
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Evaluates the pattern against the union of the graphs in a dataset, or
+     * against one of its graphs.
+     *
+     * @param dataset
+     *            Dataset to match
+     * @param graphName
+     *            The graph to match, {@link Optional#empty()} for the default
+     *            graph, or <code>null</code> for any graph
+     * @return A stream of solutions, possibly with duplicates if matching
+     *         triples are in several graphs
+     */
+    public Stream<Solution> evaluate(final Dataset dataset, final Optional<BlankNodeOrIRI> graphName) {
+        Objects.requireNonNull(dataset);
+        if (pushDown && graphName == null && dataset instanceof BasicGraphPatternEvaluator) {
+            final Optional<Stream<Solution>> solutions = ((BasicGraphPatternEvaluator) dataset).evaluate(this);
+            if (solutions.isPresent()) {
+                return solutions.get();
+            }
+        }
+        return new JoinPlan(JoinPlan.source(dataset, graphName), this).solutions();
+    }
+
+    /**
+     * Evaluates the pattern against a graph.
+     *
+     * @param graph
+     *            Graph to match
+     * @return A stream of solutions
+     */
+    public Stream<Solution> evaluate(final Graph graph) {
+        Objects.requireNonNull(graph);
+        if (pushDown && graph instanceof BasicGraphPatternEvaluator) {
+            final Optional<Stream<Solution>> solutions = ((BasicGraphPatternEvaluator) graph).evaluate(this);
+            if (solutions.isPresent()) {
+                return solutions.get();
+            }
+        }
+        return new JoinPlan(JoinPlan.source(graph), this).solutions();
+    }
+
+    /**
+     * Gets the triple patterns.
+     *
+     * @return The triple patterns, in the order given
+     */
+    public List<TriplePattern> getPatterns() {
+        return patterns;
+    }
+
+    /**
+     * Gets the variables of the pattern.
+     *
+     * @return Distinct variables in order of first appearance
+     */
+    public List<Variable> getVariables() {
+        return variables;
+    }
+
+    /**
+     * Checks if evaluation returns a parallel stream.
+     *
+     * @return <code>true</code> if solutions are found in parallel
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Sets whether evaluation returns a parallel stream.
+     * <p>
+     * In parallel mode the matches of the first pattern are split between
+     * threads, which join them with the remaining patterns. Native query
+     * engines may still evaluate sequentially.
+     *
+     * @param parallel
+     *            <code>true</code> to find solutions in parallel
+     * @return A copy of this pattern with the option set
+     */
+    public BasicGraphPattern parallel(final boolean parallel) {
+        final BasicGraphPattern c = clone();
+        c.parallel = parallel;
+        return c;
+    }
+
+    /**
+     * Sets whether evaluation is pushed down to graphs implementing
+     * {@link BasicGraphPatternEvaluator}.
+     *
+     * @param pushDown
+     *            <code>false</code> to always use the generic joins
+     * @return A copy of this pattern with the option set
+     */
+    public BasicGraphPattern pushDown(final boolean pushDown) {
+        final BasicGraphPattern c = clone();
+        c.pushDown = pushDown;
+        return c;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{ ");
+        patterns.forEach(p -> sb.append(p).append(' '));
+        return sb.append('}').toString();
+    }
+
+}
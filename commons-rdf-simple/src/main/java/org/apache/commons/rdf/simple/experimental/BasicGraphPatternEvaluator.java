@@ -0,0 +1,46 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A {@link org.apache.commons.rdf.api.Graph} or
+ * {@link org.apache.commons.rdf.api.Dataset} that can evaluate a
+ * {@link BasicGraphPattern} with its own query engine.
+ * <p>
+ * {@link BasicGraphPattern#evaluate(org.apache.commons.rdf.api.Graph)} pushes
+ * evaluation down to graphs implementing this interface, falling back to its
+ * own joins if they return {@link Optional#empty()}.
+ */
+public interface BasicGraphPatternEvaluator {
+
+    /**
+     * Evaluates a basic graph pattern natively.
+     * <p>
+     * The returned stream must be closed to release any underlying resources.
+     *
+     * @param pattern
+     *            Pattern to evaluate
+     * @return A stream of the solutions, or {@link Optional#empty()} if the
+     *         pattern can't be evaluated natively
+     */
+    Optional<Stream<Solution>> evaluate(BasicGraphPattern pattern);
+
+}
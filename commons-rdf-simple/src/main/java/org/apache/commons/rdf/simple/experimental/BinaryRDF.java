@@ -0,0 +1,123 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.Locale;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.simple.SimpleRDF;
+
+/**
+ * A compact binary RDF syntax for fast reloading of datasets.
+ * <p>
+ * A binary RDF document starts with the 4 bytes <code>CRDF</code> and a
+ * version byte, followed by records that each start with a tag byte. Every
+ * distinct RDF term is written once, in a term record that assigns it the
+ * next term id (starting at 1), and quads are then written as tuples of
+ * term ids. Numbers are unsigned variable-length integers (7 bits per byte,
+ * least significant first) and strings are a byte length followed by UTF-8.
+ * <p>
+ * IRIs are split after their last <code>/</code> or <code>#</code>, and the
+ * namespace part is written once in a prefix record. Quads that share the
+ * graph name and subject of the previous quad only write their predicate and
+ * object.
+ * <p>
+ * Documents are written with {@link BinaryRDFWriter} and read with
+ * {@link BinaryRDFParser}.
+ */
+public final class BinaryRDF {
+
+    private static final class BinaryRDFSyntax implements RDFSyntax {
+
+        private final IRI iri = new SimpleRDF().createIRI("http://commons.apache.org/rdf/ns/formats/Binary");
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof RDFSyntax
+                    && MEDIA_TYPE.equals(((RDFSyntax) obj).mediaType().toLowerCase(Locale.ROOT));
+        }
+
+        @Override
+        public String fileExtension() {
+            return FILE_EXTENSION;
+        }
+
+        @Override
+        public int hashCode() {
+            return MEDIA_TYPE.hashCode();
+        }
+
+        @Override
+        public IRI iri() {
+            return iri;
+        }
+
+        @Override
+        public String mediaType() {
+            return MEDIA_TYPE;
+        }
+
+        @Override
+        public String name() {
+            return "CommonsRDF_Binary";
+        }
+
+        @Override
+        public boolean supportsDataset() {
+            return true;
+        }
+
+        @Override
+        public String title() {
+            return "Commons RDF Binary";
+        }
+
+        @Override
+        public String toString() {
+            return title();
+        }
+    }
+
+    /** Media type of the binary RDF syntax. */
+    public static final String MEDIA_TYPE = "application/x-commons-rdf-binary";
+
+    /** File extension of the binary RDF syntax. */
+    public static final String FILE_EXTENSION = ".crdf";
+
+    /** The binary RDF syntax. */
+    public static final RDFSyntax SYNTAX = new BinaryRDFSyntax();
+
+    static final byte[] MAGIC = { 'C', 'R', 'D', 'F' };
+    static final int VERSION = 1;
+
+    static final int END = 0;
+    static final int PREFIX = 1;
+    static final int IRI = 2;
+    static final int BLANK_NODE = 3;
+    static final int LANG_LITERAL = 4;
+    static final int TYPED_LITERAL = 5;
+    static final int TRIPLE = 6;
+    static final int QUAD = 7;
+    /** Quad with the graph name and subject of the previous quad. */
+    static final int SAME_SUBJECT = 8;
+
+    private BinaryRDF() {
+    }
+
+}
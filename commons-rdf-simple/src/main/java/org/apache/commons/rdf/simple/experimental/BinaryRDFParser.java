@@ -0,0 +1,246 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * Parses {@link BinaryRDF} documents.
+ * <p>
+ * Each distinct term of the document is created only once with the
+ * {@link #rdfTermFactory(RDF)}, and every quad reuses those instances, so
+ * loading into a target of the same implementation (e.g. a {@code JenaRDF}
+ * factory for a Jena target) avoids any further term conversion.
+ * <p>
+ * Binary RDF documents only contain absolute IRIs, so a base IRI is never
+ * required.
+ */
+public class BinaryRDFParser extends AbstractRDFParser<BinaryRDFParser> {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /** Reads from a buffer that is refilled from the source as needed. */
+    private final class Reader {
+
+        private final InputStream in;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+
+        Reader(final InputStream in) {
+            this.in = in;
+        }
+
+        private void fill() throws IOException {
+            limit = in.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                throw new EOFException("Unexpected end of binary RDF document");
+            }
+        }
+
+        int readByte() throws IOException {
+            if (position == limit) {
+                fill();
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        String readString() throws IOException, RDFParseException {
+            final int length = readVarint();
+            if (length < 0) {
+                throw new RDFParseException(BinaryRDFParser.this, "Invalid string length");
+            }
+            if (limit - position >= length) {
+                final String s = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+                return s;
+            }
+            final byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                if (position == limit) {
+                    fill();
+                }
+                final int n = Math.min(length - read, limit - position);
+                System.arraycopy(buffer, position, bytes, read, n);
+                position += n;
+                read += n;
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int readVarint() throws IOException, RDFParseException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                final int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new RDFParseException(BinaryRDFParser.this, "Malformed number");
+        }
+    }
+
+    @Override
+    protected void checkBaseRequired() {
+        // IRIs are always absolute
+    }
+
+    @Override
+    protected void checkContentType() throws IllegalStateException {
+        if (getContentType().isPresent()
+                && !BinaryRDF.MEDIA_TYPE.equalsIgnoreCase(getContentType().get().split("\\s*;", 2)[0])) {
+            throw new IllegalStateException("Unsupported content type: " + getContentType().get());
+        }
+    }
+
+    private InputStream openSource() throws IOException {
+        if (getSourceInputStream().isPresent()) {
+            return getSourceInputStream().get();
+        }
+        if (getSourceFile().isPresent()) {
+            return Files.newInputStream(getSourceFile().get());
+        }
+        return URI.create(getSourceIri().get().getIRIString()).toURL().openStream();
+    }
+
+    private void parse(final Reader reader) throws IOException, RDFParseException {
+        final RDF factory = getRdfTermFactory().get();
+        final Consumer<Quad> target = getTarget();
+        final byte[] magic = new byte[BinaryRDF.MAGIC.length];
+        for (int i = 0; i < magic.length; i++) {
+            magic[i] = (byte) reader.readByte();
+        }
+        if (!Arrays.equals(magic, BinaryRDF.MAGIC)) {
+            throw new RDFParseException(this, "Not a binary RDF document");
+        }
+        final int version = reader.readByte();
+        if (version != BinaryRDF.VERSION) {
+            throw new RDFParseException(this, "Unsupported binary RDF version: " + version);
+        }
+
+        String[] prefixes = new String[64];
+        int prefixCount = 0;
+        RDFTerm[] terms = new RDFTerm[1024];
+        int termCount = 0;
+        BlankNodeOrIRI graphName = null;
+        BlankNodeOrIRI subject = null;
+        try {
+            while (true) {
+                final int tag = reader.readByte();
+                switch (tag) {
+                case BinaryRDF.END:
+                    return;
+                case BinaryRDF.PREFIX:
+                    if (++prefixCount == prefixes.length) {
+                        prefixes = Arrays.copyOf(prefixes, prefixes.length * 2);
+                    }
+                    prefixes[prefixCount] = reader.readString();
+                    continue;
+                case BinaryRDF.TRIPLE:
+                    graphName = null;
+                    subject = (BlankNodeOrIRI) terms[reader.readVarint()];
+                    break;
+                case BinaryRDF.QUAD:
+                    graphName = (BlankNodeOrIRI) terms[reader.readVarint()];
+                    subject = (BlankNodeOrIRI) terms[reader.readVarint()];
+                    break;
+                case BinaryRDF.SAME_SUBJECT:
+                    if (subject == null) {
+                        throw new RDFParseException(this, "No previous subject");
+                    }
+                    break;
+                default:
+                    // A term record
+                    if (++termCount == terms.length) {
+                        terms = Arrays.copyOf(terms, terms.length * 2);
+                    }
+                    terms[termCount] = readTerm(tag, reader, factory, prefixes, terms);
+                    continue;
+                }
+                final IRI predicate = (IRI) terms[reader.readVarint()];
+                final RDFTerm object = terms[reader.readVarint()];
+                if (subject == null || predicate == null || object == null) {
+                    throw new RDFParseException(this, "Undefined term id");
+                }
+                target.accept(factory.createQuad(graphName, subject, predicate, object));
+            }
+        } catch (final ClassCastException | ArrayIndexOutOfBoundsException e) {
+            throw new RDFParseException(this, "Invalid term id", e);
+        }
+    }
+
+    @Override
+    protected void parseSynchronusly() throws IOException, RDFParseException {
+        if (getSourceInputStream().isPresent()) {
+            // Closing the provided stream is left to the caller
+            parse(new Reader(openSource()));
+            return;
+        }
+        try (InputStream in = openSource()) {
+            parse(new Reader(in));
+        }
+    }
+
+    private RDFTerm readTerm(final int tag, final Reader reader, final RDF factory, final String[] prefixes,
+            final RDFTerm[] terms) throws IOException, RDFParseException {
+        switch (tag) {
+        case BinaryRDF.IRI:
+            final int prefix = reader.readVarint();
+            final String local = reader.readString();
+            if (prefix == 0) {
+                return factory.createIRI(local);
+            }
+            if (prefixes[prefix] == null) {
+                throw new RDFParseException(this, "Undefined prefix id " + prefix);
+            }
+            return factory.createIRI(prefixes[prefix].concat(local));
+        case BinaryRDF.BLANK_NODE:
+            return factory.createBlankNode();
+        case BinaryRDF.LANG_LITERAL:
+            final String lexicalForm = reader.readString();
+            return factory.createLiteral(lexicalForm, reader.readString());
+        case BinaryRDF.TYPED_LITERAL:
+            final String lexical = reader.readString();
+            final IRI datatype = (IRI) terms[reader.readVarint()];
+            if (datatype == null) {
+                throw new RDFParseException(this, "Undefined term id");
+            }
+            return factory.createLiteral(lexical, datatype);
+        default:
+            throw new RDFParseException(this, "Unknown record type " + tag);
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.api.TripleLike;
+
+/**
+ * Writes {@link BinaryRDF} documents.
+ * <p>
+ * Triples and quads of any Commons RDF implementation can be written. The
+ * terms written so far are kept in memory so that each is written only once.
+ * The document is complete when the writer is closed, which also closes the
+ * underlying stream.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class BinaryRDFWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final OutputStream out;
+    private final Map<RDFTerm, Integer> terms = new HashMap<>();
+    private final Map<String, Integer> prefixes = new HashMap<>();
+    private final boolean compressPrefixes;
+    private RDFTerm lastGraphName;
+    private RDFTerm lastSubject;
+    private boolean closed;
+
+    /**
+     * Creates a writer that compresses IRI prefixes.
+     *
+     * @param out
+     *            Stream to write to
+     * @throws IOException
+     *             If the header could not be written
+     */
+    public BinaryRDFWriter(final OutputStream out) throws IOException {
+        this(out, true);
+    }
+
+    /**
+     * Creates a writer.
+     *
+     * @param out
+     *            Stream to write to
+     * @param compressPrefixes
+     *            If true, write the namespace of each IRI only once
+     * @throws IOException
+     *             If the header could not be written
+     */
+    public BinaryRDFWriter(final OutputStream out, final boolean compressPrefixes) throws IOException {
+        this.out = new BufferedOutputStream(Objects.requireNonNull(out), BUFFER_SIZE);
+        this.compressPrefixes = compressPrefixes;
+        this.out.write(BinaryRDF.MAGIC);
+        this.out.write(BinaryRDF.VERSION);
+    }
+
+    /**
+     * Writes the end of the document and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            out.write(BinaryRDF.END);
+        } finally {
+            out.close();
+        }
+    }
+
+    private int prefix(final String prefix) throws IOException {
+        final Integer id = prefixes.get(prefix);
+        if (id != null) {
+            return id;
+        }
+        out.write(BinaryRDF.PREFIX);
+        writeString(prefix);
+        prefixes.put(prefix, prefixes.size() + 1);
+        return prefixes.size();
+    }
+
+    private int term(final RDFTerm term) throws IOException {
+        final Integer id = terms.get(term);
+        if (id != null) {
+            return id;
+        }
+        if (term instanceof IRI) {
+            final String iri = ((IRI) term).getIRIString();
+            final int split = compressPrefixes ? Math.max(iri.lastIndexOf('/'), iri.lastIndexOf('#')) + 1 : 0;
+            final int prefix = split == 0 ? 0 : prefix(iri.substring(0, split));
+            out.write(BinaryRDF.IRI);
+            writeVarint(prefix);
+            writeString(iri.substring(split));
+        } else if (term instanceof BlankNode) {
+            out.write(BinaryRDF.BLANK_NODE);
+        } else if (term instanceof Literal) {
+            final Literal literal = (Literal) term;
+            if (literal.getLanguageTag().isPresent()) {
+                out.write(BinaryRDF.LANG_LITERAL);
+                writeString(literal.getLexicalForm());
+                writeString(literal.getLanguageTag().get());
+            } else {
+                final int datatype = term(literal.getDatatype());
+                out.write(BinaryRDF.TYPED_LITERAL);
+                writeString(literal.getLexicalForm());
+                writeVarint(datatype);
+            }
+        } else {
+            throw new IllegalArgumentException("Not a BlankNode, IRI or Literal: " + term);
+        }
+        // Ids follow the order of the term records
+        final int newId = terms.size() + 1;
+        terms.put(term, newId);
+        return newId;
+    }
+
+    /**
+     * Writes a triple or quad.
+     * <p>
+     * Triples and quads without a graph name are written to the default
+     * graph.
+     *
+     * @param tripleLike
+     *            Triple or quad to write
+     * @throws IOException
+     *             If the triple or quad could not be written
+     */
+    public void write(final TripleLike tripleLike) throws IOException {
+        if (closed) {
+            throw new IOException("Writer is closed");
+        }
+        final BlankNodeOrIRI graphName = tripleLike instanceof Quad ? ((Quad) tripleLike).getGraphName().orElse(null)
+                : null;
+        final int g = graphName == null ? 0 : term(graphName);
+        final int s = term(tripleLike.getSubject());
+        final int p = term(tripleLike.getPredicate());
+        final int o = term(tripleLike.getObject());
+        if (lastSubject != null && tripleLike.getSubject().equals(lastSubject)
+                && Objects.equals(graphName, lastGraphName)) {
+            out.write(BinaryRDF.SAME_SUBJECT);
+        } else if (graphName == null) {
+            out.write(BinaryRDF.TRIPLE);
+            writeVarint(s);
+        } else {
+            out.write(BinaryRDF.QUAD);
+            writeVarint(g);
+            writeVarint(s);
+        }
+        writeVarint(p);
+        writeVarint(o);
+        lastGraphName = graphName;
+        lastSubject = tripleLike.getSubject();
+    }
+
+    /**
+     * Writes all quads of a dataset.
+     *
+     * @param dataset
+     *            Dataset to write
+     * @throws IOException
+     *             If a quad could not be written
+     */
+    public void write(final Dataset dataset) throws IOException {
+        try (Stream<? extends Quad> stream = dataset.stream()) {
+            writeAll(stream);
+        }
+    }
+
+    /**
+     * Writes all triples of a graph to the default graph.
+     *
+     * @param graph
+     *            Graph to write
+     * @throws IOException
+     *             If a triple could not be written
+     */
+    public void write(final Graph graph) throws IOException {
+        try (Stream<? extends Triple> stream = graph.stream()) {
+            writeAll(stream);
+        }
+    }
+
+    /**
+     * Writes a stream of triples or quads.
+     * <p>
+     * The stream is consumed in encounter order, so sorting it by graph name
+     * and subject gives a more compact document.
+     *
+     * @param stream
+     *            Triples or quads to write
+     * @throws IOException
+     *             If a triple or quad could not be written
+     */
+    public void writeAll(final Stream<? extends TripleLike> stream) throws IOException {
+        final Iterator<? extends TripleLike> it = stream.sequential().iterator();
+        while (it.hasNext()) {
+            write(it.next());
+        }
+    }
+
+    private void writeString(final String s) throws IOException {
+        final byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarint(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarint(final int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A {@link TermTranslator} that caches a bounded number of translations for
+ * each target, keyed by term equality, and counts its hits and misses.
+ * <p>
+ * Each cache is split into segments by the hash code of the term; each
+ * segment is locked separately and evicts its least recently used
+ * translations, so concurrent conversions rarely contend.
+ */
+public final class CachingTermTranslator implements TermTranslator {
+
+    /**
+     * The translations of one target.
+     */
+    private static final class Cache {
+
+        private final List<Map<RDFTerm, Object>> segments;
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private Cache(final int maxSize) {
+            segments = new ArrayList<>(SEGMENTS);
+            final int segmentSize = Math.max(1, maxSize / SEGMENTS);
+            for (int i = 0; i < SEGMENTS; i++) {
+                segments.add(new LinkedHashMap<RDFTerm, Object>(16, 0.75f, true) {
+                    private static final long serialVersionUID = 1L;
+
+                    @Override
+                    protected boolean removeEldestEntry(final Entry<RDFTerm, Object> eldest) {
+                        return size() > segmentSize;
+                    }
+                });
+            }
+        }
+
+        private Map<RDFTerm, Object> segment(final RDFTerm term) {
+            final int hash = term.hashCode();
+            return segments.get((hash ^ hash >>> 16) & SEGMENTS - 1);
+        }
+
+    }
+
+    private static final int SEGMENTS = 16;
+
+    private final int maxSize;
+    private final Map<Object, Cache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a caching translator.
+     *
+     * @param maxSize
+     *            Maximum number of translations to cache for each target
+     */
+    public CachingTermTranslator(final int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Removes all cached translations and resets the statistics.
+     */
+    public void clear() {
+        caches.clear();
+    }
+
+    /**
+     * Gets the number of translations for a target that were found in the
+     * cache.
+     *
+     * @param target
+     *            Target of the translations, e.g. the type of the
+     *            translated terms
+     * @return Number of cache hits
+     */
+    public long getHits(final Object target) {
+        final Cache cache = caches.get(target);
+        return cache == null ? 0 : cache.hits.sum();
+    }
+
+    /**
+     * Gets the fraction of translations for a target that were found in the
+     * cache.
+     *
+     * @param target
+     *            Target of the translations, e.g. the type of the
+     *            translated terms
+     * @return Hit rate between 0 and 1, or 0 if nothing was translated
+     */
+    public double getHitRate(final Object target) {
+        final long hits = getHits(target);
+        final long total = hits + getMisses(target);
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Gets the number of translations for a target that were converted.
+     *
+     * @param target
+     *            Target of the translations, e.g. the type of the
+     *            translated terms
+     * @return Number of cache misses
+     */
+    public long getMisses(final Object target) {
+        final Cache cache = caches.get(target);
+        return cache == null ? 0 : cache.misses.sum();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CachingTermTranslator[maxSize=").append(maxSize);
+        caches.forEach((target, cache) -> sb.append(", ")
+                .append(target instanceof Class ? ((Class<?>) target).getSimpleName() : target).append("=")
+                .append(String.format("%.2f", getHitRate(target))));
+        return sb.append(']').toString();
+    }
+
+    @Override
+    public <T> T translate(final Class<T> type, final Object target, final RDFTerm term,
+            final Function<? super RDFTerm, ? extends T> converter) {
+        final Cache cache = caches.computeIfAbsent(target, t -> new Cache(maxSize));
+        final Map<RDFTerm, Object> segment = cache.segment(term);
+        Object translated;
+        synchronized (segment) {
+            translated = segment.get(term);
+        }
+        if (translated != null) {
+            cache.hits.increment();
+            return type.cast(translated);
+        }
+        cache.misses.increment();
+        // Convert outside the lock, as converters may translate other terms,
+        // e.g. the datatype of a literal
+        final T converted = converter.apply(term);
+        synchronized (segment) {
+            segment.put(term, converted);
+        }
+        return converted;
+    }
+
+}
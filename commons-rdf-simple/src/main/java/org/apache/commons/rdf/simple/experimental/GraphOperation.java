@@ -0,0 +1,60 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+/**
+ * Operations of a {@link org.apache.commons.rdf.api.Graph} or
+ * {@link org.apache.commons.rdf.api.Dataset} recorded by an
+ * {@link InstrumentedGraph} or {@link InstrumentedDataset}.
+ */
+public enum GraphOperation {
+
+    /** Adding a triple or quad. */
+    ADD,
+
+    /** Removing all triples or quads. */
+    CLEAR,
+
+    /** Checking if a triple, quad or pattern is contained. */
+    CONTAINS,
+
+    /** Counting the matches of a pattern. */
+    COUNT,
+
+    /** Streaming the distinct subjects, predicates or objects of a pattern. */
+    DISTINCT_TERMS,
+
+    /** Estimating the number of matches of a pattern. */
+    ESTIMATE_COUNT,
+
+    /** Getting a graph or the graph names of a dataset. */
+    GET_GRAPH,
+
+    /** Iterating over the triples or quads matching a pattern. */
+    ITERATE,
+
+    /** Removing a triple, quad or pattern. */
+    REMOVE,
+
+    /** Counting all triples or quads. */
+    SIZE,
+
+    /** Streaming the triples or quads matching a pattern. */
+    STREAM
+
+}
@@ -0,0 +1,197 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Measures the streams and iterables returned by {@link InstrumentedGraph} and
+ * {@link InstrumentedDataset}.
+ * <p>
+ * A stream is measured when all the parts it was split into are exhausted, or
+ * when it is closed, whichever happens first. An iterable is measured from
+ * each call of {@link Iterable#iterator()} until that iterator is exhausted.
+ */
+final class Instrumentation {
+
+    /**
+     * The measurement of one stream or iterator.
+     */
+    private static final class Measurement {
+
+        private final MetricsRecorder recorder;
+        private final GraphOperation operation;
+        private final long start;
+        private final LongAdder count = new LongAdder();
+        private final AtomicInteger openParts = new AtomicInteger(1);
+        private final AtomicBoolean finished = new AtomicBoolean();
+
+        private Measurement(final MetricsRecorder recorder, final GraphOperation operation, final long start) {
+            this.recorder = recorder;
+            this.operation = operation;
+            this.start = start;
+        }
+
+        private void finish() {
+            if (finished.compareAndSet(false, true)) {
+                recorder.record(operation, System.nanoTime() - start, count.sum());
+            }
+        }
+
+        private void partExhausted(final long partCount) {
+            count.add(partCount);
+            if (openParts.decrementAndGet() == 0) {
+                finish();
+            }
+        }
+
+    }
+
+    /**
+     * Counts the elements of one part of a stream.
+     */
+    private static final class CountingSpliterator<T> implements Spliterator<T> {
+
+        private final Spliterator<T> delegate;
+        private final Measurement measurement;
+        private boolean exhausted;
+
+        private CountingSpliterator(final Spliterator<T> delegate, final Measurement measurement) {
+            this.delegate = delegate;
+            this.measurement = measurement;
+        }
+
+        @Override
+        public int characteristics() {
+            // not SIZED, so that terminal operations such as count() traverse
+            // the elements to be counted
+            return delegate.characteristics() & ~(SIZED | SUBSIZED);
+        }
+
+        private void exhausted() {
+            if (!exhausted) {
+                exhausted = true;
+                measurement.partExhausted(0);
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return delegate.estimateSize();
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+            delegate.forEachRemaining(t -> {
+                measurement.count.increment();
+                action.accept(t);
+            });
+            exhausted();
+        }
+
+        @Override
+        public Comparator<? super T> getComparator() {
+            return delegate.getComparator();
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> action) {
+            // counted as they go, as the stream may be closed before
+            // being exhausted
+            final boolean advanced = delegate.tryAdvance(t -> {
+                measurement.count.increment();
+                action.accept(t);
+            });
+            if (!advanced) {
+                exhausted();
+            }
+            return advanced;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final Spliterator<T> split = delegate.trySplit();
+            if (split == null) {
+                return null;
+            }
+            measurement.openParts.incrementAndGet();
+            return new CountingSpliterator<>(split, measurement);
+        }
+
+    }
+
+    static <T> Iterable<T> measure(final Iterable<T> iterable, final MetricsRecorder recorder,
+            final GraphOperation operation) {
+        return () -> {
+            final long start = System.nanoTime();
+            final Iterator<T> iterator = iterable.iterator();
+            final Measurement measurement = new Measurement(recorder, operation, start);
+            return new Iterator<T>() {
+                private long count;
+                private boolean exhausted;
+
+                @Override
+                public boolean hasNext() {
+                    final boolean hasNext = iterator.hasNext();
+                    if (!hasNext && !exhausted) {
+                        exhausted = true;
+                        measurement.partExhausted(count);
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public T next() {
+                    final T next = iterator.next();
+                    count++;
+                    return next;
+                }
+
+                @Override
+                public void remove() {
+                    iterator.remove();
+                }
+            };
+        };
+    }
+
+    static <T> Stream<T> measure(final Stream<T> stream, final MetricsRecorder recorder,
+            final GraphOperation operation, final long start) {
+        final Measurement measurement = new Measurement(recorder, operation, start);
+        return StreamSupport.stream(new CountingSpliterator<>(stream.spliterator(), measurement), stream.isParallel())
+                .onClose(() -> {
+                    try {
+                        stream.close();
+                    } finally {
+                        measurement.finish();
+                    }
+                });
+    }
+
+    private Instrumentation() {
+    }
+
+}
@@ -0,0 +1,328 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A {@link Dataset} decorator that records the number, duration and result
+ * sizes of the operations of any dataset with a {@link MetricsRecorder}.
+ * <p>
+ * While disabled with {@link #setEnabled(boolean)}, each operation only adds
+ * a check of a volatile flag to the call of the wrapped dataset. Graphs of
+ * the dataset are returned as {@link InstrumentedGraph}s recording to the
+ * same recorder, enabled if the dataset was when they were returned.
+ */
+public final class InstrumentedDataset implements Dataset {
+
+    private final Dataset dataset;
+    private final MetricsRecorder recorder;
+    private volatile boolean enabled = true;
+
+    /**
+     * Wraps a dataset.
+     *
+     * @param dataset
+     *            Dataset to measure
+     * @param recorder
+     *            Recorder of the measurements, e.g. an {@link OperationMetrics}
+     */
+    public InstrumentedDataset(final Dataset dataset, final MetricsRecorder recorder) {
+        this.dataset = Objects.requireNonNull(dataset);
+        this.recorder = Objects.requireNonNull(recorder);
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        if (!enabled) {
+            dataset.add(graphName, subject, predicate, object);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            dataset.add(graphName, subject, predicate, object);
+        } finally {
+            done(GraphOperation.ADD, start);
+        }
+    }
+
+    @Override
+    public void add(final Quad quad) {
+        if (!enabled) {
+            dataset.add(quad);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            dataset.add(quad);
+        } finally {
+            done(GraphOperation.ADD, start);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (!enabled) {
+            dataset.clear();
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            dataset.clear();
+        } finally {
+            done(GraphOperation.CLEAR, start);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        dataset.close();
+    }
+
+    @Override
+    public boolean contains(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            return dataset.contains(graphName, subject, predicate, object);
+        }
+        final long start = System.nanoTime();
+        try {
+            return dataset.contains(graphName, subject, predicate, object);
+        } finally {
+            done(GraphOperation.CONTAINS, start);
+        }
+    }
+
+    @Override
+    public boolean contains(final Quad quad) {
+        if (!enabled) {
+            return dataset.contains(quad);
+        }
+        final long start = System.nanoTime();
+        try {
+            return dataset.contains(quad);
+        } finally {
+            done(GraphOperation.CONTAINS, start);
+        }
+    }
+
+    private void done(final GraphOperation operation, final long start) {
+        recorder.record(operation, System.nanoTime() - start, -1);
+    }
+
+    @Override
+    public long count(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            return dataset.count(graphName, subject, predicate, object);
+        }
+        final long start = System.nanoTime();
+        try {
+            return dataset.count(graphName, subject, predicate, object);
+        } finally {
+            done(GraphOperation.COUNT, start);
+        }
+    }
+
+    @Override
+    public long estimateCount(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            return dataset.estimateCount(graphName, subject, predicate, object);
+        }
+        final long start = System.nanoTime();
+        try {
+            return dataset.estimateCount(graphName, subject, predicate, object);
+        } finally {
+            done(GraphOperation.ESTIMATE_COUNT, start);
+        }
+    }
+
+    /**
+     * Gets the wrapped dataset.
+     *
+     * @return The dataset being measured
+     */
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    @Override
+    public Graph getGraph() {
+        final boolean measure = enabled;
+        final long start = measure ? System.nanoTime() : 0;
+        final Graph graph;
+        try {
+            graph = dataset.getGraph();
+        } finally {
+            if (measure) {
+                done(GraphOperation.GET_GRAPH, start);
+            }
+        }
+        return wrap(graph, measure);
+    }
+
+    @Override
+    public Optional<Graph> getGraph(final BlankNodeOrIRI graphName) {
+        final boolean measure = enabled;
+        final long start = measure ? System.nanoTime() : 0;
+        final Optional<Graph> graph;
+        try {
+            graph = dataset.getGraph(graphName);
+        } finally {
+            if (measure) {
+                done(GraphOperation.GET_GRAPH, start);
+            }
+        }
+        return graph.map(g -> wrap(g, measure));
+    }
+
+    @Override
+    public Stream<BlankNodeOrIRI> getGraphNames() {
+        if (!enabled) {
+            return dataset.getGraphNames();
+        }
+        final long start = System.nanoTime();
+        try {
+            return dataset.getGraphNames();
+        } finally {
+            done(GraphOperation.GET_GRAPH, start);
+        }
+    }
+
+    /**
+     * Checks if operations are being recorded.
+     *
+     * @return <code>true</code> if operations are recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Iterable<Quad> iterate() throws ConcurrentModificationException, IllegalStateException {
+        if (!enabled) {
+            return dataset.iterate();
+        }
+        return Instrumentation.measure(dataset.iterate(), recorder, GraphOperation.ITERATE);
+    }
+
+    @Override
+    public Iterable<Quad> iterate(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) throws ConcurrentModificationException, IllegalStateException {
+        if (!enabled) {
+            return dataset.iterate(graphName, subject, predicate, object);
+        }
+        return Instrumentation.measure(dataset.iterate(graphName, subject, predicate, object), recorder,
+                GraphOperation.ITERATE);
+    }
+
+    @Override
+    public void remove(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject, final IRI predicate,
+            final RDFTerm object) {
+        if (!enabled) {
+            dataset.remove(graphName, subject, predicate, object);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            dataset.remove(graphName, subject, predicate, object);
+        } finally {
+            done(GraphOperation.REMOVE, start);
+        }
+    }
+
+    @Override
+    public void remove(final Quad quad) {
+        if (!enabled) {
+            dataset.remove(quad);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            dataset.remove(quad);
+        } finally {
+            done(GraphOperation.REMOVE, start);
+        }
+    }
+
+    /**
+     * Enables or disables recording of operations.
+     *
+     * @param enabled
+     *            <code>false</code> to pass operations straight to the
+     *            wrapped dataset
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long size() {
+        if (!enabled) {
+            return dataset.size();
+        }
+        final long start = System.nanoTime();
+        try {
+            return dataset.size();
+        } finally {
+            done(GraphOperation.SIZE, start);
+        }
+    }
+
+    @Override
+    public Stream<? extends Quad> stream() {
+        if (!enabled) {
+            return dataset.stream();
+        }
+        return Instrumentation.measure(dataset.stream(), recorder, GraphOperation.STREAM, System.nanoTime());
+    }
+
+    @Override
+    public Stream<? extends Quad> stream(final Optional<BlankNodeOrIRI> graphName, final BlankNodeOrIRI subject,
+            final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            return dataset.stream(graphName, subject, predicate, object);
+        }
+        return Instrumentation.measure(dataset.stream(graphName, subject, predicate, object), recorder,
+                GraphOperation.STREAM, System.nanoTime());
+    }
+
+    @Override
+    public String toString() {
+        return dataset.toString();
+    }
+
+    private Graph wrap(final Graph graph, final boolean enabled) {
+        final InstrumentedGraph instrumented = new InstrumentedGraph(graph, recorder);
+        instrumented.setEnabled(enabled);
+        return instrumented;
+    }
+
+}
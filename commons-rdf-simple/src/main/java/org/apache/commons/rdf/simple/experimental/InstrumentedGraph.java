@@ -0,0 +1,296 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.ConcurrentModificationException;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A {@link Graph} decorator that records the number, duration and result
+ * sizes of the operations of any graph with a {@link MetricsRecorder}.
+ * <p>
+ * While disabled with {@link #setEnabled(boolean)}, each operation only adds
+ * a check of a volatile flag to the call of the wrapped graph, so graphs can
+ * stay wrapped in production and be measured on demand.
+ */
+public final class InstrumentedGraph implements Graph {
+
+    private final Graph graph;
+    private final MetricsRecorder recorder;
+    private volatile boolean enabled = true;
+
+    /**
+     * Wraps a graph.
+     *
+     * @param graph
+     *            Graph to measure
+     * @param recorder
+     *            Recorder of the measurements, e.g. an {@link OperationMetrics}
+     */
+    public InstrumentedGraph(final Graph graph, final MetricsRecorder recorder) {
+        this.graph = Objects.requireNonNull(graph);
+        this.recorder = Objects.requireNonNull(recorder);
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            graph.add(subject, predicate, object);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            graph.add(subject, predicate, object);
+        } finally {
+            done(GraphOperation.ADD, start);
+        }
+    }
+
+    @Override
+    public void add(final Triple triple) {
+        if (!enabled) {
+            graph.add(triple);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            graph.add(triple);
+        } finally {
+            done(GraphOperation.ADD, start);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (!enabled) {
+            graph.clear();
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            graph.clear();
+        } finally {
+            done(GraphOperation.CLEAR, start);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        graph.close();
+    }
+
+    @Override
+    public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            return graph.contains(subject, predicate, object);
+        }
+        final long start = System.nanoTime();
+        try {
+            return graph.contains(subject, predicate, object);
+        } finally {
+            done(GraphOperation.CONTAINS, start);
+        }
+    }
+
+    @Override
+    public boolean contains(final Triple triple) {
+        if (!enabled) {
+            return graph.contains(triple);
+        }
+        final long start = System.nanoTime();
+        try {
+            return graph.contains(triple);
+        } finally {
+            done(GraphOperation.CONTAINS, start);
+        }
+    }
+
+    private void done(final GraphOperation operation, final long start) {
+        recorder.record(operation, System.nanoTime() - start, -1);
+    }
+
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            return graph.count(subject, predicate, object);
+        }
+        final long start = System.nanoTime();
+        try {
+            return graph.count(subject, predicate, object);
+        } finally {
+            done(GraphOperation.COUNT, start);
+        }
+    }
+
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            return graph.estimateCount(subject, predicate, object);
+        }
+        final long start = System.nanoTime();
+        try {
+            return graph.estimateCount(subject, predicate, object);
+        } finally {
+            done(GraphOperation.ESTIMATE_COUNT, start);
+        }
+    }
+
+    /**
+     * Gets the wrapped graph.
+     *
+     * @return The graph being measured
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Checks if operations are being recorded.
+     *
+     * @return <code>true</code> if operations are recorded
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Iterable<Triple> iterate() throws ConcurrentModificationException, IllegalStateException {
+        if (!enabled) {
+            return graph.iterate();
+        }
+        return Instrumentation.measure(graph.iterate(), recorder, GraphOperation.ITERATE);
+    }
+
+    @Override
+    public Iterable<Triple> iterate(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object)
+            throws ConcurrentModificationException, IllegalStateException {
+        if (!enabled) {
+            return graph.iterate(subject, predicate, object);
+        }
+        return Instrumentation.measure(graph.iterate(subject, predicate, object), recorder, GraphOperation.ITERATE);
+    }
+
+    @Override
+    public Stream<? extends RDFTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        if (!enabled) {
+            return graph.objects(subject, predicate);
+        }
+        return Instrumentation.measure(graph.objects(subject, predicate), recorder, GraphOperation.DISTINCT_TERMS,
+                System.nanoTime());
+    }
+
+    @Override
+    public Stream<? extends IRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        if (!enabled) {
+            return graph.predicates(subject, object);
+        }
+        return Instrumentation.measure(graph.predicates(subject, object), recorder, GraphOperation.DISTINCT_TERMS,
+                System.nanoTime());
+    }
+
+    @Override
+    public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            graph.remove(subject, predicate, object);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            graph.remove(subject, predicate, object);
+        } finally {
+            done(GraphOperation.REMOVE, start);
+        }
+    }
+
+    @Override
+    public void remove(final Triple triple) {
+        if (!enabled) {
+            graph.remove(triple);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            graph.remove(triple);
+        } finally {
+            done(GraphOperation.REMOVE, start);
+        }
+    }
+
+    /**
+     * Enables or disables recording of operations.
+     *
+     * @param enabled
+     *            <code>false</code> to pass operations straight to the
+     *            wrapped graph
+     */
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public long size() {
+        if (!enabled) {
+            return graph.size();
+        }
+        final long start = System.nanoTime();
+        try {
+            return graph.size();
+        } finally {
+            done(GraphOperation.SIZE, start);
+        }
+    }
+
+    @Override
+    public Stream<? extends Triple> stream() {
+        if (!enabled) {
+            return graph.stream();
+        }
+        return Instrumentation.measure(graph.stream(), recorder, GraphOperation.STREAM, System.nanoTime());
+    }
+
+    @Override
+    public Stream<? extends Triple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            return graph.stream(subject, predicate, object);
+        }
+        return Instrumentation.measure(graph.stream(subject, predicate, object), recorder, GraphOperation.STREAM,
+                System.nanoTime());
+    }
+
+    @Override
+    public Stream<? extends BlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        if (!enabled) {
+            return graph.subjects(predicate, object);
+        }
+        return Instrumentation.measure(graph.subjects(predicate, object), recorder, GraphOperation.DISTINCT_TERMS,
+                System.nanoTime());
+    }
+
+    @Override
+    public String toString() {
+        return graph.toString();
+    }
+
+}
@@ -0,0 +1,295 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.TripleLike;
+
+/**
+ * The join plan of a {@link BasicGraphPattern} over a {@link Source}.
+ * <p>
+ * Patterns are ordered greedily: the next pattern is the one sharing a
+ * variable with the patterns before it that has the lowest estimated cost,
+ * where each position bound by an earlier pattern divides the estimate by
+ * {@link #BOUND_SELECTIVITY}. A pattern is joined with a hash join if it
+ * matches at most {@link #HASH_JOIN_LIMIT} triples and fewer than the
+ * patterns before it, and otherwise with an index nested-loop join that
+ * looks it up once per solution.
+ * <p>
+ * Partial solutions are arrays of terms indexed like
+ * {@link BasicGraphPattern#getVariables()}, and are never modified once
+ * created.
+ */
+final class JoinPlan {
+
+    /**
+     * The triples a plan is evaluated against.
+     */
+    interface Source {
+
+        long estimate(BlankNodeOrIRI subject, IRI predicate, RDFTerm object);
+
+        Stream<? extends TripleLike> match(BlankNodeOrIRI subject, IRI predicate, RDFTerm object);
+
+    }
+
+    /**
+     * A pattern and how it is joined with the patterns before it.
+     */
+    private final class Step {
+
+        private final Object[] terms;
+        private final boolean[] joined;
+        private final boolean hash;
+        private volatile Map<List<RDFTerm>, List<TripleLike>> table;
+
+        private Step(final Object[] terms, final boolean[] joined, final boolean hash) {
+            this.terms = terms;
+            this.joined = joined;
+            this.hash = hash;
+        }
+
+        private RDFTerm[] bind(final RDFTerm[] row, final TripleLike triple) {
+            final RDFTerm[] matched = { triple.getSubject(), triple.getPredicate(), triple.getObject() };
+            final RDFTerm[] extended = row.clone();
+            for (int i = 0; i < 3; i++) {
+                if (terms[i] instanceof Integer) {
+                    final int var = (Integer) terms[i];
+                    if (extended[var] == null) {
+                        extended[var] = matched[i];
+                    } else if (!extended[var].equals(matched[i])) {
+                        return null;
+                    }
+                }
+            }
+            return extended;
+        }
+
+        private Stream<RDFTerm[]> extend(final RDFTerm[] row) {
+            if (hash) {
+                final List<TripleLike> bucket = table().get(key(row));
+                return bucket == null ? Stream.empty() : bucket.stream().map(t -> bind(row, t)).filter(Objects::nonNull);
+            }
+            final RDFTerm[] bound = new RDFTerm[3];
+            for (int i = 0; i < 3; i++) {
+                bound[i] = terms[i] instanceof RDFTerm ? (RDFTerm) terms[i]
+                        : joined[i] ? row[(Integer) terms[i]] : null;
+            }
+            if (bound[0] != null && !(bound[0] instanceof BlankNodeOrIRI)
+                    || bound[1] != null && !(bound[1] instanceof IRI)) {
+                // A variable bound to a term that can't be in this position
+                return Stream.empty();
+            }
+            return source.match((BlankNodeOrIRI) bound[0], (IRI) bound[1], bound[2]).map(t -> bind(row, t))
+                    .filter(Objects::nonNull);
+        }
+
+        private List<RDFTerm> key(final RDFTerm[] row) {
+            final List<RDFTerm> key = new ArrayList<>(3);
+            for (int i = 0; i < 3; i++) {
+                if (joined[i]) {
+                    key.add(row[(Integer) terms[i]]);
+                }
+            }
+            return key;
+        }
+
+        private List<RDFTerm> key(final TripleLike triple) {
+            final RDFTerm[] matched = { triple.getSubject(), triple.getPredicate(), triple.getObject() };
+            final List<RDFTerm> key = new ArrayList<>(3);
+            for (int i = 0; i < 3; i++) {
+                if (joined[i]) {
+                    key.add(matched[i]);
+                }
+            }
+            return key;
+        }
+
+        private Map<List<RDFTerm>, List<TripleLike>> table() {
+            Map<List<RDFTerm>, List<TripleLike>> t = table;
+            if (t == null) {
+                synchronized (this) {
+                    t = table;
+                    if (t == null) {
+                        final Map<List<RDFTerm>, List<TripleLike>> built = new HashMap<>();
+                        try (Stream<? extends TripleLike> matches = source.match(constant(0), constant(1),
+                                constant(2))) {
+                            matches.sequential()
+                                    .forEach(m -> built.computeIfAbsent(key(m), k -> new ArrayList<>()).add(m));
+                        }
+                        table = t = built;
+                    }
+                }
+            }
+            return t;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T extends RDFTerm> T constant(final int position) {
+            return terms[position] instanceof RDFTerm ? (T) terms[position] : null;
+        }
+
+    }
+
+    /**
+     * Patterns matching more triples than this are not hash joined.
+     */
+    static final long HASH_JOIN_LIMIT = 10_000;
+
+    /**
+     * The assumed reduction of the matches of a pattern for each position
+     * bound by an earlier pattern.
+     */
+    static final double BOUND_SELECTIVITY = 100;
+
+    static Source source(final Dataset dataset, final Optional<BlankNodeOrIRI> graphName) {
+        return new Source() {
+            @Override
+            public long estimate(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+                return dataset.estimateCount(graphName, subject, predicate, object);
+            }
+
+            @Override
+            public Stream<? extends TripleLike> match(final BlankNodeOrIRI subject, final IRI predicate,
+                    final RDFTerm object) {
+                return dataset.stream(graphName, subject, predicate, object);
+            }
+        };
+    }
+
+    static Source source(final Graph graph) {
+        return new Source() {
+            @Override
+            public long estimate(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+                return graph.estimateCount(subject, predicate, object);
+            }
+
+            @Override
+            public Stream<? extends TripleLike> match(final BlankNodeOrIRI subject, final IRI predicate,
+                    final RDFTerm object) {
+                return graph.stream(subject, predicate, object);
+            }
+        };
+    }
+
+    private final Source source;
+    private final List<Variable> variables;
+    private final boolean parallel;
+    /** Steps in join order, or null if a pattern has no matches. */
+    private final List<Step> steps;
+
+    JoinPlan(final Source source, final BasicGraphPattern pattern) {
+        this.source = source;
+        this.variables = pattern.getVariables();
+        this.parallel = pattern.isParallel();
+        this.steps = plan(pattern.getPatterns());
+    }
+
+    private List<Step> plan(final List<TriplePattern> patterns) {
+        final Map<TriplePattern, Long> estimates = new HashMap<>();
+        for (final TriplePattern p : patterns) {
+            final Object[] terms = p.terms();
+            final long estimate = source.estimate(term(terms[0], BlankNodeOrIRI.class), term(terms[1], IRI.class),
+                    term(terms[2], RDFTerm.class));
+            if (estimate == 0) {
+                return null;
+            }
+            estimates.put(p, estimate);
+        }
+        final List<TriplePattern> remaining = new ArrayList<>(patterns);
+        final Set<Variable> bound = new HashSet<>();
+        final List<Step> plan = new ArrayList<>(patterns.size());
+        double leftEstimate = 1;
+        while (!remaining.isEmpty()) {
+            TriplePattern best = null;
+            boolean bestConnected = false;
+            double bestCost = Double.MAX_VALUE;
+            for (final TriplePattern p : remaining) {
+                int joined = 0;
+                for (final Object term : p.terms()) {
+                    if (bound.contains(term)) {
+                        joined++;
+                    }
+                }
+                final boolean connected = joined > 0 || bound.isEmpty() || p.getVariables().isEmpty();
+                final double cost = estimates.get(p) / Math.pow(BOUND_SELECTIVITY, joined);
+                if (best == null || connected && !bestConnected || connected == bestConnected && cost < bestCost) {
+                    best = p;
+                    bestConnected = connected;
+                    bestCost = cost;
+                }
+            }
+            remaining.remove(best);
+
+            final Object[] terms = best.terms();
+            final boolean[] joined = new boolean[3];
+            boolean anyJoined = false;
+            for (int i = 0; i < 3; i++) {
+                if (terms[i] instanceof Variable) {
+                    joined[i] = bound.contains(terms[i]);
+                    anyJoined |= joined[i];
+                    terms[i] = variables.indexOf(terms[i]);
+                }
+            }
+            final long estimate = estimates.get(best);
+            final boolean hash = !plan.isEmpty() && estimate <= HASH_JOIN_LIMIT
+                    && (estimate < leftEstimate || !anyJoined);
+            plan.add(new Step(terms, joined, hash));
+            bound.addAll(best.getVariables());
+            leftEstimate = Math.max(1, leftEstimate * bestCost);
+        }
+        return plan;
+    }
+
+    Stream<Solution> solutions() {
+        if (steps == null) {
+            return Stream.empty();
+        }
+        final RDFTerm[] empty = new RDFTerm[variables.size()];
+        if (steps.isEmpty()) {
+            return Stream.of(new Solution(variables, empty));
+        }
+        Stream<RDFTerm[]> rows = steps.get(0).extend(empty);
+        if (parallel) {
+            rows = rows.parallel();
+        }
+        for (final Step step : steps.subList(1, steps.size())) {
+            rows = rows.flatMap(step::extend);
+        }
+        return rows.map(row -> new Solution(variables, row));
+    }
+
+    private static <T extends RDFTerm> T term(final Object term, final Class<T> type) {
+        return term instanceof Variable ? null : type.cast(term);
+    }
+
+}
@@ -0,0 +1,321 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.Year;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.Types;
+
+/**
+ * An index of triples ordered by the typed value of their literal objects,
+ * per predicate, answering range queries in <code>O(log n + k)</code>.
+ * <p>
+ * Only literals of the numeric and temporal XSD datatypes of {@link Types}
+ * are indexed. Values are ordered within these groups of datatypes:
+ * <ul>
+ * <li>All numeric datatypes, compared exactly as decimals, with the infinite
+ * <code>xsd:double</code> and <code>xsd:float</code> values below and above
+ * them all. NaN is not indexed.</li>
+ * <li><code>xsd:dateTime</code> and <code>xsd:dateTimeStamp</code>, compared
+ * as instants, taking values without a timezone to be in UTC.</li>
+ * <li><code>xsd:date</code>, ignoring timezones.</li>
+ * <li><code>xsd:time</code>, taking values without a timezone to be in
+ * UTC.</li>
+ * <li><code>xsd:gYear</code>, <code>xsd:gYearMonth</code> and
+ * <code>xsd:gMonthDay</code>, each on its own.</li>
+ * </ul>
+ * Literals with an invalid lexical form are not indexed.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class LiteralRangeIndex {
+
+    /**
+     * The groups of datatypes with comparable values.
+     */
+    private enum Kind {
+        NUMBER(NumericKey::of),
+        DATE_TIME(t -> {
+            final TemporalAccessor value = t.asTemporal();
+            return value.isSupported(ChronoField.OFFSET_SECONDS) ? OffsetDateTime.from(value).toInstant()
+                    : LocalDateTime.from(value).toInstant(ZoneOffset.UTC);
+        }),
+        DATE(t -> LocalDate.from(t.asTemporal())),
+        TIME(t -> {
+            final TemporalAccessor value = t.asTemporal();
+            return value.isSupported(ChronoField.OFFSET_SECONDS)
+                    ? OffsetTime.from(value).withOffsetSameInstant(ZoneOffset.UTC).toLocalTime()
+                    : LocalTime.from(value);
+        }),
+        YEAR(t -> Year.from(t.asTemporal())),
+        YEAR_MONTH(t -> YearMonth.from(t.asTemporal())),
+        MONTH_DAY(t -> MonthDay.from(t.asTemporal()));
+
+        private final Function<Literal, Comparable<?>> key;
+
+        Kind(final Function<Literal, Comparable<?>> key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * The exact value of a numeric literal, or an infinity.
+     * <p>
+     * Only used as a key of sorted maps, so it is not consistent with
+     * {@link Object#equals(Object)}.
+     */
+    private static final class NumericKey implements Comparable<NumericKey> {
+
+        /**
+         * Gets the key of a numeric literal, or null for NaN.
+         */
+        private static NumericKey of(final Literal literal) {
+            try {
+                return new NumericKey(0, literal.asDecimal());
+            } catch (final NumberFormatException e) {
+                // An infinite or NaN xsd:double or xsd:float, or invalid
+                final double value = literal.asDouble();
+                if (Double.isNaN(value)) {
+                    return null;
+                }
+                if (!Double.isInfinite(value)) {
+                    throw e;
+                }
+                return new NumericKey(value > 0 ? 1 : -1, null);
+            }
+        }
+
+        /**
+         * -1 or 1 for the infinities, 0 for a decimal value.
+         */
+        private final int infinity;
+        private final BigDecimal value;
+
+        private NumericKey(final int infinity, final BigDecimal value) {
+            this.infinity = infinity;
+            this.value = value;
+        }
+
+        @Override
+        public int compareTo(final NumericKey other) {
+            if (infinity != 0 || other.infinity != 0) {
+                return Integer.compare(infinity, other.infinity);
+            }
+            return value.compareTo(other.value);
+        }
+    }
+
+    private static final Map<String, Kind> KINDS = new HashMap<>();
+
+    static {
+        for (final Types type : new Types[] { Types.XSD_BYTE, Types.XSD_DECIMAL, Types.XSD_DOUBLE, Types.XSD_FLOAT,
+                Types.XSD_INT, Types.XSD_INTEGER, Types.XSD_LONG, Types.XSD_NEGATIVEINTEGER,
+                Types.XSD_NONNEGATIVEINTEGER, Types.XSD_NONPOSITIVEINTEGER, Types.XSD_POSITIVEINTEGER,
+                Types.XSD_SHORT, Types.XSD_UNSIGNEDBYTE, Types.XSD_UNSIGNEDINT, Types.XSD_UNSIGNEDLONG,
+                Types.XSD_UNSIGNEDSHORT }) {
+            KINDS.put(type.getIRIString(), Kind.NUMBER);
+        }
+        KINDS.put(Types.XSD_DATETIME.getIRIString(), Kind.DATE_TIME);
+        KINDS.put("http://www.w3.org/2001/XMLSchema#dateTimeStamp", Kind.DATE_TIME);
+        KINDS.put(Types.XSD_DATE.getIRIString(), Kind.DATE);
+        KINDS.put(Types.XSD_TIME.getIRIString(), Kind.TIME);
+        KINDS.put(Types.XSD_GYEAR.getIRIString(), Kind.YEAR);
+        KINDS.put(Types.XSD_GYEARMONTH.getIRIString(), Kind.YEAR_MONTH);
+        KINDS.put(Types.XSD_GMONTHDAY.getIRIString(), Kind.MONTH_DAY);
+    }
+
+    /**
+     * Checks if a term is a literal of an indexed datatype.
+     */
+    static boolean indexable(final RDFTerm term) {
+        return term instanceof Literal && kind((Literal) term) != null;
+    }
+
+    private static Kind kind(final Literal literal) {
+        return KINDS.get(literal.getDatatype().getIRIString());
+    }
+
+    /**
+     * Gets the ordered value of a literal, or null if it has none.
+     */
+    private static Comparable<?> key(final Kind kind, final Literal literal) {
+        try {
+            return kind.key.apply(literal);
+        } catch (final RuntimeException e) {
+            // NumberFormatException, ArithmeticException or DateTimeException
+            // of an invalid lexical form
+            return null;
+        }
+    }
+
+    private final Map<RDFTerm, Map<Kind, NavigableMap<Comparable<?>, Set<Triple>>>> index = new HashMap<>();
+
+    /**
+     * Adds a triple to the index, if its object is a literal with an ordered
+     * value.
+     *
+     * @param triple
+     *            Triple to index
+     * @return <code>true</code> if the triple was indexed
+     */
+    public boolean add(final Triple triple) {
+        if (!(triple.getObject() instanceof Literal)) {
+            return false;
+        }
+        final Literal literal = (Literal) triple.getObject();
+        final Kind kind = kind(literal);
+        if (kind == null) {
+            return false;
+        }
+        final Comparable<?> key = key(kind, literal);
+        if (key == null) {
+            return false;
+        }
+        return index.computeIfAbsent(triple.getPredicate(), p -> new EnumMap<>(Kind.class))
+                .computeIfAbsent(kind, k -> new TreeMap<>()).computeIfAbsent(key, k -> new HashSet<>()).add(triple);
+    }
+
+    /**
+     * Removes all triples from the index.
+     */
+    public void clear() {
+        index.clear();
+    }
+
+    /**
+     * Streams the indexed triples of a predicate whose literal object has a
+     * value within a range.
+     *
+     * @param predicate
+     *            The predicate of the triples
+     * @param lower
+     *            Lower bound, or null for no lower bound
+     * @param lowerInclusive
+     *            <code>true</code> if the lower bound is included
+     * @param upper
+     *            Upper bound, or null for no upper bound
+     * @param upperInclusive
+     *            <code>true</code> if the upper bound is included
+     * @return The matching triples, in ascending order of value
+     * @throws IllegalArgumentException
+     *             if both bounds are null, a bound has no ordered value, or
+     *             the bounds have incomparable values
+     */
+    public Stream<Triple> range(final IRI predicate, final Literal lower, final boolean lowerInclusive,
+            final Literal upper, final boolean upperInclusive) {
+        Objects.requireNonNull(predicate);
+        if (lower == null && upper == null) {
+            throw new IllegalArgumentException("At least one bound is required");
+        }
+        final Kind kind = kind(lower != null ? lower : upper);
+        if (kind == null || lower != null && upper != null && kind(upper) != kind) {
+            throw new IllegalArgumentException("Bounds are not comparable: " + lower + ", " + upper);
+        }
+        final Comparable<?> from = lower == null ? null : requireKey(kind, lower);
+        final Comparable<?> to = upper == null ? null : requireKey(kind, upper);
+        final NavigableMap<Comparable<?>, Set<Triple>> values = index
+                .getOrDefault(predicate, Collections.emptyMap()).get(kind);
+        if (values == null) {
+            return Stream.empty();
+        }
+        final NavigableMap<Comparable<?>, Set<Triple>> range;
+        if (from == null) {
+            range = values.headMap(to, upperInclusive);
+        } else if (to == null) {
+            range = values.tailMap(from, lowerInclusive);
+        } else if (compare(from, to) > 0) {
+            return Stream.empty();
+        } else {
+            range = values.subMap(from, lowerInclusive, to, upperInclusive);
+        }
+        return range.values().stream().flatMap(Set::stream);
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static int compare(final Comparable from, final Comparable to) {
+        return from.compareTo(to);
+    }
+
+    private static Comparable<?> requireKey(final Kind kind, final Literal literal) {
+        final Comparable<?> key = key(kind, literal);
+        if (key == null) {
+            throw new IllegalArgumentException("Not an ordered value: " + literal);
+        }
+        return key;
+    }
+
+    /**
+     * Removes a triple from the index.
+     *
+     * @param triple
+     *            Triple to remove
+     */
+    public void remove(final Triple triple) {
+        if (!(triple.getObject() instanceof Literal)) {
+            return;
+        }
+        final Literal literal = (Literal) triple.getObject();
+        final Kind kind = kind(literal);
+        final Map<Kind, NavigableMap<Comparable<?>, Set<Triple>>> kinds = index.get(triple.getPredicate());
+        if (kind == null || kinds == null || !kinds.containsKey(kind)) {
+            return;
+        }
+        final Comparable<?> key = key(kind, literal);
+        if (key == null) {
+            return;
+        }
+        final NavigableMap<Comparable<?>, Set<Triple>> values = kinds.get(kind);
+        final Set<Triple> triples = values.get(key);
+        if (triples != null && triples.remove(triple) && triples.isEmpty()) {
+            values.remove(key);
+            if (values.isEmpty()) {
+                kinds.remove(kind);
+                if (kinds.isEmpty()) {
+                    index.remove(triple.getPredicate());
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.text.BreakIterator;
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.Types;
+
+/**
+ * An inverted index from the words of literals to their triples, per
+ * predicate.
+ * <p>
+ * Literals of type <code>xsd:string</code> and <code>rdf:langString</code>
+ * are split into words with a {@link BreakIterator} for the locale of their
+ * language tag, keeping words with at least one letter or digit. Each word is
+ * normalized to NFKC and lower-cased in that locale, so that for instance
+ * <code>"Istanbul"@tr</code> is found by the token <code>ıstanbul</code>.
+ * Queries are normalized in the locale of their language range, or
+ * {@link Locale#ROOT} without one.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class LiteralTextIndex {
+
+    private static final String ANY_LANGUAGE = "*";
+
+    /**
+     * Checks if a term is a literal that is indexed.
+     */
+    static boolean indexable(final RDFTerm term) {
+        if (!(term instanceof Literal)) {
+            return false;
+        }
+        final IRI datatype = ((Literal) term).getDatatype();
+        return Types.XSD_STRING.equals(datatype) || Types.RDF_LANGSTRING.equals(datatype);
+    }
+
+    private static boolean matchesLanguage(final Triple triple, final String languageRange) {
+        final Optional<String> tag = ((Literal) triple.getObject()).getLanguageTag();
+        if (!tag.isPresent()) {
+            return false;
+        }
+        final String lowerTag = tag.get().toLowerCase(Locale.ROOT);
+        return lowerTag.equals(languageRange) || lowerTag.startsWith(languageRange + "-");
+    }
+
+    private static String normalize(final String word, final Locale locale) {
+        return Normalizer.normalize(word, Normalizer.Form.NFKC).toLowerCase(locale);
+    }
+
+    /**
+     * Splits a text into normalized tokens.
+     *
+     * @param text
+     *            Text to split
+     * @param languageTag
+     *            Language of the text, or null
+     * @return The distinct tokens of the text
+     */
+    public static Set<String> tokens(final String text, final String languageTag) {
+        final Locale locale = languageTag == null ? Locale.ROOT : Locale.forLanguageTag(languageTag);
+        final BreakIterator words = BreakIterator.getWordInstance(locale);
+        words.setText(text);
+        final Set<String> tokens = new HashSet<>();
+        int start = words.first();
+        for (int end = words.next(); end != BreakIterator.DONE; start = end, end = words.next()) {
+            for (int i = start; i < end; i = text.offsetByCodePoints(i, 1)) {
+                if (Character.isLetterOrDigit(text.codePointAt(i))) {
+                    tokens.add(normalize(text.substring(start, end), locale));
+                    break;
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private final Map<RDFTerm, NavigableMap<String, Set<Triple>>> index = new HashMap<>();
+
+    /**
+     * Adds a triple to the index, if its object is a string literal.
+     *
+     * @param triple
+     *            Triple to index
+     * @return <code>true</code> if the triple was indexed
+     */
+    public boolean add(final Triple triple) {
+        if (!indexable(triple.getObject())) {
+            return false;
+        }
+        final Literal literal = (Literal) triple.getObject();
+        final Set<String> tokens = tokens(literal.getLexicalForm(), literal.getLanguageTag().orElse(null));
+        if (tokens.isEmpty()) {
+            return false;
+        }
+        final NavigableMap<String, Set<Triple>> postings = index.computeIfAbsent(triple.getPredicate(),
+                p -> new TreeMap<>());
+        for (final String token : tokens) {
+            postings.computeIfAbsent(token, t -> new HashSet<>()).add(triple);
+        }
+        return true;
+    }
+
+    /**
+     * Removes all triples from the index.
+     */
+    public void clear() {
+        index.clear();
+    }
+
+    private Stream<Triple> filter(final Stream<Triple> triples, final String languageRange) {
+        if (languageRange == null || languageRange.equals(ANY_LANGUAGE)) {
+            return triples;
+        }
+        final String range = languageRange.toLowerCase(Locale.ROOT);
+        return triples.filter(t -> matchesLanguage(t, range));
+    }
+
+    private Locale locale(final String languageRange) {
+        return languageRange == null || languageRange.equals(ANY_LANGUAGE) ? Locale.ROOT
+                : Locale.forLanguageTag(languageRange);
+    }
+
+    private Collection<NavigableMap<String, Set<Triple>>> postings(final IRI predicate) {
+        if (predicate == null) {
+            return index.values();
+        }
+        final NavigableMap<String, Set<Triple>> postings = index.get(predicate);
+        return postings == null ? Collections.emptyList() : Collections.singletonList(postings);
+    }
+
+    /**
+     * Streams the indexed triples whose literal object contains a token
+     * starting with a prefix.
+     *
+     * @param predicate
+     *            The predicate of the triples, or null for any predicate
+     * @param prefix
+     *            Prefix of a token
+     * @param languageRange
+     *            A basic language range, or null or <code>*</code> for any
+     *            language or none
+     * @return The matching triples
+     * @see TextIndexedGraph#searchPrefix(IRI, String, String)
+     */
+    public Stream<Triple> prefix(final IRI predicate, final String prefix, final String languageRange) {
+        final String from = normalize(prefix, locale(languageRange));
+        final Stream<Triple> triples = postings(predicate).stream()
+                .flatMap(p -> (from.isEmpty() ? p : p.subMap(from, true, from + Character.MAX_VALUE, false))
+                        .values().stream())
+                .flatMap(Set::stream).distinct();
+        return filter(triples, languageRange);
+    }
+
+    /**
+     * Removes a triple from the index.
+     *
+     * @param triple
+     *            Triple to remove
+     */
+    public void remove(final Triple triple) {
+        final NavigableMap<String, Set<Triple>> postings = index.get(triple.getPredicate());
+        if (postings == null || !indexable(triple.getObject())) {
+            return;
+        }
+        final Literal literal = (Literal) triple.getObject();
+        for (final String token : tokens(literal.getLexicalForm(), literal.getLanguageTag().orElse(null))) {
+            final Set<Triple> triples = postings.get(token);
+            if (triples != null && triples.remove(triple) && triples.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+        if (postings.isEmpty()) {
+            index.remove(triple.getPredicate());
+        }
+    }
+
+    /**
+     * Streams the indexed triples whose literal object contains a token.
+     *
+     * @param predicate
+     *            The predicate of the triples, or null for any predicate
+     * @param token
+     *            The token
+     * @param languageRange
+     *            A basic language range, or null or <code>*</code> for any
+     *            language or none
+     * @return The matching triples
+     * @see TextIndexedGraph#searchToken(IRI, String, String)
+     */
+    public Stream<Triple> token(final IRI predicate, final String token, final String languageRange) {
+        final String normalized = normalize(token, locale(languageRange));
+        final Stream<Triple> triples = postings(predicate).stream()
+                .map(p -> p.getOrDefault(normalized, Collections.emptySet())).flatMap(Set::stream);
+        return filter(triples, languageRange);
+    }
+
+}
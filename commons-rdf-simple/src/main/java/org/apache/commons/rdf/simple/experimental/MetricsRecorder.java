@@ -0,0 +1,50 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+/**
+ * Receives the measurements of an {@link InstrumentedGraph} or
+ * {@link InstrumentedDataset}.
+ * <p>
+ * This is the service provider interface for connecting the decorators to a
+ * metrics library; {@link OperationMetrics} is a dependency-free
+ * implementation. Implementations must be thread-safe, and should be fast, as
+ * they are called on every operation.
+ */
+public interface MetricsRecorder {
+
+    /**
+     * Records a completed operation.
+     * <p>
+     * The duration of {@link GraphOperation#STREAM} and
+     * {@link GraphOperation#ITERATE} is from the call until the stream or
+     * iterator is exhausted or closed, including the time spent by the caller
+     * consuming it.
+     *
+     * @param operation
+     *            The operation
+     * @param nanos
+     *            Duration of the operation, in nanoseconds
+     * @param resultSize
+     *            Number of triples or quads returned by
+     *            {@link GraphOperation#STREAM} and
+     *            {@link GraphOperation#ITERATE}, or -1 for other operations
+     */
+    void record(GraphOperation operation, long nanos, long resultSize);
+
+}
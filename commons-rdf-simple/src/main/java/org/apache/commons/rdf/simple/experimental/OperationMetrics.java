@@ -0,0 +1,459 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * A dependency-free {@link MetricsRecorder} keeping call counts, latency and
+ * result size histograms per {@link GraphOperation}, and a log of the most
+ * recent slow calls.
+ * <p>
+ * Histograms have power of two buckets: bucket <code>i</code> counts values
+ * <code>v</code> with <code>2<sup>i-1</sup> &lt;= v &lt; 2<sup>i</sup></code>,
+ * and bucket 0 counts zeros. Recording is lock-free except for slow calls.
+ * <p>
+ * Slow calls are kept in memory, and can also be passed to a listener set with
+ * {@link #setSlowCallListener(Consumer)}, e.g. to log them.
+ * <p>
+ * The metrics can be exposed over JMX with {@link #registerMBean(ObjectName)}.
+ */
+public final class OperationMetrics implements MetricsRecorder, OperationMetricsMBean {
+
+    /**
+     * An operation that took at least the slow call threshold.
+     */
+    public static final class SlowCall {
+
+        private final GraphOperation operation;
+        private final long nanos;
+        private final long resultSize;
+        private final Instant timestamp;
+        private final String threadName;
+
+        private SlowCall(final GraphOperation operation, final long nanos, final long resultSize,
+                final Instant timestamp, final String threadName) {
+            this.operation = operation;
+            this.nanos = nanos;
+            this.resultSize = resultSize;
+            this.timestamp = timestamp;
+            this.threadName = threadName;
+        }
+
+        /**
+         * Gets the duration of the call.
+         *
+         * @return Duration of the call
+         */
+        public Duration getDuration() {
+            return Duration.ofNanos(nanos);
+        }
+
+        /**
+         * Gets the operation that was slow.
+         *
+         * @return The operation
+         */
+        public GraphOperation getOperation() {
+            return operation;
+        }
+
+        /**
+         * Gets the number of triples or quads returned.
+         *
+         * @return Result size, or -1 if the operation does not return triples
+         *         or quads
+         */
+        public long getResultSize() {
+            return resultSize;
+        }
+
+        /**
+         * Gets the name of the thread that completed the call.
+         *
+         * @return Thread name
+         */
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * Gets the time at which the call completed.
+         *
+         * @return Completion time
+         */
+        public Instant getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return timestamp + " " + operation + " " + nanos / 1_000_000 + " ms"
+                    + (resultSize < 0 ? "" : " " + resultSize + " results") + " [" + threadName + "]";
+        }
+
+    }
+
+    /**
+     * Measurements of one operation.
+     */
+    private static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicLongArray latency = new AtomicLongArray(BUCKETS);
+        private final AtomicLongArray resultSizes = new AtomicLongArray(BUCKETS);
+
+        private void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+            for (int i = 0; i < BUCKETS; i++) {
+                latency.set(i, 0);
+                resultSizes.set(i, 0);
+            }
+        }
+    }
+
+    private static final int BUCKETS = 65;
+
+    /**
+     * Default threshold from which calls are logged as slow: 1 second.
+     */
+    public static final Duration DEFAULT_SLOW_CALL_THRESHOLD = Duration.ofSeconds(1);
+
+    /**
+     * Number of slow calls kept by default.
+     */
+    public static final int DEFAULT_SLOW_CALL_LOG_SIZE = 100;
+
+    private static int bucket(final long value) {
+        return value <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    private static long[] snapshot(final AtomicLongArray array) {
+        final long[] values = new long[array.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = array.get(i);
+        }
+        return values;
+    }
+
+    private final Map<GraphOperation, Stats> stats = new EnumMap<>(GraphOperation.class);
+    private final int slowCallLogSize;
+    private final ArrayDeque<SlowCall> slowCalls;
+    private volatile long slowCallThresholdNanos = DEFAULT_SLOW_CALL_THRESHOLD.toNanos();
+    private volatile Consumer<? super SlowCall> slowCallListener;
+    private ObjectName registeredName;
+
+    /**
+     * Creates metrics keeping the {@value #DEFAULT_SLOW_CALL_LOG_SIZE} most
+     * recent slow calls.
+     */
+    public OperationMetrics() {
+        this(DEFAULT_SLOW_CALL_LOG_SIZE);
+    }
+
+    /**
+     * Creates metrics keeping a given number of slow calls.
+     *
+     * @param slowCallLogSize
+     *            Number of most recent slow calls to keep, or 0 to keep none
+     * @throws IllegalArgumentException
+     *             if slowCallLogSize is negative
+     */
+    public OperationMetrics(final int slowCallLogSize) {
+        if (slowCallLogSize < 0) {
+            throw new IllegalArgumentException("slowCallLogSize must not be negative: " + slowCallLogSize);
+        }
+        this.slowCallLogSize = slowCallLogSize;
+        this.slowCalls = new ArrayDeque<>(Math.min(slowCallLogSize, DEFAULT_SLOW_CALL_LOG_SIZE));
+        for (final GraphOperation operation : GraphOperation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+
+    /**
+     * Gets the number of recorded calls of an operation.
+     *
+     * @param operation
+     *            The operation
+     * @return Number of calls
+     */
+    public long getCount(final GraphOperation operation) {
+        return stats.get(operation).count.sum();
+    }
+
+    /**
+     * Gets the latency histogram of an operation.
+     *
+     * @param operation
+     *            The operation
+     * @return Number of calls in each power of two bucket of nanoseconds
+     */
+    public long[] getLatencyHistogram(final GraphOperation operation) {
+        return snapshot(stats.get(operation).latency);
+    }
+
+    /**
+     * Gets the longest recorded duration of an operation.
+     *
+     * @param operation
+     *            The operation
+     * @return Longest duration, in nanoseconds
+     */
+    public long getMaxNanos(final GraphOperation operation) {
+        return stats.get(operation).maxNanos.get();
+    }
+
+    /**
+     * Estimates a percentile of the duration of an operation from its latency
+     * histogram.
+     * <p>
+     * The estimate is the upper bound of the bucket containing the percentile,
+     * so it is at most twice the actual value.
+     *
+     * @param operation
+     *            The operation
+     * @param percentile
+     *            Percentile between 0 and 100
+     * @return Estimated duration in nanoseconds, or 0 if the operation has not
+     *         been recorded
+     * @throws IllegalArgumentException
+     *             if the percentile is not between 0 and 100
+     */
+    public long getPercentileNanos(final GraphOperation operation, final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        final long[] histogram = getLatencyHistogram(operation);
+        long total = 0;
+        for (final long count : histogram) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i];
+            if (seen >= rank) {
+                return i == 0 ? 0 : i == 64 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public String[] getRecentSlowCalls() {
+        return getSlowCalls().stream().map(SlowCall::toString).toArray(String[]::new);
+    }
+
+    /**
+     * Gets the result size histogram of {@link GraphOperation#STREAM} or
+     * {@link GraphOperation#ITERATE}.
+     *
+     * @param operation
+     *            The operation
+     * @return Number of calls in each power of two bucket of result sizes
+     */
+    public long[] getResultSizeHistogram(final GraphOperation operation) {
+        return snapshot(stats.get(operation).resultSizes);
+    }
+
+    /**
+     * Gets the most recent slow calls.
+     *
+     * @return Slow calls, oldest first
+     */
+    public List<SlowCall> getSlowCalls() {
+        synchronized (slowCalls) {
+            return Collections.unmodifiableList(new ArrayList<>(slowCalls));
+        }
+    }
+
+    /**
+     * Gets the threshold from which calls are logged as slow.
+     *
+     * @return Slow call threshold
+     */
+    public Duration getSlowCallThreshold() {
+        return Duration.ofNanos(slowCallThresholdNanos);
+    }
+
+    @Override
+    public long getSlowCallThresholdMillis() {
+        return getSlowCallThreshold().toMillis();
+    }
+
+    @Override
+    public String[] getSummary() {
+        final List<String> summary = new ArrayList<>();
+        for (final GraphOperation operation : GraphOperation.values()) {
+            final Stats s = stats.get(operation);
+            final long count = s.count.sum();
+            if (count > 0) {
+                summary.add(operation + " count=" + count + " meanNanos=" + s.totalNanos.sum() / count
+                        + " p50Nanos<=" + getPercentileNanos(operation, 50) + " p99Nanos<="
+                        + getPercentileNanos(operation, 99) + " maxNanos=" + s.maxNanos.get());
+            }
+        }
+        return summary.toArray(new String[0]);
+    }
+
+    /**
+     * Gets the total recorded duration of an operation.
+     *
+     * @param operation
+     *            The operation
+     * @return Total duration, in nanoseconds
+     */
+    public long getTotalNanos(final GraphOperation operation) {
+        return stats.get(operation).totalNanos.sum();
+    }
+
+    @Override
+    public void record(final GraphOperation operation, final long nanos, final long resultSize) {
+        final Stats s = stats.get(operation);
+        s.count.increment();
+        s.totalNanos.add(nanos);
+        s.maxNanos.accumulate(nanos);
+        s.latency.incrementAndGet(bucket(nanos));
+        if (resultSize >= 0) {
+            s.resultSizes.incrementAndGet(bucket(resultSize));
+        }
+        final Consumer<? super SlowCall> listener = slowCallListener;
+        if (nanos >= slowCallThresholdNanos && (slowCallLogSize > 0 || listener != null)) {
+            final SlowCall call = new SlowCall(operation, nanos, resultSize, Instant.now(),
+                    Thread.currentThread().getName());
+            if (slowCallLogSize > 0) {
+                synchronized (slowCalls) {
+                    if (slowCalls.size() == slowCallLogSize) {
+                        slowCalls.removeFirst();
+                    }
+                    slowCalls.addLast(call);
+                }
+            }
+            if (listener != null) {
+                listener.accept(call);
+            }
+        }
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server.
+     *
+     * @param name
+     *            Name to register under, e.g.
+     *            <code>org.apache.commons.rdf:type=OperationMetrics,name=myGraph</code>
+     * @throws JMException
+     *             if the metrics could not be registered, e.g. because the
+     *             name is already in use
+     * @throws IllegalStateException
+     *             if these metrics are already registered
+     */
+    public synchronized void registerMBean(final ObjectName name) throws JMException {
+        Objects.requireNonNull(name);
+        if (registeredName != null) {
+            throw new IllegalStateException("Already registered as " + registeredName);
+        }
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+        registeredName = name;
+    }
+
+    @Override
+    public void reset() {
+        for (final Stats s : stats.values()) {
+            s.reset();
+        }
+        synchronized (slowCalls) {
+            slowCalls.clear();
+        }
+    }
+
+    /**
+     * Sets a listener called with each slow call, e.g. to pass it to a
+     * logger.
+     * <p>
+     * The listener is called by the thread completing the slow call, after
+     * the call has been added to the slow call log, and any exception it
+     * throws is thrown to the caller of the measured operation.
+     *
+     * @param listener
+     *            Listener of slow calls, or <code>null</code> for none
+     */
+    public void setSlowCallListener(final Consumer<? super SlowCall> listener) {
+        slowCallListener = listener;
+    }
+
+    /**
+     * Sets the threshold from which calls are logged as slow.
+     *
+     * @param threshold
+     *            Slow call threshold
+     * @throws IllegalArgumentException
+     *             if the threshold is negative
+     */
+    public void setSlowCallThreshold(final Duration threshold) {
+        if (threshold.isNegative()) {
+            throw new IllegalArgumentException("threshold must not be negative: " + threshold);
+        }
+        slowCallThresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    public void setSlowCallThresholdMillis(final long millis) {
+        setSlowCallThreshold(Duration.ofMillis(millis));
+    }
+
+    @Override
+    public String toString() {
+        return String.join("\n", getSummary());
+    }
+
+    /**
+     * Unregisters these metrics from the platform MBean server, if registered.
+     *
+     * @throws JMException
+     *             if the metrics could not be unregistered
+     */
+    public synchronized void unregisterMBean() throws JMException {
+        if (registeredName != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+            registeredName = null;
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+/**
+ * JMX management interface of {@link OperationMetrics}.
+ *
+ * @see OperationMetrics#registerMBean(javax.management.ObjectName)
+ */
+public interface OperationMetricsMBean {
+
+    /**
+     * Gets the most recent slow calls, oldest first.
+     *
+     * @return One line per slow call
+     */
+    String[] getRecentSlowCalls();
+
+    /**
+     * Gets the threshold from which calls are logged as slow.
+     *
+     * @return Threshold in milliseconds
+     */
+    long getSlowCallThresholdMillis();
+
+    /**
+     * Gets the count, total, maximum and median duration of each operation
+     * that has been recorded.
+     *
+     * @return One line per operation
+     */
+    String[] getSummary();
+
+    /**
+     * Discards all recorded measurements and slow calls.
+     */
+    void reset();
+
+    /**
+     * Sets the threshold from which calls are logged as slow.
+     *
+     * @param millis
+     *            Threshold in milliseconds
+     */
+    void setSlowCallThresholdMillis(long millis);
+
+}
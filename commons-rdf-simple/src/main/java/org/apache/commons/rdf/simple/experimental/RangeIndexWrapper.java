@@ -0,0 +1,188 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * Adds a {@link LiteralRangeIndex} to any {@link Graph}.
+ * <p>
+ * The index is built from the triples of the graph when it is wrapped, and
+ * is kept up to date by the changes made through this wrapper. Changes made
+ * directly to the wrapped graph are not seen by
+ * {@link #streamRange(IRI, Literal, boolean, Literal, boolean)}.
+ * <p>
+ * Like {@link LiteralRangeIndex}, this class is not thread-safe.
+ */
+public final class RangeIndexWrapper implements RangeIndexedGraph {
+
+    private final Graph graph;
+    private final LiteralRangeIndex index = new LiteralRangeIndex();
+
+    /**
+     * Wraps a graph, indexing its current triples.
+     *
+     * @param graph
+     *            Graph to index
+     */
+    public RangeIndexWrapper(final Graph graph) {
+        this.graph = Objects.requireNonNull(graph);
+        try (Stream<? extends Triple> triples = graph.stream()) {
+            triples.sequential().forEach(index::add);
+        }
+    }
+
+    @Override
+    public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        graph.add(subject, predicate, object);
+        if (LiteralRangeIndex.indexable(object)) {
+            // index the triple as kept by the graph
+            try (Stream<? extends Triple> added = graph.stream(subject, predicate, object)) {
+                added.findFirst().ifPresent(index::add);
+            }
+        }
+    }
+
+    @Override
+    public void add(final Triple triple) {
+        graph.add(triple);
+        index.add(triple);
+    }
+
+    @Override
+    public void clear() {
+        graph.clear();
+        index.clear();
+    }
+
+    @Override
+    public void close() throws Exception {
+        graph.close();
+    }
+
+    @Override
+    public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return graph.contains(subject, predicate, object);
+    }
+
+    @Override
+    public boolean contains(final Triple triple) {
+        return graph.contains(triple);
+    }
+
+    @Override
+    public long count(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return graph.count(subject, predicate, object);
+    }
+
+    @Override
+    public long estimateCount(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return graph.estimateCount(subject, predicate, object);
+    }
+
+    /**
+     * Gets the wrapped graph.
+     *
+     * @return The indexed graph
+     */
+    public Graph getGraph() {
+        return graph;
+    }
+
+    @Override
+    public Stream<? extends RDFTerm> objects(final BlankNodeOrIRI subject, final IRI predicate) {
+        return graph.objects(subject, predicate);
+    }
+
+    @Override
+    public Stream<? extends IRI> predicates(final BlankNodeOrIRI subject, final RDFTerm object) {
+        return graph.predicates(subject, object);
+    }
+
+    @Override
+    public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        final List<Triple> indexed;
+        if (object != null && !LiteralRangeIndex.indexable(object)) {
+            indexed = null;
+        } else {
+            try (Stream<? extends Triple> matches = graph.stream(subject, predicate, object)) {
+                indexed = matches.filter(t -> LiteralRangeIndex.indexable(t.getObject()))
+                        .collect(Collectors.toList());
+            }
+        }
+        graph.remove(subject, predicate, object);
+        if (indexed != null) {
+            indexed.forEach(index::remove);
+        }
+    }
+
+    @Override
+    public void remove(final Triple triple) {
+        graph.remove(triple);
+        index.remove(triple);
+    }
+
+    @Override
+    public long size() {
+        return graph.size();
+    }
+
+    @Override
+    public Stream<? extends Triple> stream() {
+        return graph.stream();
+    }
+
+    @Override
+    public Stream<? extends Triple> stream(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+        return graph.stream(subject, predicate, object);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws ConcurrentModificationException
+     *             if the graph is modified while the stream is consumed
+     */
+    @Override
+    public Stream<? extends Triple> streamRange(final IRI predicate, final Literal lower,
+            final boolean lowerInclusive, final Literal upper, final boolean upperInclusive) {
+        return index.range(predicate, lower, lowerInclusive, upper, upperInclusive);
+    }
+
+    @Override
+    public Stream<? extends BlankNodeOrIRI> subjects(final IRI predicate, final RDFTerm object) {
+        return graph.subjects(predicate, object);
+    }
+
+    @Override
+    public String toString() {
+        return graph.toString();
+    }
+
+}
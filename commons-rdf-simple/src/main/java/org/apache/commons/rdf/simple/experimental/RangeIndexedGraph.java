@@ -0,0 +1,80 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A {@link Graph} that can find triples by a range of the typed values of
+ * their literal objects, without parsing the literals of every triple of the
+ * predicate.
+ * <p>
+ * The graphs of {@link org.apache.commons.rdf.simple.SimpleRDF} implement
+ * this interface natively; other graphs can be wrapped in a
+ * {@link RangeIndexWrapper}. Values are ordered as described by
+ * {@link LiteralRangeIndex}.
+ */
+public interface RangeIndexedGraph extends Graph {
+
+    /**
+     * Streams the triples of a predicate whose literal object has a value
+     * between two bounds, inclusive.
+     *
+     * @param predicate
+     *            The predicate of the triples
+     * @param lower
+     *            Lower bound, or null for no lower bound
+     * @param upper
+     *            Upper bound, or null for no upper bound
+     * @return The matching triples, in ascending order of value
+     * @throws IllegalArgumentException
+     *             if both bounds are null, a bound has no ordered value, or
+     *             the bounds have incomparable values
+     */
+    default Stream<? extends Triple> streamRange(final IRI predicate, final Literal lower, final Literal upper) {
+        return streamRange(predicate, lower, true, upper, true);
+    }
+
+    /**
+     * Streams the triples of a predicate whose literal object has a value
+     * within a range.
+     *
+     * @param predicate
+     *            The predicate of the triples
+     * @param lower
+     *            Lower bound, or null for no lower bound
+     * @param lowerInclusive
+     *            <code>true</code> if the lower bound is included
+     * @param upper
+     *            Upper bound, or null for no upper bound
+     * @param upperInclusive
+     *            <code>true</code> if the upper bound is included
+     * @return The matching triples, in ascending order of value
+     * @throws IllegalArgumentException
+     *             if both bounds are null, a bound has no ordered value, or
+     *             the bounds have incomparable values
+     */
+    Stream<? extends Triple> streamRange(IRI predicate, Literal lower, boolean lowerInclusive, Literal upper,
+            boolean upperInclusive);
+
+}
@@ -0,0 +1,113 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A solution of a {@link BasicGraphPattern}: the terms bound to each of its
+ * variables.
+ */
+public final class Solution {
+
+    private final List<Variable> variables;
+    private final RDFTerm[] values;
+
+    /**
+     * Creates a solution.
+     *
+     * @param variables
+     *            Variables of the pattern, as from
+     *            {@link BasicGraphPattern#getVariables()}
+     * @param values
+     *            Terms bound to the variables, in the same order
+     */
+    public Solution(final List<Variable> variables, final RDFTerm[] values) {
+        if (variables.size() != values.length) {
+            throw new IllegalArgumentException("Expected " + variables.size() + " values, got " + values.length);
+        }
+        this.variables = variables;
+        this.values = values;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!(obj instanceof Solution)) {
+            return false;
+        }
+        final Solution other = (Solution) obj;
+        return variables.equals(other.variables) && Arrays.equals(values, other.values);
+    }
+
+    /**
+     * Gets the term bound to a variable.
+     *
+     * @param name
+     *            Name of the variable
+     * @return The bound term, or {@link Optional#empty()} if the pattern has
+     *         no such variable
+     */
+    public Optional<RDFTerm> get(final String name) {
+        return get(new Variable(name));
+    }
+
+    /**
+     * Gets the term bound to a variable.
+     *
+     * @param variable
+     *            The variable
+     * @return The bound term, or {@link Optional#empty()} if the pattern has
+     *         no such variable
+     */
+    public Optional<RDFTerm> get(final Variable variable) {
+        final int index = variables.indexOf(variable);
+        return index < 0 ? Optional.empty() : Optional.ofNullable(values[index]);
+    }
+
+    /**
+     * Gets the variables of the solution.
+     *
+     * @return Variables in order of first appearance in the pattern
+     */
+    public List<Variable> getVariables() {
+        return Collections.unmodifiableList(variables);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(variables.get(i)).append('=').append(values[i] == null ? "" : values[i].ntriplesString());
+        }
+        return sb.append('}').toString();
+    }
+
+}
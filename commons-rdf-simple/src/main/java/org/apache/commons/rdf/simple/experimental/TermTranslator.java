@@ -0,0 +1,124 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * Translates {@link org.apache.commons.rdf.api.IRI}s and
+ * {@link org.apache.commons.rdf.api.Literal}s of one implementation to the
+ * terms of another, e.g. caching the results.
+ * <p>
+ * The default translator, shared by all implementations, is used when
+ * importing foreign terms into <code>SimpleRDF</code> graphs and datasets,
+ * and by <code>RDF4J.asValue</code> and <code>JenaRDF.asJenaNode</code>.
+ * Initially it converts each term anew; install a {@link CachingTermTranslator} with
+ * {@link #setDefault(TermTranslator)} to share translations between them in
+ * pipelines that pass the same terms between several implementations.
+ * <p>
+ * Translations are shared between calls with the same target, so the target
+ * must identify both the type of the translated terms and the configuration
+ * of the factory creating them. Translated terms are shared by every caller,
+ * so they must be immutable.
+ * <p>
+ * Blank nodes are never passed to a translator, as their translation depends
+ * on the factory or graph they are added to.
+ */
+public interface TermTranslator {
+
+    /**
+     * Gets the default translator.
+     *
+     * @return The translator set with {@link #setDefault(TermTranslator)}, or
+     *         {@link #none()}
+     */
+    static TermTranslator getDefault() {
+        return TermTranslators.defaultTranslator;
+    }
+
+    /**
+     * Gets a translator that converts each term anew.
+     *
+     * @return A translator that just applies the converter
+     */
+    static TermTranslator none() {
+        return TermTranslators.NONE;
+    }
+
+    /**
+     * Sets the default translator.
+     *
+     * @param translator
+     *            Translator to use, or {@link #none()} to stop caching
+     */
+    static void setDefault(final TermTranslator translator) {
+        TermTranslators.defaultTranslator = Objects.requireNonNull(translator);
+    }
+
+    /**
+     * Translates an IRI or literal for a target identified by its type.
+     * <p>
+     * The default implementation uses the type as the target, for
+     * implementations whose translation does not depend on the configuration
+     * of their factory.
+     *
+     * @param <T>
+     *            Type of the translated term
+     * @param type
+     *            Type of the translated term, identifying the target
+     *            implementation, e.g. the Jena <code>Node</code> class
+     * @param term
+     *            IRI or literal to translate
+     * @param converter
+     *            Converts the term to the target implementation
+     * @return The translated term
+     * @see #translate(Class, Object, RDFTerm, Function)
+     */
+    default <T> T translate(final Class<T> type, final RDFTerm term,
+            final Function<? super RDFTerm, ? extends T> converter) {
+        return translate(type, type, term, converter);
+    }
+
+    /**
+     * Translates an IRI or literal.
+     * <p>
+     * Implementations must be thread-safe, and must return a term equal to
+     * the result of the converter, which is called if the translation is not
+     * known. Translations may only be shared between calls with equal
+     * targets.
+     *
+     * @param <T>
+     *            Type of the translated term
+     * @param type
+     *            Type of the translated term
+     * @param target
+     *            Identifies the target implementation and the configuration
+     *            of its factory; all calls with equal targets must convert
+     *            terms to the same type with equivalent converters
+     * @param term
+     *            IRI or literal to translate
+     * @param converter
+     *            Converts the term to the target implementation
+     * @return The translated term
+     */
+    <T> T translate(Class<T> type, Object target, RDFTerm term, Function<? super RDFTerm, ? extends T> converter);
+
+}
@@ -0,0 +1,47 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * Holds the default {@link TermTranslator}.
+ */
+final class TermTranslators {
+
+    static final TermTranslator NONE = new TermTranslator() {
+        @Override
+        public <T> T translate(final Class<T> type, final Object target, final RDFTerm term,
+                final Function<? super RDFTerm, ? extends T> converter) {
+            return converter.apply(term);
+        }
+
+        @Override
+        public String toString() {
+            return "TermTranslator.none()";
+        }
+    };
+
+    static volatile TermTranslator defaultTranslator = NONE;
+
+    private TermTranslators() {
+    }
+
+}
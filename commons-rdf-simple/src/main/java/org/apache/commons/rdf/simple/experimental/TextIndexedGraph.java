@@ -0,0 +1,70 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Triple;
+
+/**
+ * A {@link Graph} that can find triples by the words of their literal
+ * objects, without scanning the triples of the graph.
+ * <p>
+ * The graphs of {@link org.apache.commons.rdf.simple.SimpleRDF} implement
+ * this interface natively; other graphs can be wrapped in a
+ * {@link TextIndexWrapper}. Literals are split into tokens as described by
+ * {@link LiteralTextIndex}.
+ */
+public interface TextIndexedGraph extends Graph {
+
+    /**
+     * Streams the triples whose literal object contains a token starting with
+     * a prefix.
+     *
+     * @param predicate
+     *            The predicate of the triples, or null for any predicate
+     * @param prefix
+     *            Prefix of a token, which is normalized like the tokens of
+     *            literals in the language
+     * @param languageRange
+     *            A basic language range such as <code>en</code>, matching
+     *            literals tagged <code>en</code> or <code>en-GB</code>; or
+     *            null or <code>*</code> for literals in any language or none
+     * @return The matching triples
+     */
+    Stream<? extends Triple> searchPrefix(IRI predicate, String prefix, String languageRange);
+
+    /**
+     * Streams the triples whose literal object contains a token.
+     *
+     * @param predicate
+     *            The predicate of the triples, or null for any predicate
+     * @param token
+     *            A token, which is normalized like the tokens of literals in
+     *            the language
+     * @param languageRange
+     *            A basic language range such as <code>en</code>, matching
+     *            literals tagged <code>en</code> or <code>en-GB</code>; or
+     *            null or <code>*</code> for literals in any language or none
+     * @return The matching triples
+     */
+    Stream<? extends Triple> searchToken(IRI predicate, String token, String languageRange);
+
+}
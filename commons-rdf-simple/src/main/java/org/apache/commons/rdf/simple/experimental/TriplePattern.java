@@ -0,0 +1,137 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+
+/**
+ * A triple pattern, where each of the subject, predicate and object is either
+ * an {@link RDFTerm} or a {@link Variable}.
+ * <p>
+ * Blank nodes in a pattern are not variables; they only match the same blank
+ * node.
+ */
+public final class TriplePattern {
+
+    private static Object check(final Object term, final Class<? extends RDFTerm> type, final String position) {
+        if (term instanceof Variable || type.isInstance(Objects.requireNonNull(term, position))) {
+            return term;
+        }
+        throw new IllegalArgumentException(
+                "Pattern " + position + " must be a " + type.getSimpleName() + " or Variable: " + term);
+    }
+
+    private final Object subject;
+    private final Object predicate;
+    private final Object object;
+
+    /**
+     * Creates a triple pattern.
+     *
+     * @param subject
+     *            A {@link BlankNodeOrIRI} or {@link Variable}
+     * @param predicate
+     *            An {@link IRI} or {@link Variable}
+     * @param object
+     *            An {@link RDFTerm} or {@link Variable}
+     * @throws IllegalArgumentException
+     *             If a term is of the wrong type for its position
+     */
+    public TriplePattern(final Object subject, final Object predicate, final Object object) {
+        this.subject = check(subject, BlankNodeOrIRI.class, "subject");
+        this.predicate = check(predicate, IRI.class, "predicate");
+        this.object = check(object, RDFTerm.class, "object");
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (!(obj instanceof TriplePattern)) {
+            return false;
+        }
+        final TriplePattern other = (TriplePattern) obj;
+        return subject.equals(other.subject) && predicate.equals(other.predicate) && object.equals(other.object);
+    }
+
+    /**
+     * Gets the object of the pattern.
+     *
+     * @return An {@link RDFTerm} or {@link Variable}
+     */
+    public Object getObject() {
+        return object;
+    }
+
+    /**
+     * Gets the predicate of the pattern.
+     *
+     * @return An {@link IRI} or {@link Variable}
+     */
+    public Object getPredicate() {
+        return predicate;
+    }
+
+    /**
+     * Gets the subject of the pattern.
+     *
+     * @return A {@link BlankNodeOrIRI} or {@link Variable}
+     */
+    public Object getSubject() {
+        return subject;
+    }
+
+    /**
+     * Gets the distinct variables of the pattern.
+     *
+     * @return Variables in subject, predicate, object order
+     */
+    public List<Variable> getVariables() {
+        final List<Variable> variables = new ArrayList<>(3);
+        for (final Object term : terms()) {
+            if (term instanceof Variable && !variables.contains(term)) {
+                variables.add((Variable) term);
+            }
+        }
+        return Collections.unmodifiableList(variables);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(subject, predicate, object);
+    }
+
+    Object[] terms() {
+        return new Object[] { subject, predicate, object };
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (final Object term : terms()) {
+            sb.append(term instanceof RDFTerm ? ((RDFTerm) term).ntriplesString() : term.toString()).append(' ');
+        }
+        return sb.append('.').toString();
+    }
+
+}
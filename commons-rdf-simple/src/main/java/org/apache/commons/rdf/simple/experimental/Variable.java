@@ -0,0 +1,68 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import java.util.Objects;
+
+/**
+ * A named variable of a {@link TriplePattern}.
+ * <p>
+ * Variables are equal if their names are equal.
+ */
+public final class Variable {
+
+    private final String name;
+
+    /**
+     * Creates a variable.
+     *
+     * @param name
+     *            Name of the variable, without any leading <code>?</code>
+     */
+    public Variable(final String name) {
+        if (Objects.requireNonNull(name).isEmpty()) {
+            throw new IllegalArgumentException("Empty variable name");
+        }
+        this.name = name;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return obj instanceof Variable && name.equals(((Variable) obj).name);
+    }
+
+    /**
+     * Gets the name of the variable.
+     *
+     * @return Name of the variable
+     */
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "?" + name;
+    }
+
+}
@@ -27,6 +27,24 @@
  * <ul>
  * <li>{@link org.apache.commons.rdf.simple.experimental.AbstractRDFParser} - an abstract helper class for implementations
  * of {@link org.apache.commons.rdf.experimental.RDFParser}.</li>
+ * <li>{@link org.apache.commons.rdf.simple.experimental.BinaryRDF} - a compact binary RDF syntax, written by
+ * {@link org.apache.commons.rdf.simple.experimental.BinaryRDFWriter} and parsed by
+ * {@link org.apache.commons.rdf.simple.experimental.BinaryRDFParser}.</li>
+ * <li>{@link org.apache.commons.rdf.simple.experimental.BasicGraphPattern} - joins of
+ * {@link org.apache.commons.rdf.simple.experimental.TriplePattern}s over any graph or dataset, pushed down to
+ * implementations of {@link org.apache.commons.rdf.simple.experimental.BasicGraphPatternEvaluator}.</li>
+ * <li>{@link org.apache.commons.rdf.simple.experimental.TermTranslator} - a shared cache of term conversions between
+ * implementations, such as {@link org.apache.commons.rdf.simple.experimental.CachingTermTranslator}.</li>
+ * <li>{@link org.apache.commons.rdf.simple.experimental.InstrumentedGraph} and
+ * {@link org.apache.commons.rdf.simple.experimental.InstrumentedDataset} - decorators measuring operations with a
+ * {@link org.apache.commons.rdf.simple.experimental.MetricsRecorder}, such as
+ * {@link org.apache.commons.rdf.simple.experimental.OperationMetrics}.</li>
+ * <li>{@link org.apache.commons.rdf.simple.experimental.RangeIndexedGraph} - range queries over numeric and
+ * temporal literals with a {@link org.apache.commons.rdf.simple.experimental.LiteralRangeIndex}, native in
+ * simple graphs and added to others by {@link org.apache.commons.rdf.simple.experimental.RangeIndexWrapper}.</li>
+ * <li>{@link org.apache.commons.rdf.simple.experimental.TextIndexedGraph} - token and prefix search over literals
+ * with a {@link org.apache.commons.rdf.simple.experimental.LiteralTextIndex}, native in simple graphs and added to
+ * others by {@link org.apache.commons.rdf.simple.experimental.TextIndexWrapper}.</li>
  * </ul>
  */
 package org.apache.commons.rdf.simple.experimental;
@@ -0,0 +1,131 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.commons.rdf.api.AbstractRDFTest;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDF;
+import org.apache.commons.rdf.simple.experimental.CachingTermTranslator;
+import org.apache.commons.rdf.simple.experimental.TermTranslator;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test SimpleRDF with compact IRIs.
+ */
+public class CompactIRITest extends AbstractRDFTest {
+
+    /**
+     * Creates an IRI of another implementation.
+     */
+    private static IRI foreignIRI(final String iri) {
+        return new IRI() {
+            @Override
+            public boolean equals(final Object obj) {
+                return obj instanceof IRI && getIRIString().equals(((IRI) obj).getIRIString());
+            }
+
+            @Override
+            public String getIRIString() {
+                return iri;
+            }
+
+            @Override
+            public int hashCode() {
+                return getIRIString().hashCode();
+            }
+
+            @Override
+            public String ntriplesString() {
+                return "<" + getIRIString() + ">";
+            }
+        };
+    }
+
+    @Override
+    public RDF createFactory() {
+        return new SimpleRDF(true);
+    }
+
+    @Test
+    public void testCompatible() {
+        final SimpleRDF compact = new SimpleRDF(true);
+        assertTrue(compact.isCompactIRIs());
+        for (final String iri : new String[] { "http://example.com/ns#name", "http://example.com/a/b",
+                "http://example.com/", "urn:isbn:0451450523", "http://example.com/caf\u00e9/\u00fcber\u263a",
+                "http://example.com/\uD83D\uDE00" }) {
+            final IRI c = compact.createIRI(iri);
+            final IRI s = new IRIImpl(iri);
+            assertTrue(c instanceof CompactIRI);
+            assertEquals(iri, c.getIRIString());
+            assertEquals(s, c);
+            assertEquals(c, s);
+            assertEquals(s.hashCode(), c.hashCode());
+            assertEquals("<" + iri + ">", c.ntriplesString());
+        }
+        assertNotEquals(compact.createIRI("http://example.com/a"), compact.createIRI("http://example.com/b"));
+        assertNotEquals(compact.createIRI("http://example.com/a"), compact.createIRI("http://example.org/a"));
+        assertNotEquals(compact.createIRI("http://example.com/a"), new IRIImpl("http://example.com/ab"));
+        assertNotEquals(compact.createIRI("http://example.com/a/b"), new IRIImpl("http://example.com/ab"));
+        assertThrows(IllegalArgumentException.class, () -> compact.createIRI("not an IRI"));
+        // datatypes are still shared
+        assertSame(Types.XSD_STRING, compact.createIRI("http://www.w3.org/2001/XMLSchema#string"));
+    }
+
+    @Test
+    public void testGraph() {
+        final SimpleRDF compact = new SimpleRDF(true);
+        final Graph graph = compact.createGraph();
+        final IRI p = foreignIRI("http://example.com/p");
+        graph.add(p, p, p);
+        assertTrue(graph.stream().findFirst().get().getPredicate() instanceof CompactIRI);
+        assertTrue(graph.contains(p, p, p));
+        assertTrue(graph.contains(compact.createIRI("http://example.com/p"), null, null));
+    }
+
+    @Test
+    public void testTranslatorKeepsConfigurations() {
+        final CachingTermTranslator translator = new CachingTermTranslator(100);
+        TermTranslator.setDefault(translator);
+        try {
+            final IRI p = foreignIRI("http://example.com/p");
+            final SimpleRDF simple = new SimpleRDF();
+            final SimpleRDF compact = new SimpleRDF(true);
+            final Graph simpleGraph = simple.createGraph();
+            final Graph compactGraph = compact.createGraph();
+            simpleGraph.add(p, p, p);
+            compactGraph.add(p, p, p);
+            new SimpleRDF(true).createGraph().add(p, p, p);
+            assertFalse(simpleGraph.stream().findFirst().get().getPredicate() instanceof CompactIRI);
+            assertTrue(compactGraph.stream().findFirst().get().getPredicate() instanceof CompactIRI);
+            assertEquals(1, translator.getMisses(simple.translationTarget()));
+            assertEquals(1, translator.getMisses(compact.translationTarget()));
+            assertEquals(1, translator.getHits(compact.translationTarget()));
+        } finally {
+            TermTranslator.setDefault(TermTranslator.none());
+        }
+    }
+
+}
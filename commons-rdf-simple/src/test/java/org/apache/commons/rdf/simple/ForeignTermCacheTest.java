@@ -0,0 +1,107 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.junit.jupiter.api.Test;
+
+public class ForeignTermCacheTest {
+
+    /** A blank node of another implementation than SimpleRDF. */
+    private static final class ForeignBlankNode implements BlankNode {
+
+        private final String reference;
+
+        ForeignBlankNode(final String reference) {
+            this.reference = reference;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof ForeignBlankNode && reference.equals(((ForeignBlankNode) obj).reference);
+        }
+
+        @Override
+        public int hashCode() {
+            return reference.hashCode();
+        }
+
+        @Override
+        public String ntriplesString() {
+            return "_:" + reference;
+        }
+
+        @Override
+        public String uniqueReference() {
+            return reference;
+        }
+
+    }
+
+    private final SimpleRDF factory = new SimpleRDF();
+
+    @Test
+    public void testBlankNodes() {
+        final Graph graph = factory.createGraph();
+        final IRI p = factory.createIRI("http://example.com/p");
+        for (int i = 0; i < 10; i++) {
+            // a new foreign object each time, as when wrapping native nodes
+            graph.add(new ForeignBlankNode("b1"), p, new ForeignBlankNode("b" + i));
+        }
+        assertEquals(10, graph.size());
+        final BlankNode b1 = (BlankNode) graph.stream(null, null, null).findAny().get().getSubject();
+        for (final Triple t : graph.iterate()) {
+            assertSame(b1, t.getSubject());
+        }
+        assertTrue(graph.contains(new ForeignBlankNode("b1"), p, new ForeignBlankNode("b9")));
+    }
+
+    @Test
+    public void testImportsOnce() {
+        final ForeignTermCache cache = new ForeignTermCache();
+        final AtomicInteger imports = new AtomicInteger();
+        final Function<RDFTerm, RDFTerm> importer = t -> {
+            imports.incrementAndGet();
+            return factory.createBlankNode(((BlankNode) t).uniqueReference());
+        };
+        final RDFTerm first = cache.get(new ForeignBlankNode("x"), importer);
+        assertSame(first, cache.get(new ForeignBlankNode("x"), importer));
+        assertEquals(1, imports.get());
+        final RDFTerm other = cache.get(new ForeignBlankNode("y"), importer);
+        assertNotEquals(first, other);
+        assertEquals(2, imports.get());
+        // bounded: many distinct terms evict older entries
+        for (int i = 0; i < 10_000; i++) {
+            cache.get(new ForeignBlankNode("z" + i), importer);
+        }
+        assertEquals(first, cache.get(new ForeignBlankNode("x"), importer));
+    }
+
+}
@@ -0,0 +1,158 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.junit.jupiter.api.Test;
+
+public class FrozenGraphTest {
+
+    private final SimpleRDF factory = new SimpleRDF();
+
+    private static void assertDistinctTerms(final Stream<? extends RDFTerm> expected,
+            final Stream<? extends RDFTerm> actual) {
+        final List<RDFTerm> terms = actual.collect(Collectors.toList());
+        assertEquals(terms.size(), new HashSet<>(terms).size());
+        assertEquals(expected.collect(Collectors.toSet()), new HashSet<>(terms));
+    }
+
+    private Graph createGraph() {
+        final Random random = new Random(42);
+        final List<BlankNodeOrIRI> subjects = new ArrayList<>();
+        final List<IRI> predicates = new ArrayList<>();
+        final List<RDFTerm> objects = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final BlankNodeOrIRI subject = i % 4 == 0 ? factory.createBlankNode()
+                    : factory.createIRI("http://example.com/s" + i);
+            subjects.add(subject);
+            objects.add(subject);
+            objects.add(factory.createLiteral("v" + i, i % 2 == 0 ? "en" : "de"));
+        }
+        for (int i = 0; i < 5; i++) {
+            predicates.add(factory.createIRI("http://example.com/p" + i));
+        }
+        final Graph graph = factory.createGraph();
+        for (int i = 0; i < 500; i++) {
+            graph.add(subjects.get(random.nextInt(subjects.size())), predicates.get(random.nextInt(predicates.size())),
+                    objects.get(random.nextInt(objects.size())));
+        }
+        return graph;
+    }
+
+    @Test
+    public void testPatterns() {
+        final Graph graph = createGraph();
+        final Graph frozen = FrozenGraph.copyOf(graph);
+        assertEquals(graph.size(), frozen.size());
+        assertEquals(graph.stream().collect(Collectors.toSet()), frozen.stream().collect(Collectors.toSet()));
+        for (final Triple t : graph.stream().collect(Collectors.toList())) {
+            assertTrue(frozen.contains(t));
+            for (int mask = 0; mask < 8; mask++) {
+                final BlankNodeOrIRI s = (mask & 1) != 0 ? t.getSubject() : null;
+                final IRI p = (mask & 2) != 0 ? t.getPredicate() : null;
+                final RDFTerm o = (mask & 4) != 0 ? t.getObject() : null;
+                final Set<Triple> expected = graph.stream(s, p, o).collect(Collectors.toSet());
+                final List<Triple> actual = frozen.stream(s, p, o).collect(Collectors.toList());
+                assertEquals(expected.size(), actual.size());
+                assertEquals(expected.size(), frozen.estimateCount(s, p, o));
+                assertEquals(expected, actual.stream().collect(Collectors.toSet()));
+            }
+        }
+    }
+
+    @Test
+    public void testDistinctTerms() {
+        final Graph graph = createGraph();
+        final Graph frozen = FrozenGraph.copyOf(graph);
+        for (final Triple t : graph.stream().collect(Collectors.toList())) {
+            for (int mask = 0; mask < 8; mask++) {
+                final BlankNodeOrIRI s = (mask & 1) != 0 ? t.getSubject() : null;
+                final IRI p = (mask & 2) != 0 ? t.getPredicate() : null;
+                final RDFTerm o = (mask & 4) != 0 ? t.getObject() : null;
+                assertDistinctTerms(graph.subjects(p, o), frozen.subjects(p, o));
+                assertDistinctTerms(graph.predicates(s, o), frozen.predicates(s, o));
+                assertDistinctTerms(graph.objects(s, p), frozen.objects(s, p));
+            }
+        }
+        final IRI unknown = factory.createIRI("http://example.com/unknown");
+        assertEquals(0, frozen.subjects(unknown, null).count());
+        assertEquals(0, frozen.objects(null, unknown).count());
+    }
+
+    @Test
+    public void testMissingTerms() {
+        final Graph frozen = FrozenGraph.copyOf(createGraph());
+        final IRI unknown = factory.createIRI("http://example.com/unknown");
+        final BlankNode blankNode = factory.createBlankNode();
+        assertFalse(frozen.contains(unknown, null, null));
+        assertFalse(frozen.contains(null, unknown, null));
+        assertFalse(frozen.contains(blankNode, null, null));
+        assertFalse(frozen.contains(factory.createTriple(blankNode, unknown, unknown)));
+        assertEquals(0, frozen.stream(null, null, factory.createLiteral("v1", "en")).count());
+    }
+
+    @Test
+    public void testEmpty() {
+        final Graph frozen = FrozenGraph.copyOf(factory.createGraph());
+        assertEquals(0, frozen.size());
+        assertEquals(0, frozen.stream().count());
+        assertEquals(0, frozen.subjects(null, null).count());
+        assertFalse(frozen.contains(null, null, null));
+    }
+
+    @Test
+    public void testImmutable() {
+        final Graph frozen = FrozenGraph.copyOf(createGraph());
+        final Triple triple = frozen.stream().findFirst().get();
+        assertThrows(UnsupportedOperationException.class, () -> frozen.add(triple));
+        assertThrows(UnsupportedOperationException.class,
+                () -> frozen.add(triple.getSubject(), triple.getPredicate(), triple.getObject()));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove(triple));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.remove(null, null, null));
+        assertThrows(UnsupportedOperationException.class, frozen::clear);
+        assertSame(frozen, FrozenGraph.copyOf(frozen));
+    }
+
+    @Test
+    public void testConcurrentReads() {
+        final Graph graph = createGraph();
+        final Graph frozen = FrozenGraph.copyOf(graph);
+        final List<Triple> triples = graph.stream().collect(Collectors.toList());
+        assertTrue(triples.parallelStream().allMatch(frozen::contains));
+        assertEquals(graph.size(), frozen.stream().parallel().count());
+    }
+}
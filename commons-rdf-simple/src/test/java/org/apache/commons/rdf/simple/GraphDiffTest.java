@@ -0,0 +1,207 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class GraphDiffTest {
+
+    /** Records the size of each bulk add. */
+    private static final class BatchCountingGraph implements Graph, GraphCopyTarget {
+        private final Graph graph;
+        private final List<Integer> batches = new ArrayList<>();
+
+        BatchCountingGraph(final Graph graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+            graph.add(subject, predicate, object);
+        }
+
+        @Override
+        public void add(final Triple triple) {
+            graph.add(triple);
+        }
+
+        @Override
+        public void addAll(final Collection<? extends Triple> triples) {
+            batches.add(triples.size());
+            triples.forEach(graph::add);
+        }
+
+        @Override
+        public boolean addAllNatively(final Graph source) {
+            return false;
+        }
+
+        @Override
+        public void clear() {
+            graph.clear();
+        }
+
+        @Override
+        public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+            return graph.contains(subject, predicate, object);
+        }
+
+        @Override
+        public boolean contains(final Triple triple) {
+            return graph.contains(triple);
+        }
+
+        @Override
+        public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+            graph.remove(subject, predicate, object);
+        }
+
+        @Override
+        public void remove(final Triple triple) {
+            graph.remove(triple);
+        }
+
+        @Override
+        public long size() {
+            return graph.size();
+        }
+
+        @Override
+        public Stream<? extends Triple> stream() {
+            return graph.stream();
+        }
+
+        @Override
+        public Stream<? extends Triple> stream(final BlankNodeOrIRI subject, final IRI predicate,
+                final RDFTerm object) {
+            return graph.stream(subject, predicate, object);
+        }
+    }
+
+    private final SimpleRDF factory = new SimpleRDF();
+    private final IRI p = factory.createIRI("http://example.com/p");
+
+    private IRI iri(final int i) {
+        return factory.createIRI("http://example.com/" + i);
+    }
+
+    @Test
+    public void testDiff() {
+        final Graph from = factory.createGraph();
+        final Graph to = factory.createGraph();
+        final BlankNode b = factory.createBlankNode();
+        from.add(iri(1), p, iri(2));
+        to.add(iri(1), p, iri(2));
+        from.add(iri(1), p, factory.createLiteral("hello", "EN"));
+        to.add(iri(1), p, factory.createLiteral("hello", "en"));
+        from.add(b, p, iri(3));
+        to.add(iri(4), p, b);
+
+        final Set<Change> changes = new GraphDiff().diff(from, to).collect(Collectors.toSet());
+        final Set<Change> expected = new HashSet<>();
+        expected.add(Change.removal(factory.createTriple(b, p, iri(3))));
+        expected.add(Change.addition(factory.createTriple(iri(4), p, b)));
+        assertEquals(expected, changes);
+        assertEquals(0, new GraphDiff().diff(from, from).count());
+    }
+
+    @Test
+    public void testSpillAndPatch(@TempDir final Path tempDirectory) throws Exception {
+        final Graph from = factory.createGraph();
+        final Graph to = factory.createGraph();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 10 != 0) {
+                from.add(iri(i), p, iri(i + 1));
+            }
+            if (i % 7 != 0) {
+                to.add(iri(i), p, iri(i + 1));
+            }
+        }
+        final GraphDiff diff = new GraphDiff(16, tempDirectory);
+        final long removals = diff.diff(from, to).filter(c -> c.getType() == Change.Type.REMOVE).count();
+        // i % 7 == 0 but not i % 10 == 0
+        assertEquals(143 - 15, removals);
+        try (Stream<Path> files = Files.list(tempDirectory)) {
+            assertEquals(0, files.count());
+        }
+
+        GraphDiff.patch(from, diff.diff(from, to));
+        assertEquals(to.size(), from.size());
+        assertTrue(to.stream().allMatch(from::contains));
+    }
+
+    @Test
+    public void testParallel() {
+        final Graph from = factory.createGraph();
+        final Graph to = factory.createGraph();
+        for (int i = 0; i < 1000; i++) {
+            (i % 3 == 0 ? from : to).add(iri(i), p, iri(i + 1));
+        }
+        for (int attempt = 0; attempt < 10; attempt++) {
+            final Set<Change> changes = new GraphDiff().diff(from, to).parallel().collect(Collectors.toSet());
+            assertEquals(1000, changes.size());
+            assertEquals(334, changes.stream().filter(c -> c.getType() == Change.Type.REMOVE).count());
+        }
+    }
+
+    @Test
+    public void testPatchInBatches() {
+        final Graph from = factory.createGraph();
+        final Graph to = factory.createGraph();
+        for (int i = 0; i < 10; i++) {
+            from.add(iri(i), p, iri(i + 1));
+        }
+        for (int i = 5; i < 2 * Graphs.COPY_BATCH_SIZE + 11; i++) {
+            to.add(iri(i), p, iri(i + 1));
+        }
+        final BatchCountingGraph target = new BatchCountingGraph(factory.createGraph());
+        Graphs.copy(from, target);
+        target.batches.clear();
+        GraphDiff.patch(target, new GraphDiff().diff(from, to));
+        assertEquals(to.size(), target.size());
+        assertTrue(to.stream().allMatch(target::contains));
+        assertEquals(3, target.batches.size());
+        assertTrue(target.batches.stream().allMatch(size -> size <= Graphs.COPY_BATCH_SIZE));
+    }
+
+    @Test
+    public void testInvalidMaxInMemory() {
+        assertThrows(IllegalArgumentException.class, () -> new GraphDiff(0, null));
+    }
+}
@@ -0,0 +1,202 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.junit.jupiter.api.Test;
+
+public class GraphsTest {
+
+    private final SimpleRDF factory = new SimpleRDF();
+    private final IRI p = factory.createIRI("http://example.com/p");
+    private final IRI q = factory.createIRI("http://example.com/q");
+
+    private void addCycle(final Graph graph, final List<BlankNode> nodes) {
+        for (int i = 0; i < nodes.size(); i++) {
+            graph.add(nodes.get(i), p, nodes.get((i + 1) % nodes.size()));
+        }
+    }
+
+    private List<BlankNode> blankNodes(final int count) {
+        final List<BlankNode> nodes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            nodes.add(factory.createBlankNode());
+        }
+        return nodes;
+    }
+
+    @Test
+    public void testGround() {
+        final Graph graph1 = factory.createGraph();
+        final Graph graph2 = factory.createGraph();
+        graph1.add(p, q, factory.createLiteral("a"));
+        graph2.add(p, q, factory.createLiteral("a"));
+        assertTrue(Graphs.isIsomorphic(graph1, graph2));
+        assertEquals(Graphs.canonicalHash(graph1), Graphs.canonicalHash(graph2));
+
+        graph2.remove(p, q, null);
+        graph2.add(p, q, factory.createLiteral("b"));
+        assertFalse(Graphs.isIsomorphic(graph1, graph2));
+        assertNotEquals(Graphs.canonicalHash(graph1), Graphs.canonicalHash(graph2));
+    }
+
+    @Test
+    public void testBlankNodes() {
+        final Graph graph1 = factory.createGraph();
+        final Graph graph2 = factory.createGraph();
+        for (final Graph graph : new Graph[] { graph1, graph2 }) {
+            final BlankNode alice = factory.createBlankNode();
+            final BlankNode bob = factory.createBlankNode();
+            graph.add(alice, p, bob);
+            graph.add(alice, q, factory.createLiteral("Alice"));
+            graph.add(bob, q, factory.createLiteral("Bob"));
+        }
+        assertTrue(Graphs.isIsomorphic(graph1, graph2));
+        assertEquals(Graphs.canonicalHash(graph1), Graphs.canonicalHash(graph2));
+
+        final Map<BlankNode, String> labels = Graphs.canonicalLabels(graph1);
+        assertEquals(2, labels.size());
+        assertEquals(new HashSet<>(labels.values()), new HashSet<>(Graphs.canonicalLabels(graph2).values()));
+
+        // Swap the names
+        final Graph graph3 = factory.createGraph();
+        final BlankNode alice = factory.createBlankNode();
+        final BlankNode bob = factory.createBlankNode();
+        graph3.add(alice, p, bob);
+        graph3.add(alice, q, factory.createLiteral("Bob"));
+        graph3.add(bob, q, factory.createLiteral("Alice"));
+        assertFalse(Graphs.isIsomorphic(graph1, graph3));
+        assertNotEquals(Graphs.canonicalHash(graph1), Graphs.canonicalHash(graph3));
+    }
+
+    @Test
+    public void testSymmetricCycles() {
+        final List<BlankNode> nodes = blankNodes(6);
+        final Graph hexagon = factory.createGraph();
+        addCycle(hexagon, nodes);
+
+        final List<BlankNode> others = blankNodes(6);
+        final Graph other = factory.createGraph();
+        addCycle(other, others);
+        assertTrue(Graphs.isIsomorphic(hexagon, other));
+        assertEquals(Graphs.canonicalHash(hexagon), Graphs.canonicalHash(other));
+
+        // Same size and same colours of every blank node, but not isomorphic
+        final Graph triangles = factory.createGraph();
+        addCycle(triangles, blankNodes(3));
+        addCycle(triangles, blankNodes(3));
+        assertFalse(Graphs.isIsomorphic(hexagon, triangles));
+        assertNotEquals(Graphs.canonicalHash(hexagon), Graphs.canonicalHash(triangles));
+    }
+
+    @Test
+    public void testShuffledInsertionOrder() {
+        final Random random = new Random(1337);
+        final List<BlankNode> nodes = blankNodes(200);
+        final List<Object[]> triples = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            triples.add(new Object[] { nodes.get(random.nextInt(nodes.size())), random.nextBoolean() ? p : q,
+                    random.nextInt(4) == 0 ? factory.createLiteral("v" + random.nextInt(10))
+                            : nodes.get(random.nextInt(nodes.size())) });
+        }
+        final Graph graph1 = factory.createGraph();
+        triples.forEach(t -> graph1.add((BlankNode) t[0], (IRI) t[1], (RDFTerm) t[2]));
+        Collections.shuffle(triples, random);
+        final Graph graph2 = factory.createGraph();
+        triples.forEach(t -> graph2.add((BlankNode) t[0], (IRI) t[1], (RDFTerm) t[2]));
+        assertTrue(Graphs.isIsomorphic(graph1, graph2));
+        assertEquals(Graphs.canonicalHash(graph1), Graphs.canonicalHash(graph2));
+    }
+
+    @Test
+    public void testManyIdenticalComponents() {
+        final Graph graph1 = factory.createGraph();
+        final Graph graph2 = factory.createGraph();
+        for (int i = 0; i < 10000; i++) {
+            graph1.add(factory.createBlankNode(), p, factory.createLiteral("x"));
+            graph2.add(factory.createBlankNode(), p, factory.createLiteral("x"));
+        }
+        assertTrue(Graphs.isIsomorphic(graph1, graph2));
+    }
+
+    @Test
+    public void testCopy() {
+        final Graph graph = factory.createGraph();
+        final List<BlankNode> nodes = blankNodes(Graphs.COPY_BATCH_SIZE + 10);
+        addCycle(graph, nodes);
+        graph.add(p, q, factory.createLiteral("a", "en"));
+
+        final Graph copy = new SimpleRDF().createGraph();
+        Graphs.copy(graph, copy);
+        assertEquals(graph.size(), copy.size());
+        assertTrue(copy.contains(nodes.get(0), p, nodes.get(1)));
+        Graphs.copy(copy, copy);
+        assertEquals(graph.size(), copy.size());
+
+        // Batched from another implementation
+        final Graph batched = factory.createGraph();
+        Graphs.copy(FrozenGraph.copyOf(graph), batched);
+        assertEquals(graph.size(), batched.size());
+        assertTrue(Graphs.isIsomorphic(graph, batched));
+        assertEquals(1, batched.estimateCount(null, q, null));
+
+        final Dataset dataset = factory.createDataset();
+        dataset.add(null, p, q, factory.createLiteral("a"));
+        dataset.add(p, p, q, nodes.get(0));
+        final Dataset datasetCopy = factory.createSnapshotDataset();
+        Graphs.copy(dataset, datasetCopy);
+        assertTrue(Graphs.isIsomorphic(dataset, datasetCopy));
+    }
+
+    @Test
+    public void testDataset() {
+        final Dataset dataset1 = factory.createDataset();
+        final Dataset dataset2 = factory.createDataset();
+        for (final Dataset dataset : new Dataset[] { dataset1, dataset2 }) {
+            final BlankNode graphName = factory.createBlankNode();
+            final BlankNode node = factory.createBlankNode();
+            dataset.add(graphName, node, p, q);
+            dataset.add(null, graphName, p, node);
+        }
+        assertTrue(Graphs.isIsomorphic(dataset1, dataset2));
+        assertEquals(Graphs.canonicalHash(dataset1), Graphs.canonicalHash(dataset2));
+
+        final Dataset dataset3 = factory.createDataset();
+        final BlankNode graphName = factory.createBlankNode();
+        final BlankNode node = factory.createBlankNode();
+        dataset3.add(graphName, node, p, q);
+        dataset3.add(null, node, p, graphName);
+        assertFalse(Graphs.isIsomorphic(dataset1, dataset3));
+    }
+}
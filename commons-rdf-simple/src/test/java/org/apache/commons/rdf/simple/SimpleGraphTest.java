@@ -17,10 +17,14 @@
  */
 package org.apache.commons.rdf.simple;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
+import java.util.Map;
+
 import org.apache.commons.rdf.api.AbstractGraphTest;
+import org.apache.commons.rdf.api.IRI;
 import org.apache.commons.rdf.api.RDF;
 import org.junit.jupiter.api.Test;
 
@@ -34,6 +38,30 @@ public class SimpleGraphTest extends AbstractGraphTest {
         return new SimpleRDF();
     }
 
+    @Test
+    public void testMaintainedCounts() {
+        final long knowsCount = graph.stream(null, knows, null).count();
+        final long aliceCount = graph.stream(alice, null, null).count();
+        assertEquals(knowsCount, graph.estimateCount(null, knows, null));
+        assertEquals(aliceCount, graph.estimateCount(alice, null, null));
+        assertEquals(Long.valueOf(knowsCount), Graphs.predicateCounts(graph).get(knows));
+
+        graph.remove(alice, knows, null);
+        assertEquals(0, graph.estimateCount(alice, knows, null));
+        assertEquals(knowsCount - 1, graph.estimateCount(null, knows, null));
+        // Adding a triple twice only counts once
+        graph.add(alice, knows, bob);
+        graph.add(alice, knows, bob);
+        assertEquals(aliceCount, graph.estimateCount(alice, null, null));
+
+        final Map<IRI, Long> counts = Graphs.predicateCounts(graph);
+        assertEquals(graph.size(), counts.values().stream().mapToLong(Long::longValue).sum());
+        assertEquals(counts, Graphs.predicateCounts(FrozenGraph.copyOf(graph)));
+        graph.clear();
+        assertTrue(Graphs.predicateCounts(graph).isEmpty());
+        assertEquals(0, graph.estimateCount(null, knows, null));
+    }
+
     @Test
     public void testGraphToString() {
         assumeTrue(aliceName != null && companyName != null);
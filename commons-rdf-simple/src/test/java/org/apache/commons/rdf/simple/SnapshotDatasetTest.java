@@ -0,0 +1,203 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.apache.commons.rdf.api.AbstractDatasetTest;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Quad;
+import org.apache.commons.rdf.api.RDF;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test SnapshotDataset with AbstractDatasetTest
+ */
+public class SnapshotDatasetTest extends AbstractDatasetTest {
+
+    /** Element with a poor hash, to force hash collisions. */
+    private static final class Key {
+        private final int value;
+
+        Key(final int value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && ((Key) obj).value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return value % 7;
+        }
+    }
+
+    @Override
+    public RDF createFactory() {
+        return new SimpleRDF() {
+            @Override
+            public Dataset createDataset() {
+                return createSnapshotDataset();
+            }
+        };
+    }
+
+    @Test
+    public void testPersistentHashSet() {
+        final Random random = new Random(42);
+        final Set<Integer> expected = new HashSet<>();
+        PersistentHashSet<Integer> set = PersistentHashSet.empty();
+        for (int i = 0; i < 20000; i++) {
+            final int value = random.nextInt(5000) * (random.nextBoolean() ? 1 : 65536);
+            final PersistentHashSet<Integer> previous = set;
+            final int previousSize = previous.size();
+            if (random.nextInt(3) == 0) {
+                expected.remove(value);
+                set = set.without(value);
+            } else {
+                expected.add(value);
+                set = set.with(value);
+            }
+            assertEquals(expected.size(), set.size());
+            assertTrue(set.contains(value) == expected.contains(value));
+            // Older versions are unaffected
+            assertEquals(previousSize, previous.size());
+        }
+        final Set<Integer> actual = new HashSet<>();
+        for (final Integer i : set) {
+            assertTrue(actual.add(i));
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected, set.stream().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testPersistentHashSetCollisions() {
+        PersistentHashSet<Key> set = PersistentHashSet.empty();
+        for (int i = 0; i < 100; i++) {
+            set = set.with(new Key(i));
+        }
+        assertSame(set, set.with(new Key(50)));
+        assertEquals(100, set.size());
+        for (int i = 0; i < 100; i += 2) {
+            set = set.without(new Key(i));
+        }
+        assertEquals(50, set.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 1, set.contains(new Key(i)));
+        }
+        assertEquals(50, set.stream().count());
+    }
+
+    @Test
+    public void testPersistentHashSetShallowCollision() {
+        // "Aa" and "BB" share a full hash; "x8" shares only its low bits
+        PersistentHashSet<String> set = PersistentHashSet.<String>empty().with("Aa").with("BB").with("x8");
+        assertEquals(3, set.size());
+        assertTrue(set.contains("Aa"));
+        assertTrue(set.contains("BB"));
+        assertTrue(set.contains("x8"));
+        set = set.without("BB");
+        assertEquals(2, set.size());
+        assertFalse(set.contains("BB"));
+        assertTrue(set.contains("Aa"));
+        assertEquals(2, set.stream().count());
+    }
+
+    @Test
+    public void testPersistentHashSetBulk() {
+        PersistentHashSet<String> set = PersistentHashSet.empty();
+        final Random random = new Random(7);
+        final Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 300000; i++) {
+            final String element = new UUID(random.nextLong(), random.nextLong()).toString();
+            expected.add(element);
+            set = set.with(element);
+        }
+        assertEquals(expected.size(), set.size());
+        for (final String element : expected) {
+            assertTrue(set.contains(element));
+        }
+        assertEquals(expected, set.stream().collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testSnapshot() {
+        final SimpleRDF rdf = new SimpleRDF();
+        final SnapshotDataset live = rdf.createSnapshotDataset();
+        final IRI g = rdf.createIRI("http://example.com/g");
+        final IRI p = rdf.createIRI("http://example.com/p");
+        for (int i = 0; i < 100; i++) {
+            live.add(g, rdf.createIRI("http://example.com/s" + i), p, rdf.createLiteral("v" + i));
+        }
+        final SnapshotDataset snapshot = live.snapshot();
+        assertTrue(snapshot.isSnapshot());
+        assertFalse(live.isSnapshot());
+        assertSame(snapshot, snapshot.snapshot());
+
+        live.remove(null, rdf.createIRI("http://example.com/s0"), null, null);
+        live.add(null, rdf.createIRI("http://example.com/new"), p, rdf.createLiteral("new"));
+        assertEquals(100, live.size());
+        assertEquals(100, snapshot.size());
+        assertTrue(snapshot.contains(null, rdf.createIRI("http://example.com/s0"), null, null));
+        assertFalse(snapshot.contains(null, rdf.createIRI("http://example.com/new"), null, null));
+        assertEquals(0, snapshot.getGraphNames().filter(n -> !n.equals(g)).count());
+
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.add(g, g, p, g));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.getGraph(g).get().add(g, p, g));
+        assertThrows(UnsupportedOperationException.class, snapshot::clear);
+        live.clear();
+        assertEquals(0, live.size());
+        assertEquals(100, snapshot.stream(null, null, p, null).count());
+    }
+
+    @Test
+    public void testModifyWhileStreaming() {
+        final SimpleRDF rdf = new SimpleRDF();
+        final SnapshotDataset dataset = rdf.createSnapshotDataset();
+        final IRI p = rdf.createIRI("http://example.com/p");
+        for (int i = 0; i < 1000; i++) {
+            dataset.add(null, rdf.createIRI("http://example.com/s" + i), p, rdf.createLiteral("v" + i));
+        }
+        int seen = 0;
+        final Iterator<Quad> it = dataset.stream().iterator();
+        while (it.hasNext()) {
+            final Quad q = it.next();
+            dataset.remove(q);
+            dataset.add(null, q.getSubject(), q.getPredicate(), rdf.createLiteral("changed"));
+            seen++;
+        }
+        assertEquals(1000, seen);
+        assertEquals(1000, dataset.size());
+        assertEquals(1000, dataset.stream(null, null, null, rdf.createLiteral("changed")).count());
+    }
+}
@@ -0,0 +1,348 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.BlankNodeOrIRI;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.Test;
+
+public class BasicGraphPatternTest {
+
+    private final SimpleRDF factory = new SimpleRDF();
+    private final IRI knows = factory.createIRI("http://xmlns.com/foaf/0.1/knows");
+    private final IRI name = factory.createIRI("http://xmlns.com/foaf/0.1/name");
+    private final IRI type = factory.createIRI("http://www.w3.org/1999/02/22-rdf-syntax-ns#type");
+    private final IRI person = factory.createIRI("http://xmlns.com/foaf/0.1/Person");
+    private final Variable x = new Variable("x");
+    private final Variable y = new Variable("y");
+    private final Variable z = new Variable("z");
+
+    private Graph createGraph(final long seed, final int nodes, final int triples) {
+        final Random random = new Random(seed);
+        final List<BlankNodeOrIRI> people = new ArrayList<>();
+        for (int i = 0; i < nodes; i++) {
+            people.add(i % 5 == 0 ? factory.createBlankNode() : factory.createIRI("http://example.com/" + i));
+        }
+        final Graph graph = factory.createGraph();
+        for (final BlankNodeOrIRI p : people) {
+            graph.add(p, name, factory.createLiteral("name" + random.nextInt(nodes / 2)));
+            if (random.nextBoolean()) {
+                graph.add(p, type, person);
+            }
+        }
+        for (int i = 0; i < triples; i++) {
+            graph.add(people.get(random.nextInt(nodes)), knows, people.get(random.nextInt(nodes)));
+        }
+        return graph;
+    }
+
+    /** Evaluates patterns by nested loops over all triples, in the given order. */
+    private List<Solution> bruteForce(final Graph graph, final BasicGraphPattern bgp) {
+        final List<Triple> triples = graph.stream().collect(Collectors.toList());
+        final List<Solution> solutions = new ArrayList<>();
+        bruteForce(triples, bgp, 0, new HashMap<>(), solutions);
+        return solutions;
+    }
+
+    private void bruteForce(final List<Triple> triples, final BasicGraphPattern bgp, final int index,
+            final Map<Variable, RDFTerm> binding, final List<Solution> solutions) {
+        if (index == bgp.getPatterns().size()) {
+            solutions.add(new Solution(bgp.getVariables(),
+                    bgp.getVariables().stream().map(binding::get).toArray(RDFTerm[]::new)));
+            return;
+        }
+        final Object[] terms = bgp.getPatterns().get(index).terms();
+        for (final Triple t : triples) {
+            final RDFTerm[] matched = { t.getSubject(), t.getPredicate(), t.getObject() };
+            final Map<Variable, RDFTerm> extended = new HashMap<>(binding);
+            boolean match = true;
+            for (int i = 0; i < 3 && match; i++) {
+                if (terms[i] instanceof Variable) {
+                    final RDFTerm old = extended.putIfAbsent((Variable) terms[i], matched[i]);
+                    match = old == null || old.equals(matched[i]);
+                } else {
+                    match = terms[i].equals(matched[i]);
+                }
+            }
+            if (match) {
+                bruteForce(triples, bgp, index + 1, extended, solutions);
+            }
+        }
+    }
+
+    private static Map<Solution, Long> counts(final Stream<Solution> solutions) {
+        try (Stream<Solution> s = solutions) {
+            return s.collect(Collectors.groupingBy(sol -> sol, Collectors.counting()));
+        }
+    }
+
+    private void assertSameSolutions(final Graph graph, final BasicGraphPattern bgp) {
+        final Map<Solution, Long> expected = counts(bruteForce(graph, bgp).stream());
+        assertEquals(expected, counts(bgp.evaluate(graph)), bgp.toString());
+        assertEquals(expected, counts(bgp.parallel(true).evaluate(graph)), bgp.toString());
+    }
+
+    @Test
+    public void chain() throws Exception {
+        final Graph graph = createGraph(1, 40, 200);
+        assertSameSolutions(graph, new BasicGraphPattern(new TriplePattern(x, knows, y),
+                new TriplePattern(y, knows, z), new TriplePattern(z, name, new Variable("n"))));
+    }
+
+    @Test
+    public void star() throws Exception {
+        final Graph graph = createGraph(2, 40, 200);
+        assertSameSolutions(graph, new BasicGraphPattern(new TriplePattern(x, type, person),
+                new TriplePattern(x, name, y), new TriplePattern(x, knows, z)));
+    }
+
+    @Test
+    public void repeatedVariable() throws Exception {
+        final Graph graph = createGraph(3, 20, 200);
+        final BasicGraphPattern bgp = new BasicGraphPattern(new TriplePattern(x, knows, x));
+        assertSameSolutions(graph, bgp);
+        try (Stream<Solution> s = bgp.evaluate(graph)) {
+            assertTrue(s.allMatch(sol -> sol.get(x).isPresent()));
+        }
+        assertSameSolutions(graph, new BasicGraphPattern(new TriplePattern(x, knows, y),
+                new TriplePattern(y, knows, x)));
+    }
+
+    @Test
+    public void variablePredicate() throws Exception {
+        final Graph graph = createGraph(4, 20, 50);
+        // y is bound to literals and IRIs by the first pattern, only some of
+        // which can be subjects of the second
+        assertSameSolutions(graph, new BasicGraphPattern(new TriplePattern(x, z, y),
+                new TriplePattern(y, type, person)));
+    }
+
+    @Test
+    public void crossProduct() throws Exception {
+        final Graph graph = createGraph(5, 10, 10);
+        assertSameSolutions(graph, new BasicGraphPattern(new TriplePattern(x, type, person),
+                new TriplePattern(y, type, person)));
+    }
+
+    @Test
+    public void randomPatterns() throws Exception {
+        final Graph graph = createGraph(6, 30, 100);
+        final Random random = new Random(6);
+        final List<Object> terms = Arrays.asList(x, y, z, knows, name, type, person,
+                factory.createIRI("http://example.com/1"), factory.createLiteral("name3"));
+        for (int i = 0; i < 50; i++) {
+            final List<TriplePattern> patterns = new ArrayList<>();
+            while (patterns.size() < 1 + random.nextInt(3)) {
+                try {
+                    patterns.add(new TriplePattern(terms.get(random.nextInt(terms.size())),
+                            terms.get(random.nextInt(terms.size())), terms.get(random.nextInt(terms.size()))));
+                } catch (final IllegalArgumentException e) {
+                    // Wrong term type for position, try again
+                }
+            }
+            assertSameSolutions(graph, new BasicGraphPattern(patterns));
+        }
+    }
+
+    @Test
+    public void noVariables() throws Exception {
+        final Graph graph = factory.createGraph();
+        final IRI alice = factory.createIRI("http://example.com/alice");
+        graph.add(alice, type, person);
+        assertEquals(1, counts(new BasicGraphPattern(new TriplePattern(alice, type, person)).evaluate(graph))
+                .size());
+        assertEquals(1, counts(new BasicGraphPattern().evaluate(graph)).size());
+        assertTrue(counts(new BasicGraphPattern(new TriplePattern(alice, knows, alice)).evaluate(graph))
+                .isEmpty());
+    }
+
+    @Test
+    public void blankNodesAreNotVariables() throws Exception {
+        final Graph graph = createGraph(7, 20, 50);
+        final BlankNode other = factory.createBlankNode();
+        graph.add(other, type, person);
+        final List<Solution> solutions;
+        try (Stream<Solution> s = new BasicGraphPattern(new TriplePattern(other, type, x)).evaluate(graph)) {
+            solutions = s.collect(Collectors.toList());
+        }
+        assertEquals(Collections.singletonList(Optional.of(person)),
+                solutions.stream().map(sol -> sol.get("x")).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void lazyAndClosed() throws Exception {
+        final Graph graph = createGraph(8, 100, 1000);
+        final AtomicInteger opened = new AtomicInteger();
+        final AtomicInteger closed = new AtomicInteger();
+        final Graph counting = new DelegatingGraph(graph) {
+            @Override
+            public Stream<? extends Triple> stream(final BlankNodeOrIRI subject, final IRI predicate,
+                    final RDFTerm object) {
+                opened.incrementAndGet();
+                return super.stream(subject, predicate, object).onClose(closed::incrementAndGet);
+            }
+        };
+        final BasicGraphPattern bgp = new BasicGraphPattern(new TriplePattern(x, knows, y),
+                new TriplePattern(y, knows, z));
+        try (Stream<Solution> s = bgp.evaluate(counting)) {
+            assertTrue(s.findFirst().isPresent());
+        }
+        // Only the first few solutions were looked up
+        assertTrue(opened.get() < 100, "opened " + opened.get());
+        assertEquals(opened.get(), closed.get());
+    }
+
+    @Test
+    public void dataset() throws Exception {
+        final Dataset dataset = factory.createDataset();
+        final IRI g1 = factory.createIRI("http://example.com/g1");
+        final IRI g2 = factory.createIRI("http://example.com/g2");
+        final IRI alice = factory.createIRI("http://example.com/alice");
+        final IRI bob = factory.createIRI("http://example.com/bob");
+        dataset.add(g1, alice, knows, bob);
+        dataset.add(g2, bob, name, factory.createLiteral("Bob"));
+        dataset.add(null, alice, name, factory.createLiteral("Alice"));
+        final BasicGraphPattern bgp = new BasicGraphPattern(new TriplePattern(x, knows, y),
+                new TriplePattern(y, name, z));
+        assertEquals(1, counts(bgp.evaluate(dataset, null)).size());
+        assertTrue(counts(bgp.evaluate(dataset, Optional.of(g1))).isEmpty());
+        assertEquals(1, counts(new BasicGraphPattern(new TriplePattern(x, name, z))
+                .evaluate(dataset, Optional.empty())).size());
+    }
+
+    @Test
+    public void pushDown() throws Exception {
+        final Graph graph = createGraph(9, 20, 50);
+        final Solution fixed = new Solution(Collections.singletonList(x), new RDFTerm[] { person });
+        final Graph evaluating = new EvaluatingGraph(graph, fixed);
+        final BasicGraphPattern bgp = new BasicGraphPattern(new TriplePattern(x, knows, y));
+        assertEquals(Collections.singletonMap(fixed, 1L), counts(bgp.evaluate(evaluating)));
+        assertEquals(counts(bgp.evaluate(graph)), counts(bgp.pushDown(false).evaluate(evaluating)));
+    }
+
+    @Test
+    public void invalidPatterns() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> new TriplePattern(factory.createLiteral("x"), knows, y));
+        assertThrows(IllegalArgumentException.class, () -> new TriplePattern(x, factory.createBlankNode(), y));
+        assertThrows(IllegalArgumentException.class, () -> new Variable(""));
+        assertThrows(IllegalArgumentException.class,
+                () -> new Solution(Arrays.asList(x, y), new RDFTerm[] { person }));
+        assertFalse(new Solution(Collections.singletonList(x), new RDFTerm[] { person }).get(y).isPresent());
+    }
+
+    private static class DelegatingGraph implements Graph {
+
+        private final Graph graph;
+
+        DelegatingGraph(final Graph graph) {
+            this.graph = graph;
+        }
+
+        @Override
+        public void add(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+            graph.add(subject, predicate, object);
+        }
+
+        @Override
+        public void add(final Triple triple) {
+            graph.add(triple);
+        }
+
+        @Override
+        public void clear() {
+            graph.clear();
+        }
+
+        @Override
+        public boolean contains(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+            return graph.contains(subject, predicate, object);
+        }
+
+        @Override
+        public boolean contains(final Triple triple) {
+            return graph.contains(triple);
+        }
+
+        @Override
+        public void remove(final BlankNodeOrIRI subject, final IRI predicate, final RDFTerm object) {
+            graph.remove(subject, predicate, object);
+        }
+
+        @Override
+        public void remove(final Triple triple) {
+            graph.remove(triple);
+        }
+
+        @Override
+        public long size() {
+            return graph.size();
+        }
+
+        @Override
+        public Stream<? extends Triple> stream() {
+            return stream(null, null, null);
+        }
+
+        @Override
+        public Stream<? extends Triple> stream(final BlankNodeOrIRI subject, final IRI predicate,
+                final RDFTerm object) {
+            return graph.stream(subject, predicate, object);
+        }
+
+    }
+
+    private static final class EvaluatingGraph extends DelegatingGraph implements BasicGraphPatternEvaluator {
+
+        private final Solution solution;
+
+        EvaluatingGraph(final Graph graph, final Solution solution) {
+            super(graph);
+            this.solution = solution;
+        }
+
+        @Override
+        public Optional<Stream<Solution>> evaluate(final BasicGraphPattern pattern) {
+            return Optional.of(Stream.of(solution));
+        }
+
+    }
+
+}
@@ -0,0 +1,141 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.rdf.api.BlankNode;
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFSyntax;
+import org.apache.commons.rdf.simple.Graphs;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.Types;
+import org.junit.jupiter.api.Test;
+
+public class BinaryRDFTest {
+
+    private final SimpleRDF factory = new SimpleRDF();
+
+    private Dataset createDataset() {
+        final Dataset dataset = factory.createDataset();
+        final IRI graph = factory.createIRI("http://example.com/graph");
+        final IRI name = factory.createIRI("http://xmlns.com/foaf/0.1/name");
+        final IRI knows = factory.createIRI("http://xmlns.com/foaf/0.1/knows");
+        final BlankNode bnode = factory.createBlankNode();
+        final StringBuilder longText = new StringBuilder();
+        for (int i = 0; i < 100000; i++) {
+            longText.append("æøå ");
+        }
+        for (int i = 0; i < 1000; i++) {
+            final IRI person = factory.createIRI("http://example.com/people/" + i);
+            dataset.add(null, person, name, factory.createLiteral("Person " + i, i % 2 == 0 ? "en" : "nb"));
+            dataset.add(graph, person, knows, bnode);
+            dataset.add(graph, person, factory.createIRI("http://example.com/age"),
+                    factory.createLiteral(Integer.toString(i), Types.XSD_INT));
+        }
+        dataset.add(bnode, bnode, name, factory.createLiteral(longText.toString()));
+        dataset.add(null, factory.createIRI("urn:isbn:0451450523"), name, factory.createLiteral("😀"));
+        return dataset;
+    }
+
+    private byte[] write(final Dataset dataset, final boolean compressPrefixes) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryRDFWriter writer = new BinaryRDFWriter(out, compressPrefixes)) {
+            writer.write(dataset);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        final Dataset dataset = createDataset();
+        for (final boolean compress : new boolean[] { true, false }) {
+            final byte[] bytes = write(dataset, compress);
+            final Dataset parsed = factory.createDataset();
+            new BinaryRDFParser().source(new ByteArrayInputStream(bytes)).target(parsed).parse().get(10,
+                    TimeUnit.SECONDS);
+            assertEquals(dataset.size(), parsed.size());
+            assertTrue(Graphs.isIsomorphic(dataset, parsed));
+        }
+        assertTrue(write(dataset, true).length < write(dataset, false).length);
+    }
+
+    @Test
+    public void testGraphFile() throws Exception {
+        final Graph graph = factory.createGraph();
+        createDataset().stream().sequential().map(q -> q.asTriple()).forEach(graph::add);
+        final Path file = Files.createTempFile("commonsrdf", BinaryRDF.FILE_EXTENSION);
+        try {
+            try (BinaryRDFWriter writer = new BinaryRDFWriter(Files.newOutputStream(file))) {
+                writer.write(graph);
+            }
+            final Graph parsed = factory.createGraph();
+            new BinaryRDFParser().contentType(BinaryRDF.SYNTAX).source(file).target(parsed).parse().get(10,
+                    TimeUnit.SECONDS);
+            assertTrue(Graphs.isIsomorphic(graph, parsed));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testInvalid() throws Exception {
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> new BinaryRDFParser()
+                .source(new ByteArrayInputStream("<a> <b> <c> .".getBytes())).target(factory.createGraph())
+                .parse().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(RDFParseException.class, e.getCause());
+
+        final byte[] truncated = write(createDataset(), true);
+        final ExecutionException e2 = assertThrows(ExecutionException.class, () -> new BinaryRDFParser()
+                .source(new ByteArrayInputStream(truncated, 0, truncated.length / 2)).target(factory.createGraph())
+                .parse().get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, e2.getCause());
+
+        // A prefix record with a string length of -1
+        final byte[] negativeLength = { 'C', 'R', 'D', 'F', BinaryRDF.VERSION, BinaryRDF.PREFIX, (byte) 0xFF,
+                (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+        final ExecutionException e3 = assertThrows(ExecutionException.class, () -> new BinaryRDFParser()
+                .source(new ByteArrayInputStream(negativeLength)).target(factory.createGraph()).parse()
+                .get(10, TimeUnit.SECONDS));
+        assertInstanceOf(RDFParseException.class, e3.getCause());
+
+        assertThrows(IllegalStateException.class, () -> new BinaryRDFParser().contentType(RDFSyntax.TURTLE)
+                .source(new ByteArrayInputStream(truncated)).target(factory.createGraph()).parse());
+    }
+
+    @Test
+    public void testSyntax() {
+        assertEquals(BinaryRDF.MEDIA_TYPE, BinaryRDF.SYNTAX.mediaType());
+        assertEquals(BinaryRDF.FILE_EXTENSION, BinaryRDF.SYNTAX.fileExtension());
+        assertTrue(BinaryRDF.SYNTAX.supportsDataset());
+        assertTrue(BinaryRDF.SYNTAX.equals(BinaryRDF.SYNTAX));
+    }
+}
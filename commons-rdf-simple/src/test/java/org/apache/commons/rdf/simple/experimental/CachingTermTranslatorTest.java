@@ -0,0 +1,154 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.RDFTerm;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class CachingTermTranslatorTest {
+
+    /** An IRI of another implementation than SimpleRDF. */
+    private static final class ForeignIRI implements IRI {
+
+        private final String iri;
+
+        ForeignIRI(final String iri) {
+            this.iri = iri;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof IRI && iri.equals(((IRI) obj).getIRIString());
+        }
+
+        @Override
+        public String getIRIString() {
+            return iri;
+        }
+
+        @Override
+        public int hashCode() {
+            return iri.hashCode();
+        }
+
+        @Override
+        public String ntriplesString() {
+            return "<" + iri + ">";
+        }
+
+    }
+
+    private final SimpleRDF factory = new SimpleRDF();
+
+    @AfterEach
+    public void resetDefault() {
+        TermTranslator.setDefault(TermTranslator.none());
+    }
+
+    @Test
+    public void caches() throws Exception {
+        final CachingTermTranslator translator = new CachingTermTranslator(100);
+        final AtomicInteger conversions = new AtomicInteger();
+        final IRI iri = factory.createIRI("http://example.com/a");
+        final String first = translator.translate(String.class, iri, t -> {
+            conversions.incrementAndGet();
+            return new String(t.ntriplesString());
+        });
+        final String second = translator.translate(String.class, new ForeignIRI("http://example.com/a"), t -> {
+            conversions.incrementAndGet();
+            return new String(t.ntriplesString());
+        });
+        assertSame(first, second);
+        assertEquals(1, conversions.get());
+        assertEquals(1, translator.getHits(String.class));
+        assertEquals(1, translator.getMisses(String.class));
+        assertEquals(0.5, translator.getHitRate(String.class));
+        assertEquals(0, translator.getHitRate(Integer.class));
+
+        // Other target types are cached separately
+        assertEquals(42, (int) translator.translate(Integer.class, iri, t -> 42));
+        assertEquals(1, translator.getMisses(Integer.class));
+
+        // So are targets of the same type with another configuration
+        assertEquals("other", translator.translate(String.class, "other", iri, t -> "other"));
+        assertEquals(1, translator.getMisses("other"));
+        assertEquals(1, translator.getHits(String.class));
+
+        translator.clear();
+        assertEquals(0, translator.getHits(String.class));
+        assertThrows(IllegalArgumentException.class, () -> new CachingTermTranslator(0));
+    }
+
+    @Test
+    public void bounded() throws Exception {
+        final CachingTermTranslator translator = new CachingTermTranslator(64);
+        for (int i = 0; i < 10_000; i++) {
+            translator.translate(String.class, factory.createIRI("http://example.com/" + i), RDFTerm::ntriplesString);
+        }
+        // The most recently used term is kept, old ones are evicted
+        final long hits = translator.getHits(String.class);
+        translator.translate(String.class, factory.createIRI("http://example.com/9999"), RDFTerm::ntriplesString);
+        assertEquals(hits + 1, translator.getHits(String.class));
+        final long misses = translator.getMisses(String.class);
+        translator.translate(String.class, factory.createIRI("http://example.com/0"), RDFTerm::ntriplesString);
+        assertEquals(misses + 1, translator.getMisses(String.class));
+    }
+
+    @Test
+    public void concurrent() throws Exception {
+        final CachingTermTranslator translator = new CachingTermTranslator(1000);
+        IntStream.range(0, 100_000).parallel().forEach(i -> {
+            final IRI iri = factory.createIRI("http://example.com/" + i % 500);
+            assertEquals(iri.ntriplesString(), translator.translate(String.class, iri, RDFTerm::ntriplesString));
+        });
+        assertEquals(100_000, translator.getHits(String.class) + translator.getMisses(String.class));
+        assertTrue(translator.getHitRate(String.class) > 0.9);
+    }
+
+    @Test
+    public void simpleImport() throws Exception {
+        final CachingTermTranslator translator = new CachingTermTranslator(100);
+        TermTranslator.setDefault(translator);
+        assertSame(translator, TermTranslator.getDefault());
+        final IRI p = new ForeignIRI("http://example.com/p");
+        final Graph graph1 = factory.createGraph();
+        final Graph graph2 = new SimpleRDF().createGraph();
+        graph1.add(p, p, p);
+        graph2.add(p, p, p);
+        final Triple t1 = graph1.stream().findFirst().get();
+        final Triple t2 = graph2.stream().findFirst().get();
+        assertSame(t1.getPredicate(), t2.getPredicate());
+        assertNotSame(p, t1.getPredicate());
+        assertTrue(graph1.contains(p, p, p));
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.commons.rdf.api.Dataset;
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.junit.jupiter.api.Test;
+
+public class InstrumentedGraphTest {
+
+    private final SimpleRDF factory = new SimpleRDF();
+    private final IRI p = factory.createIRI("http://example.com/p");
+
+    private Graph graphOf(final int size) {
+        final Graph graph = factory.createGraph();
+        for (int i = 0; i < size; i++) {
+            graph.add(factory.createIRI("http://example.com/s" + i), p, factory.createLiteral("o" + i));
+        }
+        return graph;
+    }
+
+    @Test
+    public void testCounts() {
+        final OperationMetrics metrics = new OperationMetrics();
+        final Graph graph = new InstrumentedGraph(graphOf(0), metrics);
+        final IRI s = factory.createIRI("http://example.com/s");
+        graph.add(s, p, s);
+        graph.add(factory.createTriple(s, p, p));
+        assertTrue(graph.contains(s, p, s));
+        graph.remove(s, p, p);
+        assertEquals(1, graph.size());
+        assertEquals(2, metrics.getCount(GraphOperation.ADD));
+        assertEquals(1, metrics.getCount(GraphOperation.CONTAINS));
+        assertEquals(1, metrics.getCount(GraphOperation.REMOVE));
+        assertEquals(1, metrics.getCount(GraphOperation.SIZE));
+        assertEquals(0, metrics.getCount(GraphOperation.STREAM));
+        assertTrue(metrics.getTotalNanos(GraphOperation.ADD) >= metrics.getMaxNanos(GraphOperation.ADD));
+        assertTrue(metrics.getPercentileNanos(GraphOperation.ADD, 100) >= metrics.getMaxNanos(GraphOperation.ADD));
+        assertEquals(4, metrics.getSummary().length);
+    }
+
+    @Test
+    public void testDataset() throws Exception {
+        final OperationMetrics metrics = new OperationMetrics();
+        final Dataset dataset = new InstrumentedDataset(factory.createDataset(), metrics);
+        final IRI g = factory.createIRI("http://example.com/g");
+        dataset.add(g, g, p, g);
+        dataset.add(null, g, p, p);
+        assertEquals(1, dataset.stream(Optional.of(g), null, null, null).count());
+        final Graph graph = dataset.getGraph(g).get();
+        assertEquals(1, graph.stream().count());
+        assertEquals(2, metrics.getCount(GraphOperation.ADD));
+        assertEquals(1, metrics.getCount(GraphOperation.GET_GRAPH));
+        assertEquals(2, metrics.getCount(GraphOperation.STREAM));
+    }
+
+    @Test
+    public void testDisabled() {
+        final OperationMetrics metrics = new OperationMetrics();
+        final InstrumentedGraph graph = new InstrumentedGraph(graphOf(10), metrics);
+        graph.setEnabled(false);
+        assertFalse(graph.isEnabled());
+        assertEquals(10, graph.size());
+        assertEquals(10, graph.stream().count());
+        graph.iterate().forEach(t -> {
+        });
+        assertEquals(0, metrics.getCount(GraphOperation.SIZE));
+        assertEquals(0, metrics.getCount(GraphOperation.STREAM));
+        assertEquals(0, metrics.getCount(GraphOperation.ITERATE));
+        assertEquals(0, metrics.getSummary().length);
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        final OperationMetrics metrics = new OperationMetrics();
+        final ObjectName name = new ObjectName("org.apache.commons.rdf:type=OperationMetrics,name=test");
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        metrics.registerMBean(name);
+        try {
+            new InstrumentedGraph(graphOf(3), metrics).size();
+            assertEquals(1, ((String[]) server.getAttribute(name, "Summary")).length);
+            assertEquals(1000L, server.getAttribute(name, "SlowCallThresholdMillis"));
+            server.invoke(name, "reset", null, null);
+            assertEquals(0, metrics.getCount(GraphOperation.SIZE));
+        } finally {
+            metrics.unregisterMBean();
+        }
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testSlowCalls() {
+        final OperationMetrics metrics = new OperationMetrics(2);
+        metrics.setSlowCallThreshold(Duration.ZERO);
+        final Graph graph = new InstrumentedGraph(graphOf(5), metrics);
+        graph.size();
+        graph.contains(null, p, null);
+        try (Stream<? extends Triple> stream = graph.stream()) {
+            assertEquals(5, stream.count());
+        }
+        assertEquals(2, metrics.getSlowCalls().size());
+        assertEquals(GraphOperation.CONTAINS, metrics.getSlowCalls().get(0).getOperation());
+        assertEquals(GraphOperation.STREAM, metrics.getSlowCalls().get(1).getOperation());
+        assertEquals(5, metrics.getSlowCalls().get(1).getResultSize());
+        assertEquals(2, metrics.getRecentSlowCalls().length);
+        metrics.setSlowCallThreshold(Duration.ofDays(1));
+        graph.size();
+        assertEquals(GraphOperation.STREAM, metrics.getSlowCalls().get(1).getOperation());
+    }
+
+    @Test
+    public void testSlowCallListener() {
+        final OperationMetrics metrics = new OperationMetrics(0);
+        final List<OperationMetrics.SlowCall> calls = new ArrayList<>();
+        metrics.setSlowCallListener(calls::add);
+        metrics.setSlowCallThreshold(Duration.ZERO);
+        final Graph graph = new InstrumentedGraph(graphOf(5), metrics);
+        graph.contains(null, p, null);
+        graph.size();
+        assertEquals(2, calls.size());
+        assertEquals(GraphOperation.CONTAINS, calls.get(0).getOperation());
+        assertEquals(GraphOperation.SIZE, calls.get(1).getOperation());
+        // still notified, but not kept
+        assertTrue(metrics.getSlowCalls().isEmpty());
+        metrics.setSlowCallListener(null);
+        graph.size();
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    public void testStreamAndIterateSizes() {
+        final OperationMetrics metrics = new OperationMetrics();
+        final Graph graph = new InstrumentedGraph(graphOf(100), metrics);
+        assertEquals(100, graph.stream().parallel().count());
+        assertEquals(100, graph.stream().parallel().filter(t -> true).count());
+        assertEquals(1, graph.stream(null, p, factory.createLiteral("o7")).count());
+        int n = 0;
+        for (final Triple t : graph.iterate()) {
+            n++;
+        }
+        assertEquals(100, n);
+        // closed before exhausted
+        try (Stream<? extends Triple> stream = graph.stream()) {
+            stream.iterator().next();
+        }
+        assertEquals(4, metrics.getCount(GraphOperation.STREAM));
+        assertEquals(1, metrics.getCount(GraphOperation.ITERATE));
+        final long[] sizes = metrics.getResultSizeHistogram(GraphOperation.STREAM);
+        // 100 is in bucket 7 (64..127), 1 in bucket 1
+        assertEquals(2, sizes[7]);
+        assertEquals(2, sizes[1]);
+        assertEquals(1, metrics.getResultSizeHistogram(GraphOperation.ITERATE)[7]);
+    }
+
+}
@@ -0,0 +1,151 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.Types;
+import org.junit.jupiter.api.Test;
+
+public class LiteralRangeIndexTest {
+
+    private final SimpleRDF factory = new SimpleRDF();
+    private final IRI price = factory.createIRI("http://example.com/price");
+    private final IRI time = factory.createIRI("http://example.com/time");
+
+    private void assertRange(final List<String> expected, final RangeIndexedGraph graph, final IRI predicate,
+            final Literal lower, final boolean lowerInclusive, final Literal upper, final boolean upperInclusive) {
+        assertEquals(expected, graph.streamRange(predicate, lower, lowerInclusive, upper, upperInclusive)
+                .map(t -> ((Literal) t.getObject()).getLexicalForm()).collect(Collectors.toList()));
+    }
+
+    private void fill(final Graph graph) {
+        final IRI s = factory.createIRI("http://example.com/s");
+        graph.add(s, price, factory.createLiteral("100", Types.XSD_INTEGER));
+        graph.add(s, price, factory.createLiteral("9.5", Types.XSD_DECIMAL));
+        graph.add(s, price, factory.createLiteral("1.2E1", Types.XSD_DOUBLE));
+        graph.add(s, price, factory.createLiteral("-3", Types.XSD_INT));
+        graph.add(s, price, factory.createLiteral("cheap", Types.XSD_INT));
+        graph.add(s, price, factory.createLiteral("free"));
+        graph.add(s, time, factory.createLiteral("2020-01-01T12:00:00+02:00", Types.XSD_DATETIME));
+        graph.add(s, time, factory.createLiteral("2020-01-01T11:00:00Z", Types.XSD_DATETIME));
+        graph.add(s, time, factory.createLiteral("2020-01-02", Types.XSD_DATE));
+    }
+
+    private Literal integer(final long value) {
+        return factory.createLiteral(Long.toString(value), Types.XSD_INTEGER);
+    }
+
+    @Test
+    public void testBounds() {
+        final Graph graph = factory.createGraph();
+        fill(graph);
+        final RangeIndexedGraph indexed = (RangeIndexedGraph) graph;
+        assertRange(Arrays.asList("9.5", "1.2E1"), indexed, price, integer(0), true, integer(100), false);
+        assertRange(Arrays.asList("-3", "9.5", "1.2E1", "100"), indexed, price, null, true, integer(100), true);
+        assertRange(Arrays.asList("100"), indexed, price, factory.createLiteral("12", Types.XSD_DOUBLE), false,
+                null, true);
+        assertRange(Arrays.asList(), indexed, price, integer(100), true, integer(0), true);
+        assertRange(Arrays.asList(), indexed, time, integer(0), true, null, true);
+        assertThrows(IllegalArgumentException.class, () -> indexed.streamRange(price, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> indexed.streamRange(price, factory.createLiteral("1"), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> indexed.streamRange(time, integer(0), factory.createLiteral("2020-01-01", Types.XSD_DATE)));
+    }
+
+    @Test
+    public void testMaintained() {
+        final Graph graph = factory.createGraph();
+        fill(graph);
+        final RangeIndexedGraph indexed = (RangeIndexedGraph) graph;
+        assertEquals(4, indexed.streamRange(price, integer(Long.MIN_VALUE), null).count());
+        final IRI s = factory.createIRI("http://example.com/s");
+        graph.add(s, price, integer(50));
+        graph.remove(s, price, factory.createLiteral("100", Types.XSD_INTEGER));
+        assertRange(Arrays.asList("50"), indexed, price, integer(20), true, null, true);
+        graph.clear();
+        assertEquals(0, indexed.streamRange(price, integer(Long.MIN_VALUE), null).count());
+        graph.add(s, price, integer(7));
+        assertEquals(1, indexed.streamRange(price, integer(Long.MIN_VALUE), null).count());
+    }
+
+    @Test
+    public void testExact() {
+        final Graph graph = factory.createGraph();
+        final IRI s = factory.createIRI("http://example.com/s");
+        // equal as double
+        graph.add(s, price, integer(9007199254740993L));
+        graph.add(s, price, integer(9007199254740992L));
+        graph.add(s, price, factory.createLiteral("0.10000000000000000001", Types.XSD_DECIMAL));
+        graph.add(s, price, factory.createLiteral("0.1", Types.XSD_DECIMAL));
+        graph.add(s, price, factory.createLiteral("INF", Types.XSD_DOUBLE));
+        graph.add(s, price, factory.createLiteral("-INF", Types.XSD_FLOAT));
+        graph.add(s, price, factory.createLiteral("NaN", Types.XSD_DOUBLE));
+        final RangeIndexedGraph indexed = (RangeIndexedGraph) graph;
+        assertRange(Arrays.asList("9007199254740993", "INF"), indexed, price, integer(9007199254740992L), false,
+                null, true);
+        assertRange(Arrays.asList("0.10000000000000000001"), indexed, price,
+                factory.createLiteral("0.1", Types.XSD_DECIMAL), false, integer(1), true);
+        assertRange(Arrays.asList("-INF", "0.1"), indexed, price, null, true,
+                factory.createLiteral("1.0E-1", Types.XSD_DOUBLE), true);
+        assertEquals(6, indexed.streamRange(price, factory.createLiteral("-INF", Types.XSD_DOUBLE), null).count());
+    }
+
+    @Test
+    public void testTemporal() {
+        final Graph graph = factory.createGraph();
+        fill(graph);
+        final RangeIndexedGraph indexed = (RangeIndexedGraph) graph;
+        // 12:00+02:00 is 10:00Z
+        assertRange(Arrays.asList("2020-01-01T12:00:00+02:00", "2020-01-01T11:00:00Z"), indexed, time,
+                factory.createLiteral("2020-01-01T10:00:00", Types.XSD_DATETIME), true, null, true);
+        assertRange(Arrays.asList("2020-01-01T11:00:00Z"), indexed, time,
+                factory.createLiteral("2020-01-01T10:00:00Z", Types.XSD_DATETIME), false, null, true);
+        assertRange(Arrays.asList("2020-01-02"), indexed, time, factory.createLiteral("2020-01-01", Types.XSD_DATE),
+                true, null, true);
+    }
+
+    @Test
+    public void testWrapper() {
+        final Graph graph = factory.createGraph();
+        fill(graph);
+        final RangeIndexWrapper wrapper = new RangeIndexWrapper(graph);
+        assertRange(Arrays.asList("9.5", "1.2E1"), wrapper, price, integer(0), true, integer(100), false);
+        final IRI s = factory.createIRI("http://example.com/s");
+        wrapper.add(factory.createTriple(s, price, integer(50)));
+        wrapper.remove(null, price, integer(100));
+        wrapper.remove(factory.createTriple(s, price, factory.createLiteral("9.5", Types.XSD_DECIMAL)));
+        assertRange(Arrays.asList("1.2E1", "50"), wrapper, price, integer(0), true, null, true);
+        assertTrue(wrapper.contains(s, price, integer(50)));
+        assertEquals(graph.size(), wrapper.size());
+        wrapper.clear();
+        assertEquals(0, wrapper.streamRange(price, integer(0), null).count());
+    }
+
+}
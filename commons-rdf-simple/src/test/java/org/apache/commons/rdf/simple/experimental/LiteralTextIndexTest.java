@@ -0,0 +1,117 @@
+/**
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.commons.rdf.simple.experimental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.commons.rdf.api.Graph;
+import org.apache.commons.rdf.api.IRI;
+import org.apache.commons.rdf.api.Literal;
+import org.apache.commons.rdf.api.Triple;
+import org.apache.commons.rdf.simple.SimpleRDF;
+import org.apache.commons.rdf.simple.Types;
+import org.junit.jupiter.api.Test;
+
+public class LiteralTextIndexTest {
+
+    private final SimpleRDF factory = new SimpleRDF();
+    private final IRI label = factory.createIRI("http://www.w3.org/2000/01/rdf-schema#label");
+    private final IRI comment = factory.createIRI("http://www.w3.org/2000/01/rdf-schema#comment");
+
+    private void fill(final Graph graph) {
+        final IRI s = factory.createIRI("http://example.com/s");
+        graph.add(s, label, factory.createLiteral("The Quick Brown Fox", "en"));
+        graph.add(s, label, factory.createLiteral("Quickly, foxes run!", "en-GB"));
+        graph.add(s, label, factory.createLiteral("Le renard brun", "fr"));
+        graph.add(s, label, factory.createLiteral("ISTANBUL", "tr"));
+        graph.add(s, label, factory.createLiteral("quick notes"));
+        graph.add(s, comment, factory.createLiteral("a quick comment"));
+        graph.add(s, label, factory.createLiteral("42", Types.XSD_INTEGER));
+    }
+
+    private static Set<String> lexicalForms(final Stream<? extends Triple> triples) {
+        return triples.map(t -> ((Literal) t.getObject()).getLexicalForm()).collect(Collectors.toSet());
+    }
+
+    private static Set<String> set(final String... values) {
+        return new HashSet<>(Arrays.asList(values));
+    }
+
+    private void assertSearches(final TextIndexedGraph graph) {
+        assertEquals(set("The Quick Brown Fox", "quick notes"), lexicalForms(graph.searchToken(label, "QUICK", null)));
+        assertEquals(set("The Quick Brown Fox", "quick notes", "a quick comment"),
+                lexicalForms(graph.searchToken(null, "quick", "*")));
+        assertEquals(set("The Quick Brown Fox", "Quickly, foxes run!"),
+                lexicalForms(graph.searchPrefix(label, "quick", "en")));
+        assertEquals(set("Quickly, foxes run!"), lexicalForms(graph.searchPrefix(label, "fox", "en-gb")));
+        assertEquals(set("Le renard brun"), lexicalForms(graph.searchToken(label, "renard", "fr")));
+        assertEquals(set(), lexicalForms(graph.searchToken(label, "renard", "en")));
+        // Turkish lower case of I is the dotless i
+        assertEquals(set("ISTANBUL"), lexicalForms(graph.searchToken(label, "\u0131stanbul", "tr")));
+        assertEquals(set(), lexicalForms(graph.searchToken(label, "42", null)));
+        assertEquals(set(), lexicalForms(graph.searchToken(label, "run!", null)));
+    }
+
+    @Test
+    public void testMaintained() {
+        final Graph graph = factory.createGraph();
+        fill(graph);
+        final TextIndexedGraph indexed = (TextIndexedGraph) graph;
+        assertEquals(2, indexed.searchToken(label, "quick", null).count());
+        final IRI s = factory.createIRI("http://example.com/s");
+        graph.remove(s, label, factory.createLiteral("quick notes"));
+        graph.add(s, comment, factory.createLiteral("Quicksilver", "en"));
+        assertEquals(1, indexed.searchToken(label, "quick", null).count());
+        assertEquals(set("Quicksilver", "a quick comment"), lexicalForms(indexed.searchPrefix(comment, "qu", null)));
+        graph.clear();
+        assertEquals(0, indexed.searchPrefix(null, "", null).count());
+    }
+
+    @Test
+    public void testNative() {
+        final Graph graph = factory.createGraph();
+        fill(graph);
+        assertTrue(graph instanceof TextIndexedGraph);
+        assertSearches((TextIndexedGraph) graph);
+    }
+
+    @Test
+    public void testTokens() {
+        assertEquals(set("hello", "world", "2024"), LiteralTextIndex.tokens("Hello, World! 2024", null));
+        assertEquals(set("fine"), LiteralTextIndex.tokens("\uFB01ne", "en"));
+    }
+
+    @Test
+    public void testWrapper() {
+        final Graph graph = factory.createGraph();
+        fill(graph);
+        final TextIndexWrapper wrapper = new TextIndexWrapper(graph);
+        assertSearches(wrapper);
+        wrapper.remove(null, label, null);
+        assertEquals(0, wrapper.searchPrefix(label, "", null).count());
+        assertEquals(1, wrapper.searchPrefix(comment, "", null).count());
+    }
+
+}